@@ -17,10 +17,15 @@
 package com.ctrip.framework.apollo.adminservice;
 
 import com.ctrip.framework.apollo.adminservice.filter.AdminServiceAuthenticationFilter;
+import com.ctrip.framework.apollo.adminservice.filter.RequestContentEncodingFilter;
 import com.ctrip.framework.apollo.biz.config.BizConfig;
+import com.ctrip.framework.apollo.biz.service.InstanceMaintenanceService;
+import com.ctrip.framework.apollo.biz.service.ItemSearchIndex;
+import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 
 @Configuration
 public class AdminServiceAutoConfiguration {
@@ -49,4 +54,29 @@ public class AdminServiceAutoConfiguration {
 
     return filterRegistrationBean;
   }
+
+  @Bean
+  public FilterRegistrationBean<RequestContentEncodingFilter> requestContentEncodingFilter() {
+    FilterRegistrationBean<RequestContentEncodingFilter> filterRegistrationBean =
+        new FilterRegistrationBean<>();
+
+    filterRegistrationBean.setFilter(new RequestContentEncodingFilter(bizConfig));
+    filterRegistrationBean.addUrlPatterns("/*");
+    // decode the request body before any other filter reads it
+    filterRegistrationBean.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+
+    return filterRegistrationBean;
+  }
+
+  @Bean
+  public ApplicationRunner itemSearchIndexStarter(final ItemSearchIndex itemSearchIndex) {
+    // only admin services serve item search, so the index is not built in config services
+    return args -> itemSearchIndex.start();
+  }
+
+  @Bean
+  public ApplicationRunner instanceMaintenanceStarter(
+      final InstanceMaintenanceService instanceMaintenanceService) {
+    return args -> instanceMaintenanceService.start();
+  }
 }
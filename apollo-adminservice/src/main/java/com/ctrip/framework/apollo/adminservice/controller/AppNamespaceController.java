@@ -20,10 +20,12 @@ import com.ctrip.framework.apollo.biz.entity.Namespace;
 import com.ctrip.framework.apollo.biz.service.AppNamespaceService;
 import com.ctrip.framework.apollo.biz.service.NamespaceService;
 import com.ctrip.framework.apollo.common.dto.AppNamespaceDTO;
+import com.ctrip.framework.apollo.common.dto.CursorPageDTO;
 import com.ctrip.framework.apollo.common.dto.NamespaceDTO;
 import com.ctrip.framework.apollo.common.entity.AppNamespace;
 import com.ctrip.framework.apollo.common.exception.BadRequestException;
 import com.ctrip.framework.apollo.common.utils.BeanUtils;
+import com.ctrip.framework.apollo.common.utils.ContinuationToken;
 import com.ctrip.framework.apollo.core.enums.ConfigFileFormat;
 import com.ctrip.framework.apollo.core.utils.StringUtils;
 import org.springframework.data.domain.Pageable;
@@ -94,6 +96,20 @@ public class AppNamespaceController {
     return BeanUtils.batchTransform(NamespaceDTO.class, namespaces);
   }
 
+  @GetMapping(value = "/appnamespaces/{publicNamespaceName}/namespaces",
+      params = "continuationToken")
+  public CursorPageDTO<NamespaceDTO> findPublicAppNamespaceAllNamespacesByContinuationToken(
+      @PathVariable String publicNamespaceName, @RequestParam String continuationToken,
+      Pageable pageable) {
+    long afterId = ContinuationToken.decode(continuationToken, 0);
+    int size = pageable.getPageSize();
+
+    List<Namespace> namespaces = namespaceService
+        .findPublicAppNamespaceAllNamespaces(publicNamespaceName, afterId, size + 1);
+    return ContinuationToken.toPage(namespaces, size, Namespace::getId,
+        page -> BeanUtils.batchTransform(NamespaceDTO.class, page));
+  }
+
   @GetMapping("/appnamespaces/{publicNamespaceName}/associated-namespaces/count")
   public int countPublicAppNamespaceAssociatedNamespaces(@PathVariable String publicNamespaceName) {
     return namespaceService.countPublicAppNamespaceAssociatedNamespaces(publicNamespaceName);
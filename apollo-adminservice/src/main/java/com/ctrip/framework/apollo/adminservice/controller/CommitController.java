@@ -19,7 +19,9 @@ package com.ctrip.framework.apollo.adminservice.controller;
 import com.ctrip.framework.apollo.biz.entity.Commit;
 import com.ctrip.framework.apollo.biz.service.CommitService;
 import com.ctrip.framework.apollo.common.dto.CommitDTO;
+import com.ctrip.framework.apollo.common.dto.CursorPageDTO;
 import com.ctrip.framework.apollo.common.utils.BeanUtils;
+import com.ctrip.framework.apollo.common.utils.ContinuationToken;
 import com.ctrip.framework.apollo.core.utils.StringUtils;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -53,4 +55,28 @@ public class CommitController {
     return BeanUtils.batchTransform(CommitDTO.class, commits);
   }
 
+  /**
+   * Same as {@link #find}, but reads the page after {@code continuationToken} by id instead of
+   * skipping the previous pages, an empty token reads the first page.
+   */
+  @GetMapping(value = "/apps/{appId}/clusters/{clusterName}/namespaces/{namespaceName}/commit",
+      params = "continuationToken")
+  public CursorPageDTO<CommitDTO> findByContinuationToken(@PathVariable String appId,
+      @PathVariable String clusterName, @PathVariable String namespaceName,
+      @RequestParam(required = false) String key, @RequestParam String continuationToken,
+      Pageable pageable) {
+    long beforeId = ContinuationToken.decode(continuationToken, Long.MAX_VALUE);
+    int size = pageable.getPageSize();
+
+    List<Commit> commits;
+    if (StringUtils.isEmpty(key)) {
+      commits = commitService.findBefore(appId, clusterName, namespaceName, beforeId, size + 1);
+    } else {
+      commits =
+          commitService.findByKeyBefore(appId, clusterName, namespaceName, key, beforeId, size + 1);
+    }
+    return ContinuationToken.toPage(commits, size, Commit::getId,
+        page -> BeanUtils.batchTransform(CommitDTO.class, page));
+  }
+
 }
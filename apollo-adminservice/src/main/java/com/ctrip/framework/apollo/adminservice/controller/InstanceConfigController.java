@@ -26,7 +26,7 @@ import com.ctrip.framework.apollo.common.dto.InstanceDTO;
 import com.ctrip.framework.apollo.common.dto.PageDTO;
 import com.ctrip.framework.apollo.common.dto.ReleaseDTO;
 import com.ctrip.framework.apollo.common.exception.NotFoundException;
-import com.ctrip.framework.apollo.common.utils.BeanUtils;
+import com.ctrip.framework.apollo.common.utils.BeanMapper;
 import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
 import com.google.common.collect.HashMultimap;
@@ -34,7 +34,6 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -44,6 +43,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -55,6 +55,10 @@ import java.util.stream.Collectors;
 @RestController
 @RequestMapping("/instances")
 public class InstanceConfigController {
+  private static final BeanMapper<Instance, InstanceDTO> INSTANCE_TO_DTO =
+      BeanMapper.of(Instance.class, InstanceDTO.class);
+  private static final BeanMapper<Release, ReleaseDTO> RELEASE_TO_DTO =
+      BeanMapper.of(Release.class, ReleaseDTO.class);
   private static final Splitter RELEASES_SPLITTER =
       Splitter.on(",").omitEmptyStrings().trimResults();
   private final ReleaseService releaseService;
@@ -66,51 +70,65 @@ public class InstanceConfigController {
     this.instanceService = instanceService;
   }
 
+  /**
+   * @param afterInstanceId if given, the instances are listed by id after it instead of by page
+   * number, which doesn't need to skip the previous pages
+   */
   @GetMapping("/by-release")
   public PageDTO<InstanceDTO> getByRelease(@RequestParam("releaseId") long releaseId,
+      @RequestParam(value = "afterInstanceId", required = false) Long afterInstanceId,
       Pageable pageable) {
     Release release = releaseService.findOne(releaseId);
     if (release == null) {
       throw NotFoundException.releaseNotFound(releaseId);
     }
-    Page<InstanceConfig> instanceConfigsPage =
-        instanceService.findActiveInstanceConfigsByReleaseKey(release.getReleaseKey(), pageable);
-
-    List<InstanceDTO> instanceDTOs = Collections.emptyList();
 
-    if (instanceConfigsPage.hasContent()) {
-      Multimap<Long, InstanceConfig> instanceConfigMap = HashMultimap.create();
-      Set<String> otherReleaseKeys = Sets.newHashSet();
+    if (afterInstanceId != null) {
+      List<InstanceConfig> instanceConfigs = instanceService.findActiveInstanceConfigsByReleaseKey(
+          release.getReleaseKey(), afterInstanceId, pageable.getPageSize());
+      List<InstanceDTO> instanceDTOs = toInstanceDTOs(instanceConfigs);
+      instanceDTOs.sort(Comparator.comparingLong(InstanceDTO::getId));
+      return new PageDTO<>(instanceDTOs, pageable,
+          instanceService.countActiveInstanceConfigsByReleaseKey(release.getReleaseKey()));
+    }
 
-      for (InstanceConfig instanceConfig : instanceConfigsPage.getContent()) {
-        instanceConfigMap.put(instanceConfig.getInstanceId(), instanceConfig);
-        otherReleaseKeys.add(instanceConfig.getReleaseKey());
-      }
+    Page<InstanceConfig> instanceConfigsPage =
+        instanceService.findActiveInstanceConfigsByReleaseKey(release.getReleaseKey(), pageable);
 
-      Set<Long> instanceIds = instanceConfigMap.keySet();
+    return new PageDTO<>(toInstanceDTOs(instanceConfigsPage.getContent()), pageable,
+        instanceConfigsPage.getTotalElements());
+  }
 
-      List<Instance> instances = instanceService.findInstancesByIds(instanceIds);
+  private List<InstanceDTO> toInstanceDTOs(List<InstanceConfig> instanceConfigs) {
+    if (CollectionUtils.isEmpty(instanceConfigs)) {
+      return Collections.emptyList();
+    }
 
-      if (!CollectionUtils.isEmpty(instances)) {
-        instanceDTOs = BeanUtils.batchTransform(InstanceDTO.class, instances);
-      }
+    Multimap<Long, InstanceConfig> instanceConfigMap = HashMultimap.create();
+    for (InstanceConfig instanceConfig : instanceConfigs) {
+      instanceConfigMap.put(instanceConfig.getInstanceId(), instanceConfig);
+    }
 
-      for (InstanceDTO instanceDTO : instanceDTOs) {
-        Collection<InstanceConfig> configs = instanceConfigMap.get(instanceDTO.getId());
-        List<InstanceConfigDTO> configDTOs = configs.stream().map(instanceConfig -> {
-          InstanceConfigDTO instanceConfigDTO = new InstanceConfigDTO();
-          // to save some space
-          instanceConfigDTO.setRelease(null);
-          instanceConfigDTO.setReleaseDeliveryTime(instanceConfig.getReleaseDeliveryTime());
-          instanceConfigDTO
-              .setDataChangeLastModifiedTime(instanceConfig.getDataChangeLastModifiedTime());
-          return instanceConfigDTO;
-        }).collect(Collectors.toList());
-        instanceDTO.setConfigs(configDTOs);
-      }
+    List<Instance> instances = instanceService.findInstancesByIds(instanceConfigMap.keySet());
+    if (CollectionUtils.isEmpty(instances)) {
+      return Collections.emptyList();
     }
 
-    return new PageDTO<>(instanceDTOs, pageable, instanceConfigsPage.getTotalElements());
+    List<InstanceDTO> instanceDTOs = INSTANCE_TO_DTO.mapAll(instances);
+    for (InstanceDTO instanceDTO : instanceDTOs) {
+      Collection<InstanceConfig> configs = instanceConfigMap.get(instanceDTO.getId());
+      List<InstanceConfigDTO> configDTOs = configs.stream().map(instanceConfig -> {
+        InstanceConfigDTO instanceConfigDTO = new InstanceConfigDTO();
+        // to save some space
+        instanceConfigDTO.setRelease(null);
+        instanceConfigDTO.setReleaseDeliveryTime(instanceConfig.getReleaseDeliveryTime());
+        instanceConfigDTO
+            .setDataChangeLastModifiedTime(instanceConfig.getDataChangeLastModifiedTime());
+        return instanceConfigDTO;
+      }).collect(Collectors.toList());
+      instanceDTO.setConfigs(configDTOs);
+    }
+    return instanceDTOs;
   }
 
   @GetMapping("/by-namespace-and-releases-not-in")
@@ -148,7 +166,7 @@ public class InstanceConfigController {
       return Collections.emptyList();
     }
 
-    List<InstanceDTO> instanceDTOs = BeanUtils.batchTransform(InstanceDTO.class, instances);
+    List<InstanceDTO> instanceDTOs = INSTANCE_TO_DTO.mapAll(instances);
 
     List<Release> otherReleases = releaseService.findByReleaseKeys(otherReleaseKeys);
     Map<String, ReleaseDTO> releaseMap = Maps.newHashMap();
@@ -156,7 +174,7 @@ public class InstanceConfigController {
     for (Release release : otherReleases) {
       // unset configurations to save space
       release.setConfigurations(null);
-      ReleaseDTO releaseDTO = BeanUtils.transform(ReleaseDTO.class, release);
+      ReleaseDTO releaseDTO = RELEASE_TO_DTO.map(release);
       releaseMap.put(release.getReleaseKey(), releaseDTO);
     }
 
@@ -176,12 +194,33 @@ public class InstanceConfigController {
     return instanceDTOs;
   }
 
+  /**
+   * @param afterInstanceId if given, the instances are listed by id after it instead of by page
+   * number, which doesn't need to skip the previous pages
+   */
   @GetMapping("/by-namespace")
   public PageDTO<InstanceDTO> getInstancesByNamespace(@RequestParam("appId") String appId,
       @RequestParam("clusterName") String clusterName,
       @RequestParam("namespaceName") String namespaceName,
       @RequestParam(value = "instanceAppId", required = false) String instanceAppId,
+      @RequestParam(value = "afterInstanceId", required = false) Long afterInstanceId,
       Pageable pageable) {
+    if (afterInstanceId != null) {
+      List<Instance> instances;
+      long total;
+      if (Strings.isNullOrEmpty(instanceAppId)) {
+        instances = instanceService.findInstancesByNamespace(appId, clusterName, namespaceName,
+            afterInstanceId, pageable.getPageSize());
+        total = instanceService.countInstancesByNamespace(appId, clusterName, namespaceName);
+      } else {
+        instances = instanceService.findInstancesByNamespaceAndInstanceAppId(instanceAppId, appId,
+            clusterName, namespaceName, afterInstanceId, pageable.getPageSize());
+        total = instanceService.countInstancesByNamespaceAndInstanceAppId(instanceAppId, appId,
+            clusterName, namespaceName);
+      }
+      return new PageDTO<>(INSTANCE_TO_DTO.mapAll(instances), pageable, total);
+    }
+
     Page<Instance> instances;
     if (Strings.isNullOrEmpty(instanceAppId)) {
       instances =
@@ -191,8 +230,7 @@ public class InstanceConfigController {
           clusterName, namespaceName, pageable);
     }
 
-    List<InstanceDTO> instanceDTOs =
-        BeanUtils.batchTransform(InstanceDTO.class, instances.getContent());
+    List<InstanceDTO> instanceDTOs = INSTANCE_TO_DTO.mapAll(instances.getContent());
     return new PageDTO<>(instanceDTOs, pageable, instances.getTotalElements());
   }
 
@@ -200,8 +238,6 @@ public class InstanceConfigController {
   public long getInstancesCountByNamespace(@RequestParam("appId") String appId,
       @RequestParam("clusterName") String clusterName,
       @RequestParam("namespaceName") String namespaceName) {
-    Page<Instance> instances = instanceService.findInstancesByNamespace(appId, clusterName,
-        namespaceName, PageRequest.of(0, 1));
-    return instances.getTotalElements();
+    return instanceService.countInstancesByNamespace(appId, clusterName, namespaceName);
   }
 }
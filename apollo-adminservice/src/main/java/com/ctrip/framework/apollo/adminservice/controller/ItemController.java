@@ -18,7 +18,6 @@ package com.ctrip.framework.apollo.adminservice.controller;
 
 import com.ctrip.framework.apollo.adminservice.aop.PreAcquireNamespaceLock;
 import com.ctrip.framework.apollo.biz.config.BizConfig;
-import com.ctrip.framework.apollo.biz.entity.Commit;
 import com.ctrip.framework.apollo.biz.entity.Item;
 import com.ctrip.framework.apollo.biz.entity.Namespace;
 import com.ctrip.framework.apollo.biz.entity.Release;
@@ -27,20 +26,20 @@ import com.ctrip.framework.apollo.biz.service.ItemService;
 import com.ctrip.framework.apollo.biz.service.NamespaceService;
 import com.ctrip.framework.apollo.biz.service.ReleaseService;
 import com.ctrip.framework.apollo.biz.utils.ConfigChangeContentBuilder;
+import com.ctrip.framework.apollo.common.dto.CursorPageDTO;
 import com.ctrip.framework.apollo.common.dto.ItemDTO;
 import com.ctrip.framework.apollo.common.dto.ItemInfoDTO;
 import com.ctrip.framework.apollo.common.dto.PageDTO;
 import com.ctrip.framework.apollo.common.exception.BadRequestException;
 import com.ctrip.framework.apollo.common.exception.NotFoundException;
-import com.ctrip.framework.apollo.common.utils.BeanUtils;
+import com.ctrip.framework.apollo.common.utils.BeanMapper;
+import com.ctrip.framework.apollo.common.utils.ContinuationToken;
 import com.ctrip.framework.apollo.core.utils.StringUtils;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
-import java.util.Collection;
-import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -55,6 +54,12 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 public class ItemController {
 
+  private static final BeanMapper<ItemDTO, Item> DTO_TO_ITEM =
+      BeanMapper.of(ItemDTO.class, Item.class);
+  private static final BeanMapper<Item, Item> ITEM_TO_ITEM = BeanMapper.of(Item.class, Item.class);
+  private static final BeanMapper<Item, ItemDTO> ITEM_TO_DTO =
+      BeanMapper.of(Item.class, ItemDTO.class);
+
   private final ItemService itemService;
   private final NamespaceService namespaceService;
   private final CommitService commitService;
@@ -76,7 +81,7 @@ public class ItemController {
   public ItemDTO create(@PathVariable("appId") String appId,
       @PathVariable("clusterName") String clusterName,
       @PathVariable("namespaceName") String namespaceName, @RequestBody ItemDTO dto) {
-    Item entity = BeanUtils.transform(Item.class, dto);
+    Item entity = DTO_TO_ITEM.map(dto);
 
     Item managedEntity = itemService.findOne(appId, clusterName, namespaceName, entity.getKey());
     if (managedEntity != null) {
@@ -92,7 +97,7 @@ public class ItemController {
     }
 
     entity = itemService.save(entity);
-    dto = BeanUtils.transform(ItemDTO.class, entity);
+    dto = ITEM_TO_DTO.map(entity);
     commitService.createCommit(appId, clusterName, namespaceName,
         new ConfigChangeContentBuilder().createItem(entity).build(),
         dto.getDataChangeLastModifiedBy());
@@ -116,14 +121,14 @@ public class ItemController {
     for (Item item : allItems) {
       if (StringUtils.isBlank(item.getKey()) && StringUtils.isBlank(item.getValue())
           && Objects.equals(item.getComment(), dto.getComment())) {
-        return BeanUtils.transform(ItemDTO.class, item);
+        return ITEM_TO_DTO.map(item);
       }
     }
 
-    Item entity = BeanUtils.transform(Item.class, dto);
+    Item entity = DTO_TO_ITEM.map(dto);
     entity = itemService.saveComment(entity);
 
-    return BeanUtils.transform(ItemDTO.class, entity);
+    return ITEM_TO_DTO.map(entity);
   }
 
 
@@ -144,11 +149,11 @@ public class ItemController {
       throw BadRequestException.namespaceNotMatch();
     }
 
-    Item entity = BeanUtils.transform(Item.class, itemDTO);
+    Item entity = DTO_TO_ITEM.map(itemDTO);
 
     ConfigChangeContentBuilder builder = new ConfigChangeContentBuilder();
 
-    Item beforeUpdateItem = BeanUtils.transform(Item.class, managedEntity);
+    Item beforeUpdateItem = ITEM_TO_ITEM.map(managedEntity);
 
     // protect. only value,type,comment,lastModifiedBy can be modified
     managedEntity.setType(entity.getType());
@@ -158,7 +163,7 @@ public class ItemController {
 
     entity = itemService.update(managedEntity);
     builder.updateItem(beforeUpdateItem, entity);
-    itemDTO = BeanUtils.transform(ItemDTO.class, entity);
+    itemDTO = ITEM_TO_DTO.map(entity);
 
     if (builder.hasContent()) {
       commitService.createCommit(appId, clusterName, namespaceName, builder.build(),
@@ -189,7 +194,7 @@ public class ItemController {
   public List<ItemDTO> findItems(@PathVariable("appId") String appId,
       @PathVariable("clusterName") String clusterName,
       @PathVariable("namespaceName") String namespaceName) {
-    return BeanUtils.batchTransform(ItemDTO.class,
+    return ITEM_TO_DTO.mapAll(
         itemService.findItemsWithOrdered(appId, clusterName, namespaceName));
   }
 
@@ -200,23 +205,12 @@ public class ItemController {
     // get latest release time
     Release latestActiveRelease =
         releaseService.findLatestActiveRelease(appId, clusterName, namespaceName);
-    List<Commit> commits;
-    if (Objects.nonNull(latestActiveRelease)) {
-      commits = commitService.find(appId, clusterName, namespaceName,
-          latestActiveRelease.getDataChangeCreatedTime(), null);
-    } else {
-      commits = commitService.find(appId, clusterName, namespaceName, null);
-    }
+    Date since = latestActiveRelease == null ? null
+        : latestActiveRelease.getDataChangeCreatedTime();
 
-    if (Objects.nonNull(commits)) {
-      List<Item> deletedItems =
-          commits
-              .stream().map(item -> ConfigChangeContentBuilder
-                  .convertJsonString(item.getChangeSets()).getDeleteItems())
-              .flatMap(Collection::stream).collect(Collectors.toList());
-      return BeanUtils.batchTransform(ItemDTO.class, deletedItems);
-    }
-    return Collections.emptyList();
+    List<Item> deletedItems =
+        commitService.findDeletedItems(appId, clusterName, namespaceName, since);
+    return ITEM_TO_DTO.mapAll(deletedItems);
   }
 
   @GetMapping("/items-search/key-and-value")
@@ -233,7 +227,7 @@ public class ItemController {
     if (item == null) {
       throw NotFoundException.itemNotFound(itemId);
     }
-    return BeanUtils.transform(ItemDTO.class, item);
+    return ITEM_TO_DTO.map(item);
   }
 
   @GetMapping("/apps/{appId}/clusters/{clusterName}/namespaces/{namespaceName}/items/{key:.+}")
@@ -244,7 +238,7 @@ public class ItemController {
     if (item == null) {
       throw NotFoundException.itemNotFound(appId, clusterName, namespaceName, key);
     }
-    return BeanUtils.transform(ItemDTO.class, item);
+    return ITEM_TO_DTO.map(item);
   }
 
   @GetMapping("/apps/{appId}/clusters/{clusterName}/namespaces/{namespaceName}/encodedItems/{key:.+}")
@@ -263,8 +257,23 @@ public class ItemController {
     Page<Item> itemPage =
         itemService.findItemsByNamespace(appId, clusterName, namespaceName, pageable);
 
-    List<ItemDTO> itemDTOS = BeanUtils.batchTransform(ItemDTO.class, itemPage.getContent());
+    List<ItemDTO> itemDTOS = ITEM_TO_DTO.mapAll(itemPage.getContent());
     return new PageDTO<>(itemDTOS, pageable, itemPage.getTotalElements());
   }
 
+  @GetMapping(
+      value = "/apps/{appId}/clusters/{clusterName}/namespaces/{namespaceName}/items-with-page",
+      params = "continuationToken")
+  public CursorPageDTO<ItemDTO> findItemsByNamespaceAndContinuationToken(
+      @PathVariable("appId") String appId, @PathVariable("clusterName") String clusterName,
+      @PathVariable("namespaceName") String namespaceName,
+      @RequestParam("continuationToken") String continuationToken, Pageable pageable) {
+    long afterId = ContinuationToken.decode(continuationToken, 0);
+    int size = pageable.getPageSize();
+
+    List<Item> items = itemService.findItemsByNamespaceAfter(appId, clusterName, namespaceName,
+        afterId, size + 1);
+    return ContinuationToken.toPage(items, size, Item::getId, ITEM_TO_DTO::mapAll);
+  }
+
 }
@@ -16,14 +16,25 @@
  */
 package com.ctrip.framework.apollo.adminservice.controller;
 
+import com.ctrip.framework.apollo.biz.entity.Item;
 import com.ctrip.framework.apollo.biz.entity.Namespace;
+import com.ctrip.framework.apollo.biz.entity.Release;
+import com.ctrip.framework.apollo.biz.service.CommitService;
+import com.ctrip.framework.apollo.biz.service.ItemService;
 import com.ctrip.framework.apollo.biz.service.NamespaceService;
+import com.ctrip.framework.apollo.biz.service.ReleaseService;
+import com.ctrip.framework.apollo.common.constants.GsonType;
+import com.ctrip.framework.apollo.common.dto.ItemDTO;
 import com.ctrip.framework.apollo.common.dto.NamespaceDTO;
+import com.ctrip.framework.apollo.common.dto.NamespaceViewDTO;
 import com.ctrip.framework.apollo.common.dto.PageDTO;
 import com.ctrip.framework.apollo.common.exception.BadRequestException;
 import com.ctrip.framework.apollo.common.exception.NotFoundException;
+import com.ctrip.framework.apollo.common.utils.BeanMapper;
 import com.ctrip.framework.apollo.common.utils.BeanUtils;
 
+import com.google.common.collect.Lists;
+import com.google.gson.Gson;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -35,16 +46,30 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.validation.Valid;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
 @RestController
 public class NamespaceController {
 
+  private static final Gson GSON = new Gson();
+  private static final BeanMapper<Item, ItemDTO> ITEM_TO_DTO =
+      BeanMapper.of(Item.class, ItemDTO.class);
+
   private final NamespaceService namespaceService;
+  private final ItemService itemService;
+  private final ReleaseService releaseService;
+  private final CommitService commitService;
 
-  public NamespaceController(final NamespaceService namespaceService) {
+  public NamespaceController(final NamespaceService namespaceService,
+      final ItemService itemService, final ReleaseService releaseService,
+      final CommitService commitService) {
     this.namespaceService = namespaceService;
+    this.itemService = itemService;
+    this.releaseService = releaseService;
+    this.commitService = commitService;
   }
 
   @PostMapping("/apps/{appId}/clusters/{clusterName}/namespaces")
@@ -81,6 +106,46 @@ public class NamespaceController {
     return BeanUtils.batchTransform(NamespaceDTO.class, groups);
   }
 
+  /**
+   * load all the namespaces of the cluster with their items and latest releases in one call, which
+   * saves the portal from loading them namespace by namespace
+   */
+  @GetMapping("/apps/{appId}/clusters/{clusterName}/namespace-views")
+  public List<NamespaceViewDTO> findNamespaceViews(@PathVariable("appId") String appId,
+      @PathVariable("clusterName") String clusterName,
+      @RequestParam(value = "includeDeletedItems", defaultValue = "true")
+      boolean includeDeletedItems) {
+    List<Namespace> namespaces = namespaceService.findNamespaces(appId, clusterName);
+
+    List<NamespaceViewDTO> namespaceViews = Lists.newArrayListWithCapacity(namespaces.size());
+    for (Namespace namespace : namespaces) {
+      NamespaceViewDTO namespaceView = new NamespaceViewDTO();
+      namespaceView.setBaseInfo(BeanUtils.transform(NamespaceDTO.class, namespace));
+      namespaceView.setItems(ITEM_TO_DTO.mapAll(
+          itemService.findItemsWithOrdered(namespace.getId())));
+
+      Release latestActiveRelease = releaseService.findLatestActiveRelease(namespace);
+      Map<String, String> releaseConfigurations = Collections.emptyMap();
+      if (latestActiveRelease != null) {
+        releaseConfigurations =
+            GSON.fromJson(latestActiveRelease.getConfigurations(), GsonType.CONFIG);
+      }
+      namespaceView.setReleaseConfigurations(releaseConfigurations);
+
+      if (includeDeletedItems) {
+        Date since = latestActiveRelease == null ? null
+            : latestActiveRelease.getDataChangeCreatedTime();
+        List<Item> deletedItems = commitService.findDeletedItems(appId, clusterName,
+            namespace.getNamespaceName(), since);
+        namespaceView.setDeletedItems(ITEM_TO_DTO.mapAll(deletedItems));
+      }
+
+      namespaceViews.add(namespaceView);
+    }
+
+    return namespaceViews;
+  }
+
   @GetMapping("/namespaces/{namespaceId}")
   public NamespaceDTO get(@PathVariable("namespaceId") Long namespaceId) {
     Namespace namespace = namespaceService.findOne(namespaceId);
@@ -126,6 +126,9 @@ public class ReleaseController {
     }
     Release release = releaseService.publish(namespace, releaseName, releaseComment, operator,
         isEmergencyPublish);
+    if (release.isUnchanged()) {
+      return BeanUtils.transform(ReleaseDTO.class, release);
+    }
 
     // send release message
     Namespace parentNamespace = namespaceService.findParentNamespace(namespace);
@@ -18,9 +18,11 @@ package com.ctrip.framework.apollo.adminservice.controller;
 
 import com.ctrip.framework.apollo.biz.entity.ReleaseHistory;
 import com.ctrip.framework.apollo.biz.service.ReleaseHistoryService;
+import com.ctrip.framework.apollo.common.dto.CursorPageDTO;
 import com.ctrip.framework.apollo.common.dto.PageDTO;
 import com.ctrip.framework.apollo.common.dto.ReleaseHistoryDTO;
 import com.ctrip.framework.apollo.common.utils.BeanUtils;
+import com.ctrip.framework.apollo.common.utils.ContinuationToken;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import org.springframework.data.domain.Page;
@@ -84,19 +86,69 @@ public class ReleaseHistoryController {
 
   }
 
+  @GetMapping(
+      value = "/apps/{appId}/clusters/{clusterName}/namespaces/{namespaceName}/releases/histories",
+      params = "continuationToken")
+  public CursorPageDTO<ReleaseHistoryDTO> findReleaseHistoriesByNamespaceAndContinuationToken(
+      @PathVariable String appId, @PathVariable String clusterName,
+      @PathVariable String namespaceName, @RequestParam String continuationToken,
+      Pageable pageable) {
+    long beforeId = ContinuationToken.decode(continuationToken, Long.MAX_VALUE);
+    int size = pageable.getPageSize();
+
+    List<ReleaseHistory> releaseHistories = releaseHistoryService
+        .findReleaseHistoriesByNamespaceBefore(appId, clusterName, namespaceName, beforeId,
+            size + 1);
+    return ContinuationToken.toPage(releaseHistories, size, ReleaseHistory::getId,
+        this::transform2DTOs);
+  }
+
+  @GetMapping(value = "/releases/histories/by_release_id_and_operation",
+      params = "continuationToken")
+  public CursorPageDTO<ReleaseHistoryDTO> findReleaseHistoryByReleaseIdAndOperationAndContinuationToken(
+      @RequestParam("releaseId") long releaseId, @RequestParam("operation") int operation,
+      @RequestParam String continuationToken, Pageable pageable) {
+    long beforeId = ContinuationToken.decode(continuationToken, Long.MAX_VALUE);
+    int size = pageable.getPageSize();
+
+    List<ReleaseHistory> releaseHistories = releaseHistoryService
+        .findByReleaseIdAndOperationBefore(releaseId, operation, beforeId, size + 1);
+    return ContinuationToken.toPage(releaseHistories, size, ReleaseHistory::getId,
+        this::transform2DTOs);
+  }
+
+  @GetMapping(value = "/releases/histories/by_previous_release_id_and_operation",
+      params = "continuationToken")
+  public CursorPageDTO<ReleaseHistoryDTO> findReleaseHistoryByPreviousReleaseIdAndOperationAndContinuationToken(
+      @RequestParam("previousReleaseId") long previousReleaseId,
+      @RequestParam("operation") int operation, @RequestParam String continuationToken,
+      Pageable pageable) {
+    long beforeId = ContinuationToken.decode(continuationToken, Long.MAX_VALUE);
+    int size = pageable.getPageSize();
+
+    List<ReleaseHistory> releaseHistories = releaseHistoryService
+        .findByPreviousReleaseIdAndOperationBefore(previousReleaseId, operation, beforeId,
+            size + 1);
+    return ContinuationToken.toPage(releaseHistories, size, ReleaseHistory::getId,
+        this::transform2DTOs);
+  }
+
   private PageDTO<ReleaseHistoryDTO> transform2PageDTO(Page<ReleaseHistory> releaseHistoriesPage,
       Pageable pageable) {
     if (!releaseHistoriesPage.hasContent()) {
       return null;
     }
 
-    List<ReleaseHistory> releaseHistories = releaseHistoriesPage.getContent();
+    List<ReleaseHistoryDTO> releaseHistoryDTOs = transform2DTOs(releaseHistoriesPage.getContent());
+    return new PageDTO<>(releaseHistoryDTOs, pageable, releaseHistoriesPage.getTotalElements());
+  }
+
+  private List<ReleaseHistoryDTO> transform2DTOs(List<ReleaseHistory> releaseHistories) {
     List<ReleaseHistoryDTO> releaseHistoryDTOs = new ArrayList<>(releaseHistories.size());
     for (ReleaseHistory releaseHistory : releaseHistories) {
       releaseHistoryDTOs.add(transformReleaseHistory2DTO(releaseHistory));
     }
-
-    return new PageDTO<>(releaseHistoryDTOs, pageable, releaseHistoriesPage.getTotalElements());
+    return releaseHistoryDTOs;
   }
 
   private ReleaseHistoryDTO transformReleaseHistory2DTO(ReleaseHistory releaseHistory) {
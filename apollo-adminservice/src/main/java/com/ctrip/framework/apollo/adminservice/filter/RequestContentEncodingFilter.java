@@ -0,0 +1,222 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.adminservice.filter;
+
+import com.ctrip.framework.apollo.biz.config.BizConfig;
+import com.google.common.io.ByteStreams;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.zip.GZIPInputStream;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Accept gzip compressed request bodies, e.g. the large item change sets sent by the portal.
+ * <p>
+ * The content codings accepted are advertised with the Accept-Encoding response header, see RFC
+ * 7694, so clients only compress request bodies once they know this admin service decodes them.
+ * Requests with other content codings are rejected with 415.
+ * <p>
+ * The body is decompressed before the request is passed on, at most up to
+ * {@link BizConfig#requestDecompressedSizeLimit()}, larger bodies are rejected with 413, so a small
+ * compressed body can't expand without limit.
+ */
+public class RequestContentEncodingFilter implements Filter {
+
+  static final String GZIP = "gzip";
+  private static final String IDENTITY = "identity";
+
+  private final BizConfig bizConfig;
+
+  public RequestContentEncodingFilter(final BizConfig bizConfig) {
+    this.bizConfig = bizConfig;
+  }
+
+  @Override
+  public void init(FilterConfig filterConfig) throws ServletException {
+
+  }
+
+  @Override
+  public void doFilter(ServletRequest req, ServletResponse resp, FilterChain chain)
+      throws IOException, ServletException {
+    HttpServletRequest request = (HttpServletRequest) req;
+    HttpServletResponse response = (HttpServletResponse) resp;
+    response.setHeader(HttpHeaders.ACCEPT_ENCODING, GZIP);
+
+    String contentEncoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+    if (contentEncoding == null || contentEncoding.trim().isEmpty()
+        || IDENTITY.equalsIgnoreCase(contentEncoding.trim())) {
+      chain.doFilter(req, resp);
+      return;
+    }
+    if (!GZIP.equalsIgnoreCase(contentEncoding.trim())) {
+      response.sendError(HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE,
+          "Unsupported content encoding: " + contentEncoding);
+      return;
+    }
+
+    int limit = bizConfig.requestDecompressedSizeLimit();
+    byte[] body;
+    try (InputStream in = new GZIPInputStream(request.getInputStream())) {
+      // one byte more than the limit tells whether the body is larger
+      body = ByteStreams.toByteArray(ByteStreams.limit(in, limit + 1L));
+    } catch (IOException ex) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Malformed gzip request body");
+      return;
+    }
+    if (body.length > limit) {
+      response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
+          "Decompressed request body is larger than " + limit + " bytes");
+      return;
+    }
+
+    chain.doFilter(new GzipRequestWrapper(request, body), resp);
+  }
+
+  @Override
+  public void destroy() {
+
+  }
+
+  private static class GzipRequestWrapper extends HttpServletRequestWrapper {
+
+    private final byte[] body;
+    private ServletInputStream inputStream;
+    private BufferedReader reader;
+
+    GzipRequestWrapper(HttpServletRequest request, byte[] body) {
+      super(request);
+      this.body = body;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+      if (reader != null) {
+        throw new IllegalStateException("getReader() has already been called for this request");
+      }
+      if (inputStream == null) {
+        inputStream = new DecompressedServletInputStream(body);
+      }
+      return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+      if (inputStream != null) {
+        throw new IllegalStateException(
+            "getInputStream() has already been called for this request");
+      }
+      if (reader == null) {
+        String encoding = getCharacterEncoding();
+        Charset charset =
+            encoding == null ? StandardCharsets.ISO_8859_1 : Charset.forName(encoding);
+        reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), charset));
+      }
+      return reader;
+    }
+
+    @Override
+    public int getContentLength() {
+      return body.length;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+      return body.length;
+    }
+
+    @Override
+    public String getHeader(String name) {
+      if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+        return String.valueOf(body.length);
+      }
+      return isHidden(name) ? null : super.getHeader(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+      if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+        return Collections.enumeration(Collections.singletonList(String.valueOf(body.length)));
+      }
+      return isHidden(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+    }
+
+    @Override
+    public int getIntHeader(String name) {
+      if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+        return body.length;
+      }
+      return isHidden(name) ? -1 : super.getIntHeader(name);
+    }
+
+    private boolean isHidden(String name) {
+      return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name);
+    }
+  }
+
+  private static class DecompressedServletInputStream extends ServletInputStream {
+
+    private final ByteArrayInputStream delegate;
+
+    DecompressedServletInputStream(byte[] body) {
+      this.delegate = new ByteArrayInputStream(body);
+    }
+
+    @Override
+    public int read() {
+      return delegate.read();
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      return delegate.read(b, off, len);
+    }
+
+    @Override
+    public boolean isFinished() {
+      return delegate.available() == 0;
+    }
+
+    @Override
+    public boolean isReady() {
+      return true;
+    }
+
+    @Override
+    public void setReadListener(ReadListener readListener) {
+      throw new UnsupportedOperationException("non-blocking read is not supported");
+    }
+  }
+}
@@ -21,14 +21,15 @@ import com.ctrip.framework.apollo.biz.config.BizConfig;
 import com.ctrip.framework.apollo.biz.entity.Namespace;
 import com.ctrip.framework.apollo.biz.entity.NamespaceLock;
 import com.ctrip.framework.apollo.biz.service.ItemService;
+import com.ctrip.framework.apollo.biz.service.NamespaceLockManager;
 import com.ctrip.framework.apollo.biz.service.NamespaceLockService;
 import com.ctrip.framework.apollo.biz.service.NamespaceService;
 import com.ctrip.framework.apollo.common.exception.BadRequestException;
 import com.ctrip.framework.apollo.common.exception.ServiceException;
 
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -57,9 +58,14 @@ public class NamespaceLockTest {
   private ItemService itemService;
   @Mock
   private BizConfig bizConfig;
-  @InjectMocks
   NamespaceAcquireLockAspect namespaceLockAspect;
 
+  @Before
+  public void setUp() {
+    namespaceLockAspect = new NamespaceAcquireLockAspect(
+        new NamespaceLockManager(namespaceLockService, namespaceService, bizConfig), itemService);
+  }
+
   @Test
   public void acquireLockWithNotLockedAndSwitchON() {
 
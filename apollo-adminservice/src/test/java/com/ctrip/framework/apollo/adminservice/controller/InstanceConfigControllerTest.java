@@ -37,15 +37,16 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
-import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -111,7 +112,7 @@ public class InstanceConfigControllerTest {
     Set<Long> instanceIds = Sets.newHashSet(someInstanceId, anotherInstanceId);
     when(instanceService.findInstancesByIds(instanceIds)).thenReturn(instances);
 
-    PageDTO<InstanceDTO> result = instanceConfigController.getByRelease(someReleaseId, pageable);
+    PageDTO<InstanceDTO> result = instanceConfigController.getByRelease(someReleaseId, null, pageable);
 
     assertEquals(2, result.getContent().size());
     InstanceDTO someInstanceDto = null;
@@ -143,7 +144,7 @@ public class InstanceConfigControllerTest {
 
     when(releaseService.findOne(someReleaseIdNotExists)).thenReturn(null);
 
-    instanceConfigController.getByRelease(someReleaseIdNotExists, pageable);
+    instanceConfigController.getByRelease(someReleaseIdNotExists, null, pageable);
   }
 
   @Test
@@ -254,7 +255,7 @@ public class InstanceConfigControllerTest {
         pageable)).thenReturn(instances);
 
     PageDTO<InstanceDTO> result = instanceConfigController.getInstancesByNamespace(someAppId,
-        someClusterName, someNamespaceName, null, pageable);
+        someClusterName, someNamespaceName, null, null, pageable);
 
     assertEquals(2, result.getContent().size());
     InstanceDTO someInstanceDto = null;
@@ -293,7 +294,7 @@ public class InstanceConfigControllerTest {
         someClusterName, someNamespaceName, pageable)).thenReturn(instances);
 
     PageDTO<InstanceDTO> result = instanceConfigController.getInstancesByNamespace(someAppId,
-        someClusterName, someNamespaceName, someInstanceAppId, pageable);
+        someClusterName, someNamespaceName, someInstanceAppId, null, pageable);
 
     assertEquals(2, result.getContent().size());
     InstanceDTO someInstanceDto = null;
@@ -318,10 +319,8 @@ public class InstanceConfigControllerTest {
     String someClusterName = "someClusterName";
     String someNamespaceName = "someNamespaceName";
 
-    Page<Instance> instances = new PageImpl<>(Collections.emptyList(), pageable, 2);
-
-    when(instanceService.findInstancesByNamespace(eq(someAppId), eq(someClusterName),
-        eq(someNamespaceName), any(Pageable.class))).thenReturn(instances);
+    when(instanceService.countInstancesByNamespace(someAppId, someClusterName, someNamespaceName))
+        .thenReturn(2L);
 
     long result = instanceConfigController.getInstancesCountByNamespace(someAppId, someClusterName,
         someNamespaceName);
@@ -329,6 +328,38 @@ public class InstanceConfigControllerTest {
     assertEquals(2, result);
   }
 
+  @Test
+  public void testGetInstancesByNamespaceAfterInstanceId() throws Exception {
+    String someAppId = "someAppId";
+    String someClusterName = "someClusterName";
+    String someNamespaceName = "someNamespaceName";
+    String someIp = "someIp";
+    long someAfterInstanceId = 1;
+    long someInstanceId = 2;
+    long anotherInstanceId = 3;
+
+    Instance someInstance =
+        assembleInstance(someInstanceId, someAppId, someClusterName, someNamespaceName, someIp);
+    Instance anotherInstance =
+        assembleInstance(anotherInstanceId, someAppId, someClusterName, someNamespaceName, someIp);
+
+    when(instanceService.findInstancesByNamespace(someAppId, someClusterName, someNamespaceName,
+        someAfterInstanceId, pageable.getPageSize()))
+            .thenReturn(Lists.newArrayList(someInstance, anotherInstance));
+    when(instanceService.countInstancesByNamespace(someAppId, someClusterName, someNamespaceName))
+        .thenReturn(3L);
+
+    PageDTO<InstanceDTO> result = instanceConfigController.getInstancesByNamespace(someAppId,
+        someClusterName, someNamespaceName, null, someAfterInstanceId, pageable);
+
+    assertEquals(3, result.getTotal());
+    assertEquals(2, result.getContent().size());
+    verifyInstance(someInstance, result.getContent().get(0));
+    verifyInstance(anotherInstance, result.getContent().get(1));
+    verify(instanceService, never()).findInstancesByNamespace(anyString(), anyString(),
+        anyString(), any(Pageable.class));
+  }
+
   private void verifyInstance(Instance instance, InstanceDTO instanceDTO) {
     assertEquals(instance.getId(), instanceDTO.getId());
     assertEquals(instance.getAppId(), instanceDTO.getAppId());
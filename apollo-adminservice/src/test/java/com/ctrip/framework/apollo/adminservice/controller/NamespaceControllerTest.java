@@ -17,9 +17,13 @@
 package com.ctrip.framework.apollo.adminservice.controller;
 
 import com.ctrip.framework.apollo.common.dto.NamespaceDTO;
+import com.ctrip.framework.apollo.common.dto.NamespaceViewDTO;
 import com.ctrip.framework.apollo.common.utils.InputValidator;
+import java.util.Map;
 import org.junit.Assert;
 import org.junit.Test;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.Sql.ExecutionPhase;
 import org.springframework.web.client.HttpClientErrorException;
 import static org.hamcrest.Matchers.containsString;
 
@@ -44,4 +48,31 @@ public class NamespaceControllerTest extends AbstractControllerTest {
           containsString(InputValidator.INVALID_CLUSTER_NAMESPACE_MESSAGE));
     }
   }
+
+  @Test
+  @Sql(scripts = "/controller/test-namespace-views.sql",
+      executionPhase = ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(statements = "DELETE FROM \"Release\" WHERE AppId = 'namespaceViewsAppId'",
+      executionPhase = ExecutionPhase.AFTER_TEST_METHOD)
+  @Sql(scripts = "/controller/cleanup.sql", executionPhase = ExecutionPhase.AFTER_TEST_METHOD)
+  public void findNamespaceViews() {
+    NamespaceViewDTO[] namespaceViews = restTemplate.getForObject(
+        url("/apps/{appId}/clusters/{clusterName}/namespace-views"), NamespaceViewDTO[].class,
+        "namespaceViewsAppId", "default");
+
+    Assert.assertEquals(1, namespaceViews.length);
+    NamespaceViewDTO namespaceView = namespaceViews[0];
+    Assert.assertEquals("application", namespaceView.getBaseInfo().getNamespaceName());
+    Assert.assertEquals(2, namespaceView.getItems().size());
+    Assert.assertEquals("k1", namespaceView.getItems().get(0).getKey());
+    Assert.assertEquals("v2-modified", namespaceView.getItems().get(1).getValue());
+
+    Map<String, String> releaseConfigurations = namespaceView.getReleaseConfigurations();
+    Assert.assertEquals(3, releaseConfigurations.size());
+    Assert.assertEquals("v2", releaseConfigurations.get("k2"));
+
+    Assert.assertEquals(1, namespaceView.getDeletedItems().size());
+    Assert.assertEquals("k3", namespaceView.getDeletedItems().get(0).getKey());
+    Assert.assertEquals("v3", namespaceView.getDeletedItems().get(0).getValue());
+  }
 }
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.adminservice.filter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.ctrip.framework.apollo.biz.config.BizConfig;
+import com.google.common.base.Strings;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CharStreams;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class RequestContentEncodingFilterTest {
+
+  private static final String BODY =
+      "{\"createItems\":[{\"key\":\"someKey\",\"value\":\"someValue\"}]}";
+
+  private BizConfig bizConfig;
+  private RequestContentEncodingFilter filter;
+
+  @Before
+  public void setUp() {
+    bizConfig = mock(BizConfig.class);
+    when(bizConfig.requestDecompressedSizeLimit()).thenReturn(1024);
+    filter = new RequestContentEncodingFilter(bizConfig);
+  }
+
+  @Test
+  public void testDecodeGzipRequestBody() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/items-change-sets");
+    request.addHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+    request.setContent(gzip(BODY));
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    MockFilterChain chain = new MockFilterChain();
+
+    filter.doFilter(request, response, chain);
+
+    HttpServletRequest filtered = (HttpServletRequest) chain.getRequest();
+    assertNull(filtered.getHeader(HttpHeaders.CONTENT_ENCODING));
+    assertEquals(BODY.length(), filtered.getContentLength());
+    assertEquals(BODY,
+        new String(ByteStreams.toByteArray(filtered.getInputStream()), StandardCharsets.UTF_8));
+    assertEquals("gzip", response.getHeader(HttpHeaders.ACCEPT_ENCODING));
+  }
+
+  @Test
+  public void testReadGzipRequestBodyWithReader() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/items-change-sets");
+    request.addHeader(HttpHeaders.CONTENT_ENCODING, "GZIP");
+    request.setCharacterEncoding("UTF-8");
+    request.setContent(gzip(BODY));
+    MockFilterChain chain = new MockFilterChain();
+
+    filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+    assertEquals(BODY,
+        CharStreams.toString(((HttpServletRequest) chain.getRequest()).getReader()));
+  }
+
+  @Test
+  public void testPassPlainRequest() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/items-change-sets");
+    request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    MockFilterChain chain = new MockFilterChain();
+
+    filter.doFilter(request, response, chain);
+
+    assertSame(request, chain.getRequest());
+    assertEquals("gzip", response.getHeader(HttpHeaders.ACCEPT_ENCODING));
+  }
+
+  @Test
+  public void testRejectUnsupportedContentEncoding() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/items-change-sets");
+    request.addHeader(HttpHeaders.CONTENT_ENCODING, "br");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    MockFilterChain chain = new MockFilterChain();
+
+    filter.doFilter(request, response, chain);
+
+    assertNull(chain.getRequest());
+    assertEquals(HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE, response.getStatus());
+  }
+
+  @Test
+  public void testRejectGzipRequestBodyLargerThanLimit() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/items-change-sets");
+    request.addHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+    // compresses to a few bytes
+    request.setContent(gzip(Strings.repeat("a", 1025)));
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    MockFilterChain chain = new MockFilterChain();
+
+    filter.doFilter(request, response, chain);
+
+    assertNull(chain.getRequest());
+    assertEquals(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, response.getStatus());
+  }
+
+  @Test
+  public void testRejectMalformedGzipRequestBody() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/items-change-sets");
+    request.addHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+    request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    MockFilterChain chain = new MockFilterChain();
+
+    filter.doFilter(request, response, chain);
+
+    assertNull(chain.getRequest());
+    assertEquals(HttpServletResponse.SC_BAD_REQUEST, response.getStatus());
+  }
+
+  private byte[] gzip(String content) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(content.getBytes(StandardCharsets.UTF_8));
+    }
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,32 @@
+--
+-- Copyright 2024 Apollo Authors
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+INSERT INTO "App" (AppId, Name, OwnerName, OwnerEmail) VALUES ('someAppId','someAppName','someOwnerName','someOwnerName@ctrip.com');
+INSERT INTO "App" (AppId, Name, OwnerName, OwnerEmail) VALUES ('namespaceViewsAppId','someAppName','someOwnerName','someOwnerName@ctrip.com');
+
+INSERT INTO "Cluster" (AppId, Name) VALUES ('namespaceViewsAppId', 'default');
+
+INSERT INTO "AppNamespace" (AppId, Name) VALUES ('namespaceViewsAppId', 'application');
+
+INSERT INTO "Namespace" (Id, AppId, ClusterName, NamespaceName) VALUES (200, 'namespaceViewsAppId', 'default', 'application');
+
+INSERT INTO "Item" (NamespaceId, "Key", "Type", "Value", Comment, LineNum) VALUES (200, 'k1', '0', 'v1', 'comment1', 1);
+INSERT INTO "Item" (NamespaceId, "Key", "Type", "Value", Comment, LineNum) VALUES (200, 'k2', '0', 'v2-modified', 'comment2', 2);
+
+INSERT INTO "Release" (ReleaseKey, Name, Comment, AppId, ClusterName, NamespaceName, Configurations, DataChange_CreatedTime) VALUES ('namespace-views-release-key', 'REV1', 'First Release', 'namespaceViewsAppId', 'default', 'application', '{"k1":"v1","k2":"v2","k3":"v3"}', '2020-01-01 10:00:00');
+
+-- k0 was deleted before the release, k3 after it
+INSERT INTO "Commit" (`ChangeSets`, `AppId`, `ClusterName`, `NamespaceName`, `DataChange_LastTime`) VALUES ('{"createItems":[],"updateItems":[],"deleteItems":[{"namespaceId":200,"key":"k0","value":"v0"}]}', 'namespaceViewsAppId', 'default', 'application', '2019-12-31 10:00:00');
+INSERT INTO "Commit" (`ChangeSets`, `AppId`, `ClusterName`, `NamespaceName`, `DataChange_LastTime`) VALUES ('{"createItems":[],"updateItems":[],"deleteItems":[{"namespaceId":200,"key":"k3","value":"v3"}]}', 'namespaceViewsAppId', 'default', 'application', '2020-01-02 10:00:00');
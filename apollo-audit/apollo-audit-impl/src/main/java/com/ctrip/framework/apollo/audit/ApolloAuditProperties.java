@@ -23,6 +23,8 @@ public class ApolloAuditProperties {
 
   private boolean enabled = false;
 
+  private final Async async = new Async();
+
   public boolean isEnabled() {
     return enabled;
   }
@@ -30,4 +32,110 @@ public class ApolloAuditProperties {
   public void setEnabled(boolean enabled) {
     this.enabled = enabled;
   }
+
+  public Async getAsync() {
+    return async;
+  }
+
+  /**
+   * Writes audit logs and data influences from a bounded buffer in the background instead of
+   * inside the audited request, see {@code ApolloAuditLogAsyncSink}.
+   */
+  public static class Async {
+
+    private boolean enabled = false;
+    private int bufferSize = 8192;
+    private int batchSize = 200;
+    private long flushIntervalMillis = 500;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    private long blockTimeoutMillis = 1000;
+    /**
+     * defaults to a directory of this application under java.io.tmpdir, services sharing a host
+     * must not share a spill file
+     */
+    private String spillDirectory;
+    private long shutdownTimeoutMillis = 10000;
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public int getBufferSize() {
+      return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+      this.bufferSize = bufferSize;
+    }
+
+    public int getBatchSize() {
+      return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+      this.batchSize = batchSize;
+    }
+
+    public long getFlushIntervalMillis() {
+      return flushIntervalMillis;
+    }
+
+    public void setFlushIntervalMillis(long flushIntervalMillis) {
+      this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+      return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+      this.overflowPolicy = overflowPolicy;
+    }
+
+    public long getBlockTimeoutMillis() {
+      return blockTimeoutMillis;
+    }
+
+    public void setBlockTimeoutMillis(long blockTimeoutMillis) {
+      this.blockTimeoutMillis = blockTimeoutMillis;
+    }
+
+    public String getSpillDirectory() {
+      return spillDirectory;
+    }
+
+    public void setSpillDirectory(String spillDirectory) {
+      this.spillDirectory = spillDirectory;
+    }
+
+    public long getShutdownTimeoutMillis() {
+      return shutdownTimeoutMillis;
+    }
+
+    public void setShutdownTimeoutMillis(long shutdownTimeoutMillis) {
+      this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+    }
+  }
+
+  /**
+   * What to do with an audit record when the async buffer is full.
+   */
+  public enum OverflowPolicy {
+    /**
+     * wait up to blockTimeoutMillis for room, then drop
+     */
+    BLOCK,
+    /**
+     * drop the record right away
+     */
+    DROP,
+    /**
+     * append the record to a local file, written to the database once the buffer drains
+     */
+    SPILL
+  }
 }
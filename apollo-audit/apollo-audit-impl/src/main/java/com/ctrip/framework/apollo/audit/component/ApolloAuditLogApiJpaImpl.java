@@ -40,6 +40,7 @@ public class ApolloAuditLogApiJpaImpl implements ApolloAuditLogApi {
   private final ApolloAuditLogService logService;
   private final ApolloAuditLogDataInfluenceService dataInfluenceService;
   private final ApolloAuditTraceContext traceContext;
+  private ApolloAuditLogAsyncSink asyncSink;
 
   public ApolloAuditLogApiJpaImpl(ApolloAuditLogService logService,
       ApolloAuditLogDataInfluenceService dataInfluenceService,
@@ -49,6 +50,13 @@ public class ApolloAuditLogApiJpaImpl implements ApolloAuditLogApi {
     this.traceContext = traceContext;
   }
 
+  /**
+   * Write audit records through the sink instead of inside the audited request.
+   */
+  public void setAsyncSink(ApolloAuditLogAsyncSink asyncSink) {
+    this.asyncSink = asyncSink;
+  }
+
   @Override
   public AutoCloseable appendAuditLog(OpType type, String name) {
     return appendAuditLog(type, name, "no description");
@@ -62,7 +70,11 @@ public class ApolloAuditLogApiJpaImpl implements ApolloAuditLogApi {
       };
     }
     ApolloAuditScope scope = tracer.startActiveSpan(type, name, description);
-    logService.logSpan(scope.activeSpan());
+    if (asyncSink != null) {
+      asyncSink.append(ApolloAuditUtil.spanToLog(scope.activeSpan()));
+    } else {
+      logService.logSpan(scope.activeSpan());
+    }
     return scope;
   }
 
@@ -91,7 +103,11 @@ public class ApolloAuditLogApiJpaImpl implements ApolloAuditLogApi {
       case DELETE:
         builder.oldVal(fieldCurrentValue);
     }
-    dataInfluenceService.save(builder.build());
+    if (asyncSink != null) {
+      asyncSink.append(builder.build());
+    } else {
+      dataInfluenceService.save(builder.build());
+    }
   }
 
   @Override
@@ -0,0 +1,487 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.audit.component;
+
+import com.ctrip.framework.apollo.audit.ApolloAuditProperties;
+import com.ctrip.framework.apollo.audit.ApolloAuditProperties.OverflowPolicy;
+import com.ctrip.framework.apollo.audit.entity.ApolloAuditLog;
+import com.ctrip.framework.apollo.audit.entity.ApolloAuditLogDataInfluence;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Takes audit logs and data influences off the audited request: records go into a bounded buffer
+ * and a single writer thread inserts them in batches through {@link ApolloAuditLogJdbcWriter}.
+ * <p>
+ * When the buffer is full the {@link OverflowPolicy} decides whether the caller waits, the record
+ * is dropped or it is appended to a local spill file. Spilled records, and whatever is still
+ * buffered when the sink stops, are written to the database once the buffer is idle again, one
+ * batch at a time, so records appended meanwhile don't wait for the whole spill file.
+ */
+public class ApolloAuditLogAsyncSink implements MeterBinder {
+
+  private static final Logger logger = LoggerFactory.getLogger(ApolloAuditLogAsyncSink.class);
+
+  static final String SPILL_FILE_NAME = "apollo-audit-spill.log";
+  private static final String REPLAY_FILE_NAME = SPILL_FILE_NAME + ".replaying";
+
+  private static final String RECORDS_METRIC = "apollo.audit.sink.records";
+  private static final long DROP_WARN_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+  private final ApolloAuditLogJdbcWriter writer;
+  private final ApolloAuditProperties.Async config;
+  private final BlockingQueue<PendingRecord> buffer;
+  private final ObjectMapper objectMapper = new ObjectMapper()
+      .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+  private final Path spillFile;
+  private final Path replayFile;
+  private final Object spillLock = new Object();
+
+  private final AtomicBoolean started = new AtomicBoolean();
+  private final AtomicBoolean closed = new AtomicBoolean();
+  private final AtomicLong written = new AtomicLong();
+  private final AtomicLong dropped = new AtomicLong();
+  private final AtomicLong spilled = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+  private final AtomicLong lastDropWarnedAt = new AtomicLong();
+  private Thread writerThread;
+  // only used by the writer thread
+  private BufferedReader replayReader;
+  private boolean replayHealthy;
+
+  public ApolloAuditLogAsyncSink(ApolloAuditLogJdbcWriter writer,
+      ApolloAuditProperties.Async config) {
+    this.writer = writer;
+    this.config = config;
+    this.buffer = new ArrayBlockingQueue<>(Math.max(1, config.getBufferSize()));
+    this.spillFile = Paths.get(config.getSpillDirectory(), SPILL_FILE_NAME);
+    this.replayFile = Paths.get(config.getSpillDirectory(), REPLAY_FILE_NAME);
+  }
+
+  public void start() {
+    if (!started.compareAndSet(false, true)) {
+      return;
+    }
+    writerThread = new Thread(this::run, "ApolloAuditLogAsyncSink");
+    writerThread.setDaemon(true);
+    writerThread.start();
+  }
+
+  /**
+   * Flush the buffered records, records left after the shutdown timeout are spilled to be written
+   * by the next start.
+   */
+  @PreDestroy
+  public void stop() {
+    if (!closed.compareAndSet(false, true)) {
+      return;
+    }
+    if (writerThread != null) {
+      try {
+        writerThread.join(config.getShutdownTimeoutMillis());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      writerThread.interrupt();
+    }
+    List<PendingRecord> remaining = new ArrayList<>();
+    buffer.drainTo(remaining);
+    if (!remaining.isEmpty()) {
+      List<Object> records = toRecords(remaining);
+      if (spill(records)) {
+        logger.warn("Spilled {} audit records not written before shutdown to {}",
+            records.size(), spillFile);
+      } else {
+        dropped.addAndGet(records.size());
+        logger.error("Dropped {} audit records not written before shutdown", records.size());
+      }
+    }
+  }
+
+  public void append(ApolloAuditLog auditLog) {
+    enqueue(auditLog);
+  }
+
+  public void append(ApolloAuditLogDataInfluence dataInfluence) {
+    if (dataInfluence.getDataChangeCreatedTime() == null) {
+      dataInfluence.setDataChangeCreatedTime(new Date());
+    }
+    enqueue(dataInfluence);
+  }
+
+  /**
+   * @return the number of records waiting to be written
+   */
+  public int pendingCount() {
+    return buffer.size();
+  }
+
+  /**
+   * @return how long the oldest buffered record has been waiting, in milliseconds
+   */
+  public long lagMillis() {
+    PendingRecord oldest = buffer.peek();
+    return oldest == null ? 0 : System.currentTimeMillis() - oldest.enqueuedAt;
+  }
+
+  public long writtenCount() {
+    return written.get();
+  }
+
+  public long droppedCount() {
+    return dropped.get();
+  }
+
+  public long spilledCount() {
+    return spilled.get();
+  }
+
+  public long failedCount() {
+    return failed.get();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("apollo.audit.sink.pending", this, ApolloAuditLogAsyncSink::pendingCount)
+        .description("audit records waiting to be written").register(registry);
+    Gauge.builder("apollo.audit.sink.lag", this, ApolloAuditLogAsyncSink::lagMillis)
+        .description("age of the oldest audit record waiting to be written")
+        .baseUnit("milliseconds").register(registry);
+    bindCounter(registry, "written", written);
+    bindCounter(registry, "dropped", dropped);
+    bindCounter(registry, "spilled", spilled);
+    bindCounter(registry, "failed", failed);
+  }
+
+  private void bindCounter(MeterRegistry registry, String result, AtomicLong count) {
+    FunctionCounter.builder(RECORDS_METRIC, count, AtomicLong::get).tag("result", result)
+        .register(registry);
+  }
+
+  private void enqueue(Object record) {
+    PendingRecord pending = new PendingRecord(record, System.currentTimeMillis());
+    if (closed.get()) {
+      overflow(record);
+      return;
+    }
+    if (buffer.offer(pending)) {
+      return;
+    }
+    if (config.getOverflowPolicy() == OverflowPolicy.BLOCK) {
+      try {
+        if (buffer.offer(pending, config.getBlockTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+          return;
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      drop();
+      return;
+    }
+    overflow(record);
+  }
+
+  private void overflow(Object record) {
+    if (config.getOverflowPolicy() == OverflowPolicy.SPILL
+        && spill(Collections.singletonList(record))) {
+      return;
+    }
+    drop();
+  }
+
+  /**
+   * Count the dropped record, and warn at most once per {@value #DROP_WARN_INTERVAL_MILLIS}
+   * milliseconds.
+   */
+  private void drop() {
+    long droppedCount = dropped.incrementAndGet();
+    long now = System.currentTimeMillis();
+    long last = lastDropWarnedAt.get();
+    if (now - last >= DROP_WARN_INTERVAL_MILLIS && lastDropWarnedAt.compareAndSet(last, now)) {
+      logger.warn("Dropped audit record, the buffer of {} records is full, {} dropped so far",
+          config.getBufferSize(), droppedCount);
+    }
+  }
+
+  private void run() {
+    int batchSize = Math.max(1, config.getBatchSize());
+    List<PendingRecord> batch = new ArrayList<>(batchSize);
+    try {
+      writeBuffered(batch, batchSize);
+    } finally {
+      stopReplay();
+    }
+  }
+
+  private void writeBuffered(List<PendingRecord> batch, int batchSize) {
+    while (!closed.get() || !buffer.isEmpty()) {
+      try {
+        // don't wait while replaying, the next spilled batch is ready
+        PendingRecord first = replayReader != null ? buffer.poll()
+            : buffer.poll(config.getFlushIntervalMillis(), TimeUnit.MILLISECONDS);
+        if (first == null) {
+          if (!closed.get()) {
+            replaySpilled(batchSize);
+          }
+          continue;
+        }
+        batch.add(first);
+        buffer.drainTo(batch, batchSize - 1);
+        List<Object> records = toRecords(batch);
+        if (!flush(records) && !(config.getOverflowPolicy() == OverflowPolicy.SPILL
+            && spill(records))) {
+          failed.addAndGet(records.size());
+        }
+      } catch (InterruptedException e) {
+        if (closed.get()) {
+          return;
+        }
+      } catch (Throwable ex) {
+        logger.error("Audit log sink failed", ex);
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private boolean flush(List<Object> records) {
+    List<ApolloAuditLog> logs = new ArrayList<>();
+    List<ApolloAuditLogDataInfluence> dataInfluences = new ArrayList<>();
+    for (Object record : records) {
+      if (record instanceof ApolloAuditLog) {
+        logs.add((ApolloAuditLog) record);
+      } else {
+        dataInfluences.add((ApolloAuditLogDataInfluence) record);
+      }
+    }
+    try {
+      writer.write(logs, dataInfluences);
+      written.addAndGet(records.size());
+      return true;
+    } catch (Throwable ex) {
+      logger.error("Write {} audit records failed", records.size(), ex);
+      return false;
+    }
+  }
+
+  private boolean spill(Collection<Object> records) {
+    if (!appendToSpillFile(records)) {
+      return false;
+    }
+    spilled.addAndGet(records.size());
+    return true;
+  }
+
+  private boolean appendToSpillFile(Collection<Object> records) {
+    synchronized (spillLock) {
+      try {
+        Files.createDirectories(spillFile.getParent());
+      } catch (IOException ex) {
+        logger.error("Create spill directory {} failed", spillFile.getParent(), ex);
+        return false;
+      }
+      try (BufferedWriter out = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+          StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+        for (Object record : records) {
+          out.write(objectMapper.writeValueAsString(SpilledRecord.of(record)));
+          out.newLine();
+        }
+      } catch (IOException ex) {
+        logger.error("Spill {} audit records to {} failed", records.size(), spillFile, ex);
+        return false;
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Write the next batch of the spilled records, the ones which couldn't be written are spilled
+   * again.
+   */
+  private void replaySpilled(int batchSize) throws IOException {
+    if (replayReader == null) {
+      synchronized (spillLock) {
+        if (!Files.exists(replayFile)) {
+          if (!Files.exists(spillFile)) {
+            return;
+          }
+          Files.move(spillFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+        }
+      }
+      replayReader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8);
+      replayHealthy = true;
+    }
+    List<Object> records = new ArrayList<>(batchSize);
+    boolean finished = false;
+    try {
+      while (records.size() < batchSize) {
+        String line = replayReader.readLine();
+        if (line == null) {
+          finished = true;
+          break;
+        }
+        if (line.isEmpty()) {
+          continue;
+        }
+        try {
+          records.add(objectMapper.readValue(line, SpilledRecord.class).record());
+        } catch (IOException ex) {
+          logger.warn("Skip malformed spilled audit record: {}", line, ex);
+        }
+      }
+    } catch (IOException ex) {
+      // replayed again from the start
+      closeReplayReader();
+      throw ex;
+    }
+    replayHealthy = replay(records, replayHealthy);
+    if (finished) {
+      closeReplayReader();
+      Files.delete(replayFile);
+    }
+  }
+
+  /**
+   * Spill the records not replayed yet again, so the next start doesn't write the replayed ones
+   * twice.
+   */
+  private void stopReplay() {
+    if (replayReader == null) {
+      return;
+    }
+    // the writer thread may be interrupted by stop(), which would close the spill file channel
+    Thread.interrupted();
+    synchronized (spillLock) {
+      try (BufferedWriter out = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+          StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+        String line;
+        while ((line = replayReader.readLine()) != null) {
+          out.write(line);
+          out.newLine();
+        }
+        closeReplayReader();
+        Files.delete(replayFile);
+      } catch (IOException ex) {
+        logger.error("Spill the audit records not replayed from {} failed", replayFile, ex);
+        closeReplayReader();
+      }
+    }
+  }
+
+  private void closeReplayReader() {
+    try {
+      replayReader.close();
+    } catch (IOException ex) {
+      logger.warn("Close {} failed", replayFile, ex);
+    }
+    replayReader = null;
+  }
+
+  private boolean replay(List<Object> records, boolean healthy) {
+    if (records.isEmpty()) {
+      return healthy;
+    }
+    if (healthy && flush(records)) {
+      return true;
+    }
+    if (!appendToSpillFile(records)) {
+      failed.addAndGet(records.size());
+    }
+    return false;
+  }
+
+  private static List<Object> toRecords(List<PendingRecord> pending) {
+    List<Object> records = new ArrayList<>(pending.size());
+    for (PendingRecord record : pending) {
+      records.add(record.record);
+    }
+    return records;
+  }
+
+  private static class PendingRecord {
+
+    private final Object record;
+    private final long enqueuedAt;
+
+    PendingRecord(Object record, long enqueuedAt) {
+      this.record = record;
+      this.enqueuedAt = enqueuedAt;
+    }
+  }
+
+  static class SpilledRecord {
+
+    private ApolloAuditLog log;
+    private ApolloAuditLogDataInfluence dataInfluence;
+
+    static SpilledRecord of(Object record) {
+      SpilledRecord spilledRecord = new SpilledRecord();
+      if (record instanceof ApolloAuditLog) {
+        spilledRecord.setLog((ApolloAuditLog) record);
+      } else {
+        spilledRecord.setDataInfluence((ApolloAuditLogDataInfluence) record);
+      }
+      return spilledRecord;
+    }
+
+    Object record() {
+      return log != null ? log : dataInfluence;
+    }
+
+    public ApolloAuditLog getLog() {
+      return log;
+    }
+
+    public void setLog(ApolloAuditLog log) {
+      this.log = log;
+    }
+
+    public ApolloAuditLogDataInfluence getDataInfluence() {
+      return dataInfluence;
+    }
+
+    public void setDataInfluence(ApolloAuditLogDataInfluence dataInfluence) {
+      this.dataInfluence = dataInfluence;
+    }
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.audit.component;
+
+import com.ctrip.framework.apollo.audit.entity.ApolloAuditLog;
+import com.ctrip.framework.apollo.audit.entity.ApolloAuditLogDataInfluence;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Inserts audit records with JDBC batches, the IDENTITY ids of the entities keep Hibernate from
+ * batching their inserts.
+ */
+public class ApolloAuditLogJdbcWriter {
+
+  private static final String INSERT_LOG = "INSERT INTO `AuditLog` (`TraceId`, `SpanId`, "
+      + "`ParentSpanId`, `FollowsFromSpanId`, `Operator`, `OpType`, `OpName`, `Description`, "
+      + "`DataChange_CreatedBy`, `DataChange_CreatedTime`, `DataChange_LastTime`) "
+      + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private static final String INSERT_DATA_INFLUENCE = "INSERT INTO `AuditLogDataInfluence` "
+      + "(`SpanId`, `InfluenceEntityId`, `InfluenceEntityName`, `FieldName`, `FieldOldValue`, "
+      + "`FieldNewValue`, `DataChange_CreatedBy`, `DataChange_CreatedTime`, `DataChange_LastTime`) "
+      + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public ApolloAuditLogJdbcWriter(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public void write(List<ApolloAuditLog> logs, List<ApolloAuditLogDataInfluence> dataInfluences) {
+    if (!logs.isEmpty()) {
+      List<Object[]> args = new ArrayList<>(logs.size());
+      for (ApolloAuditLog log : logs) {
+        Timestamp createdTime = toTimestamp(log.getDataChangeCreatedTime());
+        args.add(new Object[]{log.getTraceId(), log.getSpanId(), log.getParentSpanId(),
+            log.getFollowsFromSpanId(), log.getOperator(), log.getOpType(), log.getOpName(),
+            log.getDescription(), log.getDataChangeCreatedBy(), createdTime, createdTime});
+      }
+      jdbcTemplate.batchUpdate(INSERT_LOG, args);
+    }
+    if (!dataInfluences.isEmpty()) {
+      List<Object[]> args = new ArrayList<>(dataInfluences.size());
+      for (ApolloAuditLogDataInfluence influence : dataInfluences) {
+        Timestamp createdTime = toTimestamp(influence.getDataChangeCreatedTime());
+        args.add(new Object[]{influence.getSpanId(), influence.getInfluenceEntityId(),
+            influence.getInfluenceEntityName(), influence.getFieldName(),
+            influence.getFieldOldValue(), influence.getFieldNewValue(),
+            influence.getDataChangeCreatedBy(), createdTime, createdTime});
+      }
+      jdbcTemplate.batchUpdate(INSERT_DATA_INFLUENCE, args);
+    }
+  }
+
+  private static Timestamp toTimestamp(Date date) {
+    return new Timestamp(date != null ? date.getTime() : System.currentTimeMillis());
+  }
+}
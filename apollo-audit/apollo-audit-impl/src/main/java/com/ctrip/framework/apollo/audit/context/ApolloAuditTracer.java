@@ -48,24 +48,31 @@ public class ApolloAuditTracer {
   }
 
   public HttpRequest inject(HttpRequest request) {
-    Map<String, List<String>> map = new HashMap<>();
     if (manager.activeSpan() == null) {
       return request;
     }
-    map.put(ApolloAuditConstants.TRACE_ID,
-        Collections.singletonList(manager.activeSpan().traceId()));
-    map.put(ApolloAuditConstants.SPAN_ID, Collections.singletonList(manager.activeSpan().spanId()));
-    map.put(ApolloAuditConstants.OPERATOR,
-        Collections.singletonList(manager.activeSpan().operator()));
-    map.put(ApolloAuditConstants.PARENT_ID,
-        Collections.singletonList(manager.activeSpan().parentId()));
+    injectHeaders(request.getHeaders());
+    return request;
+  }
+
+  /**
+   * Put the trace of the active span into the headers, for requests that are not sent from the
+   * thread serving the current request
+   */
+  public void injectHeaders(HttpHeaders headers) {
+    ApolloAuditSpan activeSpan = manager.activeSpan();
+    if (activeSpan == null) {
+      return;
+    }
+    Map<String, List<String>> map = new HashMap<>();
+    map.put(ApolloAuditConstants.TRACE_ID, Collections.singletonList(activeSpan.traceId()));
+    map.put(ApolloAuditConstants.SPAN_ID, Collections.singletonList(activeSpan.spanId()));
+    map.put(ApolloAuditConstants.OPERATOR, Collections.singletonList(activeSpan.operator()));
+    map.put(ApolloAuditConstants.PARENT_ID, Collections.singletonList(activeSpan.parentId()));
     map.put(ApolloAuditConstants.FOLLOWS_FROM_ID,
-        Collections.singletonList(manager.activeSpan().followsFromId()));
+        Collections.singletonList(activeSpan.followsFromId()));
 
-    HttpHeaders headers = request.getHeaders();
     headers.putAll(map);
-
-    return request;
   }
 
   public ApolloAuditSpan startSpan(OpType type, String name, String description) {
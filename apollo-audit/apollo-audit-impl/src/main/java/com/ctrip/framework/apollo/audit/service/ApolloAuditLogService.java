@@ -19,6 +19,7 @@ package com.ctrip.framework.apollo.audit.service;
 import com.ctrip.framework.apollo.audit.context.ApolloAuditSpan;
 import com.ctrip.framework.apollo.audit.entity.ApolloAuditLog;
 import com.ctrip.framework.apollo.audit.repository.ApolloAuditLogRepository;
+import com.ctrip.framework.apollo.audit.util.ApolloAuditUtil;
 import java.util.Date;
 import java.util.List;
 import org.springframework.data.domain.PageRequest;
@@ -40,13 +41,7 @@ public class ApolloAuditLogService {
   }
 
   public void logSpan(ApolloAuditSpan span) {
-
-    ApolloAuditLog auditLog = ApolloAuditLog.builder().traceId(span.traceId()).spanId(span.spanId())
-        .parentSpanId(span.parentId()).followsFromSpanId(span.followsFromId())
-        .operator(span.operator() != null ? span.operator() : "anonymous").opName(span.getOpName())
-        .opType(span.getOpType().toString()).description(span.getDescription())
-        .happenedTime(new Date()).build();
-    logRepository.save(auditLog);
+    logRepository.save(ApolloAuditUtil.spanToLog(span));
   }
 
   public List<ApolloAuditLog> findByTraceId(String traceId) {
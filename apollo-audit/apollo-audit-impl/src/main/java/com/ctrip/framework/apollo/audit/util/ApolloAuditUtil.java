@@ -17,6 +17,7 @@
 package com.ctrip.framework.apollo.audit.util;
 
 import com.ctrip.framework.apollo.audit.annotation.ApolloAuditLogDataInfluenceTable;
+import com.ctrip.framework.apollo.audit.context.ApolloAuditSpan;
 import com.ctrip.framework.apollo.audit.dto.ApolloAuditLogDTO;
 import com.ctrip.framework.apollo.audit.dto.ApolloAuditLogDataInfluenceDTO;
 import com.ctrip.framework.apollo.audit.entity.ApolloAuditLog;
@@ -27,6 +28,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -73,6 +75,14 @@ public class ApolloAuditUtil {
     return null;
   }
 
+  public static ApolloAuditLog spanToLog(ApolloAuditSpan span) {
+    return ApolloAuditLog.builder().traceId(span.traceId()).spanId(span.spanId())
+        .parentSpanId(span.parentId()).followsFromSpanId(span.followsFromId())
+        .operator(span.operator() != null ? span.operator() : "anonymous").opName(span.getOpName())
+        .opType(span.getOpType().toString()).description(span.getDescription())
+        .happenedTime(new Date()).build();
+  }
+
   public static ApolloAuditLogDTO logToDTO(ApolloAuditLog auditLog) {
     ApolloAuditLogDTO dto = new ApolloAuditLogDTO();
     dto.setId(auditLog.getId());
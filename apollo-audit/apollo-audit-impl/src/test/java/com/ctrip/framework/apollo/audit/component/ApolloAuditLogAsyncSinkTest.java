@@ -0,0 +1,227 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.audit.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.ctrip.framework.apollo.audit.ApolloAuditProperties;
+import com.ctrip.framework.apollo.audit.ApolloAuditProperties.OverflowPolicy;
+import com.ctrip.framework.apollo.audit.entity.ApolloAuditLog;
+import com.ctrip.framework.apollo.audit.entity.ApolloAuditLogDataInfluence;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+public class ApolloAuditLogAsyncSinkTest {
+
+  final String traceId = "test-trace-id";
+  final String spanId = "test-span-id";
+
+  @TempDir
+  Path spillDirectory;
+
+  ApolloAuditLogJdbcWriter writer;
+  ApolloAuditProperties.Async config;
+  ApolloAuditLogAsyncSink sink;
+
+  @BeforeEach
+  void beforeEach() {
+    writer = Mockito.mock(ApolloAuditLogJdbcWriter.class);
+    config = new ApolloAuditProperties.Async();
+    config.setEnabled(true);
+    config.setFlushIntervalMillis(10);
+    config.setSpillDirectory(spillDirectory.toString());
+  }
+
+  @AfterEach
+  void afterEach() {
+    if (sink != null) {
+      sink.stop();
+    }
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testAppendWritesInBatches() {
+    sink = new ApolloAuditLogAsyncSink(writer, config);
+    sink.start();
+
+    sink.append(mockLog());
+    sink.append(mockDataInfluence());
+    sink.append(mockDataInfluence());
+    sink.stop();
+
+    ArgumentCaptor<List<ApolloAuditLog>> logs = ArgumentCaptor.forClass(List.class);
+    ArgumentCaptor<List<ApolloAuditLogDataInfluence>> dataInfluences =
+        ArgumentCaptor.forClass(List.class);
+    Mockito.verify(writer, Mockito.atLeastOnce()).write(logs.capture(), dataInfluences.capture());
+    assertEquals(1, logs.getAllValues().stream().mapToInt(List::size).sum());
+    assertEquals(2, dataInfluences.getAllValues().stream().mapToInt(List::size).sum());
+    assertEquals(3, sink.writtenCount());
+    assertEquals(0, sink.pendingCount());
+  }
+
+  @Test
+  public void testDropWhenBufferIsFull() {
+    config.setBufferSize(1);
+    config.setOverflowPolicy(OverflowPolicy.DROP);
+    sink = new ApolloAuditLogAsyncSink(writer, config);
+
+    sink.append(mockLog());
+    sink.append(mockLog());
+
+    assertEquals(1, sink.pendingCount());
+    assertEquals(1, sink.droppedCount());
+    assertTrue(sink.lagMillis() >= 0);
+  }
+
+  @Test
+  public void testBlockDropsAfterTimeout() {
+    config.setBufferSize(1);
+    config.setOverflowPolicy(OverflowPolicy.BLOCK);
+    config.setBlockTimeoutMillis(10);
+    sink = new ApolloAuditLogAsyncSink(writer, config);
+
+    sink.append(mockLog());
+    sink.append(mockLog());
+
+    assertEquals(1, sink.droppedCount());
+  }
+
+  @Test
+  public void testSpillWhenBufferIsFullAndReplay() throws Exception {
+    config.setBufferSize(1);
+    config.setOverflowPolicy(OverflowPolicy.SPILL);
+    sink = new ApolloAuditLogAsyncSink(writer, config);
+
+    sink.append(mockLog());
+    sink.append(mockDataInfluence());
+
+    assertEquals(1, sink.spilledCount());
+    assertEquals(0, sink.droppedCount());
+    assertTrue(Files.exists(spillDirectory.resolve(ApolloAuditLogAsyncSink.SPILL_FILE_NAME)));
+
+    sink.start();
+    waitUntilWritten(2);
+
+    assertFalse(Files.exists(spillDirectory.resolve(ApolloAuditLogAsyncSink.SPILL_FILE_NAME)));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testReplayLetsBufferedRecordsThrough() throws Exception {
+    config.setBufferSize(1);
+    config.setBatchSize(1);
+    config.setOverflowPolicy(OverflowPolicy.SPILL);
+    sink = new ApolloAuditLogAsyncSink(writer, config);
+    sink.append(mockLog());
+    for (int i = 0; i < 4; i++) {
+      sink.append(mockDataInfluence());
+    }
+    assertEquals(4, sink.spilledCount());
+
+    List<String> writes = new CopyOnWriteArrayList<>();
+    Mockito.doAnswer(invocation -> {
+      List<ApolloAuditLog> logs = invocation.getArgument(0);
+      if (!logs.isEmpty()) {
+        writes.add("log");
+        return null;
+      }
+      writes.add("spilled");
+      if (writes.size() == 2) {
+        // appended while the spill file is replayed
+        sink.append(mockLog());
+      }
+      return null;
+    }).when(writer).write(Mockito.anyList(), Mockito.anyList());
+    sink.start();
+    waitUntilWritten(6);
+
+    assertEquals(Arrays.asList("log", "spilled", "log", "spilled", "spilled", "spilled"), writes);
+  }
+
+  @Test
+  public void testStopSpillsRecordsNotWritten() {
+    sink = new ApolloAuditLogAsyncSink(writer, config);
+    sink.append(mockLog());
+
+    sink.stop();
+
+    assertEquals(1, sink.spilledCount());
+    assertEquals(0, sink.droppedCount());
+    assertTrue(Files.exists(spillDirectory.resolve(ApolloAuditLogAsyncSink.SPILL_FILE_NAME)));
+    Mockito.verify(writer, Mockito.never()).write(Mockito.any(), Mockito.any());
+  }
+
+  @Test
+  public void testStopCreatesSpillDirectory() {
+    Path applicationSpillDirectory = spillDirectory.resolve("someApp-8080");
+    config.setSpillDirectory(applicationSpillDirectory.toString());
+    sink = new ApolloAuditLogAsyncSink(writer, config);
+    sink.append(mockLog());
+
+    sink.stop();
+
+    assertEquals(1, sink.spilledCount());
+    assertTrue(Files.exists(
+        applicationSpillDirectory.resolve(ApolloAuditLogAsyncSink.SPILL_FILE_NAME)));
+  }
+
+  @Test
+  public void testSpillWhenWriteFailed() {
+    config.setOverflowPolicy(OverflowPolicy.SPILL);
+    Mockito.doThrow(new IllegalStateException("database is down")).when(writer)
+        .write(Mockito.any(), Mockito.any());
+    sink = new ApolloAuditLogAsyncSink(writer, config);
+    sink.start();
+
+    sink.append(mockLog());
+    sink.stop();
+
+    assertEquals(0, sink.writtenCount());
+    assertEquals(1, sink.spilledCount());
+    assertEquals(0, sink.failedCount());
+  }
+
+  private void waitUntilWritten(long count) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (sink.writtenCount() < count && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(count, sink.writtenCount());
+  }
+
+  private ApolloAuditLog mockLog() {
+    return ApolloAuditLog.builder().traceId(traceId).spanId(spanId).opName("test.create")
+        .opType("CREATE").build();
+  }
+
+  private ApolloAuditLogDataInfluence mockDataInfluence() {
+    return ApolloAuditLogDataInfluence.builder().spanId(spanId).entityName("App").entityId("1")
+        .fieldName("name").newVal("xxx").build();
+  }
+}
@@ -100,6 +100,21 @@ public class ApolloAuditTracerTest {
     assertNull(headers.get(ApolloAuditConstants.FOLLOWS_FROM_ID));
   }
 
+  @Test
+  public void testInjectHeaders() {
+    {
+      ApolloAuditSpan activeSpan = Mockito.mock(ApolloAuditSpan.class);
+      Mockito.when(manager.activeSpan()).thenReturn(activeSpan);
+      Mockito.when(activeSpan.traceId()).thenReturn(activeTraceId);
+      Mockito.when(activeSpan.spanId()).thenReturn(activeSpanId);
+    }
+    HttpHeaders headers = new HttpHeaders();
+    tracer.injectHeaders(headers);
+
+    assertEquals(activeTraceId, headers.getFirst(ApolloAuditConstants.TRACE_ID));
+    assertEquals(activeSpanId, headers.getFirst(ApolloAuditConstants.SPAN_ID));
+  }
+
   @Test
   public void testStartSpanCaseActiveSpanExistsAndNoFollowsFrom() {
     {
@@ -22,6 +22,8 @@ import com.ctrip.framework.apollo.audit.aop.ApolloAuditSpanAspect;
 import com.ctrip.framework.apollo.audit.api.ApolloAuditLogApi;
 import com.ctrip.framework.apollo.audit.component.ApolloAuditHttpInterceptor;
 import com.ctrip.framework.apollo.audit.component.ApolloAuditLogApiJpaImpl;
+import com.ctrip.framework.apollo.audit.component.ApolloAuditLogAsyncSink;
+import com.ctrip.framework.apollo.audit.component.ApolloAuditLogJdbcWriter;
 import com.ctrip.framework.apollo.audit.context.ApolloAuditTraceContext;
 import com.ctrip.framework.apollo.audit.controller.ApolloAuditController;
 import com.ctrip.framework.apollo.audit.listener.ApolloAuditLogDataInfluenceEventListener;
@@ -33,14 +35,19 @@ import com.ctrip.framework.apollo.audit.spi.ApolloAuditLogQueryApiPreAuthorizer;
 import com.ctrip.framework.apollo.audit.spi.ApolloAuditOperatorSupplier;
 import com.ctrip.framework.apollo.audit.spi.defaultimpl.ApolloAuditLogQueryApiDefaultPreAuthorizer;
 import com.ctrip.framework.apollo.audit.spi.defaultimpl.ApolloAuditOperatorDefaultSupplier;
+import java.nio.file.Paths;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.StringUtils;
 
 @Configuration
 @EnableConfigurationProperties(ApolloAuditProperties.class)
@@ -80,11 +87,31 @@ public class ApolloAuditAutoConfiguration {
     return new ApolloAuditTraceContext(apolloAuditLogOperatorSupplier);
   }
 
+  @Bean
+  @ConditionalOnProperty(prefix = "apollo.audit.log.async", name = "enabled", havingValue = "true")
+  public ApolloAuditLogAsyncSink apolloAuditLogAsyncSink(JdbcTemplate jdbcTemplate,
+      Environment environment) {
+    ApolloAuditProperties.Async async = apolloAuditProperties.getAsync();
+    if (!StringUtils.hasText(async.getSpillDirectory())) {
+      async.setSpillDirectory(Paths.get(System.getProperty("java.io.tmpdir"), "apollo-audit",
+          environment.getProperty("spring.application.name", "application") + "-"
+              + environment.getProperty("server.port", "8080")).toString());
+    }
+    ApolloAuditLogAsyncSink sink = new ApolloAuditLogAsyncSink(
+        new ApolloAuditLogJdbcWriter(jdbcTemplate), async);
+    sink.start();
+    return sink;
+  }
+
   @Bean
   public ApolloAuditLogApi apolloAuditLogApi(ApolloAuditLogService logService,
       ApolloAuditLogDataInfluenceService dataInfluenceService,
-      ApolloAuditTraceContext apolloAuditTraceContext) {
-    return new ApolloAuditLogApiJpaImpl(logService, dataInfluenceService, apolloAuditTraceContext);
+      ApolloAuditTraceContext apolloAuditTraceContext,
+      ObjectProvider<ApolloAuditLogAsyncSink> asyncSink) {
+    ApolloAuditLogApiJpaImpl api =
+        new ApolloAuditLogApiJpaImpl(logService, dataInfluenceService, apolloAuditTraceContext);
+    asyncSink.ifAvailable(api::setAsyncSink);
+    return api;
   }
 
   @Bean
@@ -47,7 +47,7 @@ public class BizConfig extends RefreshableConfig {
 
   private static final int DEFAULT_MAX_ITEM_NUM = 1000;
 
-  private static final int DEFAULT_APPNAMESPACE_CACHE_REBUILD_INTERVAL = 60; // 60s
+  private static final int DEFAULT_APPNAMESPACE_CACHE_REBUILD_INTERVAL = 600; // 600s
   private static final int DEFAULT_GRAY_RELEASE_RULE_SCAN_INTERVAL = 60; // 60s
   private static final int DEFAULT_APPNAMESPACE_CACHE_SCAN_INTERVAL = 1; // 1s
   private static final int DEFAULT_ACCESS_KEY_CACHE_SCAN_INTERVAL = 1; // 1s
@@ -58,12 +58,19 @@ public class BizConfig extends RefreshableConfig {
   private static final int DEFAULT_RELEASE_MESSAGE_NOTIFICATION_BATCH = 100;
   private static final int DEFAULT_RELEASE_MESSAGE_NOTIFICATION_BATCH_INTERVAL_IN_MILLI = 100;// 100ms
   private static final int DEFAULT_LONG_POLLING_TIMEOUT = 60; // 60s
+  private static final int DEFAULT_NAMESPACE_LOCK_LEASE = 5; // 5s
+  private static final int DEFAULT_REQUEST_DECOMPRESSED_SIZE_LIMIT = 10 * 1024 * 1024; // 10MB
   public static final int DEFAULT_RELEASE_HISTORY_RETENTION_SIZE = -1;
 
   private static final int DEFAULT_INSTANCE_CONFIG_AUDIT_MAX_SIZE = 10000;
   private static final int DEFAULT_INSTANCE_CACHE_MAX_SIZE = 50000;
   private static final int DEFAULT_INSTANCE_CONFIG_CACHE_MAX_SIZE = 50000;
   private static final int DEFAULT_INSTANCE_CONFIG_AUDIT_TIME_THRESHOLD_IN_MINUTE = 10;// 10 minutes
+  private static final int DEFAULT_ITEM_SEARCH_INDEX_SCAN_INTERVAL = 5; // 5s
+  private static final int DEFAULT_INSTANCE_CONFIG_ROLLUP_INTERVAL = 300; // 300s
+  private static final int DEFAULT_CONFIG_SERVICE_CACHE_WARM_UP_PARALLELISM = 4;
+  private static final int DEFAULT_CONFIG_SERVICE_CACHE_WARM_UP_RECENT_ACCESS_IN_MINUTE = 10;// 10 minutes
+  private static final int MIN_INSTANCE_RETENTION_DAYS = 2;
 
   private static final Gson GSON = new Gson();
 
@@ -156,6 +163,27 @@ public class BizConfig extends RefreshableConfig {
     return !getBooleanProperty("namespace.lock.switch", false);
   }
 
+  /**
+   * how long an admin service node keeps a namespace lock it acquired, so that further edits skip
+   * the namespace lookup and the lock insert, the lock row is still looked up on every edit, 0
+   * means no lease
+   */
+  public long namespaceLockLeaseInMilli() {
+    int lease = getIntProperty("namespace.lock.lease.seconds", DEFAULT_NAMESPACE_LOCK_LEASE);
+    lease = checkInt(lease, 0, 60, DEFAULT_NAMESPACE_LOCK_LEASE);
+    return TimeUnit.SECONDS.toMillis(lease);
+  }
+
+  /**
+   * the max size in bytes a compressed request body may be decompressed to, larger bodies are
+   * rejected with 413, the default is the same as spring.servlet.multipart.max-request-size
+   */
+  public int requestDecompressedSizeLimit() {
+    int limit = getIntProperty("request.decompressed.size.limit",
+        DEFAULT_REQUEST_DECOMPRESSED_SIZE_LIMIT);
+    return checkInt(limit, 1024, Integer.MAX_VALUE, DEFAULT_REQUEST_DECOMPRESSED_SIZE_LIMIT);
+  }
+
   public int appNamespaceCacheScanInterval() {
     int interval = getIntProperty("apollo.app-namespace-cache-scan.interval",
         DEFAULT_APPNAMESPACE_CACHE_SCAN_INTERVAL);
@@ -256,6 +284,28 @@ public class BizConfig extends RefreshableConfig {
     return getBooleanProperty("config-service.cache.key.ignore-case", false);
   }
 
+  /**
+   * The number of threads reloading the config cache after releases, 0 leaves the reload to the
+   * next request of the namespace.
+   */
+  public int configServiceCacheWarmUpParallelism() {
+    int parallelism = getIntProperty("config-service.cache.warm-up.parallelism",
+        DEFAULT_CONFIG_SERVICE_CACHE_WARM_UP_PARALLELISM);
+    return checkInt(parallelism, 0, Integer.MAX_VALUE,
+        DEFAULT_CONFIG_SERVICE_CACHE_WARM_UP_PARALLELISM);
+  }
+
+  /**
+   * Only namespaces read within this period are reloaded into the config cache after releases.
+   */
+  public long configServiceCacheWarmUpRecentAccessInMilli() {
+    int recentAccess = getIntProperty("config-service.cache.warm-up.recent-access.minutes",
+        DEFAULT_CONFIG_SERVICE_CACHE_WARM_UP_RECENT_ACCESS_IN_MINUTE);
+    recentAccess = checkInt(recentAccess, 1, Integer.MAX_VALUE,
+        DEFAULT_CONFIG_SERVICE_CACHE_WARM_UP_RECENT_ACCESS_IN_MINUTE);
+    return TimeUnit.MINUTES.toMillis(recentAccess);
+  }
+
   public int getInstanceConfigAuditMaxSize() {
     int auditMaxSize =
         getIntProperty("instance.config.audit.max.size", DEFAULT_INSTANCE_CONFIG_AUDIT_MAX_SIZE);
@@ -281,10 +331,77 @@ public class BizConfig extends RefreshableConfig {
     return TimeUnit.MINUTES.toMillis(timeThreshold);
   }
 
+  /**
+   * Whether config services answer requests of namespaces which are neither namespaces of the app
+   * nor public namespaces with 404 right away, from the app namespace cache. Releases of such
+   * namespaces, e.g. left over by inconsistent data, are not served any more.
+   */
+  public boolean isConfigServiceNamespaceExistenceCheckEnabled() {
+    return getBooleanProperty("config-service.namespace.existence-check.enabled", false);
+  }
+
   public boolean isConfigServiceIncrementalChangeEnabled() {
     return getBooleanProperty("config-service.incremental.change.enabled", false);
   }
 
+  /**
+   * Whether admin services serve item search from an in-memory trigram index, the index holds
+   * posting lists for the keys and values of all items, so it needs memory in proportion to the
+   * total size of the configurations.
+   */
+  public boolean isItemSearchIndexEnabled() {
+    return getBooleanProperty("item.search.index.enabled", false);
+  }
+
+  public int itemSearchIndexScanInterval() {
+    int interval = getIntProperty("apollo.item-search-index-scan.interval",
+        DEFAULT_ITEM_SEARCH_INDEX_SCAN_INTERVAL);
+    return checkInt(interval, 1, Integer.MAX_VALUE, DEFAULT_ITEM_SEARCH_INDEX_SCAN_INTERVAL);
+  }
+
+  public TimeUnit itemSearchIndexScanIntervalTimeUnit() {
+    return TimeUnit.SECONDS;
+  }
+
+  /**
+   * Whether a publish of configurations equal to the latest active release only records a release
+   * history, without creating a release and waking up the clients.
+   */
+  public boolean isReleaseUnchangedPublishSuppressed() {
+    return getBooleanProperty("release.unchanged-publish.suppressed", false);
+  }
+
+  /**
+   * Whether admin services keep the InstanceConfigRollup table up to date and read instance counts
+   * from it, requires the InstanceConfigRollup table of the v2.5.0 schema.
+   */
+  public boolean isInstanceConfigRollupEnabled() {
+    return getBooleanProperty("instance.config.rollup.enabled", false);
+  }
+
+  public int instanceConfigRollupInterval() {
+    int interval = getIntProperty("apollo.instance-config-rollup.interval",
+        DEFAULT_INSTANCE_CONFIG_ROLLUP_INTERVAL);
+    return checkInt(interval, 1, Integer.MAX_VALUE, DEFAULT_INSTANCE_CONFIG_ROLLUP_INTERVAL);
+  }
+
+  public TimeUnit instanceConfigRollupIntervalTimeUnit() {
+    return TimeUnit.SECONDS;
+  }
+
+  /**
+   * Instances and instance configs not seen for this many days are purged, 0 keeps them forever.
+   * Config services refresh an instance config at least once a day and cache instance ids for an
+   * hour, so the retention is at least 2 days.
+   */
+  public int instanceRetentionDays() {
+    int days = getIntProperty("apollo.instance.retention.days", 0);
+    if (days <= 0) {
+      return 0;
+    }
+    return Math.max(days, MIN_INSTANCE_RETENTION_DAYS);
+  }
+
   int checkInt(int value, int min, int max, int defaultValue) {
     if (value >= min && value <= max) {
       return value;
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.biz.entity;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import javax.persistence.Table;
+
+/**
+ * The number of active instances of a namespace which got a release, rolled up from InstanceConfig
+ * in the background so that instance counts don't need to scan InstanceConfig.
+ */
+@Entity
+@Table(name = "`InstanceConfigRollup`")
+public class InstanceConfigRollup {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "`Id`")
+  private long id;
+
+  @Column(name = "`ConfigAppId`", nullable = false)
+  private String configAppId;
+
+  @Column(name = "`ConfigClusterName`", nullable = false)
+  private String configClusterName;
+
+  @Column(name = "`ConfigNamespaceName`", nullable = false)
+  private String configNamespaceName;
+
+  @Column(name = "`ReleaseKey`", nullable = false)
+  private String releaseKey;
+
+  @Column(name = "`InstanceCount`", nullable = false)
+  private long instanceCount;
+
+  @Column(name = "`DataChange_CreatedTime`", nullable = false)
+  private Date dataChangeCreatedTime;
+
+  @Column(name = "`DataChange_LastTime`")
+  private Date dataChangeLastModifiedTime;
+
+  @PrePersist
+  protected void prePersist() {
+    if (this.dataChangeCreatedTime == null) {
+      dataChangeCreatedTime = new Date();
+    }
+    if (this.dataChangeLastModifiedTime == null) {
+      dataChangeLastModifiedTime = dataChangeCreatedTime;
+    }
+  }
+
+  @PreUpdate
+  protected void preUpdate() {
+    this.dataChangeLastModifiedTime = new Date();
+  }
+
+  public long getId() {
+    return id;
+  }
+
+  public void setId(long id) {
+    this.id = id;
+  }
+
+  public String getConfigAppId() {
+    return configAppId;
+  }
+
+  public void setConfigAppId(String configAppId) {
+    this.configAppId = configAppId;
+  }
+
+  public String getConfigClusterName() {
+    return configClusterName;
+  }
+
+  public void setConfigClusterName(String configClusterName) {
+    this.configClusterName = configClusterName;
+  }
+
+  public String getConfigNamespaceName() {
+    return configNamespaceName;
+  }
+
+  public void setConfigNamespaceName(String configNamespaceName) {
+    this.configNamespaceName = configNamespaceName;
+  }
+
+  public String getReleaseKey() {
+    return releaseKey;
+  }
+
+  public void setReleaseKey(String releaseKey) {
+    this.releaseKey = releaseKey;
+  }
+
+  public long getInstanceCount() {
+    return instanceCount;
+  }
+
+  public void setInstanceCount(long instanceCount) {
+    this.instanceCount = instanceCount;
+  }
+
+  public Date getDataChangeCreatedTime() {
+    return dataChangeCreatedTime;
+  }
+
+  public void setDataChangeCreatedTime(Date dataChangeCreatedTime) {
+    this.dataChangeCreatedTime = dataChangeCreatedTime;
+  }
+
+  public Date getDataChangeLastModifiedTime() {
+    return dataChangeLastModifiedTime;
+  }
+
+  public void setDataChangeLastModifiedTime(Date dataChangeLastModifiedTime) {
+    this.dataChangeLastModifiedTime = dataChangeLastModifiedTime;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this).omitNullValues().add("id", id)
+        .add("configAppId", configAppId).add("configClusterName", configClusterName)
+        .add("configNamespaceName", configNamespaceName).add("releaseKey", releaseKey)
+        .add("instanceCount", instanceCount).add("dataChangeCreatedTime", dataChangeCreatedTime)
+        .add("dataChangeLastModifiedTime", dataChangeLastModifiedTime).toString();
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.biz.entity;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import javax.persistence.Table;
+
+/**
+ * The lease of a background job which only one node runs at a time, see
+ * {@link com.ctrip.framework.apollo.biz.service.JobLeaseService}.
+ */
+@Entity
+@Table(name = "`JobLease`")
+public class JobLease {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "`Id`")
+  private long id;
+
+  @Column(name = "`JobName`", nullable = false, unique = true)
+  private String jobName;
+
+  @Column(name = "`Owner`", nullable = false)
+  private String owner;
+
+  @Column(name = "`LeaseExpireTime`", nullable = false)
+  private Date leaseExpireTime;
+
+  // when the last completed run started
+  @Column(name = "`LastCompletedTime`")
+  private Date lastCompletedTime;
+
+  @Column(name = "`DataChange_CreatedTime`", nullable = false)
+  private Date dataChangeCreatedTime;
+
+  @Column(name = "`DataChange_LastTime`")
+  private Date dataChangeLastModifiedTime;
+
+  @PrePersist
+  protected void prePersist() {
+    if (this.dataChangeCreatedTime == null) {
+      dataChangeCreatedTime = new Date();
+    }
+    if (this.dataChangeLastModifiedTime == null) {
+      dataChangeLastModifiedTime = dataChangeCreatedTime;
+    }
+  }
+
+  @PreUpdate
+  protected void preUpdate() {
+    this.dataChangeLastModifiedTime = new Date();
+  }
+
+  public long getId() {
+    return id;
+  }
+
+  public void setId(long id) {
+    this.id = id;
+  }
+
+  public String getJobName() {
+    return jobName;
+  }
+
+  public void setJobName(String jobName) {
+    this.jobName = jobName;
+  }
+
+  public String getOwner() {
+    return owner;
+  }
+
+  public void setOwner(String owner) {
+    this.owner = owner;
+  }
+
+  public Date getLeaseExpireTime() {
+    return leaseExpireTime;
+  }
+
+  public void setLeaseExpireTime(Date leaseExpireTime) {
+    this.leaseExpireTime = leaseExpireTime;
+  }
+
+  public Date getLastCompletedTime() {
+    return lastCompletedTime;
+  }
+
+  public void setLastCompletedTime(Date lastCompletedTime) {
+    this.lastCompletedTime = lastCompletedTime;
+  }
+
+  public Date getDataChangeCreatedTime() {
+    return dataChangeCreatedTime;
+  }
+
+  public void setDataChangeCreatedTime(Date dataChangeCreatedTime) {
+    this.dataChangeCreatedTime = dataChangeCreatedTime;
+  }
+
+  public Date getDataChangeLastModifiedTime() {
+    return dataChangeLastModifiedTime;
+  }
+
+  public void setDataChangeLastModifiedTime(Date dataChangeLastModifiedTime) {
+    this.dataChangeLastModifiedTime = dataChangeLastModifiedTime;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this).omitNullValues().add("id", id)
+        .add("jobName", jobName).add("owner", owner).add("leaseExpireTime", leaseExpireTime)
+        .add("lastCompletedTime", lastCompletedTime)
+        .add("dataChangeCreatedTime", dataChangeCreatedTime)
+        .add("dataChangeLastModifiedTime", dataChangeLastModifiedTime).toString();
+  }
+}
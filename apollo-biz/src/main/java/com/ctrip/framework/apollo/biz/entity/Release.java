@@ -25,6 +25,7 @@ import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Lob;
 import javax.persistence.Table;
+import javax.persistence.Transient;
 
 /**
  * @author Jason Song(song_s@ctrip.com)
@@ -54,12 +55,22 @@ public class Release extends BaseEntity {
   @Lob
   private String configurations;
 
+  @Column(name = "`ContentHash`")
+  private String contentHash;
+
   @Column(name = "`Comment`", nullable = false)
   private String comment;
 
   @Column(name = "`IsAbandoned`", columnDefinition = "Bit default '0'")
   private boolean isAbandoned;
 
+  /**
+   * Set on the latest release returned by a publish which didn't change the configurations, no
+   * release message needs to be sent for it.
+   */
+  @Transient
+  private boolean unchanged;
+
   public String getReleaseKey() {
     return releaseKey;
   }
@@ -80,6 +91,14 @@ public class Release extends BaseEntity {
     return configurations;
   }
 
+  public String getContentHash() {
+    return contentHash;
+  }
+
+  public void setContentHash(String contentHash) {
+    this.contentHash = contentHash;
+  }
+
   public String getNamespaceName() {
     return namespaceName;
   }
@@ -124,6 +143,14 @@ public class Release extends BaseEntity {
     isAbandoned = abandoned;
   }
 
+  public boolean isUnchanged() {
+    return unchanged;
+  }
+
+  public void setUnchanged(boolean unchanged) {
+    this.unchanged = unchanged;
+  }
+
   @Override
   public String toString() {
     return toStringHelper().add("name", name).add("appId", appId).add("clusterName", clusterName)
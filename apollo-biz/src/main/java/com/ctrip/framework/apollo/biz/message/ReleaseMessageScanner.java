@@ -38,6 +38,8 @@ import com.ctrip.framework.apollo.core.utils.ApolloThreadFactory;
 import com.ctrip.framework.apollo.tracer.Tracer;
 import com.ctrip.framework.apollo.tracer.spi.Transaction;
 import com.google.common.collect.Lists;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 /**
  * @author Jason Song(song_s@ctrip.com)
@@ -49,7 +51,8 @@ public class ReleaseMessageScanner implements InitializingBean {
   private final BizConfig bizConfig;
   private final ReleaseMessageRepository releaseMessageRepository;
   private int databaseScanInterval;
-  private final List<ReleaseMessageListener> listeners;
+  private final MeterRegistry meterRegistry;
+  private final List<TimedReleaseMessageListener> listeners;
   private final ScheduledExecutorService executorService;
   private final Map<Long, Integer> missingReleaseMessages; // missing release message id => age
                                                            // counter
@@ -57,8 +60,14 @@ public class ReleaseMessageScanner implements InitializingBean {
 
   public ReleaseMessageScanner(final BizConfig bizConfig,
       final ReleaseMessageRepository releaseMessageRepository) {
+    this(bizConfig, releaseMessageRepository, new SimpleMeterRegistry());
+  }
+
+  public ReleaseMessageScanner(final BizConfig bizConfig,
+      final ReleaseMessageRepository releaseMessageRepository, final MeterRegistry meterRegistry) {
     this.bizConfig = bizConfig;
     this.releaseMessageRepository = releaseMessageRepository;
+    this.meterRegistry = meterRegistry;
     listeners = Lists.newCopyOnWriteArrayList();
     executorService = Executors.newScheduledThreadPool(1,
         ApolloThreadFactory.create("ReleaseMessageScanner", true));
@@ -87,13 +96,23 @@ public class ReleaseMessageScanner implements InitializingBean {
   }
 
   /**
-   * add message listeners for release message
+   * add message listeners for release message, they are invoked on the scanner thread in the order
+   * they are added
    * @param listener
    */
-  public void addMessageListener(ReleaseMessageListener listener) {
-    if (!listeners.contains(listener)) {
-      listeners.add(listener);
+  public synchronized void addMessageListener(ReleaseMessageListener listener) {
+    if (!isAdded(listener)) {
+      listeners.add(new TimedReleaseMessageListener(listener, meterRegistry));
+    }
+  }
+
+  private boolean isAdded(ReleaseMessageListener listener) {
+    for (TimedReleaseMessageListener timedListener : listeners) {
+      if (timedListener.delegate().equals(listener)) {
+        return true;
+      }
     }
+    return false;
   }
 
   /**
@@ -178,14 +197,10 @@ public class ReleaseMessageScanner implements InitializingBean {
    * @param messages
    */
   private void fireMessageScanned(Iterable<ReleaseMessage> messages) {
+    long scannedAt = System.currentTimeMillis();
     for (ReleaseMessage message : messages) {
-      for (ReleaseMessageListener listener : listeners) {
-        try {
-          listener.handleMessage(message, Topics.APOLLO_RELEASE_TOPIC);
-        } catch (Throwable ex) {
-          Tracer.logError(ex);
-          logger.error("Failed to invoke message listener {}", listener.getClass(), ex);
-        }
+      for (TimedReleaseMessageListener listener : listeners) {
+        listener.handleMessage(message, Topics.APOLLO_RELEASE_TOPIC, scannedAt);
       }
     }
   }
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.biz.message;
+
+import com.ctrip.framework.apollo.biz.entity.ReleaseMessage;
+import com.ctrip.framework.apollo.tracer.Tracer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Invokes one listener on the scanner thread and records how long after the scan the listener
+ * finished with each message.
+ */
+class TimedReleaseMessageListener {
+
+  private static final Logger logger = LoggerFactory.getLogger(TimedReleaseMessageListener.class);
+
+  static final String LAG_METRIC = "apollo.release-message.listener.lag";
+
+  private final String name;
+  private final ReleaseMessageListener listener;
+  private final Timer lagTimer;
+
+  TimedReleaseMessageListener(ReleaseMessageListener listener, MeterRegistry meterRegistry) {
+    this.name = ClassUtils.getUserClass(listener).getSimpleName();
+    this.listener = listener;
+    this.lagTimer = Timer.builder(LAG_METRIC).tag("listener", name)
+        .description("time from a release message being scanned to being handled by the listener")
+        .register(meterRegistry);
+  }
+
+  ReleaseMessageListener delegate() {
+    return listener;
+  }
+
+  /**
+   * @param scannedAt when the message was loaded by the scanner, to measure the listener lag
+   */
+  void handleMessage(ReleaseMessage message, String channel, long scannedAt) {
+    try {
+      listener.handleMessage(message, channel);
+    } catch (Throwable ex) {
+      Tracer.logError(ex);
+      logger.error("Failed to invoke message listener {}", name, ex);
+    } finally {
+      lagTimer.record(System.currentTimeMillis() - scannedAt, TimeUnit.MILLISECONDS);
+    }
+  }
+}
@@ -18,6 +18,7 @@ package com.ctrip.framework.apollo.biz.registry;
 
 import com.ctrip.framework.apollo.biz.registry.configuration.support.ApolloServiceRegistryProperties;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * @see org.springframework.cloud.client.discovery.DiscoveryClient
@@ -31,4 +32,11 @@ public interface DatabaseDiscoveryClient {
    * @return empty list if there is no instance
    */
   List<ServiceInstance> getInstances(String serviceName);
+
+  /**
+   * add a listener which is called with the service name when the instances of the service change,
+   * clients which don't know when the instances change never call it.
+   */
+  default void addChangeListener(Consumer<String> listener) {
+  }
 }
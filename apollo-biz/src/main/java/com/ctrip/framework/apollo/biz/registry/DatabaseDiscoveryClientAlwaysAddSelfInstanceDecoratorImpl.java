@@ -20,6 +20,7 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * decorator pattern
@@ -79,4 +80,9 @@ public class DatabaseDiscoveryClientAlwaysAddSelfInstanceDecoratorImpl
       return this.delegate.getInstances(serviceName);
     }
   }
+
+  @Override
+  public void addChangeListener(Consumer<String> listener) {
+    this.delegate.addChangeListener(listener);
+  }
 }
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.biz.registry;
+
+import com.ctrip.framework.apollo.biz.entity.ServiceRegistry;
+import com.ctrip.framework.apollo.biz.registry.configuration.support.ApolloServiceDiscoveryProperties;
+import com.ctrip.framework.apollo.biz.service.ServiceRegistryService;
+import com.ctrip.framework.apollo.core.ServiceNameConsts;
+import com.ctrip.framework.apollo.core.utils.ApolloThreadFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keep the healthy instances of the services in jvm memory and sync them incrementally.
+ * <p>
+ * 1. instead of reading all the healthy instances again and again, only read the instances which
+ * heartbeated since the last sync. The watermark is the latest DataChange_LastTime read so far, so
+ * it doesn't depend on the local clock, and it is moved back by
+ * {@link ApolloServiceDiscoveryProperties#getSyncOverlapInSecond()} for the heartbeats committed
+ * late and the skew between the clocks of the instances.
+ * <p>
+ * 2. keep the last heartbeat of each instance in memory, and expire the instances as soon as they
+ * miss heartbeats for {@link ApolloServiceDiscoveryProperties#getHealthCheckIntervalInSecond()}.
+ * Deregistered instances are deleted from database, which is only noticed by the full sync every
+ * {@link ApolloServiceDiscoveryProperties#getFullSyncIntervalInSecond()}, if not expired before.
+ * <p>
+ * 3. when database happened failure, return the instances in jvm memory and don't expire them.
+ * <p>
+ * 4. notify the change listeners when the instances of a service change.
+ */
+public class DatabaseDiscoveryClientIncrementalCacheImpl implements DatabaseDiscoveryClient {
+
+  private static final Logger log =
+      LoggerFactory.getLogger(DatabaseDiscoveryClientIncrementalCacheImpl.class);
+
+  private final ServiceRegistryService serviceRegistryService;
+
+  private final ApolloServiceDiscoveryProperties discoveryProperties;
+
+  private final String cluster;
+
+  private final Supplier<LocalDateTime> clock;
+
+  private final Map<String, ServiceInstances> serviceName2ServiceInstances =
+      new ConcurrentHashMap<>(8);
+
+  private final List<Consumer<String>> changeListeners = new CopyOnWriteArrayList<>();
+
+  private volatile ScheduledExecutorService scheduledExecutorService;
+
+  public DatabaseDiscoveryClientIncrementalCacheImpl(
+      ServiceRegistryService serviceRegistryService,
+      ApolloServiceDiscoveryProperties discoveryProperties, String cluster) {
+    this(serviceRegistryService, discoveryProperties, cluster, LocalDateTime::now);
+  }
+
+  DatabaseDiscoveryClientIncrementalCacheImpl(ServiceRegistryService serviceRegistryService,
+      ApolloServiceDiscoveryProperties discoveryProperties, String cluster,
+      Supplier<LocalDateTime> clock) {
+    this.serviceRegistryService = serviceRegistryService;
+    this.discoveryProperties = discoveryProperties;
+    this.cluster = cluster;
+    this.clock = clock;
+  }
+
+  public void init() {
+    this.scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(
+        ApolloThreadFactory.create("DatabaseDiscoveryIncrementalCache", true));
+    long syncInterval = this.discoveryProperties.getSyncIntervalInSecond();
+    scheduledExecutorService.scheduleWithFixedDelay(this::syncTask, syncInterval, syncInterval,
+        TimeUnit.SECONDS);
+
+    // load them for init
+    for (String serviceName : new String[]{ServiceNameConsts.APOLLO_CONFIGSERVICE,
+        ServiceNameConsts.APOLLO_ADMINSERVICE}) {
+      try {
+        this.getInstances(serviceName);
+      } catch (Throwable t) {
+        log.error("fail to get instances of service name {}", serviceName, t);
+      }
+    }
+  }
+
+  void syncTask() {
+    List<String> changedServiceNames = new ArrayList<>();
+    for (Map.Entry<String, ServiceInstances> entry : this.serviceName2ServiceInstances
+        .entrySet()) {
+      try {
+        if (this.sync(entry.getKey(), entry.getValue())) {
+          changedServiceNames.add(entry.getKey());
+        }
+      } catch (Throwable t) {
+        log.error("fail to read service instances of service name {} from database",
+            entry.getKey(), t);
+      }
+    }
+
+    for (String serviceName : changedServiceNames) {
+      for (Consumer<String> listener : this.changeListeners) {
+        try {
+          listener.accept(serviceName);
+        } catch (Throwable t) {
+          log.error("fail to notify the change of service name {}", serviceName, t);
+        }
+      }
+    }
+  }
+
+  /**
+   * @return whether the instances changed
+   */
+  private boolean sync(String serviceName, ServiceInstances serviceInstances) {
+    synchronized (serviceInstances) {
+      final LocalDateTime now = this.clock.get();
+      final LocalDateTime expireTime =
+          now.minusSeconds(this.discoveryProperties.getHealthCheckIntervalInSecond());
+      final boolean fullSync = serviceInstances.lastFullSyncTime == null || !now.isBefore(
+          serviceInstances.lastFullSyncTime
+              .plusSeconds(this.discoveryProperties.getFullSyncIntervalInSecond()));
+
+      LocalDateTime since = fullSync || serviceInstances.watermark == null ? expireTime
+          : serviceInstances.watermark
+              .minusSeconds(this.discoveryProperties.getSyncOverlapInSecond());
+      List<ServiceRegistry> serviceRegistryList = this.serviceRegistryService
+          .findByServiceNameDataChangeLastModifiedTimeGreaterThan(serviceName, since);
+
+      if (fullSync) {
+        serviceInstances.heartbeats.clear();
+        serviceInstances.lastFullSyncTime = now;
+      }
+      for (ServiceRegistry serviceRegistry : serviceRegistryList) {
+        LocalDateTime heartbeatTime = serviceRegistry.getDataChangeLastModifiedTime();
+        if (serviceInstances.watermark == null
+            || heartbeatTime.isAfter(serviceInstances.watermark)) {
+          serviceInstances.watermark = heartbeatTime;
+        }
+        if (Objects.equals(this.cluster, serviceRegistry.getCluster())) {
+          serviceInstances.heartbeats.merge(serviceRegistry.getUri(),
+              new Heartbeat(serviceRegistry),
+              (old, latest) -> latest.time.isBefore(old.time) ? old : latest);
+        } else {
+          // in case cluster changes
+          serviceInstances.heartbeats.remove(serviceRegistry.getUri());
+        }
+      }
+      serviceInstances.heartbeats.values()
+          .removeIf(heartbeat -> !heartbeat.time.isAfter(expireTime));
+
+      List<ServiceInstance> instances = serviceInstances.heartbeats.values().stream()
+          .map(heartbeat -> heartbeat.instance).collect(Collectors.toList());
+      boolean changed = !uris(instances).equals(uris(serviceInstances.instances));
+      serviceInstances.instances = Collections.unmodifiableList(instances);
+      return changed;
+    }
+  }
+
+  private static List<String> uris(List<ServiceInstance> instances) {
+    return instances.stream().map(instance -> instance.getUri().toString())
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * read from memory cache, only read from database when the service name is seen first time
+   */
+  @Override
+  public List<ServiceInstance> getInstances(String serviceName) {
+    ServiceInstances serviceInstances = this.serviceName2ServiceInstances.computeIfAbsent(
+        serviceName, name -> {
+          ServiceInstances loaded = new ServiceInstances();
+          this.sync(name, loaded);
+          return loaded;
+        });
+    return serviceInstances.instances;
+  }
+
+  @Override
+  public void addChangeListener(Consumer<String> listener) {
+    this.changeListeners.add(listener);
+  }
+
+  private static class ServiceInstances {
+
+    // uri -> last heartbeat, ordered by uri so the instances are in the same order on every node
+    private final Map<String, Heartbeat> heartbeats = new TreeMap<>();
+    private volatile List<ServiceInstance> instances = Collections.emptyList();
+    // the latest heartbeat read
+    private LocalDateTime watermark;
+    private LocalDateTime lastFullSyncTime;
+  }
+
+  private static class Heartbeat {
+
+    private final ServiceInstance instance;
+    private final LocalDateTime time;
+
+    Heartbeat(ServiceRegistry serviceRegistry) {
+      this.instance = DatabaseDiscoveryClientImpl.convert(serviceRegistry);
+      this.time = serviceRegistry.getDataChangeLastModifiedTime();
+    }
+  }
+}
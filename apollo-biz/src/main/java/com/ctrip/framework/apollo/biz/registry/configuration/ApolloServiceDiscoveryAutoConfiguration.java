@@ -18,8 +18,7 @@ package com.ctrip.framework.apollo.biz.registry.configuration;
 
 import com.ctrip.framework.apollo.biz.registry.DatabaseDiscoveryClient;
 import com.ctrip.framework.apollo.biz.registry.DatabaseDiscoveryClientAlwaysAddSelfInstanceDecoratorImpl;
-import com.ctrip.framework.apollo.biz.registry.DatabaseDiscoveryClientImpl;
-import com.ctrip.framework.apollo.biz.registry.DatabaseDiscoveryClientMemoryCacheDecoratorImpl;
+import com.ctrip.framework.apollo.biz.registry.DatabaseDiscoveryClientIncrementalCacheImpl;
 import com.ctrip.framework.apollo.biz.registry.ServiceInstance;
 import com.ctrip.framework.apollo.biz.registry.configuration.support.ApolloServiceRegistryClearApplicationRunner;
 import com.ctrip.framework.apollo.biz.registry.configuration.support.ApolloServiceDiscoveryProperties;
@@ -36,13 +35,6 @@ import org.springframework.context.annotation.Configuration;
 public class ApolloServiceDiscoveryAutoConfiguration {
 
 
-  private static DatabaseDiscoveryClient wrapMemoryCache(DatabaseDiscoveryClient discoveryClient) {
-    DatabaseDiscoveryClientMemoryCacheDecoratorImpl decorator =
-        new DatabaseDiscoveryClientMemoryCacheDecoratorImpl(discoveryClient);
-    decorator.init();
-    return decorator;
-  }
-
   private static DatabaseDiscoveryClient wrapAlwaysAddSelfInstance(
       DatabaseDiscoveryClient discoveryClient, ServiceInstance selfInstance) {
     return new DatabaseDiscoveryClientAlwaysAddSelfInstanceDecoratorImpl(discoveryClient,
@@ -54,9 +46,11 @@ public class ApolloServiceDiscoveryAutoConfiguration {
   public DatabaseDiscoveryClient databaseDiscoveryClient(
       ApolloServiceDiscoveryProperties discoveryProperties, ServiceInstance selfServiceInstance,
       ServiceRegistryService serviceRegistryService) {
-    DatabaseDiscoveryClient discoveryClient = new DatabaseDiscoveryClientImpl(
-        serviceRegistryService, discoveryProperties, selfServiceInstance.getCluster());
-    return wrapMemoryCache(wrapAlwaysAddSelfInstance(discoveryClient, selfServiceInstance));
+    DatabaseDiscoveryClientIncrementalCacheImpl discoveryClient =
+        new DatabaseDiscoveryClientIncrementalCacheImpl(serviceRegistryService,
+            discoveryProperties, selfServiceInstance.getCluster());
+    discoveryClient.init();
+    return wrapAlwaysAddSelfInstance(discoveryClient, selfServiceInstance);
   }
 
   @Bean
@@ -42,6 +42,25 @@ public class ApolloServiceDiscoveryProperties {
    */
   private long healthCheckIntervalInSecond = 61;
 
+  /**
+   * interval to read the instances heartbeated since the last sync.
+   */
+  private long syncIntervalInSecond = 1;
+
+  /**
+   * interval to read all the healthy instances again, e.g. to drop the deregistered ones.
+   */
+  private long fullSyncIntervalInSecond = 60;
+
+  /**
+   * how long before the latest heartbeat read the incremental sync starts reading.
+   * <p>
+   * the heartbeats are stamped with the clocks of the instances, so this covers the heartbeats
+   * committed late and the skew between the clocks of the instances, keep it close to the sync
+   * interval so that each sync only reads the heartbeats of about that long.
+   */
+  private long syncOverlapInSecond = 1;
+
   public long getHealthCheckIntervalInSecond() {
     return healthCheckIntervalInSecond;
   }
@@ -50,6 +69,30 @@ public class ApolloServiceDiscoveryProperties {
     this.healthCheckIntervalInSecond = healthCheckIntervalInSecond;
   }
 
+  public long getSyncIntervalInSecond() {
+    return syncIntervalInSecond;
+  }
+
+  public void setSyncIntervalInSecond(long syncIntervalInSecond) {
+    this.syncIntervalInSecond = syncIntervalInSecond;
+  }
+
+  public long getFullSyncIntervalInSecond() {
+    return fullSyncIntervalInSecond;
+  }
+
+  public void setFullSyncIntervalInSecond(long fullSyncIntervalInSecond) {
+    this.fullSyncIntervalInSecond = fullSyncIntervalInSecond;
+  }
+
+  public long getSyncOverlapInSecond() {
+    return syncOverlapInSecond;
+  }
+
+  public void setSyncOverlapInSecond(long syncOverlapInSecond) {
+    this.syncOverlapInSecond = syncOverlapInSecond;
+  }
+
   public boolean isEnabled() {
     return enabled;
   }
@@ -22,6 +22,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Set;
 
@@ -42,6 +43,19 @@ public interface AppNamespaceRepository extends PagingAndSortingRepository<AppNa
 
   List<AppNamespace> findFirst500ByIdGreaterThanOrderByIdAsc(long id);
 
+  List<AppNamespace> findFirst500ByDataChangeLastModifiedTimeGreaterThanEqualAndDataChangeLastModifiedTimeLessThanOrderByDataChangeLastModifiedTimeAsc(
+      Date start, Date end);
+
+  List<AppNamespace> findByDataChangeLastModifiedTime(Date date);
+
+  /**
+   * find the app namespaces soft deleted in [start, end), the deleted rows are not visible to the
+   * derived queries because of the entity's where clause
+   */
+  @Query(value = "SELECT * FROM `AppNamespace` WHERE `IsDeleted` = true AND `DataChange_LastTime` >= ?1 AND `DataChange_LastTime` < ?2",
+      nativeQuery = true)
+  List<AppNamespace> findDeletedByDataChangeLastModifiedTimeBetween(Date start, Date end);
+
   @Modifying
   @Query("UPDATE AppNamespace SET IsDeleted = true, DeletedAt = ROUND(UNIX_TIMESTAMP(NOW(4))*1000), DataChange_LastModifiedBy = ?2 WHERE AppId=?1 and IsDeleted = false")
   int batchDeleteByAppId(String appId, String operator);
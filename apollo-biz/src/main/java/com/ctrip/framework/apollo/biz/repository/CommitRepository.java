@@ -41,4 +41,11 @@ public interface CommitRepository extends PagingAndSortingRepository<Commit, Lon
 
   List<Commit> findByAppIdAndClusterNameAndNamespaceNameAndChangeSetsLikeOrderByIdDesc(String appId,
       String clusterName, String namespaceName, String changeSets, Pageable page);
+
+  List<Commit> findByAppIdAndClusterNameAndNamespaceNameAndIdLessThanOrderByIdDesc(String appId,
+      String clusterName, String namespaceName, long id, Pageable page);
+
+  List<Commit> findByAppIdAndClusterNameAndNamespaceNameAndChangeSetsLikeAndIdLessThanOrderByIdDesc(
+      String appId, String clusterName, String namespaceName, String changeSets, long id,
+      Pageable page);
 }
@@ -25,6 +25,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
@@ -37,9 +38,21 @@ public interface InstanceConfigRepository extends PagingAndSortingRepository<Ins
   Page<InstanceConfig> findByReleaseKeyAndDataChangeLastModifiedTimeAfter(String releaseKey,
       Date validDate, Pageable pageable);
 
+  List<InstanceConfig> findByReleaseKeyAndDataChangeLastModifiedTimeAfterAndInstanceIdGreaterThanOrderByInstanceIdAsc(
+      String releaseKey, Date validDate, long afterInstanceId, Pageable pageable);
+
+  long countByReleaseKeyAndDataChangeLastModifiedTimeAfter(String releaseKey, Date validDate);
+
   Page<InstanceConfig> findByConfigAppIdAndConfigClusterNameAndConfigNamespaceNameAndDataChangeLastModifiedTimeAfter(
       String appId, String clusterName, String namespaceName, Date validDate, Pageable pageable);
 
+  List<InstanceConfig> findByConfigAppIdAndConfigClusterNameAndConfigNamespaceNameAndDataChangeLastModifiedTimeAfterAndInstanceIdGreaterThanOrderByInstanceIdAsc(
+      String appId, String clusterName, String namespaceName, Date validDate,
+      long afterInstanceId, Pageable pageable);
+
+  long countByConfigAppIdAndConfigClusterNameAndConfigNamespaceNameAndDataChangeLastModifiedTimeAfter(
+      String appId, String clusterName, String namespaceName, Date validDate);
+
   List<InstanceConfig> findByConfigAppIdAndConfigClusterNameAndConfigNamespaceNameAndDataChangeLastModifiedTimeAfterAndReleaseKeyNotIn(
       String appId, String clusterName, String namespaceName, Date validDate,
       Set<String> releaseKey);
@@ -48,6 +61,35 @@ public interface InstanceConfigRepository extends PagingAndSortingRepository<Ins
   @Query("delete from InstanceConfig  where ConfigAppId=?1 and ConfigClusterName=?2 and ConfigNamespaceName = ?3")
   int batchDelete(String appId, String clusterName, String namespaceName);
 
+  /**
+   * @return rows of configAppId, configClusterName and configNamespaceName of the instance configs
+   * last seen after {@code modifiedAfter} or within ({@code expiredAfter}, {@code expiredUntil}]
+   */
+  @Query("select distinct c.configAppId, c.configClusterName, c.configNamespaceName"
+      + " from InstanceConfig c where c.dataChangeLastModifiedTime > ?1"
+      + " or (c.dataChangeLastModifiedTime > ?2 and c.dataChangeLastModifiedTime <= ?3)")
+  List<Object[]> findNamespacesModifiedAfter(Date modifiedAfter, Date expiredAfter,
+      Date expiredUntil);
+
+  /**
+   * @return rows of releaseKey and the number of instance configs of the namespace
+   */
+  @Query("select c.releaseKey, count(c) from InstanceConfig c where c.configAppId = ?1"
+      + " and c.configClusterName = ?2 and c.configNamespaceName = ?3"
+      + " and c.dataChangeLastModifiedTime > ?4 group by c.releaseKey")
+  List<Object[]> countGroupByReleaseKey(String configAppId, String configClusterName,
+      String configNamespaceName, Date validDate);
+
+  List<InstanceConfig> findByDataChangeLastModifiedTimeBeforeOrderByIdAsc(Date before,
+      Pageable pageable);
+
+  @Query("select distinct c.instanceId from InstanceConfig c where c.instanceId in ?1")
+  Set<Long> findInstanceIdsIn(Collection<Long> instanceIds);
+
+  @Modifying
+  @Query("delete from InstanceConfig c where c.id in ?1 and c.dataChangeLastModifiedTime < ?2")
+  int deleteByIds(Collection<Long> ids, Date before);
+
   @Query(
       value = "select b.Id from InstanceConfig a inner join Instance b on b.Id ="
           + " a.`InstanceId` where a.`ConfigAppId` = :configAppId and a.`ConfigClusterName` = "
@@ -62,4 +104,27 @@ public interface InstanceConfigRepository extends PagingAndSortingRepository<Ins
       @Param("instanceAppId") String instanceAppId, @Param("configAppId") String configAppId,
       @Param("clusterName") String clusterName, @Param("namespaceName") String namespaceName,
       @Param("validDate") Date validDate, Pageable pageable);
+
+  @Query(
+      value = "select b.Id from InstanceConfig a inner join Instance b on b.Id ="
+          + " a.`InstanceId` where a.`ConfigAppId` = :configAppId and a.`ConfigClusterName` = "
+          + ":clusterName and a.`ConfigNamespaceName` = :namespaceName and a.`DataChange_LastTime` "
+          + "> :validDate and b.`AppId` = :instanceAppId and a.`InstanceId` > :afterInstanceId "
+          + "order by a.`InstanceId`",
+      nativeQuery = true)
+  List<Object> findInstanceIdsByNamespaceAndInstanceAppIdAfter(
+      @Param("instanceAppId") String instanceAppId, @Param("configAppId") String configAppId,
+      @Param("clusterName") String clusterName, @Param("namespaceName") String namespaceName,
+      @Param("validDate") Date validDate, @Param("afterInstanceId") long afterInstanceId,
+      Pageable pageable);
+
+  @Query(
+      value = "select count(1) from InstanceConfig a inner join Instance b on b.Id ="
+          + " a.`InstanceId` where a.`ConfigAppId` = :configAppId and a.`ConfigClusterName` = "
+          + ":clusterName and a.`ConfigNamespaceName` = :namespaceName and a.`DataChange_LastTime` "
+          + "> :validDate and b.`AppId` = :instanceAppId",
+      nativeQuery = true)
+  long countByNamespaceAndInstanceAppId(@Param("instanceAppId") String instanceAppId,
+      @Param("configAppId") String configAppId, @Param("clusterName") String clusterName,
+      @Param("namespaceName") String namespaceName, @Param("validDate") Date validDate);
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.biz.repository;
+
+import com.ctrip.framework.apollo.biz.entity.InstanceConfigRollup;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.PagingAndSortingRepository;
+
+public interface InstanceConfigRollupRepository
+    extends PagingAndSortingRepository<InstanceConfigRollup, Long> {
+
+  List<InstanceConfigRollup> findByConfigAppIdAndConfigClusterNameAndConfigNamespaceName(
+      String configAppId, String configClusterName, String configNamespaceName);
+
+  @Query("select coalesce(sum(r.instanceCount), 0) from InstanceConfigRollup r"
+      + " where r.configAppId = ?1 and r.configClusterName = ?2 and r.configNamespaceName = ?3")
+  long sumInstanceCountByNamespace(String configAppId, String configClusterName,
+      String configNamespaceName);
+
+  @Query("select coalesce(sum(r.instanceCount), 0) from InstanceConfigRollup r"
+      + " where r.releaseKey = ?1")
+  long sumInstanceCountByReleaseKey(String releaseKey);
+
+  @Modifying
+  @Query("delete from InstanceConfigRollup r"
+      + " where r.instanceCount = 0 and r.dataChangeLastModifiedTime < ?1")
+  int deleteEmptyRollups(Date lastModifiedBefore);
+
+  @Modifying
+  @Query("delete from InstanceConfigRollup r"
+      + " where r.configAppId = ?1 and r.configClusterName = ?2 and r.configNamespaceName = ?3")
+  int deleteByNamespace(String configAppId, String configClusterName, String configNamespaceName);
+}
@@ -43,22 +43,45 @@ public interface ItemRepository extends PagingAndSortingRepository<Item, Long> {
 
   Page<Item> findByNamespaceId(Long namespaceId, Pageable pageable);
 
+  List<Item> findByNamespaceIdAndIdGreaterThanOrderByIdAsc(Long namespaceId, long id,
+      Pageable pageable);
+
   Item findFirst1ByNamespaceIdOrderByLineNumDesc(Long namespaceId);
 
+  List<Item> findFirst500ByIdGreaterThanOrderByIdAsc(long id);
+
+  List<Item> findFirst500ByDataChangeLastModifiedTimeGreaterThanEqualAndDataChangeLastModifiedTimeLessThanOrderByDataChangeLastModifiedTimeAsc(
+      Date start, Date end);
+
+  List<Item> findByDataChangeLastModifiedTime(Date date);
+
+  /**
+   * find the items soft deleted in [start, end), the deleted rows are not visible to the derived
+   * queries because of the entity's where clause
+   */
+  @Query(value = "SELECT * FROM `Item` WHERE `IsDeleted` = true AND `DataChange_LastTime` >= ?1 AND `DataChange_LastTime` < ?2",
+      nativeQuery = true)
+  List<Item> findDeletedByDataChangeLastModifiedTimeBetween(Date start, Date end);
+
+  /**
+   * The patterns are matched literally, % and _ are not wildcards, the same as the item search
+   * index, see {@link com.ctrip.framework.apollo.biz.service.ItemSearchIndex#search}
+   */
   @Query("SELECT new com.ctrip.framework.apollo.common.dto.ItemInfoDTO(n.appId, n.clusterName, n.namespaceName, i.key, i.value) "
       + "FROM Item i RIGHT JOIN Namespace n ON i.namespaceId = n.id "
-      + "WHERE i.key LIKE %:key% AND i.value LIKE %:value% AND i.isDeleted = 0")
+      + "WHERE i.key LIKE %:#{escape(#key)}% ESCAPE :#{escapeCharacter()} "
+      + "AND i.value LIKE %:#{escape(#value)}% ESCAPE :#{escapeCharacter()} AND i.isDeleted = 0")
   Page<ItemInfoDTO> findItemsByKeyAndValueLike(@Param("key") String key,
       @Param("value") String value, Pageable pageable);
 
   @Query("SELECT new com.ctrip.framework.apollo.common.dto.ItemInfoDTO(n.appId, n.clusterName, n.namespaceName, i.key, i.value) "
       + "FROM Item i RIGHT JOIN Namespace n ON i.namespaceId = n.id "
-      + "WHERE i.key LIKE %:key% AND i.isDeleted = 0")
+      + "WHERE i.key LIKE %:#{escape(#key)}% ESCAPE :#{escapeCharacter()} AND i.isDeleted = 0")
   Page<ItemInfoDTO> findItemsByKeyLike(@Param("key") String key, Pageable pageable);
 
   @Query("SELECT new com.ctrip.framework.apollo.common.dto.ItemInfoDTO(n.appId, n.clusterName, n.namespaceName, i.key, i.value) "
       + "FROM Item i RIGHT JOIN Namespace n ON i.namespaceId = n.id "
-      + "WHERE i.value LIKE %:value% AND i.isDeleted = 0")
+      + "WHERE i.value LIKE %:#{escape(#value)}% ESCAPE :#{escapeCharacter()} AND i.isDeleted = 0")
   Page<ItemInfoDTO> findItemsByValueLike(@Param("value") String value, Pageable pageable);
 
   @Modifying
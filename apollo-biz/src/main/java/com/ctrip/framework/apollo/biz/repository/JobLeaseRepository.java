@@ -0,0 +1,43 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.biz.repository;
+
+import com.ctrip.framework.apollo.biz.entity.JobLease;
+
+import java.util.Date;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.PagingAndSortingRepository;
+
+public interface JobLeaseRepository extends PagingAndSortingRepository<JobLease, Long> {
+
+  JobLease findByJobName(String jobName);
+
+  /**
+   * take the lease if it is held by the owner already or has expired
+   */
+  @Modifying(clearAutomatically = true)
+  @Query("update JobLease set owner = ?2, leaseExpireTime = ?3, dataChangeLastModifiedTime = ?4"
+      + " where jobName = ?1 and (owner = ?2 or leaseExpireTime < ?4)")
+  int acquire(String jobName, String owner, Date leaseExpireTime, Date now);
+
+  @Modifying(clearAutomatically = true)
+  @Query("update JobLease set lastCompletedTime = ?3, dataChangeLastModifiedTime = ?4"
+      + " where jobName = ?1 and owner = ?2")
+  int complete(String jobName, String owner, Date startedTime, Date now);
+}
@@ -41,6 +41,9 @@ public interface NamespaceRepository extends PagingAndSortingRepository<Namespac
 
   List<Namespace> findByNamespaceName(String namespaceName, Pageable page);
 
+  List<Namespace> findByNamespaceNameAndIdGreaterThanOrderByIdAsc(String namespaceName, long id,
+      Pageable page);
+
   List<Namespace> findByIdIn(Set<Long> namespaceIds);
 
   int countByNamespaceNameAndAppIdNot(String namespaceName, String appId);
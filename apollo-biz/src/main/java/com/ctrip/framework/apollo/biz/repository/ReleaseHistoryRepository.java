@@ -41,6 +41,15 @@ public interface ReleaseHistoryRepository extends PagingAndSortingRepository<Rel
   Page<ReleaseHistory> findByReleaseIdAndOperationInOrderByIdDesc(long releaseId,
       Set<Integer> operations, Pageable pageable);
 
+  List<ReleaseHistory> findByAppIdAndClusterNameAndNamespaceNameAndIdLessThanOrderByIdDesc(
+      String appId, String clusterName, String namespaceName, long id, Pageable pageable);
+
+  List<ReleaseHistory> findByReleaseIdAndOperationAndIdLessThanOrderByIdDesc(long releaseId,
+      int operation, long id, Pageable pageable);
+
+  List<ReleaseHistory> findByPreviousReleaseIdAndOperationAndIdLessThanOrderByIdDesc(
+      long previousReleaseId, int operation, long id, Pageable pageable);
+
   @Modifying
   @Query("update ReleaseHistory set IsDeleted = true, DeletedAt = ROUND(UNIX_TIMESTAMP(NOW(4))*1000), DataChange_LastModifiedBy = ?4 where AppId=?1 and ClusterName=?2 and NamespaceName = ?3 and IsDeleted = false")
   int batchDelete(String appId, String clusterName, String namespaceName, String operator);
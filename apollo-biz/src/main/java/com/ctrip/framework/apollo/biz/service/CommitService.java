@@ -17,8 +17,14 @@
 package com.ctrip.framework.apollo.biz.service;
 
 import com.ctrip.framework.apollo.biz.entity.Commit;
+import com.ctrip.framework.apollo.biz.entity.Item;
 import com.ctrip.framework.apollo.biz.repository.CommitRepository;
+import com.ctrip.framework.apollo.biz.utils.ConfigChangeContentBuilder;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -60,6 +66,31 @@ public class CommitService {
             appId, clusterName, namespaceName, lastModifiedTime, page);
   }
 
+  /**
+   * find the items deleted by the commits since the given time
+   *
+   * @param since the time to start from, e.g. the time of the latest active release, null means
+   *              all the commits
+   */
+  public List<Item> findDeletedItems(String appId, String clusterName, String namespaceName,
+      Date since) {
+    List<Commit> commits;
+    if (since != null) {
+      commits = find(appId, clusterName, namespaceName, since, null);
+    } else {
+      commits = find(appId, clusterName, namespaceName, null);
+    }
+
+    if (commits == null) {
+      return Collections.emptyList();
+    }
+
+    return commits.stream()
+        .map(commit -> ConfigChangeContentBuilder.convertJsonString(commit.getChangeSets())
+            .getDeleteItems())
+        .flatMap(Collection::stream).collect(Collectors.toList());
+  }
+
   public List<Commit> findByKey(String appId, String clusterName, String namespaceName, String key,
       Pageable page) {
     String queryKey = "\"key\":\"" + key + "\"";
@@ -67,6 +98,23 @@ public class CommitService {
         appId, clusterName, namespaceName, "%" + queryKey + "%", page);
   }
 
+  /**
+   * Find the commits before the commit of {@code beforeId}, newest first.
+   */
+  public List<Commit> findBefore(String appId, String clusterName, String namespaceName,
+      long beforeId, int limit) {
+    return commitRepository.findByAppIdAndClusterNameAndNamespaceNameAndIdLessThanOrderByIdDesc(
+        appId, clusterName, namespaceName, beforeId, PageRequest.of(0, limit));
+  }
+
+  public List<Commit> findByKeyBefore(String appId, String clusterName, String namespaceName,
+      String key, long beforeId, int limit) {
+    String queryKey = "\"key\":\"" + key + "\"";
+    return commitRepository
+        .findByAppIdAndClusterNameAndNamespaceNameAndChangeSetsLikeAndIdLessThanOrderByIdDesc(appId,
+            clusterName, namespaceName, "%" + queryKey + "%", beforeId, PageRequest.of(0, limit));
+  }
+
   @Transactional
   public int batchDelete(String appId, String clusterName, String namespaceName, String operator) {
     return commitRepository.batchDelete(appId, clusterName, namespaceName, operator);
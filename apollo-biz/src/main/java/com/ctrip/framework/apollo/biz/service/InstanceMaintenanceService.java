@@ -0,0 +1,148 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.biz.service;
+
+import com.ctrip.framework.apollo.biz.config.BizConfig;
+import com.ctrip.framework.apollo.core.utils.ApolloThreadFactory;
+import com.ctrip.framework.apollo.tracer.Tracer;
+import com.ctrip.framework.apollo.tracer.spi.Transaction;
+import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the Instance and InstanceConfig tables small enough to query: instance counts are rolled
+ * up into InstanceConfigRollup, and instances not seen for the retention period are purged in
+ * bounded batches, so neither holds locks on the hot tables for long. The rollup runs on the
+ * node holding its {@link JobLeaseService job lease} only.
+ * <p>
+ * Both jobs are off by default, see {@link BizConfig#isInstanceConfigRollupEnabled()} and
+ * {@link BizConfig#instanceRetentionDays()}.
+ */
+@Service
+public class InstanceMaintenanceService {
+
+  private static final Logger logger = LoggerFactory.getLogger(InstanceMaintenanceService.class);
+  private static final int PURGE_BATCH_SIZE = 500;
+  private static final long PURGE_INTERVAL_IN_MINUTES = 60;
+  private static final String ROLLUP_JOB = "InstanceConfigRollup";
+  // the rollup is taken over by another node if its owner misses a few runs
+  private static final int ROLLUP_LEASE_INTERVALS = 3;
+  private static final long ROLLUP_CLOCK_SKEW_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+  private final InstanceService instanceService;
+  private final JobLeaseService jobLeaseService;
+  private final BizConfig bizConfig;
+
+  private final AtomicBoolean started = new AtomicBoolean();
+  private ScheduledExecutorService scheduledExecutorService;
+
+  public InstanceMaintenanceService(final InstanceService instanceService,
+      final JobLeaseService jobLeaseService, final BizConfig bizConfig) {
+    this.instanceService = instanceService;
+    this.jobLeaseService = jobLeaseService;
+    this.bizConfig = bizConfig;
+  }
+
+  /**
+   * Start the enabled jobs, only admin services need to run them.
+   */
+  public void start() {
+    boolean rollupEnabled = bizConfig.isInstanceConfigRollupEnabled();
+    boolean purgeEnabled = bizConfig.instanceRetentionDays() > 0;
+    if ((!rollupEnabled && !purgeEnabled) || !started.compareAndSet(false, true)) {
+      return;
+    }
+    scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(
+        ApolloThreadFactory.create("InstanceMaintenance", true));
+    if (rollupEnabled) {
+      scheduledExecutorService.scheduleWithFixedDelay(this::rollup, 0,
+          bizConfig.instanceConfigRollupInterval(),
+          bizConfig.instanceConfigRollupIntervalTimeUnit());
+    }
+    if (purgeEnabled) {
+      scheduledExecutorService.scheduleWithFixedDelay(this::purge, PURGE_INTERVAL_IN_MINUTES,
+          PURGE_INTERVAL_IN_MINUTES, TimeUnit.MINUTES);
+    }
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (scheduledExecutorService != null) {
+      scheduledExecutorService.shutdownNow();
+    }
+  }
+
+  private void rollup() {
+    Transaction transaction = Tracer.newTransaction("Apollo.InstanceMaintenance", "rollup");
+    try {
+      long leaseMillis = bizConfig.instanceConfigRollupIntervalTimeUnit()
+          .toMillis(bizConfig.instanceConfigRollupInterval()) * ROLLUP_LEASE_INTERVALS;
+      // only the node holding the lease rolls up, the others just check it is kept up to date
+      if (jobLeaseService.tryAcquire(ROLLUP_JOB, leaseMillis)) {
+        Date startedTime = new Date();
+        Date lastStartedTime = jobLeaseService.lastCompletedTime(ROLLUP_JOB);
+        // recount what changed since the last completed run, the config services stamping the
+        // instance configs may be a bit behind this clock
+        instanceService.rollupInstanceConfigs(lastStartedTime == null ? null
+            : new Date(lastStartedTime.getTime() - ROLLUP_CLOCK_SKEW_MILLIS));
+        jobLeaseService.complete(ROLLUP_JOB, startedTime);
+      }
+      Date lastCompletedTime = jobLeaseService.lastCompletedTime(ROLLUP_JOB);
+      instanceService.setInstanceConfigRollupReady(lastCompletedTime != null
+          && System.currentTimeMillis() - lastCompletedTime.getTime() < leaseMillis);
+      transaction.setStatus(Transaction.SUCCESS);
+    } catch (Throwable ex) {
+      transaction.setStatus(ex);
+      logger.error("Roll up instance configs failed", ex);
+    } finally {
+      transaction.complete();
+    }
+  }
+
+  private void purge() {
+    int retentionDays = bizConfig.instanceRetentionDays();
+    if (retentionDays <= 0) {
+      return;
+    }
+    Transaction transaction = Tracer.newTransaction("Apollo.InstanceMaintenance", "purge");
+    try {
+      Date before = new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(retentionDays));
+      int purged = 0;
+      int batch;
+      do {
+        batch = instanceService.purgeInstanceConfigs(before, PURGE_BATCH_SIZE);
+        purged += batch;
+      } while (batch == PURGE_BATCH_SIZE && !Thread.currentThread().isInterrupted());
+      if (purged > 0) {
+        logger.info("Purged {} instance configs not seen since {}", purged, before);
+      }
+      transaction.setStatus(Transaction.SUCCESS);
+    } catch (Throwable ex) {
+      transaction.setStatus(ex);
+      logger.error("Purge instances failed", ex);
+    } finally {
+      transaction.complete();
+    }
+  }
+}
@@ -16,18 +16,28 @@
  */
 package com.ctrip.framework.apollo.biz.service;
 
+import com.ctrip.framework.apollo.biz.config.BizConfig;
 import com.ctrip.framework.apollo.biz.entity.Instance;
 import com.ctrip.framework.apollo.biz.entity.InstanceConfig;
+import com.ctrip.framework.apollo.biz.entity.InstanceConfigRollup;
 import com.ctrip.framework.apollo.biz.repository.InstanceConfigRepository;
+import com.ctrip.framework.apollo.biz.repository.InstanceConfigRollupRepository;
 import com.ctrip.framework.apollo.biz.repository.InstanceRepository;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
 import java.util.Objects;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.CollectionUtils;
 
 import java.math.BigInteger;
@@ -36,6 +46,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -43,13 +54,26 @@ import java.util.stream.Collectors;
  */
 @Service
 public class InstanceService {
+
+  private static final long STALE_ROLLUP_RETENTION_IN_DAYS = 1;
+
   private final InstanceRepository instanceRepository;
   private final InstanceConfigRepository instanceConfigRepository;
+  private final InstanceConfigRollupRepository instanceConfigRollupRepository;
+  private final BizConfig bizConfig;
+  private final TransactionTemplate transactionTemplate;
+
+  private volatile boolean instanceConfigRollupReady;
 
   public InstanceService(final InstanceRepository instanceRepository,
-      final InstanceConfigRepository instanceConfigRepository) {
+      final InstanceConfigRepository instanceConfigRepository,
+      final InstanceConfigRollupRepository instanceConfigRollupRepository,
+      final BizConfig bizConfig, final TransactionTemplate transactionTemplate) {
     this.instanceRepository = instanceRepository;
     this.instanceConfigRepository = instanceConfigRepository;
+    this.instanceConfigRollupRepository = instanceConfigRollupRepository;
+    this.bizConfig = bizConfig;
+    this.transactionTemplate = transactionTemplate;
   }
 
   public Instance findInstance(String appId, String clusterName, String dataCenter, String ip) {
@@ -81,6 +105,25 @@ public class InstanceService {
         getValidInstanceConfigDate(), pageable);
   }
 
+  /**
+   * Keyset variant of {@link #findActiveInstanceConfigsByReleaseKey(String, Pageable)}, the
+   * instance configs are ordered by instance id and start after {@code afterInstanceId}.
+   */
+  public List<InstanceConfig> findActiveInstanceConfigsByReleaseKey(String releaseKey,
+      long afterInstanceId, int size) {
+    return instanceConfigRepository
+        .findByReleaseKeyAndDataChangeLastModifiedTimeAfterAndInstanceIdGreaterThanOrderByInstanceIdAsc(
+            releaseKey, getValidInstanceConfigDate(), afterInstanceId, PageRequest.of(0, size));
+  }
+
+  public long countActiveInstanceConfigsByReleaseKey(String releaseKey) {
+    if (isInstanceConfigRollupReady()) {
+      return instanceConfigRollupRepository.sumInstanceCountByReleaseKey(releaseKey);
+    }
+    return instanceConfigRepository.countByReleaseKeyAndDataChangeLastModifiedTimeAfter(releaseKey,
+        getValidInstanceConfigDate());
+  }
+
   public Page<Instance> findInstancesByNamespace(String appId, String clusterName,
       String namespaceName, Pageable pageable) {
     Page<InstanceConfig> instanceConfigs = instanceConfigRepository
@@ -105,32 +148,92 @@ public class InstanceService {
 
     List<Instance> instances = Collections.emptyList();
     if (instanceIdResult.hasContent()) {
-      Set<Long> instanceIds = instanceIdResult.getContent().stream().map((Object o) -> {
-        if (o == null) {
-          return null;
-        }
-
-        if (o instanceof Integer) {
-          return ((Integer) o).longValue();
-        }
-
-        if (o instanceof Long) {
-          return (Long) o;
-        }
-
-        // for h2 test
-        if (o instanceof BigInteger) {
-          return ((BigInteger) o).longValue();
-        }
-
-        return null;
-      }).filter(Objects::nonNull).collect(Collectors.toSet());
+      Set<Long> instanceIds = instanceIdResult.getContent().stream()
+          .map(InstanceService::toInstanceId).filter(Objects::nonNull)
+          .collect(Collectors.toSet());
       instances = findInstancesByIds(instanceIds);
     }
 
     return new PageImpl<>(instances, pageable, instanceIdResult.getTotalElements());
   }
 
+  /**
+   * Keyset variant of {@link #findInstancesByNamespace(String, String, String, Pageable)}, the
+   * instances are ordered by id and start after {@code afterInstanceId}.
+   */
+  public List<Instance> findInstancesByNamespace(String appId, String clusterName,
+      String namespaceName, long afterInstanceId, int size) {
+    List<InstanceConfig> instanceConfigs = instanceConfigRepository
+        .findByConfigAppIdAndConfigClusterNameAndConfigNamespaceNameAndDataChangeLastModifiedTimeAfterAndInstanceIdGreaterThanOrderByInstanceIdAsc(
+            appId, clusterName, namespaceName, getValidInstanceConfigDate(), afterInstanceId,
+            PageRequest.of(0, size));
+
+    return findInstancesOrderById(instanceConfigs.stream().map(InstanceConfig::getInstanceId)
+        .collect(Collectors.toSet()));
+  }
+
+  /**
+   * Keyset variant of
+   * {@link #findInstancesByNamespaceAndInstanceAppId(String, String, String, String, Pageable)},
+   * the instances are ordered by id and start after {@code afterInstanceId}.
+   */
+  public List<Instance> findInstancesByNamespaceAndInstanceAppId(String instanceAppId,
+      String appId, String clusterName, String namespaceName, long afterInstanceId, int size) {
+    List<Object> instanceIdResult =
+        instanceConfigRepository.findInstanceIdsByNamespaceAndInstanceAppIdAfter(instanceAppId,
+            appId, clusterName, namespaceName, getValidInstanceConfigDate(), afterInstanceId,
+            PageRequest.of(0, size));
+
+    return findInstancesOrderById(instanceIdResult.stream().map(InstanceService::toInstanceId)
+        .filter(Objects::nonNull).collect(Collectors.toSet()));
+  }
+
+  public long countInstancesByNamespace(String appId, String clusterName, String namespaceName) {
+    if (isInstanceConfigRollupReady()) {
+      return instanceConfigRollupRepository.sumInstanceCountByNamespace(appId, clusterName,
+          namespaceName);
+    }
+    return instanceConfigRepository
+        .countByConfigAppIdAndConfigClusterNameAndConfigNamespaceNameAndDataChangeLastModifiedTimeAfter(
+            appId, clusterName, namespaceName, getValidInstanceConfigDate());
+  }
+
+  public long countInstancesByNamespaceAndInstanceAppId(String instanceAppId, String appId,
+      String clusterName, String namespaceName) {
+    return instanceConfigRepository.countByNamespaceAndInstanceAppId(instanceAppId, appId,
+        clusterName, namespaceName, getValidInstanceConfigDate());
+  }
+
+  private List<Instance> findInstancesOrderById(Set<Long> instanceIds) {
+    if (instanceIds.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<Instance> instances = findInstancesByIds(instanceIds);
+    instances.sort(Comparator.comparingLong(Instance::getId));
+    return instances;
+  }
+
+  private static Long toInstanceId(Object o) {
+    if (o == null) {
+      return null;
+    }
+
+    if (o instanceof Integer) {
+      return ((Integer) o).longValue();
+    }
+
+    if (o instanceof Long) {
+      return (Long) o;
+    }
+
+    // for h2 test
+    if (o instanceof BigInteger) {
+      return ((BigInteger) o).longValue();
+    }
+
+    return null;
+  }
+
   public List<InstanceConfig> findInstanceConfigsByNamespaceWithReleaseKeysNotIn(String appId,
       String clusterName, String namespaceName, Set<String> releaseKeysNotIn) {
     List<InstanceConfig> instanceConfigs = instanceConfigRepository
@@ -178,9 +281,124 @@ public class InstanceService {
     return instanceConfigRepository.save(existedInstanceConfig);
   }
 
+  /**
+   * Recount into InstanceConfigRollup the namespaces whose instance configs were seen or expired
+   * after {@code since}, or every namespace if it is null, so the rollup only reads the instance
+   * configs of the namespaces touched since the last run.
+   * <p>
+   * Each namespace is recounted in a short transaction of its own. Rows are updated in place, rows
+   * no longer counted are set to 0 and only deleted after {@link #STALE_ROLLUP_RETENTION_IN_DAYS},
+   * so readers never see a partial rollup of a namespace.
+   */
+  public void rollupInstanceConfigs(Date since) {
+    Date validDate = getValidInstanceConfigDate();
+    Date modifiedAfter = since == null ? validDate : since;
+    // instance configs last seen within this window expired since the last run
+    Date expiredAfter = new Date(
+        modifiedAfter.getTime() - (System.currentTimeMillis() - validDate.getTime()));
+
+    Set<List<String>> namespaces = Sets.newHashSet();
+    for (Object[] row : instanceConfigRepository.findNamespacesModifiedAfter(modifiedAfter,
+        expiredAfter, validDate)) {
+      namespaces.add(Arrays.asList((String) row[0], (String) row[1], (String) row[2]));
+    }
+    if (since == null) {
+      for (InstanceConfigRollup rollup : instanceConfigRollupRepository.findAll()) {
+        namespaces.add(Arrays.asList(rollup.getConfigAppId(), rollup.getConfigClusterName(),
+            rollup.getConfigNamespaceName()));
+      }
+    }
+
+    for (List<String> namespace : namespaces) {
+      transactionTemplate.executeWithoutResult(status -> rollupNamespace(namespace.get(0),
+          namespace.get(1), namespace.get(2), validDate));
+    }
+    Date staleBefore = new Date(
+        System.currentTimeMillis() - TimeUnit.DAYS.toMillis(STALE_ROLLUP_RETENTION_IN_DAYS));
+    transactionTemplate.executeWithoutResult(
+        status -> instanceConfigRollupRepository.deleteEmptyRollups(staleBefore));
+  }
+
+  private void rollupNamespace(String configAppId, String configClusterName,
+      String configNamespaceName, Date validDate) {
+    Map<String, Long> counts = Maps.newHashMap();
+    for (Object[] row : instanceConfigRepository.countGroupByReleaseKey(configAppId,
+        configClusterName, configNamespaceName, validDate)) {
+      counts.put((String) row[0], ((Number) row[1]).longValue());
+    }
+
+    List<InstanceConfigRollup> changedRollups = Lists.newArrayList();
+    for (InstanceConfigRollup rollup : instanceConfigRollupRepository
+        .findByConfigAppIdAndConfigClusterNameAndConfigNamespaceName(configAppId,
+            configClusterName, configNamespaceName)) {
+      Long count = counts.remove(rollup.getReleaseKey());
+      long instanceCount = count == null ? 0 : count;
+      if (instanceCount != rollup.getInstanceCount()) {
+        rollup.setInstanceCount(instanceCount);
+        changedRollups.add(rollup);
+      }
+    }
+    counts.forEach((releaseKey, count) -> {
+      InstanceConfigRollup rollup = new InstanceConfigRollup();
+      rollup.setConfigAppId(configAppId);
+      rollup.setConfigClusterName(configClusterName);
+      rollup.setConfigNamespaceName(configNamespaceName);
+      rollup.setReleaseKey(releaseKey);
+      rollup.setInstanceCount(count);
+      changedRollups.add(rollup);
+    });
+
+    instanceConfigRollupRepository.saveAll(changedRollups);
+  }
+
+  /**
+   * Whether InstanceConfigRollup is recent enough to answer the instance counts, set by
+   * {@link InstanceMaintenanceService} after any node completed the rollup.
+   */
+  public void setInstanceConfigRollupReady(boolean instanceConfigRollupReady) {
+    this.instanceConfigRollupReady = instanceConfigRollupReady;
+  }
+
+  private boolean isInstanceConfigRollupReady() {
+    return instanceConfigRollupReady && bizConfig.isInstanceConfigRollupEnabled();
+  }
+
+  /**
+   * Delete up to {@code batchSize} instance configs last seen before {@code before}, and their
+   * instances if no other instance config refers to them.
+   *
+   * @return the number of instance configs deleted, less than {@code batchSize} means there are
+   * no more to purge for now
+   */
+  @Transactional
+  public int purgeInstanceConfigs(Date before, int batchSize) {
+    List<InstanceConfig> instanceConfigs = instanceConfigRepository
+        .findByDataChangeLastModifiedTimeBeforeOrderByIdAsc(before, PageRequest.of(0, batchSize));
+    if (instanceConfigs.isEmpty()) {
+      return 0;
+    }
+
+    Set<Long> ids = instanceConfigs.stream().map(InstanceConfig::getId)
+        .collect(Collectors.toSet());
+    Set<Long> instanceIds = instanceConfigs.stream().map(InstanceConfig::getInstanceId)
+        .collect(Collectors.toSet());
+
+    // an instance config might be seen again since it was loaded, so check the time once more
+    int deleted = instanceConfigRepository.deleteByIds(ids, before);
+    instanceIds.removeAll(instanceConfigRepository.findInstanceIdsIn(instanceIds));
+    if (!instanceIds.isEmpty()) {
+      instanceRepository.deleteByIds(instanceIds);
+    }
+
+    return deleted;
+  }
+
   @Transactional
   public int batchDeleteInstanceConfig(String configAppId, String configClusterName,
       String configNamespaceName) {
+    // the deleted instance configs leave no trace for the next rollup to recount
+    instanceConfigRollupRepository.deleteByNamespace(configAppId, configClusterName,
+        configNamespaceName);
     return instanceConfigRepository.batchDelete(configAppId, configClusterName,
         configNamespaceName);
   }
@@ -0,0 +1,323 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.biz.service;
+
+import com.ctrip.framework.apollo.biz.config.BizConfig;
+import com.ctrip.framework.apollo.biz.entity.Item;
+import com.ctrip.framework.apollo.biz.entity.Namespace;
+import com.ctrip.framework.apollo.biz.repository.ItemRepository;
+import com.ctrip.framework.apollo.biz.repository.NamespaceRepository;
+import com.ctrip.framework.apollo.common.dto.ItemInfoDTO;
+import com.ctrip.framework.apollo.core.utils.ApolloThreadFactory;
+import com.ctrip.framework.apollo.tracer.Tracer;
+import com.ctrip.framework.apollo.tracer.spi.Transaction;
+import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.CollectionUtils;
+
+/**
+ * Serves item search from an in-memory trigram index instead of the LIKE queries, which have to
+ * scan the whole Item table.
+ * <p>
+ * The index is built in the background once {@link #start()} is called, until then search falls
+ * back to the database. Item changes made on this node are applied when their transaction commits,
+ * changes made on other nodes are caught up from the DataChange_LastTime watermark, the same way as
+ * the app namespace cache of the config service.
+ * <p>
+ * The index only narrows down the candidates, every candidate is loaded and verified before it is
+ * returned, so a stale index could miss some items for a few seconds but never returns wrong ones.
+ */
+@Service
+public class ItemSearchIndex {
+
+  private static final Logger logger = LoggerFactory.getLogger(ItemSearchIndex.class);
+  private static final int BATCH_SIZE = 500;
+
+  private final ItemRepository itemRepository;
+  private final NamespaceRepository namespaceRepository;
+  private final BizConfig bizConfig;
+
+  private final ItemTrigramIndex index = new ItemTrigramIndex();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final AtomicBoolean started = new AtomicBoolean();
+  private volatile boolean ready;
+  private ScheduledExecutorService scheduledExecutorService;
+  private Date lastTimeScanned;
+
+  public ItemSearchIndex(final ItemRepository itemRepository,
+      final NamespaceRepository namespaceRepository, final BizConfig bizConfig) {
+    this.itemRepository = itemRepository;
+    this.namespaceRepository = namespaceRepository;
+    this.bizConfig = bizConfig;
+  }
+
+  /**
+   * Start building and maintaining the index if it is enabled, only admin services need to.
+   */
+  public void start() {
+    if (!bizConfig.isItemSearchIndexEnabled() || !started.compareAndSet(false, true)) {
+      return;
+    }
+    scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(
+        ApolloThreadFactory.create("ItemSearchIndex", true));
+    scheduledExecutorService.scheduleWithFixedDelay(this::scan, 0,
+        bizConfig.itemSearchIndexScanInterval(), bizConfig.itemSearchIndexScanIntervalTimeUnit());
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (scheduledExecutorService != null) {
+      scheduledExecutorService.shutdownNow();
+    }
+  }
+
+  public boolean isReady() {
+    return ready;
+  }
+
+  /**
+   * Find the items whose key contains the key pattern and whose value contains the value pattern,
+   * ignoring case, an empty pattern matches any item. The items are ordered by id.
+   * <p>
+   * The total of the page is exact if all the candidates had to be verified, otherwise the
+   * remaining candidates are counted as matches, so whether there is a next page is always exact.
+   *
+   * @return the page of items, or null if the index can't serve the search, e.g. it is not ready
+   * yet or a pattern is shorter than a trigram
+   */
+  public Page<ItemInfoDTO> search(String keyPattern, String valuePattern, Pageable pageable) {
+    String key = Strings.nullToEmpty(keyPattern);
+    String value = Strings.nullToEmpty(valuePattern);
+    if (!ready || pageable.isUnpaged() || (key.isEmpty() && value.isEmpty())
+        || !ItemTrigramIndex.isSearchable(key) || !ItemTrigramIndex.isSearchable(value)) {
+      return null;
+    }
+
+    long[] candidates;
+    lock.readLock().lock();
+    try {
+      candidates = index.candidates(key, value);
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    long offset = pageable.getOffset();
+    int pageSize = pageable.getPageSize();
+    List<ItemInfoDTO> content = Lists.newArrayListWithCapacity(pageSize);
+    Map<Long, Namespace> namespaces = Maps.newHashMap();
+    long matched = 0;
+    int verified = 0;
+    // verify one more match than needed to know whether there is a next page
+    while (verified < candidates.length && matched <= offset + pageSize) {
+      int end = Math.min(candidates.length, verified + BATCH_SIZE);
+      List<Long> ids = Lists.newArrayListWithCapacity(end - verified);
+      for (int i = verified; i < end; i++) {
+        ids.add(candidates[i]);
+      }
+
+      Map<Long, Item> items = Maps.newHashMap();
+      List<Long> missingNamespaceIds = Lists.newArrayList();
+      for (Item item : itemRepository.findAllById(ids)) {
+        if (ItemTrigramIndex.matches(item.getKey(), key)
+            && ItemTrigramIndex.matches(item.getValue(), value)) {
+          items.put(item.getId(), item);
+          if (!namespaces.containsKey(item.getNamespaceId())) {
+            missingNamespaceIds.add(item.getNamespaceId());
+          }
+        }
+      }
+      if (!missingNamespaceIds.isEmpty()) {
+        for (Namespace namespace : namespaceRepository.findAllById(missingNamespaceIds)) {
+          namespaces.put(namespace.getId(), namespace);
+        }
+      }
+
+      for (Long id : ids) {
+        Item item = items.get(id);
+        Namespace namespace = item == null ? null : namespaces.get(item.getNamespaceId());
+        if (namespace == null) {
+          continue;
+        }
+        if (matched >= offset && content.size() < pageSize) {
+          content.add(new ItemInfoDTO(namespace.getAppId(), namespace.getClusterName(),
+              namespace.getNamespaceName(), item.getKey(), item.getValue()));
+        }
+        matched++;
+      }
+      verified = end;
+    }
+
+    long total = matched + candidates.length - verified;
+    return new PageImpl<>(content, pageable, total);
+  }
+
+  public void onItemSaved(Item item) {
+    if (!started.get()) {
+      return;
+    }
+    long itemId = item.getId();
+    long namespaceId = item.getNamespaceId();
+    String key = item.getKey();
+    String value = item.getValue();
+    afterCommit(() -> index.put(itemId, namespaceId, key, value, System.currentTimeMillis()));
+  }
+
+  public void onItemDeleted(long itemId) {
+    if (!started.get()) {
+      return;
+    }
+    afterCommit(() -> index.remove(itemId));
+  }
+
+  public void onNamespaceItemsDeleted(long namespaceId) {
+    if (!started.get()) {
+      return;
+    }
+    afterCommit(() -> index.removeNamespace(namespaceId));
+  }
+
+  private void afterCommit(Runnable update) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      updateIndex(update);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        updateIndex(update);
+      }
+    });
+  }
+
+  private void updateIndex(Runnable update) {
+    lock.writeLock().lock();
+    try {
+      update.run();
+    } catch (Throwable ex) {
+      // the change will be caught up by the next scan
+      logger.error("Update item search index failed", ex);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void scan() {
+    Transaction transaction = Tracer.newTransaction("Apollo.ItemSearchIndex",
+        ready ? "scanUpdatedAndDeletedItems" : "build");
+    try {
+      if (ready) {
+        loadUpdatedAndDeletedItems();
+      } else {
+        // a failed build is retried on the next scan
+        build();
+      }
+      transaction.setStatus(Transaction.SUCCESS);
+    } catch (Throwable ex) {
+      transaction.setStatus(ex);
+      logger.error("Scan items for search index failed", ex);
+    } finally {
+      transaction.complete();
+    }
+  }
+
+  private void build() {
+    // changes during the build are covered by the first scan
+    lastTimeScanned = new Date();
+    long maxIdScanned = 0;
+    boolean hasMore = true;
+    while (hasMore && !Thread.currentThread().isInterrupted()) {
+      List<Item> items = itemRepository.findFirst500ByIdGreaterThanOrderByIdAsc(maxIdScanned);
+      if (CollectionUtils.isEmpty(items)) {
+        break;
+      }
+      mergeItems(items);
+      int scanned = items.size();
+      maxIdScanned = items.get(scanned - 1).getId();
+      hasMore = scanned == BATCH_SIZE;
+    }
+    ready = true;
+    logger.info("Built item search index with {} items", index.size());
+  }
+
+  // for those updated or deleted items since last scan, by DataChange_LastTime watermark
+  private void loadUpdatedAndDeletedItems() {
+    boolean hasMore = true;
+    Date currentTime = new Date();
+
+    // prevent time drift
+    Date startTime = new Date(lastTimeScanned.getTime() - 1000);
+
+    while (hasMore && !Thread.currentThread().isInterrupted()) {
+      List<Item> items = itemRepository
+          .findFirst500ByDataChangeLastModifiedTimeGreaterThanEqualAndDataChangeLastModifiedTimeLessThanOrderByDataChangeLastModifiedTimeAsc(
+              startTime, currentTime);
+
+      int scanned = items.size();
+      mergeItems(items);
+
+      hasMore = scanned == BATCH_SIZE;
+
+      // In order to avoid missing some records at the last time, we need to scan records at this
+      // time individually
+      if (hasMore) {
+        Date lastModifiedTime = items.get(scanned - 1).getDataChangeLastModifiedTime();
+        mergeItems(itemRepository.findByDataChangeLastModifiedTime(lastModifiedTime));
+        startTime = new Date(lastModifiedTime.getTime() + 1000);
+      }
+    }
+
+    // soft deleted rows are tombstones, their DataChange_LastTime is updated when deleted
+    List<Item> deletedItems = itemRepository.findDeletedByDataChangeLastModifiedTimeBetween(
+        new Date(lastTimeScanned.getTime() - 1000), currentTime);
+    if (!CollectionUtils.isEmpty(deletedItems)) {
+      updateIndex(() -> deletedItems.forEach(item -> index.remove(item.getId())));
+    }
+
+    lastTimeScanned = currentTime;
+  }
+
+  private void mergeItems(List<Item> items) {
+    if (CollectionUtils.isEmpty(items)) {
+      return;
+    }
+    updateIndex(() -> {
+      for (Item item : items) {
+        Date modifiedTime = item.getDataChangeLastModifiedTime();
+        index.put(item.getId(), item.getNamespaceId(), item.getKey(), item.getValue(),
+            modifiedTime == null ? 0 : modifiedTime.getTime());
+      }
+    });
+  }
+}
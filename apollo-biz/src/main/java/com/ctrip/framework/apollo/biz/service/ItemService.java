@@ -30,6 +30,7 @@ import com.ctrip.framework.apollo.core.utils.StringUtils;
 
 import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -47,14 +48,16 @@ public class ItemService {
   private final NamespaceService namespaceService;
   private final AuditService auditService;
   private final BizConfig bizConfig;
+  private final ItemSearchIndex itemSearchIndex;
 
   public ItemService(final ItemRepository itemRepository,
       final @Lazy NamespaceService namespaceService, final AuditService auditService,
-      final BizConfig bizConfig) {
+      final BizConfig bizConfig, final ItemSearchIndex itemSearchIndex) {
     this.itemRepository = itemRepository;
     this.namespaceService = namespaceService;
     this.auditService = auditService;
     this.bizConfig = bizConfig;
+    this.itemSearchIndex = itemSearchIndex;
   }
 
 
@@ -70,13 +73,15 @@ public class ItemService {
     Item deletedItem = itemRepository.save(item);
 
     auditService.audit(Item.class.getSimpleName(), id, Audit.OP.DELETE, operator);
+    itemSearchIndex.onItemDeleted(id);
     return deletedItem;
   }
 
   @Transactional
   public int batchDelete(long namespaceId, String operator) {
-    return itemRepository.deleteByNamespaceId(namespaceId, operator);
-
+    int deleted = itemRepository.deleteByNamespaceId(namespaceId, operator);
+    itemSearchIndex.onNamespaceItemsDeleted(namespaceId);
+    return deleted;
   }
 
   public Item findOne(String appId, String clusterName, String namespaceName, String key) {
@@ -152,8 +157,22 @@ public class ItemService {
     return itemRepository.findByNamespaceId(namespace.getId(), pageable);
   }
 
+  /**
+   * Find the items of the namespace after the item of {@code afterId}, ordered by id.
+   */
+  public List<Item> findItemsByNamespaceAfter(String appId, String clusterName,
+      String namespaceName, long afterId, int limit) {
+    Namespace namespace =
+        findNamespaceByAppIdAndClusterNameAndNamespaceName(appId, clusterName, namespaceName);
+    return itemRepository.findByNamespaceIdAndIdGreaterThanOrderByIdAsc(namespace.getId(), afterId,
+        PageRequest.of(0, limit));
+  }
+
   public Page<ItemInfoDTO> getItemInfoBySearch(String key, String value, Pageable limit) {
-    Page<ItemInfoDTO> itemInfoDTOs;
+    Page<ItemInfoDTO> itemInfoDTOs = itemSearchIndex.search(key, value, limit);
+    if (itemInfoDTOs != null) {
+      return itemInfoDTOs;
+    }
     if (key.isEmpty() && !value.isEmpty()) {
       itemInfoDTOs = itemRepository.findItemsByValueLike(value, limit);
     } else if (value.isEmpty() && !key.isEmpty()) {
@@ -182,6 +201,7 @@ public class ItemService {
 
     auditService.audit(Item.class.getSimpleName(), item.getId(), Audit.OP.INSERT,
         item.getDataChangeCreatedBy());
+    itemSearchIndex.onItemSaved(item);
 
     return item;
   }
@@ -216,6 +236,7 @@ public class ItemService {
 
     auditService.audit(Item.class.getSimpleName(), managedItem.getId(), Audit.OP.UPDATE,
         managedItem.getDataChangeLastModifiedBy());
+    itemSearchIndex.onItemSaved(managedItem);
 
     return managedItem;
   }
@@ -25,7 +25,7 @@ import com.ctrip.framework.apollo.common.dto.ItemChangeSets;
 import com.ctrip.framework.apollo.common.dto.ItemDTO;
 import com.ctrip.framework.apollo.common.exception.BadRequestException;
 import com.ctrip.framework.apollo.common.exception.NotFoundException;
-import com.ctrip.framework.apollo.common.utils.BeanUtils;
+import com.ctrip.framework.apollo.common.utils.BeanMapper;
 import com.ctrip.framework.apollo.core.utils.StringUtils;
 import java.util.List;
 import org.springframework.stereotype.Service;
@@ -36,6 +36,10 @@ import org.springframework.util.CollectionUtils;
 @Service
 public class ItemSetService {
 
+  private static final BeanMapper<ItemDTO, Item> DTO_TO_ITEM =
+      BeanMapper.of(ItemDTO.class, Item.class);
+  private static final BeanMapper<Item, Item> ITEM_TO_ITEM = BeanMapper.of(Item.class, Item.class);
+
   private final AuditService auditService;
   private final CommitService commitService;
   private final ItemService itemService;
@@ -126,7 +130,7 @@ public class ItemSetService {
       ConfigChangeContentBuilder configChangeContentBuilder) {
 
     for (ItemDTO item : toUpdateItems) {
-      Item entity = BeanUtils.transform(Item.class, item);
+      Item entity = DTO_TO_ITEM.map(item);
 
       Item managedItem = itemService.findOne(entity.getId());
       if (managedItem == null) {
@@ -135,7 +139,7 @@ public class ItemSetService {
       if (managedItem.getNamespaceId() != namespace.getId()) {
         throw BadRequestException.namespaceNotMatch();
       }
-      Item beforeUpdateItem = BeanUtils.transform(Item.class, managedItem);
+      Item beforeUpdateItem = ITEM_TO_ITEM.map(managedItem);
 
       // protect. only value,type,comment,lastModifiedBy can be modified
       managedItem.setType(entity.getType());
@@ -157,7 +161,7 @@ public class ItemSetService {
         throw BadRequestException.namespaceNotMatch();
       }
 
-      Item entity = BeanUtils.transform(Item.class, item);
+      Item entity = DTO_TO_ITEM.map(item);
       entity.setDataChangeCreatedBy(operator);
       entity.setDataChangeLastModifiedBy(operator);
       Item createdItem = itemService.save(entity);
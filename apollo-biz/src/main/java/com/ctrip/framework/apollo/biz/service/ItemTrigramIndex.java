@@ -0,0 +1,278 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.biz.service;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Trigram inverted index over item keys and values, used by {@link ItemSearchIndex}.
+ * <p>
+ * Every indexed version of an item is a document with a sequence number, the posting list of a
+ * trigram holds the documents containing it in ascending order. New documents always get the
+ * largest number, so indexing only appends to the posting lists. When an item changes or is
+ * removed its old document is marked dead and skipped by the lookups, the dead documents are
+ * dropped from the posting lists once they outnumber the live ones.
+ * <p>
+ * Matching is case insensitive like the LIKE queries it replaces. The index only returns
+ * candidates, the callers need to verify them against the item content.
+ * <p>
+ * Not thread safe.
+ */
+class ItemTrigramIndex {
+
+  static final int GRAM_SIZE = 3;
+  private static final int MIN_COMPACT_DEAD_DOCS = 1024;
+
+  // doc -> item
+  private long[] docItemIds = new long[1024];
+  private long[] docNamespaceIds = new long[1024];
+  private long[] docModifiedTimes = new long[1024];
+  private final BitSet liveDocs = new BitSet();
+  private int docCount;
+  private int deadDocCount;
+  // item id -> live doc
+  private final Map<Long, Integer> itemDocs = Maps.newHashMap();
+  // trigram -> posting list
+  private Map<Long, Postings> keyPostings = Maps.newHashMap();
+  private Map<Long, Postings> valuePostings = Maps.newHashMap();
+
+  /**
+   * Index the content of an item, replacing the one indexed before unless that is newer.
+   *
+   * @param modifiedTime when the content was read, used to discard stale content
+   */
+  void put(long itemId, long namespaceId, String key, String value, long modifiedTime) {
+    Integer oldDoc = itemDocs.get(itemId);
+    if (oldDoc != null) {
+      if (docModifiedTimes[oldDoc] > modifiedTime) {
+        return;
+      }
+      markDead(oldDoc);
+    }
+
+    int doc = docCount++;
+    ensureCapacity(docCount);
+    docItemIds[doc] = itemId;
+    docNamespaceIds[doc] = namespaceId;
+    docModifiedTimes[doc] = modifiedTime;
+    liveDocs.set(doc);
+    itemDocs.put(itemId, doc);
+
+    for (long gram : grams(key)) {
+      keyPostings.computeIfAbsent(gram, g -> new Postings()).append(doc);
+    }
+    for (long gram : grams(value)) {
+      valuePostings.computeIfAbsent(gram, g -> new Postings()).append(doc);
+    }
+    compactIfNecessary();
+  }
+
+  void remove(long itemId) {
+    Integer doc = itemDocs.remove(itemId);
+    if (doc != null) {
+      markDead(doc);
+    }
+    compactIfNecessary();
+  }
+
+  void removeNamespace(long namespaceId) {
+    for (int doc = liveDocs.nextSetBit(0); doc >= 0; doc = liveDocs.nextSetBit(doc + 1)) {
+      if (docNamespaceIds[doc] == namespaceId) {
+        itemDocs.remove(docItemIds[doc]);
+        markDead(doc);
+      }
+    }
+    compactIfNecessary();
+  }
+
+  int size() {
+    return itemDocs.size();
+  }
+
+  /**
+   * Whether the pattern can be looked up, i.e. it is empty or has at least one trigram.
+   */
+  static boolean isSearchable(String pattern) {
+    return pattern.isEmpty() || normalize(pattern).length() >= GRAM_SIZE;
+  }
+
+  /**
+   * Find the ids of the items whose key contains all the trigrams of the key pattern and whose
+   * value contains all the trigrams of the value pattern, an empty pattern matches any item.
+   *
+   * @return the item ids in ascending order
+   */
+  long[] candidates(String keyPattern, String valuePattern) {
+    List<Postings> lists = Lists.newArrayList();
+    if (!collect(keyPostings, keyPattern, lists) || !collect(valuePostings, valuePattern, lists)) {
+      return new long[0];
+    }
+
+    long[] itemIds;
+    if (lists.isEmpty()) {
+      itemIds = itemDocs.keySet().stream().mapToLong(Long::longValue).toArray();
+    } else {
+      // start from the shortest posting list, the others are only probed
+      lists.sort(Comparator.comparingInt(postings -> postings.size));
+      Postings shortest = lists.get(0);
+      itemIds = new long[shortest.size];
+      int count = 0;
+      for (int i = 0; i < shortest.size; i++) {
+        int doc = shortest.docs[i];
+        if (liveDocs.get(doc) && containedInAll(lists, doc)) {
+          itemIds[count++] = docItemIds[doc];
+        }
+      }
+      itemIds = Arrays.copyOf(itemIds, count);
+    }
+
+    Arrays.sort(itemIds);
+    return itemIds;
+  }
+
+  static String normalize(String text) {
+    return text == null ? "" : text.toLowerCase(Locale.ROOT);
+  }
+
+  static boolean matches(String text, String pattern) {
+    return pattern.isEmpty() || normalize(text).contains(normalize(pattern));
+  }
+
+  private boolean collect(Map<Long, Postings> postings, String pattern, List<Postings> lists) {
+    for (long gram : grams(pattern)) {
+      Postings list = postings.get(gram);
+      if (list == null) {
+        return false;
+      }
+      lists.add(list);
+    }
+    return true;
+  }
+
+  private boolean containedInAll(List<Postings> lists, int doc) {
+    for (int i = 1; i < lists.size(); i++) {
+      if (!lists.get(i).contains(doc)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static Set<Long> grams(String text) {
+    String normalized = normalize(text);
+    Set<Long> grams = Sets.newHashSet();
+    for (int i = 0; i + GRAM_SIZE <= normalized.length(); i++) {
+      grams.add(((long) normalized.charAt(i) << 32) | ((long) normalized.charAt(i + 1) << 16)
+          | normalized.charAt(i + 2));
+    }
+    return grams;
+  }
+
+  private void markDead(int doc) {
+    liveDocs.clear(doc);
+    deadDocCount++;
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (capacity > docItemIds.length) {
+      int newCapacity = Math.max(capacity, docItemIds.length * 2);
+      docItemIds = Arrays.copyOf(docItemIds, newCapacity);
+      docNamespaceIds = Arrays.copyOf(docNamespaceIds, newCapacity);
+      docModifiedTimes = Arrays.copyOf(docModifiedTimes, newCapacity);
+    }
+  }
+
+  private void compactIfNecessary() {
+    if (deadDocCount < MIN_COMPACT_DEAD_DOCS || deadDocCount < docCount - deadDocCount) {
+      return;
+    }
+
+    // renumber the live documents, the relative order and so the posting lists order is kept
+    int[] newDocs = new int[docCount];
+    int liveCount = 0;
+    for (int doc = 0; doc < docCount; doc++) {
+      if (liveDocs.get(doc)) {
+        docItemIds[liveCount] = docItemIds[doc];
+        docNamespaceIds[liveCount] = docNamespaceIds[doc];
+        docModifiedTimes[liveCount] = docModifiedTimes[doc];
+        newDocs[doc] = liveCount++;
+      } else {
+        newDocs[doc] = -1;
+      }
+    }
+
+    keyPostings = compact(keyPostings, newDocs);
+    valuePostings = compact(valuePostings, newDocs);
+    for (Map.Entry<Long, Integer> entry : itemDocs.entrySet()) {
+      entry.setValue(newDocs[entry.getValue()]);
+    }
+
+    liveDocs.clear();
+    liveDocs.set(0, liveCount);
+    docCount = liveCount;
+    deadDocCount = 0;
+  }
+
+  private Map<Long, Postings> compact(Map<Long, Postings> postings, int[] newDocs) {
+    Map<Long, Postings> compacted = Maps.newHashMapWithExpectedSize(postings.size());
+    for (Map.Entry<Long, Postings> entry : postings.entrySet()) {
+      Postings list = entry.getValue();
+      Postings newList = new Postings();
+      for (int i = 0; i < list.size; i++) {
+        int newDoc = newDocs[list.docs[i]];
+        if (newDoc >= 0) {
+          newList.append(newDoc);
+        }
+      }
+      if (newList.size > 0) {
+        newList.trim();
+        compacted.put(entry.getKey(), newList);
+      }
+    }
+    return compacted;
+  }
+
+  private static class Postings {
+
+    private int[] docs = new int[2];
+    private int size;
+
+    void append(int doc) {
+      if (size == docs.length) {
+        docs = Arrays.copyOf(docs, size + (size >> 1) + 1);
+      }
+      docs[size++] = doc;
+    }
+
+    boolean contains(int doc) {
+      return Arrays.binarySearch(docs, 0, size, doc) >= 0;
+    }
+
+    void trim() {
+      docs = Arrays.copyOf(docs, size);
+    }
+  }
+}
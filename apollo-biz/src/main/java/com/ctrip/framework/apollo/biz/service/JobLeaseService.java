@@ -0,0 +1,92 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.biz.service;
+
+import com.ctrip.framework.apollo.biz.entity.JobLease;
+import com.ctrip.framework.apollo.biz.repository.JobLeaseRepository;
+import com.ctrip.framework.foundation.Foundation;
+import java.util.Date;
+import java.util.UUID;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Leases of the background jobs which only one node of the cluster runs at a time, kept in the
+ * JobLease table. The node holding the lease keeps renewing it each time it runs the job, another
+ * node takes the job over once the lease expires, e.g. after the node holding it is stopped.
+ */
+@Service
+public class JobLeaseService {
+
+  private final JobLeaseRepository jobLeaseRepository;
+  private final TransactionTemplate transactionTemplate;
+  // this node, unique even if several nodes run on one host
+  private final String owner = Foundation.net().getHostAddress() + "/" + UUID.randomUUID();
+
+  public JobLeaseService(final JobLeaseRepository jobLeaseRepository,
+      final TransactionTemplate transactionTemplate) {
+    this.jobLeaseRepository = jobLeaseRepository;
+    this.transactionTemplate = transactionTemplate;
+  }
+
+  /**
+   * @return whether this node holds the lease of the job for the next {@code leaseMillis}
+   */
+  public boolean tryAcquire(String jobName, long leaseMillis) {
+    Date now = new Date();
+    Date leaseExpireTime = new Date(now.getTime() + leaseMillis);
+    Integer acquired = transactionTemplate.execute(
+        status -> jobLeaseRepository.acquire(jobName, owner, leaseExpireTime, now));
+    if (acquired != null && acquired > 0) {
+      return true;
+    }
+    if (jobLeaseRepository.findByJobName(jobName) != null) {
+      return false;
+    }
+
+    JobLease jobLease = new JobLease();
+    jobLease.setJobName(jobName);
+    jobLease.setOwner(owner);
+    jobLease.setLeaseExpireTime(leaseExpireTime);
+    try {
+      jobLeaseRepository.save(jobLease);
+      return true;
+    } catch (DataIntegrityViolationException e) {
+      // created by another node in the meantime
+      return false;
+    }
+  }
+
+  /**
+   * Record that this node completed the run of the job started at {@code startedTime}, as long as
+   * it still holds the lease.
+   */
+  public void complete(String jobName, Date startedTime) {
+    Date now = new Date();
+    transactionTemplate.execute(
+        status -> jobLeaseRepository.complete(jobName, owner, startedTime, now));
+  }
+
+  /**
+   * @return the start time of the last run any node completed, null if it never completed
+   */
+  public Date lastCompletedTime(String jobName) {
+    JobLease jobLease = jobLeaseRepository.findByJobName(jobName);
+    return jobLease == null ? null : jobLease.getLastCompletedTime();
+  }
+}
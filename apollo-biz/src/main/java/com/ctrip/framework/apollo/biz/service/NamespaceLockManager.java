@@ -0,0 +1,246 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.biz.service;
+
+import com.ctrip.framework.apollo.biz.config.BizConfig;
+import com.ctrip.framework.apollo.biz.entity.Namespace;
+import com.ctrip.framework.apollo.biz.entity.NamespaceLock;
+import com.ctrip.framework.apollo.common.exception.BadRequestException;
+import com.ctrip.framework.apollo.common.exception.ServiceException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Namespace lock manager of one admin service node.
+ * <p>
+ * The NamespaceLock table is still the source of truth, but once a user holds the lock of a
+ * namespace, the lock is kept as an in-memory lease, so subsequent edits from the same user skip
+ * the namespace lookup and the lock insert until the lease expires. The id of the lock row is kept
+ * with the lease as a fencing token and the row is looked up by its unique namespace id on every
+ * edit, so a lock released by another node, e.g. on publish, ends the lease right away.
+ * <p>
+ * Leases are dropped as soon as the lock is released on this node, expired leases are swept at
+ * most once per lease period, see {@link BizConfig#namespaceLockLeaseInMilli()}.
+ */
+@Service
+public class NamespaceLockManager {
+
+  private static final Logger logger = LoggerFactory.getLogger(NamespaceLockManager.class);
+
+  private final NamespaceLockService namespaceLockService;
+  private final NamespaceService namespaceService;
+  private final BizConfig bizConfig;
+
+  // namespace id -> lease
+  private final Map<Long, Lease> leases = new ConcurrentHashMap<>();
+  // appId+clusterName+namespaceName -> namespace id, only kept for namespaces with a lease
+  private final Map<String, Long> leasedNamespaceIds = new ConcurrentHashMap<>();
+  private volatile long nextSweepTime;
+
+  public NamespaceLockManager(final NamespaceLockService namespaceLockService,
+      final NamespaceService namespaceService, final BizConfig bizConfig) {
+    this.namespaceLockService = namespaceLockService;
+    this.namespaceService = namespaceService;
+    this.bizConfig = bizConfig;
+    this.namespaceLockService.addUnlockListener(this::releaseLease);
+  }
+
+  public void acquireLock(String appId, String clusterName, String namespaceName,
+      String currentUser) {
+    if (bizConfig.isNamespaceLockSwitchOff()) {
+      return;
+    }
+
+    Long namespaceId = leasedNamespaceIds.get(namespaceKey(appId, clusterName, namespaceName));
+    if (namespaceId != null && findValidLease(namespaceId, currentUser) != null) {
+      return;
+    }
+
+    Namespace namespace = namespaceService.findOne(appId, clusterName, namespaceName);
+
+    acquireLock(namespace, currentUser);
+  }
+
+  public void acquireLock(long namespaceId, String currentUser) {
+    if (bizConfig.isNamespaceLockSwitchOff()) {
+      return;
+    }
+
+    if (findValidLease(namespaceId, currentUser) != null) {
+      return;
+    }
+
+    Namespace namespace = namespaceService.findOne(namespaceId);
+
+    acquireLock(namespace, currentUser);
+  }
+
+  private void acquireLock(Namespace namespace, String currentUser) {
+    if (namespace == null) {
+      throw BadRequestException.namespaceNotExists();
+    }
+
+    long namespaceId = namespace.getId();
+
+    if (findValidLease(namespaceId, currentUser) != null) {
+      return;
+    }
+
+    NamespaceLock namespaceLock = namespaceLockService.findLock(namespaceId);
+    if (namespaceLock == null) {
+      try {
+        namespaceLock = tryLock(namespaceId, currentUser);
+        // lock success
+      } catch (DataIntegrityViolationException e) {
+        // lock fail
+        namespaceLock = namespaceLockService.findLock(namespaceId);
+        checkLock(namespace, namespaceLock, currentUser);
+      } catch (Exception e) {
+        logger.error("try lock error", e);
+        throw e;
+      }
+    } else {
+      // check lock owner is current user
+      checkLock(namespace, namespaceLock, currentUser);
+    }
+
+    grantLease(namespace, namespaceLock, currentUser);
+  }
+
+  private NamespaceLock tryLock(long namespaceId, String user) {
+    NamespaceLock lock = new NamespaceLock();
+    lock.setNamespaceId(namespaceId);
+    lock.setDataChangeCreatedBy(user);
+    lock.setDataChangeLastModifiedBy(user);
+    return namespaceLockService.tryLock(lock);
+  }
+
+  private void checkLock(Namespace namespace, NamespaceLock namespaceLock, String currentUser) {
+    if (namespaceLock == null) {
+      throw new ServiceException(
+          String.format("Check lock for %s failed, please retry.", namespace.getNamespaceName()));
+    }
+
+    String lockOwner = namespaceLock.getDataChangeCreatedBy();
+    if (!lockOwner.equals(currentUser)) {
+      throw new BadRequestException(
+          "namespace:" + namespace.getNamespaceName() + " is modified by " + lockOwner);
+    }
+  }
+
+  private void grantLease(Namespace namespace, NamespaceLock namespaceLock, String owner) {
+    long lockId = namespaceLock == null ? 0 : namespaceLock.getId();
+    long now = System.currentTimeMillis();
+    long leaseInMilli = bizConfig.namespaceLockLeaseInMilli();
+    if (leaseInMilli <= 0) {
+      return;
+    }
+
+    String namespaceKey = namespaceKey(namespace.getAppId(), namespace.getClusterName(),
+        namespace.getNamespaceName());
+    sweepExpiredLeases(now, leaseInMilli);
+    leases.put(namespace.getId(),
+        new Lease(namespace.getId(), namespaceKey, lockId, owner, now + leaseInMilli));
+    leasedNamespaceIds.put(namespaceKey, namespace.getId());
+  }
+
+  /**
+   * @return the lease of the current user if it's not expired and its lock row still exists
+   */
+  private Lease findValidLease(long namespaceId, String currentUser) {
+    Lease lease = leases.get(namespaceId);
+    if (lease == null) {
+      return null;
+    }
+    if (lease.isExpired(System.currentTimeMillis())) {
+      removeLease(lease);
+      return null;
+    }
+    if (!lease.isOwnedBy(currentUser)) {
+      return null;
+    }
+
+    // the lock might have been released by another node, e.g. when the namespace was published
+    NamespaceLock namespaceLock = namespaceLockService.findLock(namespaceId);
+    if (namespaceLock == null || namespaceLock.getId() != lease.lockId) {
+      removeLease(lease);
+      return null;
+    }
+    return lease;
+  }
+
+  private void sweepExpiredLeases(long now, long leaseInMilli) {
+    if (now < nextSweepTime) {
+      return;
+    }
+    nextSweepTime = now + leaseInMilli;
+    for (Lease lease : leases.values()) {
+      if (lease.isExpired(now)) {
+        removeLease(lease);
+      }
+    }
+  }
+
+  private void releaseLease(long namespaceId) {
+    Lease lease = leases.remove(namespaceId);
+    if (lease != null) {
+      leasedNamespaceIds.remove(lease.namespaceKey, namespaceId);
+    }
+  }
+
+  // only removes this very lease, a lease granted meanwhile is kept
+  private void removeLease(Lease lease) {
+    if (leases.remove(lease.namespaceId, lease)) {
+      leasedNamespaceIds.remove(lease.namespaceKey, lease.namespaceId);
+    }
+  }
+
+  private String namespaceKey(String appId, String clusterName, String namespaceName) {
+    return String.join("+", appId, clusterName, namespaceName);
+  }
+
+  private static class Lease {
+
+    private final long namespaceId;
+    // the key of leasedNamespaceIds, so the lease can be removed from it
+    private final String namespaceKey;
+    private final long lockId;
+    private final String owner;
+    private final long expiresAt;
+
+    Lease(long namespaceId, String namespaceKey, long lockId, String owner, long expiresAt) {
+      this.namespaceId = namespaceId;
+      this.namespaceKey = namespaceKey;
+      this.lockId = lockId;
+      this.owner = owner;
+      this.expiresAt = expiresAt;
+    }
+
+    boolean isOwnedBy(String currentUser) {
+      return Objects.equals(owner, currentUser);
+    }
+
+    boolean isExpired(long now) {
+      return expiresAt <= now;
+    }
+  }
+}
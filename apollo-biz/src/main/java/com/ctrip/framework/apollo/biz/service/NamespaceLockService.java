@@ -18,6 +18,9 @@ package com.ctrip.framework.apollo.biz.service;
 
 import com.ctrip.framework.apollo.biz.entity.NamespaceLock;
 import com.ctrip.framework.apollo.biz.repository.NamespaceLockRepository;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongConsumer;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,6 +28,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class NamespaceLockService {
 
   private final NamespaceLockRepository namespaceLockRepository;
+  private final List<LongConsumer> unlockListeners = new CopyOnWriteArrayList<>();
 
   public NamespaceLockService(final NamespaceLockRepository namespaceLockRepository) {
     this.namespaceLockRepository = namespaceLockRepository;
@@ -43,5 +47,15 @@ public class NamespaceLockService {
   @Transactional
   public void unlock(Long namespaceId) {
     namespaceLockRepository.deleteByNamespaceId(namespaceId);
+    for (LongConsumer listener : unlockListeners) {
+      listener.accept(namespaceId);
+    }
+  }
+
+  /**
+   * register a listener which is notified with the namespace id whenever a lock is released
+   */
+  public void addUnlockListener(LongConsumer listener) {
+    unlockListeners.add(listener);
   }
 }
@@ -38,11 +38,13 @@ import com.google.gson.Gson;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.LinkedList;
@@ -185,6 +187,38 @@ public class NamespaceService {
     return filterChildNamespace(namespaces);
   }
 
+  /**
+   * Find the namespaces of the public namespace after the namespace of {@code afterId}, ordered by
+   * id. Branch namespaces are skipped, so more rows than {@code limit} might be read.
+   */
+  public List<Namespace> findPublicAppNamespaceAllNamespaces(String namespaceName, long afterId,
+      int limit) {
+    AppNamespace publicAppNamespace = appNamespaceService.findPublicNamespaceByName(namespaceName);
+
+    if (publicAppNamespace == null) {
+      throw new BadRequestException(
+          String.format("Public appNamespace not exists. NamespaceName = %s", namespaceName));
+    }
+
+    List<Namespace> result = new ArrayList<>(limit);
+    long lastId = afterId;
+    while (result.size() < limit) {
+      List<Namespace> namespaces = namespaceRepository
+          .findByNamespaceNameAndIdGreaterThanOrderByIdAsc(namespaceName, lastId,
+              PageRequest.of(0, limit));
+      if (namespaces.isEmpty()) {
+        break;
+      }
+      lastId = namespaces.get(namespaces.size() - 1).getId();
+      result.addAll(filterChildNamespace(namespaces));
+      if (namespaces.size() < limit) {
+        break;
+      }
+    }
+
+    return result.size() > limit ? result.subList(0, limit) : result;
+  }
+
   private List<Namespace> filterChildNamespace(List<Namespace> namespaces) {
     List<Namespace> result = new LinkedList<>();
 
@@ -119,6 +119,28 @@ public class ReleaseHistoryService {
         .findByPreviousReleaseIdAndOperationOrderByIdDesc(previousReleaseId, operation, page);
   }
 
+  /**
+   * Find the release histories before the release history of {@code beforeId}, newest first.
+   */
+  public List<ReleaseHistory> findReleaseHistoriesByNamespaceBefore(String appId,
+      String clusterName, String namespaceName, long beforeId, int limit) {
+    return releaseHistoryRepository
+        .findByAppIdAndClusterNameAndNamespaceNameAndIdLessThanOrderByIdDesc(appId, clusterName,
+            namespaceName, beforeId, PageRequest.of(0, limit));
+  }
+
+  public List<ReleaseHistory> findByReleaseIdAndOperationBefore(long releaseId, int operation,
+      long beforeId, int limit) {
+    return releaseHistoryRepository.findByReleaseIdAndOperationAndIdLessThanOrderByIdDesc(
+        releaseId, operation, beforeId, PageRequest.of(0, limit));
+  }
+
+  public List<ReleaseHistory> findByPreviousReleaseIdAndOperationBefore(long previousReleaseId,
+      int operation, long beforeId, int limit) {
+    return releaseHistoryRepository.findByPreviousReleaseIdAndOperationAndIdLessThanOrderByIdDesc(
+        previousReleaseId, operation, beforeId, PageRequest.of(0, limit));
+  }
+
   public Page<ReleaseHistory> findByReleaseIdAndOperationInOrderByIdDesc(long releaseId,
       Set<Integer> operations, Pageable page) {
     return releaseHistoryRepository.findByReleaseIdAndOperationInOrderByIdDesc(releaseId,
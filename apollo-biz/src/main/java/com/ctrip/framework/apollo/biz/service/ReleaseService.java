@@ -16,6 +16,7 @@
  */
 package com.ctrip.framework.apollo.biz.service;
 
+import com.ctrip.framework.apollo.biz.config.BizConfig;
 import com.ctrip.framework.apollo.biz.entity.Audit;
 import com.ctrip.framework.apollo.biz.entity.GrayReleaseRule;
 import com.ctrip.framework.apollo.biz.entity.Item;
@@ -37,9 +38,11 @@ import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.hash.Hashing;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -80,11 +83,13 @@ public class ReleaseService {
   private final NamespaceBranchService namespaceBranchService;
   private final ReleaseHistoryService releaseHistoryService;
   private final ItemSetService itemSetService;
+  private final BizConfig bizConfig;
 
   public ReleaseService(final ReleaseRepository releaseRepository, final ItemService itemService,
       final AuditService auditService, final NamespaceLockService namespaceLockService,
       final NamespaceService namespaceService, final NamespaceBranchService namespaceBranchService,
-      final ReleaseHistoryService releaseHistoryService, final ItemSetService itemSetService) {
+      final ReleaseHistoryService releaseHistoryService, final ItemSetService itemSetService,
+      final BizConfig bizConfig) {
     this.releaseRepository = releaseRepository;
     this.itemService = itemService;
     this.auditService = auditService;
@@ -93,6 +98,7 @@ public class ReleaseService {
     this.namespaceBranchService = namespaceBranchService;
     this.releaseHistoryService = releaseHistoryService;
     this.itemSetService = itemSetService;
+    this.bizConfig = bizConfig;
   }
 
   public Release findOne(long releaseId) {
@@ -209,8 +215,9 @@ public class ReleaseService {
 
     Namespace childNamespace = namespaceService.findChildNamespace(namespace);
 
+    boolean suppressUnchanged = bizConfig.isReleaseUnchangedPublishSuppressed();
     Release previousRelease = null;
-    if (childNamespace != null) {
+    if (childNamespace != null || suppressUnchanged) {
       previousRelease = findLatestActiveRelease(namespace);
     }
 
@@ -218,6 +225,12 @@ public class ReleaseService {
     Map<String, Object> operationContext = Maps.newLinkedHashMap();
     operationContext.put(ReleaseOperationContext.IS_EMERGENCY_PUBLISH, isEmergencyPublish);
 
+    // nothing changed since the latest release, don't wake up the clients
+    if (suppressUnchanged && previousRelease != null && contentHashOf(previousRelease)
+        .equals(contentHash(GSON.toJson(operateNamespaceItems)))) {
+      return recordUnchangedPublish(namespace, previousRelease, operator, operationContext);
+    }
+
     Release release = masterRelease(namespace, releaseName, releaseComment, operateNamespaceItems,
         operator, ReleaseOperation.NORMAL_RELEASE, operationContext);
 
@@ -364,6 +377,18 @@ public class ReleaseService {
     return release;
   }
 
+  private Release recordUnchangedPublish(Namespace namespace, Release latestRelease,
+      String operator, Map<String, Object> operationContext) {
+    operationContext.put(ReleaseOperationContext.UNCHANGED, true);
+    releaseHistoryService.createReleaseHistory(namespace.getAppId(), namespace.getClusterName(),
+        namespace.getNamespaceName(), namespace.getClusterName(), latestRelease.getId(),
+        latestRelease.getId(), ReleaseOperation.NORMAL_RELEASE, operationContext, operator);
+    namespaceLockService.unlock(namespace.getId());
+
+    latestRelease.setUnchanged(true);
+    return latestRelease;
+  }
+
   private Release branchRelease(Namespace parentNamespace, Namespace childNamespace,
       String releaseName, String releaseComment, Map<String, String> configurations,
       long baseReleaseId, String operator, int releaseOperation, boolean isEmergencyPublish,
@@ -439,6 +464,7 @@ public class ReleaseService {
     release.setClusterName(namespace.getClusterName());
     release.setNamespaceName(namespace.getNamespaceName());
     release.setConfigurations(GSON.toJson(configurations));
+    release.setContentHash(contentHash(release.getConfigurations()));
     release = releaseRepository.save(release);
 
     namespaceLockService.unlock(namespace.getId());
@@ -448,6 +474,15 @@ public class ReleaseService {
     return release;
   }
 
+  private static String contentHashOf(Release release) {
+    return release.getContentHash() != null ? release.getContentHash()
+        : contentHash(release.getConfigurations());
+  }
+
+  private static String contentHash(String configurations) {
+    return Hashing.sha256().hashString(configurations, StandardCharsets.UTF_8).toString();
+  }
+
   @Transactional
   public Release rollback(long releaseId, String operator) {
     Release release = findOne(releaseId);
@@ -25,6 +25,7 @@ import com.ctrip.framework.apollo.biz.AbstractUnitTest;
 import com.ctrip.framework.apollo.biz.entity.ReleaseMessage;
 import com.ctrip.framework.apollo.biz.repository.ReleaseMessageRepository;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.ArrayList;
 import org.awaitility.Awaitility;
 import org.junit.Before;
@@ -48,10 +49,13 @@ public class ReleaseMessageScannerTest extends AbstractUnitTest {
   @Mock
   private BizConfig bizConfig;
   private int databaseScanInterval;
+  private SimpleMeterRegistry meterRegistry;
 
   @Before
   public void setUp() throws Exception {
-    releaseMessageScanner = new ReleaseMessageScanner(bizConfig, releaseMessageRepository);
+    meterRegistry = new SimpleMeterRegistry();
+    releaseMessageScanner =
+        new ReleaseMessageScanner(bizConfig, releaseMessageRepository, meterRegistry);
     databaseScanInterval = 100; // 100 ms
     when(bizConfig.releaseMessageScanIntervalInMilli()).thenReturn(databaseScanInterval);
     releaseMessageScanner.afterPropertiesSet();
@@ -180,10 +184,40 @@ public class ReleaseMessageScannerTest extends AbstractUnitTest {
     });
   }
 
+  @Test
+  public void testMessageListenerLagIsRecorded() throws Exception {
+    SettableFuture<ReleaseMessage> someListenerFuture = SettableFuture.create();
+    ReleaseMessageListener someListener = new SomeListener(someListenerFuture);
+    releaseMessageScanner.addMessageListener(someListener);
+
+    ReleaseMessage someReleaseMessage = assembleReleaseMessage(100, "someMessage");
+    when(releaseMessageRepository.findFirst500ByIdGreaterThanOrderByIdAsc(0L))
+        .thenReturn(Lists.newArrayList(someReleaseMessage));
+
+    assertSame(someReleaseMessage, someListenerFuture.get(5000, TimeUnit.MILLISECONDS));
+    await().untilAsserted(() -> assertEquals(1, meterRegistry
+        .get(TimedReleaseMessageListener.LAG_METRIC).tag("listener", "SomeListener").timer()
+        .count()));
+  }
+
   private ReleaseMessage assembleReleaseMessage(long id, String message) {
     ReleaseMessage releaseMessage = new ReleaseMessage();
     releaseMessage.setId(id);
     releaseMessage.setMessage(message);
     return releaseMessage;
   }
+
+  private static class SomeListener implements ReleaseMessageListener {
+
+    private final SettableFuture<ReleaseMessage> future;
+
+    SomeListener(SettableFuture<ReleaseMessage> future) {
+      this.future = future;
+    }
+
+    @Override
+    public void handleMessage(ReleaseMessage message, String channel) {
+      future.set(message);
+    }
+  }
 }
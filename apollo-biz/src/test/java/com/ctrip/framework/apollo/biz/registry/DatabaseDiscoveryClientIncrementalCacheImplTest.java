@@ -0,0 +1,213 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.biz.registry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+
+import com.ctrip.framework.apollo.biz.entity.ServiceRegistry;
+import com.ctrip.framework.apollo.biz.registry.configuration.support.ApolloServiceDiscoveryProperties;
+import com.ctrip.framework.apollo.biz.service.ServiceRegistryService;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class DatabaseDiscoveryClientIncrementalCacheImplTest {
+
+  private static final String SERVICE_NAME = "a-service";
+
+  private final LocalDateTime startTime = LocalDateTime.of(2025, 1, 1, 0, 0, 0);
+  private final AtomicReference<LocalDateTime> now = new AtomicReference<>(startTime);
+
+  private ServiceRegistryService serviceRegistryService;
+  private DatabaseDiscoveryClientIncrementalCacheImpl discoveryClient;
+  private List<String> changedServiceNames;
+
+  @BeforeEach
+  void setUp() {
+    serviceRegistryService = Mockito.mock(ServiceRegistryService.class);
+    ApolloServiceDiscoveryProperties discoveryProperties = new ApolloServiceDiscoveryProperties();
+    discoveryClient = new DatabaseDiscoveryClientIncrementalCacheImpl(serviceRegistryService,
+        discoveryProperties, "1", now::get);
+    changedServiceNames = new ArrayList<>();
+    discoveryClient.addChangeListener(changedServiceNames::add);
+  }
+
+  @Test
+  void getInstances_fullSyncFirstTime() {
+    whenFindSince(now.get().minusSeconds(61),
+        newServiceRegistry("http://localhost:8082/", "1", now.get()),
+        newServiceRegistry("http://localhost:8081/", "1", now.get()),
+        newServiceRegistry("http://localhost:8083/", "2", now.get()));
+
+    List<ServiceInstance> serviceInstances = discoveryClient.getInstances(SERVICE_NAME);
+
+    // filtered by cluster and ordered by uri
+    assertEquals(Arrays.asList("http://localhost:8081/", "http://localhost:8082/"),
+        uris(serviceInstances));
+    discoveryClient.getInstances(SERVICE_NAME);
+    Mockito.verify(serviceRegistryService, Mockito.times(1))
+        .findByServiceNameDataChangeLastModifiedTimeGreaterThan(eq(SERVICE_NAME), Mockito.any());
+  }
+
+  @Test
+  void syncTask_readDelta() {
+    whenFindSince(now.get().minusSeconds(61),
+        newServiceRegistry("http://localhost:8081/", "1", now.get()));
+    discoveryClient.getInstances(SERVICE_NAME);
+
+    // since the latest heartbeat read
+    LocalDateTime latestHeartbeatTime = now.get();
+    now.set(latestHeartbeatTime.plusSeconds(1));
+    whenFindSince(latestHeartbeatTime.minusSeconds(1),
+        newServiceRegistry("http://localhost:8082/", "1", now.get()));
+    discoveryClient.syncTask();
+
+    assertEquals(Arrays.asList("http://localhost:8081/", "http://localhost:8082/"),
+        uris(discoveryClient.getInstances(SERVICE_NAME)));
+    assertEquals(Collections.singletonList(SERVICE_NAME), changedServiceNames);
+
+    // nothing changed
+    latestHeartbeatTime = now.get();
+    now.set(latestHeartbeatTime.plusSeconds(1));
+    whenFindSince(latestHeartbeatTime.minusSeconds(1),
+        newServiceRegistry("http://localhost:8081/", "1", now.get()));
+    discoveryClient.syncTask();
+
+    assertEquals(2, discoveryClient.getInstances(SERVICE_NAME).size());
+    assertEquals(1, changedServiceNames.size());
+  }
+
+  @Test
+  void syncTask_readHeartbeatsStampedBehindLocalClock() {
+    whenFindSince(now.get().minusSeconds(61),
+        newServiceRegistry("http://localhost:8081/", "1", now.get().minusSeconds(15)));
+    discoveryClient.getInstances(SERVICE_NAME);
+
+    // the heartbeats are stamped 15s behind the local clock, the watermark follows them
+    for (int i = 0; i < 59; i++) {
+      LocalDateTime latestHeartbeatTime = now.get().minusSeconds(15);
+      now.set(now.get().plusSeconds(1));
+      whenFindSince(latestHeartbeatTime.minusSeconds(1),
+          newServiceRegistry("http://localhost:8081/", "1", now.get().minusSeconds(15)));
+      discoveryClient.syncTask();
+    }
+
+    assertEquals(Collections.singletonList("http://localhost:8081/"),
+        uris(discoveryClient.getInstances(SERVICE_NAME)));
+    assertEquals(0, changedServiceNames.size());
+    // only the full sync read everything
+    Mockito.verify(serviceRegistryService, Mockito.times(1))
+        .findByServiceNameDataChangeLastModifiedTimeGreaterThan(SERVICE_NAME,
+            startTime.minusSeconds(61));
+  }
+
+  @Test
+  void syncTask_expireInstancesMissedHeartbeats() {
+    whenFindSince(now.get().minusSeconds(61),
+        newServiceRegistry("http://localhost:8081/", "1", now.get().minusSeconds(30)),
+        newServiceRegistry("http://localhost:8082/", "1", now.get()));
+    discoveryClient.getInstances(SERVICE_NAME);
+
+    LocalDateTime latestHeartbeatTime = now.get();
+    now.set(latestHeartbeatTime.plusSeconds(31));
+    whenFindSince(latestHeartbeatTime.minusSeconds(1),
+        newServiceRegistry("http://localhost:8082/", "1", now.get()));
+    discoveryClient.syncTask();
+
+    assertEquals(Collections.singletonList("http://localhost:8082/"),
+        uris(discoveryClient.getInstances(SERVICE_NAME)));
+    assertEquals(Collections.singletonList(SERVICE_NAME), changedServiceNames);
+  }
+
+  @Test
+  void syncTask_fullSyncDropsDeregisteredInstances() {
+    whenFindSince(now.get().minusSeconds(61),
+        newServiceRegistry("http://localhost:8081/", "1", now.get()),
+        newServiceRegistry("http://localhost:8082/", "1", now.get()));
+    discoveryClient.getInstances(SERVICE_NAME);
+
+    now.set(startTime.plusSeconds(60));
+    whenFindSince(now.get().minusSeconds(61),
+        newServiceRegistry("http://localhost:8082/", "1", now.get()));
+    discoveryClient.syncTask();
+
+    assertEquals(Collections.singletonList("http://localhost:8082/"),
+        uris(discoveryClient.getInstances(SERVICE_NAME)));
+  }
+
+  @Test
+  void syncTask_keepInstancesWhenDatabaseCrash() {
+    whenFindSince(now.get().minusSeconds(61),
+        newServiceRegistry("http://localhost:8081/", "1", now.get()));
+    discoveryClient.getInstances(SERVICE_NAME);
+
+    now.set(startTime.plusSeconds(120));
+    Mockito.when(serviceRegistryService.findByServiceNameDataChangeLastModifiedTimeGreaterThan(
+        eq(SERVICE_NAME), Mockito.any())).thenThrow(OutOfMemoryError.class);
+    discoveryClient.syncTask();
+
+    assertEquals(1, discoveryClient.getInstances(SERVICE_NAME).size());
+    assertEquals(0, changedServiceNames.size());
+  }
+
+  @Test
+  void syncTask_clusterChanged() {
+    whenFindSince(now.get().minusSeconds(61),
+        newServiceRegistry("http://localhost:8081/", "1", now.get()));
+    discoveryClient.getInstances(SERVICE_NAME);
+
+    LocalDateTime latestHeartbeatTime = now.get();
+    now.set(latestHeartbeatTime.plusSeconds(1));
+    whenFindSince(latestHeartbeatTime.minusSeconds(1),
+        newServiceRegistry("http://localhost:8081/", "2", now.get()));
+    discoveryClient.syncTask();
+
+    assertEquals(0, discoveryClient.getInstances(SERVICE_NAME).size());
+  }
+
+  private void whenFindSince(LocalDateTime since, ServiceRegistry... serviceRegistries) {
+    Mockito.when(serviceRegistryService
+            .findByServiceNameDataChangeLastModifiedTimeGreaterThan(SERVICE_NAME, since))
+        .thenReturn(Arrays.asList(serviceRegistries));
+  }
+
+  private static List<String> uris(List<ServiceInstance> serviceInstances) {
+    return serviceInstances.stream().map(instance -> instance.getUri().toString())
+        .collect(Collectors.toList());
+  }
+
+  private static ServiceRegistry newServiceRegistry(String uri, String cluster,
+      LocalDateTime dataChangeLastModifiedTime) {
+    ServiceRegistry serviceRegistry = new ServiceRegistry();
+    serviceRegistry.setServiceName(SERVICE_NAME);
+    serviceRegistry.setUri(uri);
+    serviceRegistry.setCluster(cluster);
+    serviceRegistry.setMetadata(new HashMap<>());
+    serviceRegistry.setDataChangeCreatedTime(dataChangeLastModifiedTime);
+    serviceRegistry.setDataChangeLastModifiedTime(dataChangeLastModifiedTime);
+    return serviceRegistry;
+  }
+}
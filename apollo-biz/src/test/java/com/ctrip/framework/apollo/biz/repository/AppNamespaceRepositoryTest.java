@@ -19,11 +19,14 @@ package com.ctrip.framework.apollo.biz.repository;
 import com.ctrip.framework.apollo.biz.AbstractIntegrationTest;
 import com.ctrip.framework.apollo.common.entity.AppNamespace;
 
+import java.util.Date;
+import java.util.List;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 public class AppNamespaceRepositoryTest extends AbstractIntegrationTest {
 
@@ -43,4 +46,23 @@ public class AppNamespaceRepositoryTest extends AbstractIntegrationTest {
 
     assertNull(appNamespace);
   }
+
+  @Test
+  public void testFindDeletedByDataChangeLastModifiedTimeBetween() throws Exception {
+    AppNamespace appNamespace = new AppNamespace();
+    appNamespace.setAppId("someAppId");
+    appNamespace.setName("someDeletedNamespace");
+    appNamespace.setDataChangeCreatedBy("someOperator");
+    appNamespace.setDeleted(true);
+    appNamespace = repository.save(appNamespace);
+
+    Date now = new Date();
+    List<AppNamespace> deleted = repository.findDeletedByDataChangeLastModifiedTimeBetween(
+        new Date(now.getTime() - 60000), new Date(now.getTime() + 60000));
+
+    assertEquals(1, deleted.size());
+    assertEquals(appNamespace.getId(), deleted.get(0).getId());
+    assertTrue(deleted.get(0).isDeleted());
+    assertNull(repository.findByAppIdAndName("someAppId", "someDeletedNamespace"));
+  }
 }
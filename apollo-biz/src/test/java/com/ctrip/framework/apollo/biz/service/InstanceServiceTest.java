@@ -22,6 +22,8 @@ import com.google.common.collect.Sets;
 import com.ctrip.framework.apollo.biz.AbstractIntegrationTest;
 import com.ctrip.framework.apollo.biz.entity.Instance;
 import com.ctrip.framework.apollo.biz.entity.InstanceConfig;
+import com.ctrip.framework.apollo.biz.entity.InstanceConfigRollup;
+import com.ctrip.framework.apollo.biz.repository.InstanceConfigRollupRepository;
 
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,10 +36,12 @@ import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 
 /**
@@ -46,6 +50,8 @@ import static org.junit.Assert.assertNull;
 public class InstanceServiceTest extends AbstractIntegrationTest {
   @Autowired
   private InstanceService instanceService;
+  @Autowired
+  private InstanceConfigRollupRepository instanceConfigRollupRepository;
 
   @Test
   @Rollback
@@ -250,6 +256,173 @@ public class InstanceServiceTest extends AbstractIntegrationTest {
     assertEquals(Lists.newArrayList(someInstanceConfig, anotherInstanceConfig), instanceConfigs);
   }
 
+  @Test
+  @Rollback
+  public void testFindInstancesByNamespaceAfterInstanceId() throws Exception {
+    String someConfigAppId = "someConfigAppId";
+    String someConfigClusterName = "someConfigClusterName";
+    String someConfigNamespaceName = "someConfigNamespaceName";
+    String someReleaseKey = "someReleaseKey";
+    Date someValidDate = new Date();
+
+    String someAppId = "someAppId";
+    String someClusterName = "someClusterName";
+    String someDataCenter = "someDataCenter";
+
+    List<Instance> instances = Lists.newArrayList();
+    for (String ip : Lists.newArrayList("someIp", "anotherIp", "yetAnotherIp")) {
+      Instance instance = instanceService
+          .createInstance(assembleInstance(someAppId, someClusterName, someDataCenter, ip));
+      prepareInstanceConfigForInstance(instance.getId(), someConfigAppId, someConfigClusterName,
+          someConfigNamespaceName, someReleaseKey, someValidDate);
+      instances.add(instance);
+    }
+
+    List<Instance> result = instanceService.findInstancesByNamespace(someConfigAppId,
+        someConfigClusterName, someConfigNamespaceName, instances.get(0).getId(), 1);
+    List<Instance> anotherResult = instanceService.findInstancesByNamespace(someConfigAppId,
+        someConfigClusterName, someConfigNamespaceName, result.get(0).getId(), 10);
+    List<Instance> instanceAppIdResult = instanceService.findInstancesByNamespaceAndInstanceAppId(
+        someAppId, someConfigAppId, someConfigClusterName, someConfigNamespaceName,
+        instances.get(0).getId(), 10);
+
+    assertEquals(Lists.newArrayList(instances.get(1)), result);
+    assertEquals(Lists.newArrayList(instances.get(2)), anotherResult);
+    assertEquals(instances.subList(1, 3), instanceAppIdResult);
+    assertEquals(3, instanceService.countInstancesByNamespace(someConfigAppId,
+        someConfigClusterName, someConfigNamespaceName));
+    assertEquals(3, instanceService.countInstancesByNamespaceAndInstanceAppId(someAppId,
+        someConfigAppId, someConfigClusterName, someConfigNamespaceName));
+  }
+
+  @Test
+  @Rollback
+  public void testRollupInstanceConfigs() throws Exception {
+    String someConfigAppId = "someConfigAppId";
+    String someConfigClusterName = "someConfigClusterName";
+    String someConfigNamespaceName = "someConfigNamespaceName";
+    String someReleaseKey = "someReleaseKey";
+    String anotherReleaseKey = "anotherReleaseKey";
+    Date someValidDate = new Date();
+    Date someInvalidDate = daysAgo(2);
+
+    prepareInstanceConfigForInstance(1, someConfigAppId, someConfigClusterName,
+        someConfigNamespaceName, someReleaseKey, someValidDate);
+    prepareInstanceConfigForInstance(2, someConfigAppId, someConfigClusterName,
+        someConfigNamespaceName, someReleaseKey, someValidDate);
+    prepareInstanceConfigForInstance(3, someConfigAppId, someConfigClusterName,
+        someConfigNamespaceName, anotherReleaseKey, someValidDate);
+    prepareInstanceConfigForInstance(4, someConfigAppId, someConfigClusterName,
+        someConfigNamespaceName, anotherReleaseKey, someInvalidDate);
+
+    instanceService.rollupInstanceConfigs(null);
+
+    assertEquals(3, instanceConfigRollupRepository.sumInstanceCountByNamespace(someConfigAppId,
+        someConfigClusterName, someConfigNamespaceName));
+    assertEquals(2, instanceConfigRollupRepository.sumInstanceCountByReleaseKey(someReleaseKey));
+    assertEquals(1,
+        instanceConfigRollupRepository.sumInstanceCountByReleaseKey(anotherReleaseKey));
+
+    instanceService.batchDeleteInstanceConfig(someConfigAppId, someConfigClusterName,
+        someConfigNamespaceName);
+
+    assertEquals(0, instanceConfigRollupRepository.sumInstanceCountByNamespace(someConfigAppId,
+        someConfigClusterName, someConfigNamespaceName));
+  }
+
+  @Test
+  @Rollback
+  public void testRollupInstanceConfigsSinceLastRun() throws Exception {
+    String someConfigAppId = "someConfigAppId";
+    String someConfigClusterName = "someConfigClusterName";
+    String someConfigNamespaceName = "someConfigNamespaceName";
+    String untouchedNamespaceName = "untouchedNamespaceName";
+    String expiredNamespaceName = "expiredNamespaceName";
+    String someReleaseKey = "someReleaseKey";
+    long now = System.currentTimeMillis();
+    Date someLastRunDate = new Date(now - TimeUnit.MINUTES.toMillis(1));
+    // instance configs are valid for a day and an hour, this one expired since the last run
+    Date someJustExpiredDate = new Date(now - TimeUnit.HOURS.toMillis(25) - 30000);
+
+    prepareInstanceConfigForInstance(1, someConfigAppId, someConfigClusterName,
+        someConfigNamespaceName, someReleaseKey, new Date(now - TimeUnit.HOURS.toMillis(1)));
+    prepareInstanceConfigForInstance(2, someConfigAppId, someConfigClusterName,
+        someConfigNamespaceName, someReleaseKey, new Date(now));
+    prepareInstanceConfigForInstance(3, someConfigAppId, someConfigClusterName,
+        expiredNamespaceName, someReleaseKey, someJustExpiredDate);
+    prepareInstanceConfigRollup(someConfigAppId, someConfigClusterName, someConfigNamespaceName,
+        someReleaseKey, 1);
+    prepareInstanceConfigRollup(someConfigAppId, someConfigClusterName, untouchedNamespaceName,
+        someReleaseKey, 5);
+    prepareInstanceConfigRollup(someConfigAppId, someConfigClusterName, expiredNamespaceName,
+        someReleaseKey, 1);
+
+    instanceService.rollupInstanceConfigs(someLastRunDate);
+
+    assertEquals(2, instanceConfigRollupRepository.sumInstanceCountByNamespace(someConfigAppId,
+        someConfigClusterName, someConfigNamespaceName));
+    assertEquals(5, instanceConfigRollupRepository.sumInstanceCountByNamespace(someConfigAppId,
+        someConfigClusterName, untouchedNamespaceName));
+    assertEquals(0, instanceConfigRollupRepository.sumInstanceCountByNamespace(someConfigAppId,
+        someConfigClusterName, expiredNamespaceName));
+  }
+
+  @Test
+  @Rollback
+  public void testPurgeInstanceConfigs() throws Exception {
+    String someConfigAppId = "someConfigAppId";
+    String someConfigClusterName = "someConfigClusterName";
+    String someConfigNamespaceName = "someConfigNamespaceName";
+    String anotherConfigNamespaceName = "anotherConfigNamespaceName";
+    String someReleaseKey = "someReleaseKey";
+    Date someRecentDate = new Date();
+    Date someOldDate = daysAgo(10);
+
+    Instance someInstance = instanceService.createInstance(
+        assembleInstance("someAppId", "someClusterName", "someDataCenter", "someIp"));
+    Instance anotherInstance = instanceService.createInstance(
+        assembleInstance("someAppId", "someClusterName", "someDataCenter", "anotherIp"));
+
+    prepareInstanceConfigForInstance(someInstance.getId(), someConfigAppId, someConfigClusterName,
+        someConfigNamespaceName, someReleaseKey, someOldDate);
+    prepareInstanceConfigForInstance(anotherInstance.getId(), someConfigAppId,
+        someConfigClusterName, someConfigNamespaceName, someReleaseKey, someOldDate);
+    prepareInstanceConfigForInstance(anotherInstance.getId(), someConfigAppId,
+        someConfigClusterName, anotherConfigNamespaceName, someReleaseKey, someRecentDate);
+
+    Date before = daysAgo(7);
+
+    assertEquals(1, instanceService.purgeInstanceConfigs(before, 1));
+    assertEquals(1, instanceService.purgeInstanceConfigs(before, 1));
+    assertEquals(0, instanceService.purgeInstanceConfigs(before, 1));
+
+    assertNull(instanceService.findInstanceConfig(someInstance.getId(), someConfigAppId,
+        someConfigNamespaceName));
+    assertNull(instanceService.findInstanceConfig(anotherInstance.getId(), someConfigAppId,
+        someConfigNamespaceName));
+    assertNotNull(instanceService.findInstanceConfig(anotherInstance.getId(), someConfigAppId,
+        anotherConfigNamespaceName));
+    assertEquals(Lists.newArrayList(anotherInstance), instanceService.findInstancesByIds(
+        Sets.newHashSet(someInstance.getId(), anotherInstance.getId())));
+  }
+
+  private Date daysAgo(int days) {
+    Calendar calendar = Calendar.getInstance();
+    calendar.add(Calendar.DATE, -days);
+    return calendar.getTime();
+  }
+
+  private void prepareInstanceConfigRollup(String configAppId, String configClusterName,
+      String configNamespaceName, String releaseKey, long instanceCount) {
+    InstanceConfigRollup rollup = new InstanceConfigRollup();
+    rollup.setConfigAppId(configAppId);
+    rollup.setConfigClusterName(configClusterName);
+    rollup.setConfigNamespaceName(configNamespaceName);
+    rollup.setReleaseKey(releaseKey);
+    rollup.setInstanceCount(instanceCount);
+    instanceConfigRollupRepository.save(rollup);
+  }
+
   private InstanceConfig prepareInstanceConfigForInstance(long instanceId, String configAppId,
       String configClusterName, String configNamespace, String releaseKey, Date lastModifiedTime) {
 
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.biz.service;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+import com.ctrip.framework.apollo.biz.AbstractUnitTest;
+import com.ctrip.framework.apollo.biz.config.BizConfig;
+import com.ctrip.framework.apollo.biz.entity.Item;
+import com.ctrip.framework.apollo.biz.entity.Namespace;
+import com.ctrip.framework.apollo.biz.repository.ItemRepository;
+import com.ctrip.framework.apollo.biz.repository.NamespaceRepository;
+import com.ctrip.framework.apollo.common.dto.ItemInfoDTO;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+public class ItemSearchIndexTest extends AbstractUnitTest {
+
+  @Mock
+  private ItemRepository itemRepository;
+  @Mock
+  private NamespaceRepository namespaceRepository;
+  @Mock
+  private BizConfig bizConfig;
+
+  private ItemSearchIndex itemSearchIndex;
+  private Map<Long, Item> items;
+
+  @Before
+  public void setUp() {
+    items = Maps.newLinkedHashMap();
+    putItem(1, 1, "timeout.connect", "3000");
+    putItem(2, 1, "timeout.read", "5000");
+    putItem(3, 2, "Redis.Host", "redis.example.com");
+    putItem(4, 2, "timeout.write", "5000");
+
+    Namespace application = mockNamespace(1, "application");
+    Namespace redis = mockNamespace(2, "redis");
+
+    when(bizConfig.isItemSearchIndexEnabled()).thenReturn(true);
+    when(bizConfig.itemSearchIndexScanInterval()).thenReturn(60);
+    when(bizConfig.itemSearchIndexScanIntervalTimeUnit()).thenReturn(TimeUnit.SECONDS);
+    when(itemRepository.findFirst500ByIdGreaterThanOrderByIdAsc(anyLong())).thenAnswer(
+        invocation -> {
+          long id = invocation.getArgument(0);
+          return id == 0 ? Lists.newArrayList(items.values()) : Collections.emptyList();
+        });
+    when(itemRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+      List<Item> found = Lists.newArrayList();
+      for (Long id : invocation.<Iterable<Long>>getArgument(0)) {
+        if (items.containsKey(id)) {
+          found.add(items.get(id));
+        }
+      }
+      return found;
+    });
+    when(namespaceRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+      List<Namespace> found = Lists.newArrayList();
+      for (Long id : invocation.<Iterable<Long>>getArgument(0)) {
+        found.add(id == 1 ? application : redis);
+      }
+      return found;
+    });
+
+    itemSearchIndex = new ItemSearchIndex(itemRepository, namespaceRepository, bizConfig);
+  }
+
+  @After
+  public void tearDown() {
+    itemSearchIndex.stop();
+  }
+
+  @Test
+  public void testSearchBeforeReady() {
+    assertNull(itemSearchIndex.search("timeout", "", PageRequest.of(0, 10)));
+  }
+
+  @Test
+  public void testSearch() {
+    startAndAwaitReady();
+
+    Page<ItemInfoDTO> page = itemSearchIndex.search("TIMEOUT", "", PageRequest.of(0, 10));
+    assertEquals(3, page.getTotalElements());
+    assertEquals("timeout.connect", page.getContent().get(0).getKey());
+    assertEquals("application", page.getContent().get(0).getNamespaceName());
+    assertEquals("timeout.write", page.getContent().get(2).getKey());
+    assertEquals("redis", page.getContent().get(2).getNamespaceName());
+
+    page = itemSearchIndex.search("timeout", "5000", PageRequest.of(0, 10));
+    assertEquals(2, page.getTotalElements());
+
+    page = itemSearchIndex.search("", "example", PageRequest.of(0, 10));
+    assertEquals(1, page.getTotalElements());
+    assertEquals("Redis.Host", page.getContent().get(0).getKey());
+  }
+
+  @Test
+  public void testSearchPages() {
+    startAndAwaitReady();
+
+    Page<ItemInfoDTO> page = itemSearchIndex.search("timeout", "", PageRequest.of(1, 1));
+    assertEquals(1, page.getContent().size());
+    assertEquals("timeout.read", page.getContent().get(0).getKey());
+    assertEquals(3, page.getTotalElements());
+    assertEquals(true, page.hasNext());
+
+    page = itemSearchIndex.search("timeout", "", PageRequest.of(2, 1));
+    assertEquals("timeout.write", page.getContent().get(0).getKey());
+    assertEquals(false, page.hasNext());
+  }
+
+  @Test
+  public void testSearchVerifiesCandidates() {
+    startAndAwaitReady();
+
+    // the items are changed in database, but not yet in the index
+    items.get(1L).setKey("connection.timeout");
+    assertEquals(0, itemSearchIndex.search("timeout.connect", "", PageRequest.of(0, 10))
+        .getTotalElements());
+
+    items.remove(2L);
+    assertEquals(2, itemSearchIndex.search("timeout", "", PageRequest.of(0, 10))
+        .getTotalElements());
+  }
+
+  @Test
+  public void testSearchShortPattern() {
+    startAndAwaitReady();
+
+    assertNull(itemSearchIndex.search("ti", "", PageRequest.of(0, 10)));
+    assertNull(itemSearchIndex.search("", "", PageRequest.of(0, 10)));
+  }
+
+  @Test
+  public void testItemChanges() {
+    startAndAwaitReady();
+
+    Item item = putItem(5, 1, "timeout.idle", "60000");
+    itemSearchIndex.onItemSaved(item);
+    assertEquals(1, itemSearchIndex.search("", "60000", PageRequest.of(0, 10))
+        .getTotalElements());
+
+    item.setValue("30000");
+    itemSearchIndex.onItemSaved(item);
+    assertEquals(0, itemSearchIndex.search("", "60000", PageRequest.of(0, 10))
+        .getTotalElements());
+    assertEquals(1, itemSearchIndex.search("", "30000", PageRequest.of(0, 10))
+        .getTotalElements());
+
+    items.remove(5L);
+    itemSearchIndex.onItemDeleted(5);
+    assertEquals(0, itemSearchIndex.search("", "30000", PageRequest.of(0, 10))
+        .getTotalElements());
+
+    itemSearchIndex.onNamespaceItemsDeleted(1);
+    Page<ItemInfoDTO> page = itemSearchIndex.search("timeout", "", PageRequest.of(0, 10));
+    assertEquals(1, page.getTotalElements());
+    assertEquals("timeout.write", page.getContent().get(0).getKey());
+  }
+
+  @Test
+  public void testNotEnabled() {
+    when(bizConfig.isItemSearchIndexEnabled()).thenReturn(false);
+
+    itemSearchIndex.start();
+    itemSearchIndex.onItemSaved(items.get(1L));
+
+    assertEquals(false, itemSearchIndex.isReady());
+    assertNull(itemSearchIndex.search("timeout", "", PageRequest.of(0, 10)));
+  }
+
+  private void startAndAwaitReady() {
+    itemSearchIndex.start();
+    await().atMost(5, TimeUnit.SECONDS).until(itemSearchIndex::isReady);
+  }
+
+  private Item putItem(long id, long namespaceId, String key, String value) {
+    Item item = new Item();
+    item.setId(id);
+    item.setNamespaceId(namespaceId);
+    item.setKey(key);
+    item.setValue(value);
+    item.setDataChangeLastModifiedTime(new Date());
+    items.put(id, item);
+    return item;
+  }
+
+  private Namespace mockNamespace(long id, String namespaceName) {
+    Namespace namespace = new Namespace();
+    namespace.setId(id);
+    namespace.setAppId("someAppId");
+    namespace.setClusterName("default");
+    namespace.setNamespaceName(namespaceName);
+    return namespace;
+  }
+}
@@ -16,16 +16,22 @@
  */
 package com.ctrip.framework.apollo.biz.service;
 
+import static org.awaitility.Awaitility.await;
 import static org.mockito.Mockito.when;
 
 import com.ctrip.framework.apollo.biz.AbstractIntegrationTest;
 import com.ctrip.framework.apollo.biz.config.BizConfig;
 import com.ctrip.framework.apollo.biz.entity.Item;
 import com.ctrip.framework.apollo.biz.repository.ItemRepository;
+import com.ctrip.framework.apollo.biz.repository.NamespaceRepository;
 import com.ctrip.framework.apollo.common.dto.ItemInfoDTO;
 import com.ctrip.framework.apollo.common.exception.BadRequestException;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -34,6 +40,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 public class ItemServiceTest extends AbstractIntegrationTest {
 
@@ -43,9 +51,13 @@ public class ItemServiceTest extends AbstractIntegrationTest {
   @Autowired
   private ItemRepository itemRepository;
   @Autowired
+  private NamespaceRepository namespaceRepository;
+  @Autowired
   private NamespaceService namespaceService;
   @Autowired
   private AuditService auditService;
+  @Autowired
+  private ItemSearchIndex itemSearchIndex;
 
   @Mock
   private BizConfig bizConfig;
@@ -54,7 +66,8 @@ public class ItemServiceTest extends AbstractIntegrationTest {
 
   @Before
   public void setUp() throws Exception {
-    itemService2 = new ItemService(itemRepository, namespaceService, auditService, bizConfig);
+    itemService2 = new ItemService(itemRepository, namespaceService, auditService, bizConfig,
+        itemSearchIndex);
   }
 
   @Test
@@ -167,6 +180,47 @@ public class ItemServiceTest extends AbstractIntegrationTest {
 
   }
 
+  @Test
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  @Sql(scripts = "/sql/item-search-test.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(scripts = "/sql/clean.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  public void testSearchItemLiterallyWithAndWithoutIndex() {
+    // the index scans the committed items in the background
+    when(bizConfig.isItemSearchIndexEnabled()).thenReturn(true);
+    when(bizConfig.itemSearchIndexScanInterval()).thenReturn(60);
+    when(bizConfig.itemSearchIndexScanIntervalTimeUnit()).thenReturn(TimeUnit.SECONDS);
+    ItemSearchIndex readyItemSearchIndex =
+        new ItemSearchIndex(itemRepository, namespaceRepository, bizConfig);
+    ItemService indexedItemService = new ItemService(itemRepository, namespaceService,
+        auditService, bizConfig, readyItemSearchIndex);
+    readyItemSearchIndex.start();
+    try {
+      await().atMost(5, TimeUnit.SECONDS).until(readyItemSearchIndex::isReady);
+
+      assertSearchResult(indexedItemService, "rate_limit", "", "rate_limit");
+      assertSearchResult(indexedItemService, "", "100%", "rate_limit");
+      assertSearchResult(indexedItemService, "rate", "100%", "rate_limit");
+      assertSearchResult(indexedItemService, "dir\\t", "", "dir\\tmp");
+    } finally {
+      readyItemSearchIndex.stop();
+    }
+  }
+
+  private void assertSearchResult(ItemService indexedItemService, String key, String value,
+      String... expectedKeys) {
+    // the index of itemService is not started, so it searches the database
+    Page<ItemInfoDTO> fromDatabase =
+        itemService.getItemInfoBySearch(key, value, PageRequest.of(0, 200));
+    Page<ItemInfoDTO> fromIndex =
+        indexedItemService.getItemInfoBySearch(key, value, PageRequest.of(0, 200));
+
+    List<String> expected = Arrays.asList(expectedKeys);
+    Assert.assertEquals(expected,
+        fromDatabase.getContent().stream().map(ItemInfoDTO::getKey).collect(Collectors.toList()));
+    Assert.assertEquals(expected,
+        fromIndex.getContent().stream().map(ItemInfoDTO::getKey).collect(Collectors.toList()));
+  }
+
   private Item createItem(long namespaceId, String key, String value, int type) {
     Item item = new Item();
     item.setNamespaceId(namespaceId);
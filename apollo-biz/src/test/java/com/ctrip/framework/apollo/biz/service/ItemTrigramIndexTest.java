@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.biz.service;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ItemTrigramIndexTest {
+
+  private ItemTrigramIndex index;
+
+  @Before
+  public void setUp() {
+    index = new ItemTrigramIndex();
+  }
+
+  @Test
+  public void testCandidates() {
+    index.put(3, 1, "timeout.connect", "3000", 1);
+    index.put(1, 1, "timeout.read", "5000", 1);
+    index.put(2, 2, "Redis.Host", "redis.example.com", 1);
+
+    assertArrayEquals(new long[]{1, 3}, index.candidates("timeout", ""));
+    assertArrayEquals(new long[]{3}, index.candidates("eout.c", ""));
+    assertArrayEquals(new long[]{2}, index.candidates("redis.host", ""));
+    assertArrayEquals(new long[]{2}, index.candidates("", "EXAMPLE"));
+    assertArrayEquals(new long[]{1}, index.candidates("timeout", "500"));
+    assertArrayEquals(new long[0], index.candidates("timeout", "example"));
+    assertArrayEquals(new long[0], index.candidates("missing", ""));
+  }
+
+  @Test
+  public void testCandidatesNeedVerification() {
+    index.put(1, 1, "abcXbcd", "", 1);
+
+    // all the trigrams are contained, but not the pattern itself
+    assertArrayEquals(new long[]{1}, index.candidates("abcd", ""));
+    assertFalse(ItemTrigramIndex.matches("abcXbcd", "abcd"));
+    assertTrue(ItemTrigramIndex.matches("abcXbcd", "BCD"));
+  }
+
+  @Test
+  public void testPutReplacesOldContent() {
+    index.put(1, 1, "timeout", "3000", 1);
+    index.put(1, 1, "timeout", "5000", 2);
+
+    assertArrayEquals(new long[0], index.candidates("", "3000"));
+    assertArrayEquals(new long[]{1}, index.candidates("", "5000"));
+    assertEquals(1, index.size());
+  }
+
+  @Test
+  public void testPutIgnoresStaleContent() {
+    index.put(1, 1, "timeout", "5000", 2);
+    index.put(1, 1, "timeout", "3000", 1);
+
+    assertArrayEquals(new long[0], index.candidates("", "3000"));
+    assertArrayEquals(new long[]{1}, index.candidates("", "5000"));
+  }
+
+  @Test
+  public void testRemove() {
+    index.put(1, 1, "timeout.connect", "3000", 1);
+    index.put(2, 2, "timeout.read", "5000", 1);
+    index.put(3, 2, "timeout.write", "5000", 1);
+
+    index.remove(1);
+    assertArrayEquals(new long[]{2, 3}, index.candidates("timeout", ""));
+
+    index.removeNamespace(2);
+    assertArrayEquals(new long[0], index.candidates("timeout", ""));
+    assertEquals(0, index.size());
+  }
+
+  @Test
+  public void testCompaction() {
+    for (int round = 0; round < 5; round++) {
+      for (long id = 1; id <= 1000; id++) {
+        index.put(id, id % 10, "key" + id, "value" + round, round);
+      }
+    }
+
+    assertEquals(1000, index.size());
+    assertEquals(1000, index.candidates("", "value4").length);
+    assertEquals(0, index.candidates("", "value3").length);
+    assertArrayEquals(new long[]{123}, index.candidates("key123", ""));
+
+    for (long id = 1; id <= 1000; id++) {
+      if (id != 500) {
+        index.remove(id);
+      }
+    }
+    assertArrayEquals(new long[]{500}, index.candidates("key", "value"));
+  }
+
+  @Test
+  public void testIsSearchable() {
+    assertTrue(ItemTrigramIndex.isSearchable(""));
+    assertTrue(ItemTrigramIndex.isSearchable("abc"));
+    assertFalse(ItemTrigramIndex.isSearchable("ab"));
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.biz.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.ctrip.framework.apollo.biz.AbstractIntegrationTest;
+import com.ctrip.framework.apollo.biz.repository.JobLeaseRepository;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class JobLeaseServiceTest extends AbstractIntegrationTest {
+
+  private static final String SOME_JOB = "someJob";
+  private static final long SOME_LEASE = TimeUnit.MINUTES.toMillis(1);
+
+  @Autowired
+  private JobLeaseRepository jobLeaseRepository;
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  private JobLeaseService someNode;
+  private JobLeaseService anotherNode;
+
+  @Before
+  public void setUp() {
+    someNode = new JobLeaseService(jobLeaseRepository, transactionTemplate);
+    anotherNode = new JobLeaseService(jobLeaseRepository, transactionTemplate);
+  }
+
+  @Test
+  @Rollback
+  public void testOnlyOneNodeHoldsTheLease() {
+    assertTrue(someNode.tryAcquire(SOME_JOB, SOME_LEASE));
+    assertFalse(anotherNode.tryAcquire(SOME_JOB, SOME_LEASE));
+    assertTrue(someNode.tryAcquire(SOME_JOB, SOME_LEASE));
+  }
+
+  @Test
+  @Rollback
+  public void testTakeOverExpiredLease() {
+    assertTrue(someNode.tryAcquire(SOME_JOB, -SOME_LEASE));
+    assertTrue(anotherNode.tryAcquire(SOME_JOB, SOME_LEASE));
+    assertFalse(someNode.tryAcquire(SOME_JOB, SOME_LEASE));
+  }
+
+  @Test
+  @Rollback
+  public void testComplete() {
+    assertNull(someNode.lastCompletedTime(SOME_JOB));
+
+    someNode.tryAcquire(SOME_JOB, SOME_LEASE);
+    anotherNode.complete(SOME_JOB, new Date());
+
+    assertNull(someNode.lastCompletedTime(SOME_JOB));
+
+    Date someStartedTime = new Date(System.currentTimeMillis() - 1000);
+    someNode.complete(SOME_JOB, someStartedTime);
+
+    assertEquals(someStartedTime.getTime(), anotherNode.lastCompletedTime(SOME_JOB).getTime());
+  }
+}
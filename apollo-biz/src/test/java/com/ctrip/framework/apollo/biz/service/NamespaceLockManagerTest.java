@@ -0,0 +1,159 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.biz.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ctrip.framework.apollo.biz.AbstractUnitTest;
+import com.ctrip.framework.apollo.biz.config.BizConfig;
+import com.ctrip.framework.apollo.biz.entity.Namespace;
+import com.ctrip.framework.apollo.biz.entity.NamespaceLock;
+import com.ctrip.framework.apollo.common.exception.BadRequestException;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+public class NamespaceLockManagerTest extends AbstractUnitTest {
+
+  private static final String APP = "app-test";
+  private static final String CLUSTER = "cluster-test";
+  private static final String NAMESPACE = "namespace-test";
+  private static final String CURRENT_USER = "user-test";
+  private static final String ANOTHER_USER = "user-test2";
+  private static final long NAMESPACE_ID = 100;
+
+  @Mock
+  private NamespaceLockService namespaceLockService;
+  @Mock
+  private NamespaceService namespaceService;
+  @Mock
+  private BizConfig bizConfig;
+
+  private NamespaceLockManager namespaceLockManager;
+  private LongConsumer unlockListener;
+
+  @Before
+  public void setUp() {
+    namespaceLockManager =
+        new NamespaceLockManager(namespaceLockService, namespaceService, bizConfig);
+
+    ArgumentCaptor<LongConsumer> listenerCaptor = ArgumentCaptor.forClass(LongConsumer.class);
+    verify(namespaceLockService).addUnlockListener(listenerCaptor.capture());
+    unlockListener = listenerCaptor.getValue();
+
+    when(bizConfig.isNamespaceLockSwitchOff()).thenReturn(false);
+    when(bizConfig.namespaceLockLeaseInMilli()).thenReturn(TimeUnit.MINUTES.toMillis(1));
+  }
+
+  @Test
+  public void testAcquireLockWithinLease() {
+    when(namespaceService.findOne(APP, CLUSTER, NAMESPACE)).thenReturn(mockNamespace(NAMESPACE_ID));
+    when(namespaceLockService.findLock(NAMESPACE_ID)).thenReturn(null,
+        mockNamespaceLock(NAMESPACE_ID, CURRENT_USER));
+    when(namespaceLockService.tryLock(any())).thenReturn(mockNamespaceLock(NAMESPACE_ID, CURRENT_USER));
+
+    namespaceLockManager.acquireLock(APP, CLUSTER, NAMESPACE, CURRENT_USER);
+    namespaceLockManager.acquireLock(APP, CLUSTER, NAMESPACE, CURRENT_USER);
+    namespaceLockManager.acquireLock(NAMESPACE_ID, CURRENT_USER);
+
+    verify(namespaceService, times(1)).findOne(APP, CLUSTER, NAMESPACE);
+    verify(namespaceService, never()).findOne(NAMESPACE_ID);
+    // the lock row is checked on every edit within the lease
+    verify(namespaceLockService, times(3)).findLock(NAMESPACE_ID);
+    verify(namespaceLockService, times(1)).tryLock(any());
+  }
+
+  @Test
+  public void testAcquireLockAfterUnlockOnAnotherNode() {
+    when(namespaceService.findOne(APP, CLUSTER, NAMESPACE)).thenReturn(mockNamespace(NAMESPACE_ID));
+    // the lock row is gone, e.g. another node published the namespace
+    when(namespaceLockService.findLock(NAMESPACE_ID)).thenReturn(null);
+    when(namespaceLockService.tryLock(any())).thenReturn(mockNamespaceLock(NAMESPACE_ID, CURRENT_USER));
+
+    namespaceLockManager.acquireLock(APP, CLUSTER, NAMESPACE, CURRENT_USER);
+    namespaceLockManager.acquireLock(APP, CLUSTER, NAMESPACE, CURRENT_USER);
+
+    verify(namespaceService, times(2)).findOne(APP, CLUSTER, NAMESPACE);
+    verify(namespaceLockService, times(2)).tryLock(any());
+  }
+
+  @Test
+  public void testAcquireLockAfterLeaseExpired() {
+    when(bizConfig.namespaceLockLeaseInMilli()).thenReturn(1L);
+    when(namespaceService.findOne(APP, CLUSTER, NAMESPACE)).thenReturn(mockNamespace(NAMESPACE_ID));
+    when(namespaceLockService.findLock(NAMESPACE_ID)).thenReturn(null,
+        mockNamespaceLock(NAMESPACE_ID, CURRENT_USER));
+    when(namespaceLockService.tryLock(any())).thenReturn(mockNamespaceLock(NAMESPACE_ID, CURRENT_USER));
+
+    namespaceLockManager.acquireLock(APP, CLUSTER, NAMESPACE, CURRENT_USER);
+    Uninterruptibles.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+    namespaceLockManager.acquireLock(APP, CLUSTER, NAMESPACE, CURRENT_USER);
+
+    verify(namespaceService, times(2)).findOne(APP, CLUSTER, NAMESPACE);
+    verify(namespaceLockService, times(1)).tryLock(any());
+  }
+
+  @Test
+  public void testAcquireLockAfterUnlock() {
+    when(namespaceService.findOne(APP, CLUSTER, NAMESPACE)).thenReturn(mockNamespace(NAMESPACE_ID));
+    when(namespaceLockService.findLock(NAMESPACE_ID)).thenReturn(null);
+    when(namespaceLockService.tryLock(any())).thenReturn(mockNamespaceLock(NAMESPACE_ID, CURRENT_USER));
+
+    namespaceLockManager.acquireLock(APP, CLUSTER, NAMESPACE, CURRENT_USER);
+    unlockListener.accept(NAMESPACE_ID);
+    namespaceLockManager.acquireLock(APP, CLUSTER, NAMESPACE, CURRENT_USER);
+
+    verify(namespaceService, times(2)).findOne(APP, CLUSTER, NAMESPACE);
+    verify(namespaceLockService, times(2)).tryLock(any());
+  }
+
+  @Test(expected = BadRequestException.class)
+  public void testAcquireLockLeasedByAnotherUser() {
+    when(namespaceService.findOne(APP, CLUSTER, NAMESPACE)).thenReturn(mockNamespace(NAMESPACE_ID));
+    when(namespaceLockService.findLock(NAMESPACE_ID)).thenReturn(null,
+        mockNamespaceLock(NAMESPACE_ID, ANOTHER_USER));
+    when(namespaceLockService.tryLock(any())).thenReturn(mockNamespaceLock(NAMESPACE_ID, ANOTHER_USER));
+
+    namespaceLockManager.acquireLock(APP, CLUSTER, NAMESPACE, ANOTHER_USER);
+    namespaceLockManager.acquireLock(APP, CLUSTER, NAMESPACE, CURRENT_USER);
+  }
+
+  private Namespace mockNamespace(long namespaceId) {
+    Namespace namespace = new Namespace();
+    namespace.setId(namespaceId);
+    namespace.setAppId(APP);
+    namespace.setClusterName(CLUSTER);
+    namespace.setNamespaceName(NAMESPACE);
+    return namespace;
+  }
+
+  private NamespaceLock mockNamespaceLock(long namespaceId, String lockedUser) {
+    NamespaceLock lock = new NamespaceLock();
+    lock.setId(namespaceId * 10);
+    lock.setNamespaceId(namespaceId);
+    lock.setDataChangeCreatedBy(lockedUser);
+    return lock;
+  }
+}
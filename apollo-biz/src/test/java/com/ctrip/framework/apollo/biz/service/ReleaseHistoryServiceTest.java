@@ -28,9 +28,12 @@ import com.ctrip.framework.apollo.biz.entity.ReleaseHistory;
 import com.ctrip.framework.apollo.biz.repository.ReleaseHistoryRepository;
 import com.ctrip.framework.apollo.biz.repository.ReleaseRepository;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import java.lang.reflect.Method;
 import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
 import org.hibernate.exception.JDBCConnectionException;
 import org.junit.Assert;
 import org.junit.Before;
@@ -156,4 +159,22 @@ public class ReleaseHistoryServiceTest {
     Assert.assertEquals(1, releaseRepository.count());
   }
 
+  @Test
+  @Sql(scripts = "/sql/release-history-test.sql",
+      executionPhase = ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(scripts = "/sql/clean.sql", executionPhase = ExecutionPhase.AFTER_TEST_METHOD)
+  public void testFindReleaseHistoriesByNamespaceBefore() {
+    List<ReleaseHistory> firstPage = releaseHistoryService
+        .findReleaseHistoriesByNamespaceBefore(APP_ID, CLUSTER_NAME, NAMESPACE_NAME,
+            Long.MAX_VALUE, 4);
+    List<ReleaseHistory> secondPage = releaseHistoryService
+        .findReleaseHistoriesByNamespaceBefore(APP_ID, CLUSTER_NAME, NAMESPACE_NAME,
+            firstPage.get(firstPage.size() - 1).getId(), 4);
+
+    Assert.assertEquals(Lists.newArrayList(6L, 5L, 4L, 3L),
+        firstPage.stream().map(ReleaseHistory::getId).collect(Collectors.toList()));
+    Assert.assertEquals(Lists.newArrayList(2L, 1L),
+        secondPage.stream().map(ReleaseHistory::getId).collect(Collectors.toList()));
+  }
+
 }
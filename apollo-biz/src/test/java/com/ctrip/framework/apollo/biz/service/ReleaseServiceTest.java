@@ -21,10 +21,16 @@ import com.google.common.collect.Sets;
 
 import com.ctrip.framework.apollo.biz.AbstractUnitTest;
 import com.ctrip.framework.apollo.biz.MockBeanFactory;
+import com.ctrip.framework.apollo.biz.config.BizConfig;
+import com.ctrip.framework.apollo.biz.entity.Namespace;
 import com.ctrip.framework.apollo.biz.entity.Release;
 import com.ctrip.framework.apollo.biz.repository.ReleaseRepository;
+import com.ctrip.framework.apollo.common.constants.ReleaseOperation;
+import com.ctrip.framework.apollo.common.constants.ReleaseOperationContext;
 import com.ctrip.framework.apollo.common.exception.BadRequestException;
+import com.google.common.hash.Hashing;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Optional;
 import org.junit.Assert;
@@ -39,8 +45,15 @@ import java.util.List;
 import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -55,6 +68,14 @@ public class ReleaseServiceTest extends AbstractUnitTest {
   private ReleaseHistoryService releaseHistoryService;
   @Mock
   private ItemSetService itemSetService;
+  @Mock
+  private ItemService itemService;
+  @Mock
+  private AuditService auditService;
+  @Mock
+  private NamespaceLockService namespaceLockService;
+  @Mock
+  private BizConfig bizConfig;
   @InjectMocks
   private ReleaseService releaseService;
 
@@ -206,6 +227,75 @@ public class ReleaseServiceTest extends AbstractUnitTest {
             someClusterName, someNamespaceName);
   }
 
+  @Test
+  public void testPublishUnchangedConfigurations() {
+    Namespace namespace = mockPublishNamespace("v1");
+    Release latestRelease = MockBeanFactory.mockRelease(releaseId, "someKey", appId, clusterName,
+        namespaceName, "{\"k1\":\"v1\"}");
+    when(bizConfig.isReleaseUnchangedPublishSuppressed()).thenReturn(true);
+    when(releaseRepository
+        .findFirstByAppIdAndClusterNameAndNamespaceNameAndIsAbandonedFalseOrderByIdDesc(appId,
+            clusterName, namespaceName))
+        .thenReturn(latestRelease);
+
+    Release result = releaseService.publish(namespace, "someName", "someComment", user, false);
+
+    assertSame(latestRelease, result);
+    assertTrue(result.isUnchanged());
+    verify(releaseRepository, never()).save(any(Release.class));
+    verify(releaseHistoryService).createReleaseHistory(eq(appId), eq(clusterName),
+        eq(namespaceName), eq(clusterName), eq(releaseId), eq(releaseId),
+        eq(ReleaseOperation.NORMAL_RELEASE),
+        argThat(context -> Boolean.TRUE.equals(context.get(ReleaseOperationContext.UNCHANGED))),
+        eq(user));
+    verify(namespaceLockService).unlock(namespace.getId());
+  }
+
+  @Test
+  public void testPublishChangedConfigurations() {
+    Namespace namespace = mockPublishNamespace("v2");
+    Release latestRelease = MockBeanFactory.mockRelease(releaseId, "someKey", appId, clusterName,
+        namespaceName, "{\"k1\":\"v1\"}");
+    when(bizConfig.isReleaseUnchangedPublishSuppressed()).thenReturn(true);
+    when(releaseRepository
+        .findFirstByAppIdAndClusterNameAndNamespaceNameAndIsAbandonedFalseOrderByIdDesc(appId,
+            clusterName, namespaceName))
+        .thenReturn(latestRelease);
+    when(releaseRepository.save(any(Release.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+    Release result = releaseService.publish(namespace, "someName", "someComment", user, false);
+
+    assertFalse(result.isUnchanged());
+    assertEquals("{\"k1\":\"v2\"}", result.getConfigurations());
+    assertEquals(
+        Hashing.sha256().hashString("{\"k1\":\"v2\"}", StandardCharsets.UTF_8).toString(),
+        result.getContentHash());
+    verify(releaseHistoryService).createReleaseHistory(eq(appId), eq(clusterName),
+        eq(namespaceName), eq(clusterName), eq(result.getId()), eq(releaseId),
+        eq(ReleaseOperation.NORMAL_RELEASE), any(), eq(user));
+  }
+
+  @Test
+  public void testPublishUnchangedConfigurationsNotSuppressed() {
+    Namespace namespace = mockPublishNamespace("v1");
+    when(releaseRepository.save(any(Release.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+    Release result = releaseService.publish(namespace, "someName", "someComment", user, false);
+
+    assertFalse(result.isUnchanged());
+    verify(releaseRepository).save(any(Release.class));
+  }
+
+  private Namespace mockPublishNamespace(String value) {
+    Namespace namespace = MockBeanFactory.mockNamespace(appId, clusterName, namespaceName);
+    namespace.setId(100);
+    when(itemService.findItemsWithOrdered(namespace.getId())).thenReturn(
+        Lists.newArrayList(MockBeanFactory.mockItem(1, namespace.getId(), "k1", value, 1)));
+    return namespace;
+  }
+
   @Test
   public void testFindByReleaseIds() throws Exception {
     Release someRelease = mock(Release.class);
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.common.dto;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A page of a list read by continuation token instead of page number, pass
+ * {@link #getNextContinuationToken()} back to read the next page.
+ */
+public class CursorPageDTO<T> {
+  private final List<T> content;
+  private final int size;
+  private final String nextContinuationToken;
+
+  public CursorPageDTO(List<T> content, int size, String nextContinuationToken) {
+    this.content = content;
+    this.size = size;
+    this.nextContinuationToken = nextContinuationToken;
+  }
+
+  public List<T> getContent() {
+    return Collections.unmodifiableList(content);
+  }
+
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * @return the token of the next page, or null if this is the last page
+   */
+  public String getNextContinuationToken() {
+    return nextContinuationToken;
+  }
+
+  public boolean hasContent() {
+    return content != null && content.size() > 0;
+  }
+
+  public boolean hasNext() {
+    return nextContinuationToken != null;
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.common.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A namespace together with its items and the configurations of its latest active release, so the
+ * whole cluster could be loaded with one call to the admin service.
+ */
+public class NamespaceViewDTO {
+
+  private NamespaceDTO baseInfo;
+
+  private List<ItemDTO> items;
+
+  /**
+   * items deleted since the latest active release, null if not requested
+   */
+  private List<ItemDTO> deletedItems;
+
+  /**
+   * configurations of the latest active release, empty if the namespace is not released yet
+   */
+  private Map<String, String> releaseConfigurations;
+
+  public NamespaceDTO getBaseInfo() {
+    return baseInfo;
+  }
+
+  public void setBaseInfo(NamespaceDTO baseInfo) {
+    this.baseInfo = baseInfo;
+  }
+
+  public List<ItemDTO> getItems() {
+    return items;
+  }
+
+  public void setItems(List<ItemDTO> items) {
+    this.items = items;
+  }
+
+  public List<ItemDTO> getDeletedItems() {
+    return deletedItems;
+  }
+
+  public void setDeletedItems(List<ItemDTO> deletedItems) {
+    this.deletedItems = deletedItems;
+  }
+
+  public Map<String, String> getReleaseConfigurations() {
+    return releaseConfigurations;
+  }
+
+  public void setReleaseConfigurations(Map<String, String> releaseConfigurations) {
+    this.releaseConfigurations = releaseConfigurations;
+  }
+}
@@ -0,0 +1,333 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.common.utils;
+
+import com.ctrip.framework.apollo.common.exception.BeanUtilsException;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import static org.springframework.beans.BeanUtils.getPropertyDescriptor;
+import static org.springframework.beans.BeanUtils.getPropertyDescriptors;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.CollectionUtils;
+
+/**
+ * Precompiled property copier with the semantics of {@link BeanUtils#transform}: the target is
+ * created with its no-arg constructor, and every readable source property that has a writable,
+ * type compatible target property is copied unless its value is null.
+ * <p>
+ * The property pairs are resolved once per source and target class, and each getter, setter and
+ * constructor is bound through {@link LambdaMetafactory}, so mapping an object costs plain
+ * interface calls instead of reflective lookups. Accessors the metafactory cannot bind, e.g. on
+ * non-public classes, fall back to method handles.
+ *
+ * <pre>
+ *     private static final BeanMapper&lt;Item, ItemDTO&gt; ITEM_MAPPER =
+ *         BeanMapper.of(Item.class, ItemDTO.class);
+ *
+ *     List&lt;ItemDTO&gt; dtos = ITEM_MAPPER.mapAll(items);
+ * </pre>
+ *
+ * Properties are resolved against the declared source class, so properties only a subclass of it
+ * has are not copied.
+ */
+public final class BeanMapper<S, T> {
+
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+  private static final ClassValue<Map<Class<?>, BeanMapper<?, ?>>> MAPPERS =
+      new ClassValue<Map<Class<?>, BeanMapper<?, ?>>>() {
+        @Override
+        protected Map<Class<?>, BeanMapper<?, ?>> computeValue(Class<?> sourceClass) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
+  private static final ClassValue<Map<String, Optional<Function<Object, Object>>>> FIELD_GETTERS =
+      new ClassValue<Map<String, Optional<Function<Object, Object>>>>() {
+        @Override
+        protected Map<String, Optional<Function<Object, Object>>> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
+  private final Class<S> sourceClass;
+  private final Supplier<Object> constructor;
+  private final Function<Object, Object>[] getters;
+  private final BiConsumer<Object, Object>[] setters;
+
+  @SuppressWarnings("unchecked")
+  private BeanMapper(Class<S> sourceClass, Class<T> targetClass) {
+    this.sourceClass = sourceClass;
+    this.constructor = constructor(targetClass);
+
+    List<Function<Object, Object>> getterList = new ArrayList<>();
+    List<BiConsumer<Object, Object>> setterList = new ArrayList<>();
+    for (PropertyDescriptor targetPd : getPropertyDescriptors(targetClass)) {
+      Method writeMethod = targetPd.getWriteMethod();
+      if (writeMethod == null) {
+        continue;
+      }
+      PropertyDescriptor sourcePd = getPropertyDescriptor(sourceClass, targetPd.getName());
+      Method readMethod = sourcePd == null ? null : sourcePd.getReadMethod();
+      if (readMethod == null || !isAssignable(readMethod, writeMethod)) {
+        continue;
+      }
+      getterList.add(getter(readMethod));
+      setterList.add(setter(writeMethod));
+    }
+    this.getters = getterList.toArray(new Function[0]);
+    this.setters = setterList.toArray(new BiConsumer[0]);
+  }
+
+  /**
+   * Returns the cached mapper from {@code sourceClass} to {@code targetClass}, building it on first
+   * use.
+   */
+  @SuppressWarnings("unchecked")
+  public static <S, T> BeanMapper<S, T> of(Class<S> sourceClass, Class<T> targetClass) {
+    if (sourceClass == null || targetClass == null) {
+      throw new BeanUtilsException(new IllegalArgumentException("class must not be null"));
+    }
+    Map<Class<?>, BeanMapper<?, ?>> mappers = MAPPERS.get(sourceClass);
+    BeanMapper<?, ?> mapper = mappers.get(targetClass);
+    if (mapper == null) {
+      mapper = mappers.computeIfAbsent(targetClass,
+          clazz -> new BeanMapper<>(sourceClass, targetClass));
+    }
+    return (BeanMapper<S, T>) mapper;
+  }
+
+  /**
+   * @return a new target with the non-null properties of {@code src} copied, or null if
+   *         {@code src} is null
+   */
+  @SuppressWarnings("unchecked")
+  public T map(S src) {
+    if (src == null) {
+      return null;
+    }
+    try {
+      T target = (T) constructor.get();
+      for (int i = 0; i < getters.length; i++) {
+        Object value = getters[i].apply(src);
+        if (value != null) {
+          setters[i].accept(target, value);
+        }
+      }
+      return target;
+    } catch (BeanUtilsException e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new BeanUtilsException(e);
+    }
+  }
+
+  public List<T> mapAll(List<? extends S> srcList) {
+    if (CollectionUtils.isEmpty(srcList)) {
+      return Collections.emptyList();
+    }
+    List<T> result = new ArrayList<>(srcList.size());
+    for (S src : srcList) {
+      result.add(map(src));
+    }
+    return result;
+  }
+
+  Class<S> sourceClass() {
+    return sourceClass;
+  }
+
+  /**
+   * @return a getter for the field {@code name} declared by {@code type} or one of its
+   *         superclasses, or null if there is no such field
+   */
+  static Function<Object, Object> fieldGetter(Class<?> type, String name) {
+    Map<String, Optional<Function<Object, Object>>> getters = FIELD_GETTERS.get(type);
+    Optional<Function<Object, Object>> getter = getters.get(name);
+    if (getter == null) {
+      getter =
+          getters.computeIfAbsent(name, key -> Optional.ofNullable(buildFieldGetter(type, key)));
+    }
+    return getter.orElse(null);
+  }
+
+  private static Function<Object, Object> buildFieldGetter(Class<?> type, String name) {
+    for (Class<?> clazz = type; clazz != null && clazz != Object.class;
+        clazz = clazz.getSuperclass()) {
+      Field field;
+      try {
+        field = clazz.getDeclaredField(name);
+      } catch (NoSuchFieldException e) {
+        continue;
+      }
+      try {
+        field.setAccessible(true);
+        return adapt(LOOKUP.unreflectGetter(field));
+      } catch (ReflectiveOperationException | RuntimeException e) {
+        throw new BeanUtilsException(e);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Same check as {@link org.springframework.beans.BeanUtils#copyProperties(Object, Object)}.
+   */
+  private static boolean isAssignable(Method readMethod, Method writeMethod) {
+    ResolvableType sourceType = ResolvableType.forMethodReturnType(readMethod);
+    ResolvableType targetType = ResolvableType.forMethodParameter(writeMethod, 0);
+    if (sourceType.hasUnresolvableGenerics() || targetType.hasUnresolvableGenerics()) {
+      return ClassUtils.isAssignable(writeMethod.getParameterTypes()[0],
+          readMethod.getReturnType());
+    }
+    return targetType.isAssignableFrom(sourceType);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Supplier<Object> constructor(Class<?> type) {
+    if (isBindable(type)) {
+      try {
+        MethodHandle handle = LOOKUP.findConstructor(type, MethodType.methodType(void.class));
+        CallSite site = LambdaMetafactory.metafactory(LOOKUP, "get",
+            MethodType.methodType(Supplier.class), MethodType.methodType(Object.class), handle,
+            MethodType.methodType(type));
+        return (Supplier<Object>) site.getTarget().invoke();
+      } catch (Throwable e) {
+        // fall through, Class#newInstance reports the failure the way BeanUtils always did
+      }
+    }
+    return () -> {
+      try {
+        return type.newInstance();
+      } catch (Exception e) {
+        throw new BeanUtilsException(e);
+      }
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Function<Object, Object> getter(Method readMethod) {
+    Class<?> declaringClass = readMethod.getDeclaringClass();
+    if (isBindable(declaringClass) && isBindable(readMethod.getReturnType())) {
+      try {
+        CallSite site = LambdaMetafactory.metafactory(LOOKUP, "apply",
+            MethodType.methodType(Function.class),
+            MethodType.methodType(Object.class, Object.class), LOOKUP.unreflect(readMethod),
+            MethodType.methodType(ClassUtils.resolvePrimitiveIfNecessary(
+                readMethod.getReturnType()), declaringClass));
+        return (Function<Object, Object>) site.getTarget().invoke();
+      } catch (Throwable e) {
+        // fall back to a method handle
+      }
+    }
+    try {
+      makeAccessible(readMethod);
+      return adapt(LOOKUP.unreflect(readMethod));
+    } catch (IllegalAccessException | RuntimeException e) {
+      throw new BeanUtilsException(e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static BiConsumer<Object, Object> setter(Method writeMethod) {
+    Class<?> declaringClass = writeMethod.getDeclaringClass();
+    Class<?> parameterType = writeMethod.getParameterTypes()[0];
+    if (isBindable(declaringClass) && isBindable(parameterType)) {
+      try {
+        CallSite site = LambdaMetafactory.metafactory(LOOKUP, "accept",
+            MethodType.methodType(BiConsumer.class),
+            MethodType.methodType(void.class, Object.class, Object.class),
+            LOOKUP.unreflect(writeMethod), MethodType.methodType(void.class, declaringClass,
+                ClassUtils.resolvePrimitiveIfNecessary(parameterType)));
+        return (BiConsumer<Object, Object>) site.getTarget().invoke();
+      } catch (Throwable e) {
+        // fall back to a method handle
+      }
+    }
+    try {
+      makeAccessible(writeMethod);
+      MethodHandle handle = LOOKUP.unreflect(writeMethod)
+          .asType(MethodType.methodType(void.class, Object.class, Object.class));
+      return (target, value) -> {
+        try {
+          handle.invokeExact(target, value);
+        } catch (Throwable e) {
+          throw new BeanUtilsException(e);
+        }
+      };
+    } catch (IllegalAccessException | RuntimeException e) {
+      throw new BeanUtilsException(e);
+    }
+  }
+
+  private static Function<Object, Object> adapt(MethodHandle getter) {
+    MethodHandle handle = getter.asType(MethodType.methodType(Object.class, Object.class));
+    return src -> {
+      try {
+        return handle.invokeExact(src);
+      } catch (Throwable e) {
+        throw new BeanUtilsException(e);
+      }
+    };
+  }
+
+  private static void makeAccessible(Method method) {
+    if (!Modifier.isPublic(method.getDeclaringClass().getModifiers())
+        || !Modifier.isPublic(method.getModifiers())) {
+      method.setAccessible(true);
+    }
+  }
+
+  /**
+   * Generated lambdas resolve the classes they call through the class loader of this class, so
+   * only public classes visible from it are bound through the metafactory.
+   */
+  private static boolean isBindable(Class<?> type) {
+    if (type.isPrimitive()) {
+      return true;
+    }
+    if (type.isArray()) {
+      return isBindable(type.getComponentType());
+    }
+    if (!Modifier.isPublic(type.getModifiers())) {
+      return false;
+    }
+    try {
+      return Class.forName(type.getName(), false, BeanMapper.class.getClassLoader()) == type;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+}
@@ -18,20 +18,17 @@ package com.ctrip.framework.apollo.common.utils;
 
 import com.ctrip.framework.apollo.common.exception.BeanUtilsException;
 
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.util.CollectionUtils;
 
-import java.beans.PropertyDescriptor;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 
 public class BeanUtils {
@@ -48,14 +45,23 @@ public class BeanUtils {
     }
 
     List<T> result = new ArrayList<>(srcList.size());
+    BeanMapper<Object, T> mapper = null;
     for (Object srcObject : srcList) {
-      result.add(transform(clazz, srcObject));
+      if (srcObject == null) {
+        result.add(null);
+        continue;
+      }
+      if (mapper == null || mapper.sourceClass() != srcObject.getClass()) {
+        mapper = mapper(clazz, srcObject);
+      }
+      result.add(mapper.map(srcObject));
     }
     return result;
   }
 
   /**
-   * 封装{@link org.springframework.beans.BeanUtils#copyProperties}，惯用与直接将转换结果返回
+   * 封装{@link org.springframework.beans.BeanUtils#copyProperties}，惯用与直接将转换结果返回。
+   * 属性访问器按类缓存，见{@link BeanMapper}
    *
    * <pre>
    *      UserBean userBean = new UserBean("username");
@@ -66,29 +72,12 @@ public class BeanUtils {
     if (src == null) {
       return null;
     }
-    T instance;
-    try {
-      instance = clazz.newInstance();
-    } catch (Exception e) {
-      throw new BeanUtilsException(e);
-    }
-    org.springframework.beans.BeanUtils.copyProperties(src, instance, getNullPropertyNames(src));
-    return instance;
+    return mapper(clazz, src).map(src);
   }
 
-  private static String[] getNullPropertyNames(Object source) {
-    final BeanWrapper src = new BeanWrapperImpl(source);
-    PropertyDescriptor[] pds = src.getPropertyDescriptors();
-
-    Set<String> emptyNames = new HashSet<>();
-    for (PropertyDescriptor pd : pds) {
-      Object srcValue = src.getPropertyValue(pd.getName());
-      if (srcValue == null) {
-        emptyNames.add(pd.getName());
-      }
-    }
-    String[] result = new String[emptyNames.size()];
-    return emptyNames.toArray(result);
+  @SuppressWarnings("unchecked")
+  private static <T> BeanMapper<Object, T> mapper(Class<T> clazz, Object src) {
+    return BeanMapper.of((Class<Object>) src.getClass(), clazz);
   }
 
   /**
@@ -108,15 +97,12 @@ public class BeanUtils {
       return map;
     }
     try {
-      Class<?> clazz = list.get(0).getClass();
-      Field field = deepFindField(clazz, key);
-      if (field == null) {
-        throw new IllegalArgumentException("Could not find the key");
-      }
-      field.setAccessible(true);
+      Function<Object, Object> getter = keyGetter(key, list);
       for (Object o : list) {
-        map.put((K) field.get(o), (V) o);
+        map.put((K) getter.apply(o), (V) o);
       }
+    } catch (BeanUtilsException e) {
+      throw e;
     } catch (Exception e) {
       throw new BeanUtilsException(e);
     }
@@ -138,17 +124,14 @@ public class BeanUtils {
       return map;
     }
     try {
-      Class<?> clazz = list.get(0).getClass();
-      Field field = deepFindField(clazz, key);
-      if (field == null) {
-        throw new IllegalArgumentException("Could not find the key");
-      }
-      field.setAccessible(true);
+      Function<Object, Object> getter = keyGetter(key, list);
       for (Object o : list) {
-        K k = (K) field.get(o);
+        K k = (K) getter.apply(o);
         map.computeIfAbsent(k, k1 -> new ArrayList<>());
         map.get(k).add((V) o);
       }
+    } catch (BeanUtilsException e) {
+      throw e;
     } catch (Exception e) {
       throw new BeanUtilsException(e);
     }
@@ -170,21 +153,25 @@ public class BeanUtils {
       return set;
     }
     try {
-      Class<?> clazz = list.get(0).getClass();
-      Field field = deepFindField(clazz, key);
-      if (field == null) {
-        throw new IllegalArgumentException("Could not find the key");
-      }
-      field.setAccessible(true);
+      Function<Object, Object> getter = keyGetter(key, list);
       for (Object o : list) {
-        set.add((K) field.get(o));
+        set.add((K) getter.apply(o));
       }
+    } catch (BeanUtilsException e) {
+      throw e;
     } catch (Exception e) {
       throw new BeanUtilsException(e);
     }
     return set;
   }
 
+  private static Function<Object, Object> keyGetter(String key, List<?> list) {
+    Function<Object, Object> getter = BeanMapper.fieldGetter(list.get(0).getClass(), key);
+    if (getter == null) {
+      throw new IllegalArgumentException("Could not find the key");
+    }
+    return getter;
+  }
 
   private static Field deepFindField(Class<?> clazz, String key) {
     Field field = null;
@@ -206,11 +193,12 @@ public class BeanUtils {
    */
   public static Object getProperty(Object obj, String fieldName) {
     try {
-      Field field = deepFindField(obj.getClass(), fieldName);
-      if (field != null) {
-        field.setAccessible(true);
-        return field.get(obj);
+      Function<Object, Object> getter = BeanMapper.fieldGetter(obj.getClass(), fieldName);
+      if (getter != null) {
+        return getter.apply(obj);
       }
+    } catch (BeanUtilsException e) {
+      throw e;
     } catch (Exception e) {
       throw new BeanUtilsException(e);
     }
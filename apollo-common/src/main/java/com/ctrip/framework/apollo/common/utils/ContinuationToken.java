@@ -0,0 +1,78 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.common.utils;
+
+import com.ctrip.framework.apollo.common.dto.CursorPageDTO;
+import com.ctrip.framework.apollo.common.exception.BadRequestException;
+import com.google.common.base.Strings;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Continuation tokens of lists read by id instead of by offset, which MySQL has to scan and
+ * discard for every previous row. A token wraps the id of the last row of a page, clients should
+ * treat it as opaque.
+ */
+public final class ContinuationToken {
+
+  private static final String PREFIX = "v1:";
+
+  private ContinuationToken() {
+  }
+
+  public static String encode(long lastId) {
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @return the id of the last row the token was issued for, or {@code defaultId} if the token is
+   * empty, i.e. the first page is requested
+   * @throws BadRequestException if the token is not one issued by {@link #encode(long)}
+   */
+  public static long decode(String token, long defaultId) {
+    if (Strings.isNullOrEmpty(token)) {
+      return defaultId;
+    }
+    try {
+      String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      if (value.startsWith(PREFIX)) {
+        return Long.parseLong(value.substring(PREFIX.length()));
+      }
+    } catch (IllegalArgumentException ex) {
+      // NumberFormatException included, reported below
+    }
+    throw new BadRequestException("Invalid continuation token: %s", token);
+  }
+
+  /**
+   * Build the page from rows read with a limit of {@code size + 1}, the extra row only tells
+   * whether there is a next page and is dropped.
+   */
+  public static <E, T> CursorPageDTO<T> toPage(List<E> rows, int size, ToLongFunction<E> idGetter,
+      Function<List<E>, List<T>> mapper) {
+    if (rows.size() <= size) {
+      return new CursorPageDTO<>(mapper.apply(rows), size, null);
+    }
+    List<E> pageRows = rows.subList(0, size);
+    String nextToken = size == 0 ? null : encode(idGetter.applyAsLong(pageRows.get(size - 1)));
+    return new CursorPageDTO<>(mapper.apply(pageRows), size, nextToken);
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.common.utils;
+
+import com.ctrip.framework.apollo.common.dto.ItemDTO;
+import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+
+/**
+ * Compares the reflective copy {@link BeanUtils} used before {@link BeanMapper} with the mapper,
+ * both through {@link BeanUtils} and through a mapper held in a constant.
+ * <p>
+ * Not run by the build, start it with {@code main} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BeanMapperBenchmark {
+
+  private static final BeanMapper<ItemDTO, ItemDTO> ITEM_MAPPER =
+      BeanMapper.of(ItemDTO.class, ItemDTO.class);
+
+  @Param({"1000", "10000"})
+  private int size;
+
+  private List<ItemDTO> items;
+
+  @Setup
+  public void setUp() {
+    items = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      ItemDTO item = new ItemDTO("key" + i, "value" + i, i % 2 == 0 ? null : "comment" + i, i);
+      item.setId(i);
+      item.setNamespaceId(1);
+      item.setDataChangeCreatedBy("apollo");
+      item.setDataChangeCreatedTime(new Date());
+      items.add(item);
+    }
+  }
+
+  @Benchmark
+  public List<ItemDTO> reflective() {
+    List<ItemDTO> result = new ArrayList<>(items.size());
+    for (ItemDTO item : items) {
+      result.add(reflectiveTransform(ItemDTO.class, item));
+    }
+    return result;
+  }
+
+  @Benchmark
+  public List<ItemDTO> beanUtils() {
+    return BeanUtils.batchTransform(ItemDTO.class, items);
+  }
+
+  @Benchmark
+  public List<ItemDTO> mapper() {
+    return ITEM_MAPPER.mapAll(items);
+  }
+
+  @Benchmark
+  public Map<String, ItemDTO> mapByKey() {
+    return BeanUtils.mapByKey("key", items);
+  }
+
+  /**
+   * The implementation of {@link BeanUtils#transform} before {@link BeanMapper}.
+   */
+  private static <T> T reflectiveTransform(Class<T> clazz, Object src) {
+    T instance;
+    try {
+      instance = clazz.newInstance();
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+    BeanWrapper wrapper = new BeanWrapperImpl(src);
+    Set<String> nullNames = new HashSet<>();
+    for (PropertyDescriptor pd : wrapper.getPropertyDescriptors()) {
+      if (wrapper.getPropertyValue(pd.getName()) == null) {
+        nullNames.add(pd.getName());
+      }
+    }
+    org.springframework.beans.BeanUtils.copyProperties(src, instance,
+        nullNames.toArray(new String[0]));
+    return instance;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(BeanMapperBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
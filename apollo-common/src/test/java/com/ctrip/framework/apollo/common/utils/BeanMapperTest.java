@@ -0,0 +1,250 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.common.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.ctrip.framework.apollo.common.exception.BeanUtilsException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+public class BeanMapperTest {
+
+  @Test
+  public void testMapCopiesNonNullProperties() {
+    Source source = new Source();
+    source.setId(5);
+    source.setName("someName");
+    source.setCount(7);
+    source.setEnabled(true);
+
+    Target target = BeanMapper.of(Source.class, Target.class).map(source);
+
+    assertEquals(5, target.getId());
+    assertEquals("someName", target.getName());
+    assertEquals(7, target.getCount());
+    assertTrue(target.isEnabled());
+  }
+
+  @Test
+  public void testMapSkipsNullProperties() {
+    Source source = new Source();
+    source.setId(5);
+
+    Target target = BeanMapper.of(Source.class, Target.class).map(source);
+
+    assertEquals(Target.DEFAULT_NAME, target.getName());
+    assertEquals(Target.DEFAULT_COUNT, target.getCount());
+  }
+
+  @Test
+  public void testMapSkipsIncompatibleProperties() {
+    Source source = new Source();
+    source.setTags("a,b");
+
+    Target target = BeanMapper.of(Source.class, Target.class).map(source);
+
+    assertNull(target.getTags());
+  }
+
+  @Test
+  public void testMapNull() {
+    assertNull(BeanMapper.of(Source.class, Target.class).map(null));
+  }
+
+  @Test
+  public void testMapNonPublicSource() {
+    HiddenSource source = new HiddenSource();
+    source.setName("someName");
+
+    Target target = BeanMapper.of(HiddenSource.class, Target.class).map(source);
+
+    assertEquals("someName", target.getName());
+  }
+
+  @Test
+  public void testMapAll() {
+    Source source = new Source();
+    source.setName("someName");
+
+    List<Target> targets =
+        BeanMapper.of(Source.class, Target.class).mapAll(Arrays.asList(source, null));
+
+    assertEquals(2, targets.size());
+    assertEquals("someName", targets.get(0).getName());
+    assertNull(targets.get(1));
+    assertSame(Collections.emptyList(),
+        BeanMapper.of(Source.class, Target.class).mapAll(Collections.emptyList()));
+  }
+
+  @Test
+  public void testMapperIsCached() {
+    assertSame(BeanMapper.of(Source.class, Target.class),
+        BeanMapper.of(Source.class, Target.class));
+  }
+
+  @Test
+  public void testMatchesSpringCopyProperties() {
+    Source source = new Source();
+    source.setId(5);
+    source.setName("someName");
+    source.setCount(7);
+    source.setTags("a,b");
+
+    Target expected = new Target();
+    org.springframework.beans.BeanUtils.copyProperties(source, expected);
+
+    Target actual = BeanUtils.transform(Target.class, source);
+
+    assertEquals(expected.getId(), actual.getId());
+    assertEquals(expected.getName(), actual.getName());
+    assertEquals(expected.getCount(), actual.getCount());
+    assertEquals(expected.isEnabled(), actual.isEnabled());
+    assertEquals(expected.getTags(), actual.getTags());
+  }
+
+  @Test(expected = BeanUtilsException.class)
+  public void testMapWithoutDefaultConstructor() {
+    BeanMapper.of(Source.class, NoDefaultConstructor.class).map(new Source());
+  }
+
+  @Test(expected = BeanUtilsException.class)
+  public void testOfNullClass() {
+    BeanMapper.of(Source.class, null);
+  }
+
+  public static class Source {
+    private long id;
+    private String name;
+    private Integer count;
+    private boolean enabled;
+    private String tags;
+
+    public long getId() {
+      return id;
+    }
+
+    public void setId(long id) {
+      this.id = id;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public Integer getCount() {
+      return count;
+    }
+
+    public void setCount(Integer count) {
+      this.count = count;
+    }
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public String getTags() {
+      return tags;
+    }
+
+    public void setTags(String tags) {
+      this.tags = tags;
+    }
+  }
+
+  public static class Target {
+    static final String DEFAULT_NAME = "defaultName";
+    static final int DEFAULT_COUNT = -1;
+
+    private long id;
+    private String name = DEFAULT_NAME;
+    private int count = DEFAULT_COUNT;
+    private boolean enabled;
+    private List<String> tags;
+
+    public long getId() {
+      return id;
+    }
+
+    public void setId(long id) {
+      this.id = id;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public int getCount() {
+      return count;
+    }
+
+    public void setCount(int count) {
+      this.count = count;
+    }
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public List<String> getTags() {
+      return tags;
+    }
+
+    public void setTags(List<String> tags) {
+      this.tags = tags;
+    }
+  }
+
+  static class HiddenSource {
+    private String name;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+  }
+
+  public static class NoDefaultConstructor {
+    public NoDefaultConstructor(String name) {
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.common.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.ctrip.framework.apollo.common.dto.CursorPageDTO;
+import com.ctrip.framework.apollo.common.exception.BadRequestException;
+import com.google.common.collect.Lists;
+import java.util.List;
+import org.junit.Test;
+
+public class ContinuationTokenTest {
+
+  @Test
+  public void testEncodeAndDecode() {
+    assertEquals(123L, ContinuationToken.decode(ContinuationToken.encode(123L), 0));
+    assertEquals(Long.MAX_VALUE,
+        ContinuationToken.decode(ContinuationToken.encode(Long.MAX_VALUE), 0));
+  }
+
+  @Test
+  public void testDecodeEmptyToken() {
+    assertEquals(Long.MAX_VALUE, ContinuationToken.decode("", Long.MAX_VALUE));
+    assertEquals(0, ContinuationToken.decode(null, 0));
+  }
+
+  @Test(expected = BadRequestException.class)
+  public void testDecodeInvalidToken() {
+    ContinuationToken.decode("123", 0);
+  }
+
+  @Test(expected = BadRequestException.class)
+  public void testDecodeMalformedToken() {
+    ContinuationToken.decode("not base64!", 0);
+  }
+
+  @Test
+  public void testToPageWithNextPage() {
+    List<Long> rows = Lists.newArrayList(1L, 2L, 3L);
+
+    CursorPageDTO<String> page =
+        ContinuationToken.toPage(rows, 2, Long::longValue, this::toStrings);
+
+    assertEquals(Lists.newArrayList("1", "2"), page.getContent());
+    assertEquals(2, page.getSize());
+    assertTrue(page.hasNext());
+    assertEquals(2L, ContinuationToken.decode(page.getNextContinuationToken(), 0));
+  }
+
+  @Test
+  public void testToPageWithoutNextPage() {
+    List<Long> rows = Lists.newArrayList(1L, 2L);
+
+    CursorPageDTO<String> page =
+        ContinuationToken.toPage(rows, 2, Long::longValue, this::toStrings);
+
+    assertEquals(Lists.newArrayList("1", "2"), page.getContent());
+    assertFalse(page.hasNext());
+    assertNull(page.getNextContinuationToken());
+  }
+
+  private List<String> toStrings(List<Long> rows) {
+    List<String> result = Lists.newArrayList();
+    for (Long row : rows) {
+      result.add(String.valueOf(row));
+    }
+    return result;
+  }
+}
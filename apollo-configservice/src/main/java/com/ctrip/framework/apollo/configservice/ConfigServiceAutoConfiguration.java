@@ -112,6 +112,7 @@ public class ConfigServiceAutoConfiguration {
     private final ConfigService configService;
     private final BizConfig bizConfig;
     private final ReleaseMessageRepository releaseMessageRepository;
+    private final MeterRegistry meterRegistry;
 
     public MessageScannerConfiguration(final NotificationController notificationController,
         final ConfigFileController configFileController,
@@ -119,7 +120,8 @@ public class ConfigServiceAutoConfiguration {
         final GrayReleaseRulesHolder grayReleaseRulesHolder,
         final ReleaseMessageServiceWithCache releaseMessageServiceWithCache,
         final ConfigService configService, final BizConfig bizConfig,
-        final ReleaseMessageRepository releaseMessageRepository) {
+        final ReleaseMessageRepository releaseMessageRepository,
+        final MeterRegistry meterRegistry) {
       this.notificationController = notificationController;
       this.configFileController = configFileController;
       this.notificationControllerV2 = notificationControllerV2;
@@ -128,12 +130,13 @@ public class ConfigServiceAutoConfiguration {
       this.configService = configService;
       this.bizConfig = bizConfig;
       this.releaseMessageRepository = releaseMessageRepository;
+      this.meterRegistry = meterRegistry;
     }
 
     @Bean
     public ReleaseMessageScanner releaseMessageScanner() {
       ReleaseMessageScanner releaseMessageScanner =
-          new ReleaseMessageScanner(bizConfig, releaseMessageRepository);
+          new ReleaseMessageScanner(bizConfig, releaseMessageRepository, meterRegistry);
       // 0. handle release message cache
       releaseMessageScanner.addMessageListener(releaseMessageServiceWithCache);
       // 1. handle gray release rule
@@ -110,6 +110,15 @@ public class ConfigController {
       clientIp = WebUtils.tryToGetClientIp(request);
     }
 
+    boolean namespaceBelongsToAppId = namespaceBelongsToAppId(appId, namespace);
+
+    // neither a namespace of the app nor a public one, so there is no release to look up
+    if (bizConfig.isConfigServiceNamespaceExistenceCheckEnabled()
+        && !namespaceExists(appId, namespace, namespaceBelongsToAppId)) {
+      sendNotFound(appId, clusterName, originalNamespace, dataCenter, response);
+      return null;
+    }
+
     ApolloNotificationMessages clientMessages = transformMessages(messagesAsString);
 
     List<Release> releases = Lists.newLinkedList();
@@ -127,7 +136,7 @@ public class ConfigController {
     }
 
     // if namespace does not belong to this appId, should check if there is a public configuration
-    if (!namespaceBelongsToAppId(appId, namespace)) {
+    if (!namespaceBelongsToAppId) {
       Release publicRelease = this.findPublicConfig(appId, clientIp, clientLabel, clusterName,
           namespace, dataCenter, clientMessages);
       if (Objects.nonNull(publicRelease)) {
@@ -136,12 +145,7 @@ public class ConfigController {
     }
 
     if (releases.isEmpty()) {
-      response.sendError(HttpServletResponse.SC_NOT_FOUND,
-          String.format(
-              "Could not load configurations with appId: %s, clusterName: %s, namespace: %s", appId,
-              clusterName, originalNamespace));
-      Tracer.logEvent("Apollo.Config.NotFound",
-          assembleKey(appId, clusterName, originalNamespace, dataCenter));
+      sendNotFound(appId, clusterName, originalNamespace, dataCenter, response);
       return null;
     }
 
@@ -214,6 +218,26 @@ public class ConfigController {
     return apolloConfig;
   }
 
+  private void sendNotFound(String appId, String clusterName, String namespace, String dataCenter,
+      HttpServletResponse response) throws IOException {
+    response.sendError(HttpServletResponse.SC_NOT_FOUND,
+        String.format(
+            "Could not load configurations with appId: %s, clusterName: %s, namespace: %s", appId,
+            clusterName, namespace));
+    Tracer.logEvent("Apollo.Config.NotFound",
+        assembleKey(appId, clusterName, namespace, dataCenter));
+  }
+
+  private boolean namespaceExists(String appId, String namespaceName,
+      boolean namespaceBelongsToAppId) {
+    // 'application' belongs to every appId, but only a known app has its app namespace
+    if (Objects.equals(ConfigConsts.NAMESPACE_APPLICATION, namespaceName)) {
+      return appNamespaceService.findByAppIdAndNamespace(appId, namespaceName) != null;
+    }
+    return namespaceBelongsToAppId
+        || appNamespaceService.findPublicNamespaceByName(namespaceName) != null;
+  }
+
   private boolean namespaceBelongsToAppId(String appId, String namespaceName) {
     // Every app has an 'application' namespace
     if (Objects.equals(ConfigConsts.NAMESPACE_APPLICATION, namespaceName)) {
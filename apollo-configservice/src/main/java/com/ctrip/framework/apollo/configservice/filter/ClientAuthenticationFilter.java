@@ -22,10 +22,13 @@ import com.ctrip.framework.apollo.configservice.util.AccessKeyUtil;
 import com.ctrip.framework.apollo.core.signature.Signature;
 import com.ctrip.framework.apollo.core.utils.StringUtils;
 import com.ctrip.framework.apollo.tracer.Tracer;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.net.HttpHeaders;
 import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
 import javax.servlet.FilterConfig;
@@ -44,13 +47,22 @@ import org.springframework.util.CollectionUtils;
 public class ClientAuthenticationFilter implements Filter {
 
   private static final Logger logger = LoggerFactory.getLogger(ClientAuthenticationFilter.class);
+  private static final long VERIFIED_SIGNATURE_CACHE_SIZE = 10000;
+  private static final char KEY_SEPARATOR = '\n';
 
   private final BizConfig bizConfig;
   private final AccessKeyUtil accessKeyUtil;
+  // appId+timestamp+path+signature -> the secrets which verified the signature
+  private final Cache<String, List<String>> verifiedSignatures;
 
   public ClientAuthenticationFilter(BizConfig bizConfig, AccessKeyUtil accessKeyUtil) {
     this.bizConfig = bizConfig;
     this.accessKeyUtil = accessKeyUtil;
+    // the timestamp is only valid within the tolerance window, so are the verified signatures
+    this.verifiedSignatures = CacheBuilder.newBuilder()
+        .maximumSize(VERIFIED_SIGNATURE_CACHE_SIZE)
+        .expireAfterWrite(1, TimeUnit.MINUTES)
+        .build();
   }
 
   @Override
@@ -113,7 +125,7 @@ public class ClientAuthenticationFilter implements Filter {
     }
 
     // check signature
-    if (!checkAuthorization(authorization, secrets, timestamp, req.getRequestURI(),
+    if (!checkAuthorization(appId, authorization, secrets, timestamp, req.getRequestURI(),
         req.getQueryString())) {
       if (preCheck) {
         preCheckInvalidLogging(String.format(
@@ -148,8 +160,8 @@ public class ClientAuthenticationFilter implements Filter {
     return Math.abs(x) < authTimeDiffToleranceInMillis;
   }
 
-  private boolean checkAuthorization(String authorization, List<String> availableSecrets,
-      String timestamp, String path, String query) {
+  private boolean checkAuthorization(String appId, String authorization,
+      List<String> availableSecrets, String timestamp, String path, String query) {
 
     String signature = null;
     if (authorization != null) {
@@ -159,15 +171,38 @@ public class ClientAuthenticationFilter implements Filter {
       }
     }
 
+    String cacheKey = null;
+    if (signature != null) {
+      cacheKey = verifiedSignatureKey(appId, timestamp, path, query, signature);
+      // the secrets are replaced as a whole when access keys change, so a verification made with
+      // other secrets must not be trusted
+      if (verifiedSignatures.getIfPresent(cacheKey) == availableSecrets) {
+        return true;
+      }
+    }
+
     for (String secret : availableSecrets) {
       String availableSignature = accessKeyUtil.buildSignature(path, query, timestamp, secret);
       if (Objects.equals(signature, availableSignature)) {
+        if (cacheKey != null) {
+          verifiedSignatures.put(cacheKey, availableSecrets);
+        }
         return true;
       }
     }
     return false;
   }
 
+  private String verifiedSignatureKey(String appId, String timestamp, String path, String query,
+      String signature) {
+    StringBuilder key = new StringBuilder(appId).append(KEY_SEPARATOR).append(timestamp)
+        .append(KEY_SEPARATOR).append(path);
+    if (query != null) {
+      key.append('?').append(query);
+    }
+    return key.append(KEY_SEPARATOR).append(signature).toString();
+  }
+
   protected void preCheckInvalidLogging(String message) {
     logger.warn(message);
     Tracer.logEvent("Apollo.AccessKey.PreCheck", message);
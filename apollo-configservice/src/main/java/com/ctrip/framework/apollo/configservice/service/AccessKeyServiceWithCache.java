@@ -20,9 +20,11 @@ import com.ctrip.framework.apollo.biz.config.BizConfig;
 import com.ctrip.framework.apollo.biz.entity.AccessKey;
 import com.ctrip.framework.apollo.biz.repository.AccessKeyRepository;
 import com.ctrip.framework.apollo.common.constants.AccessKeyMode;
+import com.ctrip.framework.apollo.configservice.util.AccessKeySigner;
 import com.ctrip.framework.apollo.core.utils.ApolloThreadFactory;
 import com.ctrip.framework.apollo.tracer.Tracer;
 import com.ctrip.framework.apollo.tracer.spi.Transaction;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -33,7 +35,9 @@ import com.google.common.collect.Sets.SetView;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
@@ -67,6 +71,10 @@ public class AccessKeyServiceWithCache implements InitializingBean {
   private ListMultimap<String, AccessKey> accessKeyCache;
   private ConcurrentMap<Long, AccessKey> accessKeyIdCache;
 
+  // immutable copies of the cache for the request threads, replaced by the scan thread on changes
+  private volatile Map<String, AppAccessKeys> accessKeySnapshot;
+  private volatile Map<String, AccessKeySigner> signerSnapshot;
+
   public AccessKeyServiceWithCache(final AccessKeyRepository accessKeyRepository,
       final BizConfig bizConfig) {
     this.accessKeyRepository = accessKeyRepository;
@@ -84,26 +92,37 @@ public class AccessKeyServiceWithCache implements InitializingBean {
         ListMultimapBuilder.treeKeys(String.CASE_INSENSITIVE_ORDER).arrayListValues().build();
     accessKeyCache = Multimaps.synchronizedListMultimap(multimap);
     accessKeyIdCache = Maps.newConcurrentMap();
+    accessKeySnapshot = Collections.emptyMap();
+    signerSnapshot = Collections.emptyMap();
   }
 
   public List<String> getAvailableSecrets(String appId) {
-    return getSecrets(appId, key -> key.isEnabled() && key.getMode() == AccessKeyMode.FILTER);
+    AppAccessKeys appAccessKeys = accessKeySnapshot.get(appId);
+    return appAccessKeys == null ? Collections.emptyList() : appAccessKeys.availableSecrets;
   }
 
   public List<String> getObservableSecrets(String appId) {
-    return getSecrets(appId, key -> key.isEnabled() && key.getMode() == AccessKeyMode.OBSERVER);
+    AppAccessKeys appAccessKeys = accessKeySnapshot.get(appId);
+    return appAccessKeys == null ? Collections.emptyList() : appAccessKeys.observableSecrets;
   }
 
   public List<String> getSecrets(String appId, Predicate<AccessKey> filter) {
-    List<AccessKey> accessKeys = accessKeyCache.get(appId);
-    if (CollectionUtils.isEmpty(accessKeys)) {
+    AppAccessKeys appAccessKeys = accessKeySnapshot.get(appId);
+    if (appAccessKeys == null) {
       return Collections.emptyList();
     }
 
-    return accessKeys.stream().filter(filter).map(AccessKey::getSecret)
+    return appAccessKeys.accessKeys.stream().filter(filter).map(AccessKey::getSecret)
         .collect(Collectors.toList());
   }
 
+  /**
+   * @return the signer of an enabled secret, or null if the secret is unknown
+   */
+  public AccessKeySigner getSigner(String secret) {
+    return signerSnapshot.get(secret);
+  }
+
   @Override
   public void afterPropertiesSet() throws Exception {
     populateDataBaseInterval();
@@ -146,6 +165,7 @@ public class AccessKeyServiceWithCache implements InitializingBean {
 
   private void loadNewAndUpdatedAccessKeys() {
     boolean hasMore = true;
+    boolean changed = false;
     Date currentTime = new Date();
 
     if (!lastTimeScanned.equals(new Date(0L))) {
@@ -161,6 +181,7 @@ public class AccessKeyServiceWithCache implements InitializingBean {
 
       int scanned = accessKeys.size();
       mergeAccessKeys(accessKeys);
+      changed |= scanned > 0;
       if (scanned > 0) {
         logger.info("Loaded {} new/updated Accesskey from startTime {}", scanned, lastTimeScanned);
       }
@@ -181,6 +202,11 @@ public class AccessKeyServiceWithCache implements InitializingBean {
         lastTimeScanned = currentTime;
       }
     }
+
+    // once for all the batches, the initial load may take many of them
+    if (changed) {
+      rebuildSnapshot();
+    }
   }
 
   private void mergeAccessKeys(List<AccessKey> accessKeys) {
@@ -204,6 +230,7 @@ public class AccessKeyServiceWithCache implements InitializingBean {
       return;
     }
 
+    boolean changed = false;
     List<List<Long>> partitionIds = Lists.partition(ids, 500);
     for (List<Long> toRebuildIds : partitionIds) {
       Iterable<AccessKey> accessKeys = accessKeyRepository.findAllById(toRebuildIds);
@@ -215,14 +242,22 @@ public class AccessKeyServiceWithCache implements InitializingBean {
 
       // handle deleted
       SetView<Long> deletedIds = Sets.difference(Sets.newHashSet(toRebuildIds), foundIds);
-      handleDeletedAccessKeys(deletedIds);
+      changed |= handleDeletedAccessKeys(deletedIds);
+    }
+
+    if (changed) {
+      rebuildSnapshot();
     }
   }
 
-  private void handleDeletedAccessKeys(Set<Long> deletedIds) {
+  /**
+   * @return whether any cached access key was deleted
+   */
+  private boolean handleDeletedAccessKeys(Set<Long> deletedIds) {
     if (CollectionUtils.isEmpty(deletedIds)) {
-      return;
+      return false;
     }
+    boolean changed = false;
     for (Long deletedId : deletedIds) {
       AccessKey deleted = accessKeyIdCache.remove(deletedId);
       if (deleted == null) {
@@ -230,8 +265,46 @@ public class AccessKeyServiceWithCache implements InitializingBean {
       }
 
       accessKeyCache.remove(deleted.getAppId(), deleted);
+      changed = true;
       logger.info("Found AccessKey deleted, {}", deleted);
     }
+    return changed;
+  }
+
+  // copy on write, the request threads read the snapshots without any lock
+  private void rebuildSnapshot() {
+    Map<String, AppAccessKeys> accessKeys = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    Map<String, AccessKeySigner> signers = Maps.newHashMap();
+    Map<String, AccessKeySigner> previousSigners = signerSnapshot;
+
+    synchronized (accessKeyCache) {
+      for (String appId : accessKeyCache.keySet()) {
+        AppAccessKeys appAccessKeys = new AppAccessKeys(accessKeyCache.get(appId));
+        accessKeys.put(appId, appAccessKeys);
+
+        for (AccessKey accessKey : appAccessKeys.accessKeys) {
+          if (accessKey.isEnabled() && !signers.containsKey(accessKey.getSecret())) {
+            AccessKeySigner signer = previousSigners.get(accessKey.getSecret());
+            signers.put(accessKey.getSecret(),
+                signer != null ? signer : createSigner(accessKey.getSecret()));
+          }
+        }
+      }
+    }
+    signers.values().removeIf(signer -> signer == null);
+
+    accessKeySnapshot = Collections.unmodifiableMap(accessKeys);
+    signerSnapshot = Collections.unmodifiableMap(signers);
+  }
+
+  private AccessKeySigner createSigner(String secret) {
+    try {
+      return new AccessKeySigner(secret);
+    } catch (IllegalArgumentException ex) {
+      // e.g. empty secret, fall back to sign on demand
+      logger.warn("Create signer for access key failed", ex);
+      return null;
+    }
   }
 
   private void populateDataBaseInterval() {
@@ -240,4 +313,22 @@ public class AccessKeyServiceWithCache implements InitializingBean {
     rebuildInterval = bizConfig.accessKeyCacheRebuildInterval();
     rebuildIntervalTimeUnit = bizConfig.accessKeyCacheRebuildIntervalTimeUnit();
   }
+
+  private static class AppAccessKeys {
+
+    private final List<AccessKey> accessKeys;
+    private final List<String> availableSecrets;
+    private final List<String> observableSecrets;
+
+    AppAccessKeys(List<AccessKey> accessKeys) {
+      this.accessKeys = ImmutableList.copyOf(accessKeys);
+      this.availableSecrets = secrets(AccessKeyMode.FILTER);
+      this.observableSecrets = secrets(AccessKeyMode.OBSERVER);
+    }
+
+    private List<String> secrets(int mode) {
+      return accessKeys.stream().filter(key -> key.isEnabled() && key.getMode() == mode)
+          .map(AccessKey::getSecret).collect(ImmutableList.toImmutableList());
+    }
+  }
 }
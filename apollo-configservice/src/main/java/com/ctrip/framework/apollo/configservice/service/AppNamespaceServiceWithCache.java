@@ -60,6 +60,7 @@ public class AppNamespaceServiceWithCache implements InitializingBean {
   private TimeUnit rebuildIntervalTimeUnit;
   private ScheduledExecutorService scheduledExecutorService;
   private long maxIdScanned;
+  private Date lastTimeScanned;
 
   // store namespaceName -> AppNamespace
   private CaseInsensitiveMapWrapper<AppNamespace> publicAppNamespaceCache;
@@ -79,6 +80,7 @@ public class AppNamespaceServiceWithCache implements InitializingBean {
 
   private void initialize() {
     maxIdScanned = 0;
+    lastTimeScanned = null;
     publicAppNamespaceCache = new CaseInsensitiveMapWrapper<>(Maps.newConcurrentMap());
     appNamespaceCache = new CaseInsensitiveMapWrapper<>(Maps.newConcurrentMap());
     appNamespaceIdCache = Maps.newConcurrentMap();
@@ -131,6 +133,8 @@ public class AppNamespaceServiceWithCache implements InitializingBean {
   @Override
   public void afterPropertiesSet() throws Exception {
     populateDataBaseInterval();
+    // changes before the initial load are covered by the load itself
+    lastTimeScanned = new Date();
     scanNewAppNamespaces(); // block the startup process until load finished
     scheduledExecutorService.scheduleAtFixedRate(() -> {
       Transaction transaction =
@@ -147,6 +151,8 @@ public class AppNamespaceServiceWithCache implements InitializingBean {
     }, rebuildInterval, rebuildInterval, rebuildIntervalTimeUnit);
     scheduledExecutorService.scheduleWithFixedDelay(this::scanNewAppNamespaces, scanInterval,
         scanInterval, scanIntervalTimeUnit);
+    scheduledExecutorService.scheduleWithFixedDelay(this::scanUpdatedAndDeletedAppNamespaces,
+        scanInterval, scanInterval, scanIntervalTimeUnit);
   }
 
   private void scanNewAppNamespaces() {
@@ -163,6 +169,20 @@ public class AppNamespaceServiceWithCache implements InitializingBean {
     }
   }
 
+  private void scanUpdatedAndDeletedAppNamespaces() {
+    Transaction transaction = Tracer.newTransaction("Apollo.AppNamespaceServiceWithCache",
+        "scanUpdatedAndDeletedAppNamespaces");
+    try {
+      this.loadUpdatedAndDeletedAppNamespaces();
+      transaction.setStatus(Transaction.SUCCESS);
+    } catch (Throwable ex) {
+      transaction.setStatus(ex);
+      logger.error("Load updated/deleted app namespaces failed", ex);
+    } finally {
+      transaction.complete();
+    }
+  }
+
   // for those new app namespaces
   private void loadNewAppNamespaces() {
     boolean hasMore = true;
@@ -191,7 +211,48 @@ public class AppNamespaceServiceWithCache implements InitializingBean {
     }
   }
 
-  // for those updated or deleted app namespaces
+  // for those updated or deleted app namespaces since last scan, by DataChange_LastTime watermark
+  private void loadUpdatedAndDeletedAppNamespaces() {
+    boolean hasMore = true;
+    Date currentTime = new Date();
+
+    // prevent time drift
+    Date startTime = new Date(lastTimeScanned.getTime() - 1000);
+
+    while (hasMore && !Thread.currentThread().isInterrupted()) {
+      // current batch is 500
+      List<AppNamespace> appNamespaces = appNamespaceRepository
+          .findFirst500ByDataChangeLastModifiedTimeGreaterThanEqualAndDataChangeLastModifiedTimeLessThanOrderByDataChangeLastModifiedTimeAsc(
+              startTime, currentTime);
+
+      int scanned = appNamespaces.size();
+      handleUpdatedAppNamespaces(appNamespaces);
+
+      hasMore = scanned == 500;
+
+      // In order to avoid missing some records at the last time, we need to scan records at this
+      // time individually
+      if (hasMore) {
+        Date lastModifiedTime = appNamespaces.get(scanned - 1).getDataChangeLastModifiedTime();
+        handleUpdatedAppNamespaces(
+            appNamespaceRepository.findByDataChangeLastModifiedTime(lastModifiedTime));
+        startTime = new Date(lastModifiedTime.getTime() + 1000);
+      }
+    }
+
+    // soft deleted rows are tombstones, their DataChange_LastTime is updated when deleted
+    List<AppNamespace> deletedAppNamespaces = appNamespaceRepository
+        .findDeletedByDataChangeLastModifiedTimeBetween(
+            new Date(lastTimeScanned.getTime() - 1000), currentTime);
+    if (!CollectionUtils.isEmpty(deletedAppNamespaces)) {
+      handleDeletedAppNamespaces(
+          deletedAppNamespaces.stream().map(AppNamespace::getId).collect(Collectors.toSet()));
+    }
+
+    lastTimeScanned = currentTime;
+  }
+
+  // full consistency check for those updated or deleted app namespaces
   private void updateAndDeleteCache() {
     List<Long> ids = appNamespaceIdCache.keySet().stream().sorted().collect(Collectors.toList());
     if (CollectionUtils.isEmpty(ids)) {
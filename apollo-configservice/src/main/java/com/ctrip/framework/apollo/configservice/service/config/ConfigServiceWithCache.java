@@ -24,6 +24,7 @@ import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 
 import com.ctrip.framework.apollo.biz.entity.Release;
 import com.ctrip.framework.apollo.biz.entity.ReleaseMessage;
@@ -33,6 +34,7 @@ import com.ctrip.framework.apollo.biz.service.ReleaseService;
 import com.ctrip.framework.apollo.biz.utils.ReleaseMessageKeyGenerator;
 import com.ctrip.framework.apollo.core.ConfigConsts;
 import com.ctrip.framework.apollo.core.dto.ApolloNotificationMessages;
+import com.ctrip.framework.apollo.core.utils.ApolloThreadFactory;
 import com.ctrip.framework.apollo.tracer.Tracer;
 import com.ctrip.framework.apollo.tracer.spi.Transaction;
 
@@ -48,9 +50,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import org.springframework.util.CollectionUtils;
 
 /**
@@ -61,11 +67,15 @@ import org.springframework.util.CollectionUtils;
 public class ConfigServiceWithCache extends AbstractConfigService {
   private static final Logger logger = LoggerFactory.getLogger(ConfigServiceWithCache.class);
   private static final long DEFAULT_EXPIRED_AFTER_ACCESS_IN_MINUTES = 60;// 1 hour
+  private static final int WARM_UP_QUEUE_SIZE = 10000;
+  private static final long ACCESS_RECORD_INTERVAL_IN_MILLI = 1000;
   private static final String TRACER_EVENT_CACHE_INVALIDATE = "ConfigCache.Invalidate";
   private static final String TRACER_EVENT_CACHE_LOAD = "ConfigCache.LoadFromDB";
   private static final String TRACER_EVENT_CACHE_LOAD_ID = "ConfigCache.LoadFromDBById";
   private static final String TRACER_EVENT_CACHE_GET = "ConfigCache.Get";
   private static final String TRACER_EVENT_CACHE_GET_ID = "ConfigCache.GetById";
+  private static final String TRACER_EVENT_CACHE_WARM_UP = "ConfigCache.WarmUp";
+  private static final String TRACER_EVENT_CACHE_WARM_UP_REJECTED = "ConfigCache.WarmUpRejected";
   private static final String TRACER_EVENT_CACHE_LOAD_RELEASE_KEY =
       "ConfigCache.LoadFromDBByReleaseKey";
 
@@ -82,6 +92,14 @@ public class ConfigServiceWithCache extends AbstractConfigService {
 
   private ConfigCacheEntry nullConfigCacheEntry;
 
+  private ThreadPoolExecutor warmUpExecutorService;
+
+  /**
+   * keys waiting for a warm up, a key is removed once its warm up starts so that a release during
+   * the load schedules another one
+   */
+  private final Set<String> pendingWarmUps = Sets.newConcurrentHashSet();
+
   public ConfigServiceWithCache(final ReleaseService releaseService,
       final ReleaseMessageService releaseMessageService,
       final GrayReleaseRulesHolder grayReleaseRulesHolder, final BizConfig bizConfig,
@@ -99,6 +117,14 @@ public class ConfigServiceWithCache extends AbstractConfigService {
     buildConfigCache();
     buildConfigIdCache();
     buildReleaseKeyCache();
+    buildWarmUpExecutor();
+  }
+
+  @PreDestroy
+  void stop() {
+    if (warmUpExecutorService != null) {
+      warmUpExecutorService.shutdownNow();
+    }
   }
 
   @Override
@@ -129,6 +155,8 @@ public class ConfigServiceWithCache extends AbstractConfigService {
       cacheEntry = configCache.getUnchecked(cacheKey);
     }
 
+    cacheEntry.recordAccess();
+
     return cacheEntry.getRelease();
   }
 
@@ -140,25 +168,75 @@ public class ConfigServiceWithCache extends AbstractConfigService {
   @Override
   public void handleMessage(ReleaseMessage message, String channel) {
     logger.info("message received - channel: {}, message: {}", channel, message);
-    if (!Topics.APOLLO_RELEASE_TOPIC.equals(channel)
-        || Strings.isNullOrEmpty(message.getMessage())) {
+    String cacheKey = toCacheKey(message, channel);
+    if (cacheKey == null) {
       return;
     }
+    // asMap().get doesn't count as a cache hit or miss
+    ConfigCacheEntry cacheEntry = configCache.asMap().get(cacheKey);
+    invalidate(cacheKey);
+
+    if (shouldWarmUp(cacheEntry)) {
+      scheduleWarmUp(cacheKey, cacheEntry.getLastAccessTime());
+    }
+  }
 
+  /**
+   * Only reload namespaces which were in the cache and read recently, the others are loaded on
+   * their next request anyway. The shared null entry doesn't tell which key was read, so keys
+   * without releases are skipped as well.
+   */
+  private boolean shouldWarmUp(ConfigCacheEntry cacheEntry) {
+    if (warmUpExecutorService == null || cacheEntry == null
+        || cacheEntry == nullConfigCacheEntry) {
+      return false;
+    }
+    return System.currentTimeMillis() - cacheEntry.getLastAccessTime()
+        < bizConfig.configServiceCacheWarmUpRecentAccessInMilli();
+  }
+
+  private void scheduleWarmUp(String cacheKey, long lastAccessTime) {
+    // a warm up not started yet loads the latest release anyway
+    if (!pendingWarmUps.add(cacheKey)) {
+      return;
+    }
     try {
-      String messageKey = message.getMessage();
-      if (bizConfig.isConfigServiceCacheKeyIgnoreCase()) {
-        messageKey = messageKey.toLowerCase();
-      }
-      invalidate(messageKey);
+      warmUpExecutorService.execute(() -> {
+        pendingWarmUps.remove(cacheKey);
+        warmUp(cacheKey, lastAccessTime);
+      });
+    } catch (RejectedExecutionException ex) {
+      pendingWarmUps.remove(cacheKey);
+      Tracer.logEvent(TRACER_EVENT_CACHE_WARM_UP_REJECTED, cacheKey);
+    }
+  }
 
-      // warm up the cache
-      configCache.getUnchecked(messageKey);
+  /**
+   * The warmed entry keeps the last access time of the invalidated one, a warm up is no access, so
+   * a key nobody reads stops being warmed up and expires.
+   */
+  private void warmUp(String cacheKey, long lastAccessTime) {
+    Tracer.logEvent(TRACER_EVENT_CACHE_WARM_UP, cacheKey);
+    try {
+      // concurrent requests of the key wait for this load instead of loading again
+      configCache.getUnchecked(cacheKey).inheritAccess(lastAccessTime);
     } catch (Throwable ex) {
       // ignore
     }
   }
 
+  private String toCacheKey(ReleaseMessage message, String channel) {
+    if (!Topics.APOLLO_RELEASE_TOPIC.equals(channel)
+        || Strings.isNullOrEmpty(message.getMessage())) {
+      return null;
+    }
+    String messageKey = message.getMessage();
+    if (bizConfig.isConfigServiceCacheKeyIgnoreCase()) {
+      messageKey = messageKey.toLowerCase();
+    }
+    return messageKey;
+  }
+
   @Override
   public Map<String, Release> findReleasesByReleaseKeys(Set<String> releaseKeys) {
     try {
@@ -245,6 +323,17 @@ public class ConfigServiceWithCache extends AbstractConfigService {
 
   }
 
+  private void buildWarmUpExecutor() {
+    int parallelism = bizConfig.configServiceCacheWarmUpParallelism();
+    if (parallelism <= 0) {
+      return;
+    }
+    warmUpExecutorService = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(WARM_UP_QUEUE_SIZE),
+        ApolloThreadFactory.create("ConfigCacheWarmUp", true));
+    warmUpExecutorService.allowCoreThreadTimeOut(true);
+  }
+
   private void buildReleaseKeyCache() {
     CacheBuilder releaseKeyCacheBuilder = CacheBuilder.newBuilder()
         .expireAfterAccess(DEFAULT_EXPIRED_AFTER_ACCESS_IN_MINUTES, TimeUnit.MINUTES);
@@ -312,6 +401,7 @@ public class ConfigServiceWithCache extends AbstractConfigService {
   private static class ConfigCacheEntry {
     private final long notificationId;
     private final Release release;
+    private volatile long lastAccessTime;
 
     public ConfigCacheEntry(long notificationId, Release release) {
       this.notificationId = notificationId;
@@ -325,5 +415,28 @@ public class ConfigServiceWithCache extends AbstractConfigService {
     public Release getRelease() {
       return release;
     }
+
+    public long getLastAccessTime() {
+      return lastAccessTime;
+    }
+
+    /**
+     * hot keys are read by many threads at once, so the time is written at most once a second
+     */
+    public void recordAccess() {
+      long now = System.currentTimeMillis();
+      if (now - lastAccessTime >= ACCESS_RECORD_INTERVAL_IN_MILLI) {
+        lastAccessTime = now;
+      }
+    }
+
+    /**
+     * keep the access of the entry this one replaced, unless it was read since
+     */
+    public void inheritAccess(long accessTime) {
+      if (accessTime > lastAccessTime) {
+        lastAccessTime = accessTime;
+      }
+    }
   }
 }
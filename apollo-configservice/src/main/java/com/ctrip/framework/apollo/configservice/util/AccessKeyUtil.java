@@ -73,6 +73,11 @@ public class AccessKeyUtil {
       pathWithQuery += "?" + query;
     }
 
+    AccessKeySigner signer = accessKeyServiceWithCache.getSigner(secret);
+    if (signer != null) {
+      return signer.sign(timestampString, pathWithQuery);
+    }
+
     return Signature.signature(timestampString, pathWithQuery, secret);
   }
 }
@@ -16,23 +16,48 @@
  */
 package com.ctrip.framework.apollo.metaservice.controller;
 
+import com.ctrip.framework.apollo.biz.config.BizConfig;
 import com.ctrip.framework.apollo.core.ServiceNameConsts;
 import com.ctrip.framework.apollo.core.dto.ServiceDTO;
 import com.ctrip.framework.apollo.metaservice.service.DiscoveryService;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.Multimaps;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 
 @RestController
 @RequestMapping("/services")
 public class ServiceController {
 
+  private static final ResponseEntity<List<ServiceDTO>> NOT_MODIFIED_RESPONSE =
+      new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+
   private final DiscoveryService discoveryService;
+  private final BizConfig bizConfig;
+
+  // service id -> pending watches
+  private final Multimap<String, DeferredResult<ResponseEntity<List<ServiceDTO>>>> watches =
+      Multimaps.synchronizedSetMultimap(HashMultimap.create());
 
-  public ServiceController(final DiscoveryService discoveryService) {
+  public ServiceController(final DiscoveryService discoveryService, final BizConfig bizConfig) {
     this.discoveryService = discoveryService;
+    this.bizConfig = bizConfig;
+    this.discoveryService.addChangeListener(this::onServiceInstancesChanged);
   }
 
   /**
@@ -55,4 +80,78 @@ public class ServiceController {
   public List<ServiceDTO> getAdminService() {
     return discoveryService.getServiceInstances(ServiceNameConsts.APOLLO_ADMINSERVICE);
   }
+
+  /**
+   * Long polling version of {@link #getConfigService(String, String)}, the instances are returned
+   * with their version as ETag. If the version in If-None-Match is still the current one, the
+   * request is held until the instances change, or 304 is returned after the long polling timeout.
+   */
+  @GetMapping("/config/watch")
+  public DeferredResult<ResponseEntity<List<ServiceDTO>>> watchConfigService(
+      @RequestParam(value = "appId", defaultValue = "") String appId,
+      @RequestParam(value = "ip", required = false) String clientIp,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String version) {
+    return watch(ServiceNameConsts.APOLLO_CONFIGSERVICE, version);
+  }
+
+  /**
+   * Long polling version of {@link #getAdminService()}
+   *
+   * @see #watchConfigService(String, String, String)
+   */
+  @GetMapping("/admin/watch")
+  public DeferredResult<ResponseEntity<List<ServiceDTO>>> watchAdminService(
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String version) {
+    return watch(ServiceNameConsts.APOLLO_ADMINSERVICE, version);
+  }
+
+  private DeferredResult<ResponseEntity<List<ServiceDTO>>> watch(String serviceId,
+      String version) {
+    DeferredResult<ResponseEntity<List<ServiceDTO>>> result =
+        new DeferredResult<>(bizConfig.longPollingTimeoutInMilli(), NOT_MODIFIED_RESPONSE);
+
+    // register before the check, so the changes in between are not missed
+    watches.put(serviceId, result);
+    result.onCompletion(() -> watches.remove(serviceId, result));
+
+    List<ServiceDTO> services = discoveryService.getServiceInstances(serviceId);
+    String currentVersion = version(services);
+    if (!Objects.equals(currentVersion, version)) {
+      result.setResult(ResponseEntity.ok().eTag(currentVersion).body(services));
+    }
+    return result;
+  }
+
+  private void onServiceInstancesChanged(String serviceId) {
+    List<DeferredResult<ResponseEntity<List<ServiceDTO>>>> results;
+    synchronized (watches) {
+      results = Lists.newArrayList(watches.get(serviceId));
+    }
+    if (results.isEmpty()) {
+      return;
+    }
+
+    List<ServiceDTO> services = discoveryService.getServiceInstances(serviceId);
+    ResponseEntity<List<ServiceDTO>> response =
+        ResponseEntity.ok().eTag(version(services)).body(services);
+    for (DeferredResult<ResponseEntity<List<ServiceDTO>>> result : results) {
+      result.setResult(response);
+    }
+  }
+
+  /**
+   * the version only depends on the instances, so it is the same on every meta service
+   */
+  static String version(List<ServiceDTO> services) {
+    List<ServiceDTO> sorted = Lists.newArrayList(services);
+    sorted.sort(Comparator.comparing(ServiceDTO::getHomepageUrl,
+        Comparator.nullsFirst(Comparator.naturalOrder())));
+    Hasher hasher = Hashing.murmur3_128().newHasher();
+    for (ServiceDTO service : sorted) {
+      hasher.putUnencodedChars(String.valueOf(service.getAppName())).putChar('\n')
+          .putUnencodedChars(String.valueOf(service.getInstanceId())).putChar('\n')
+          .putUnencodedChars(String.valueOf(service.getHomepageUrl())).putChar('\n');
+    }
+    return "\"" + hasher.hash() + "\"";
+  }
 }
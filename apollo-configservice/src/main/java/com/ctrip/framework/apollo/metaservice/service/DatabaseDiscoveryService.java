@@ -21,6 +21,7 @@ import com.ctrip.framework.apollo.biz.registry.ServiceInstance;
 import com.ctrip.framework.apollo.core.dto.ServiceDTO;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
@@ -43,6 +44,11 @@ public class DatabaseDiscoveryService implements DiscoveryService {
     return convert(serviceInstanceList);
   }
 
+  @Override
+  public void addChangeListener(Consumer<String> listener) {
+    this.discoveryClient.addChangeListener(listener);
+  }
+
   static List<ServiceDTO> convert(List<ServiceInstance> list) {
     List<ServiceDTO> serviceDTOList = new ArrayList<>(list.size());
     for (ServiceInstance serviceInstance : list) {
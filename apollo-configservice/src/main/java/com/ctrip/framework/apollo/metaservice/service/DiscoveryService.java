@@ -18,6 +18,7 @@ package com.ctrip.framework.apollo.metaservice.service;
 
 import com.ctrip.framework.apollo.core.dto.ServiceDTO;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface DiscoveryService {
 
@@ -27,4 +28,11 @@ public interface DiscoveryService {
    * instance available
    */
   List<ServiceDTO> getServiceInstances(String serviceId);
+
+  /**
+   * @param listener called with the service id when the service instances change, discovery
+   * services which don't know when the instances change never call it
+   */
+  default void addChangeListener(Consumer<String> listener) {
+  }
 }
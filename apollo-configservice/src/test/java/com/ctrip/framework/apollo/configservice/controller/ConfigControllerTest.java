@@ -230,6 +230,65 @@ public class ConfigControllerTest {
     verify(someResponse, times(1)).sendError(eq(HttpServletResponse.SC_NOT_FOUND), anyString());
   }
 
+  @Test
+  public void testQueryConfigWithUnknownNamespace() throws Exception {
+    String someClientSideReleaseKey = "1";
+    String someUnknownNamespaceName = "someUnknownNamespace";
+    HttpServletResponse someResponse = mock(HttpServletResponse.class);
+
+    when(namespaceUtil.filterNamespaceName(someUnknownNamespaceName))
+        .thenReturn(someUnknownNamespaceName);
+    when(namespaceUtil.normalizeNamespace(someAppId, someUnknownNamespaceName))
+        .thenReturn(someUnknownNamespaceName);
+    when(bizConfig.isConfigServiceNamespaceExistenceCheckEnabled()).thenReturn(true);
+
+    ApolloConfig result = configController.queryConfig(someAppId, someClusterName,
+        someUnknownNamespaceName, someDataCenter, someClientSideReleaseKey, someClientIp,
+        someClientLabel, someMessagesAsString, someRequest, someResponse);
+
+    assertNull(result);
+    verify(someResponse, times(1)).sendError(eq(HttpServletResponse.SC_NOT_FOUND), anyString());
+    verifyNoInteractions(configService);
+  }
+
+  @Test
+  public void testQueryConfigWithUnknownAppId() throws Exception {
+    String someClientSideReleaseKey = "1";
+    HttpServletResponse someResponse = mock(HttpServletResponse.class);
+
+    when(bizConfig.isConfigServiceNamespaceExistenceCheckEnabled()).thenReturn(true);
+
+    ApolloConfig result = configController.queryConfig(someAppId, someClusterName,
+        defaultNamespaceName, someDataCenter, someClientSideReleaseKey, someClientIp,
+        someClientLabel, someMessagesAsString, someRequest, someResponse);
+
+    assertNull(result);
+    verify(someResponse, times(1)).sendError(eq(HttpServletResponse.SC_NOT_FOUND), anyString());
+    verifyNoInteractions(configService);
+  }
+
+  @Test
+  public void testQueryConfigWithKnownAppIdAndExistenceCheck() throws Exception {
+    String someClientSideReleaseKey = "1";
+    String someServerSideNewReleaseKey = "2";
+    HttpServletResponse someResponse = mock(HttpServletResponse.class);
+
+    when(bizConfig.isConfigServiceNamespaceExistenceCheckEnabled()).thenReturn(true);
+    when(appNamespaceService.findByAppIdAndNamespace(someAppId, defaultNamespaceName))
+        .thenReturn(mock(AppNamespace.class));
+    when(configService.loadConfig(someAppId, someClientIp, someClientLabel, someAppId,
+        someClusterName, defaultNamespaceName, someDataCenter, someNotificationMessages))
+        .thenReturn(someRelease);
+    when(someRelease.getReleaseKey()).thenReturn(someServerSideNewReleaseKey);
+    when(someRelease.getNamespaceName()).thenReturn(defaultNamespaceName);
+
+    ApolloConfig result = configController.queryConfig(someAppId, someClusterName,
+        defaultNamespaceName, someDataCenter, someClientSideReleaseKey, someClientIp,
+        someClientLabel, someMessagesAsString, someRequest, someResponse);
+
+    assertEquals(someServerSideNewReleaseKey, result.getReleaseKey());
+  }
+
   @Test
   public void testQueryConfigWithApolloConfigNotModified() throws Exception {
     String someClientSideReleaseKey = "1";
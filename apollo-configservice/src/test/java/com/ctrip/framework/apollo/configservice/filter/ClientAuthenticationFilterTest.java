@@ -191,6 +191,36 @@ public class ClientAuthenticationFilterTest {
     verify(clientAuthenticationFilter, never()).preCheckInvalidLogging(anyString());
   }
 
+  @Test
+  public void testVerifiedSignatureCached() throws Exception {
+    String appId = "someAppId";
+    String availableSignature = "someSignature";
+    List<String> secrets = Lists.newArrayList("someSecret");
+    String timestamp = Long.toString(System.currentTimeMillis());
+    String correctAuthorization = "Apollo someAppId:someSignature";
+
+    when(accessKeyUtil.extractAppIdFromRequest(any())).thenReturn(appId);
+    when(accessKeyUtil.findAvailableSecret(appId)).thenReturn(secrets);
+    when(accessKeyUtil.buildSignature(any(), any(), any(), any())).thenReturn(availableSignature);
+    when(request.getHeader(Signature.HTTP_HEADER_TIMESTAMP)).thenReturn(timestamp);
+    when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn(correctAuthorization);
+    when(bizConfig.accessKeyAuthTimeDiffTolerance()).thenReturn(60);
+
+    clientAuthenticationFilter.doFilter(request, response, filterChain);
+    clientAuthenticationFilter.doFilter(request, response, filterChain);
+
+    verify(accessKeyUtil, times(1)).buildSignature(any(), any(), any(), any());
+    verify(filterChain, times(2)).doFilter(request, response);
+
+    // secrets changed, verify again
+    when(accessKeyUtil.findAvailableSecret(appId)).thenReturn(Lists.newArrayList("someSecret"));
+
+    clientAuthenticationFilter.doFilter(request, response, filterChain);
+
+    verify(accessKeyUtil, times(2)).buildSignature(any(), any(), any(), any());
+    verify(response, never()).sendError(HttpServletResponse.SC_UNAUTHORIZED, "Unauthorized");
+  }
+
   private void verifySuccessAndDoFilter() throws Exception {
     verify(response, never()).sendError(HttpServletResponse.SC_BAD_REQUEST, "InvalidAppId");
     verify(response, never()).sendError(HttpServletResponse.SC_UNAUTHORIZED,
@@ -38,6 +38,7 @@ import java.util.concurrent.TimeUnit;
 
 import static org.awaitility.Awaitility.await;
 import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.when;
 
@@ -289,6 +290,58 @@ public class AppNamespaceServiceWithCacheTest {
     });
   }
 
+  @Test
+  public void testUpdateAndDeleteByLastModifiedTime() throws Exception {
+    // make sure the changes are found by the incremental scan instead of the full rebuild
+    when(bizConfig.appNamespaceCacheRebuildInterval()).thenReturn(1);
+    when(bizConfig.appNamespaceCacheRebuildIntervalTimeUnit()).thenReturn(TimeUnit.HOURS);
+
+    String someAppId = "someAppId";
+    String somePrivateNamespace = "somePrivateNamespace";
+    String somePublicNamespace = "somePublicNamespace";
+
+    AppNamespace somePrivateAppNamespace =
+        assembleAppNamespace(1, someAppId, somePrivateNamespace, false);
+    AppNamespace somePublicAppNamespace =
+        assembleAppNamespace(2, someAppId, somePublicNamespace, true);
+
+    when(appNamespaceRepository.findFirst500ByIdGreaterThanOrderByIdAsc(0))
+        .thenReturn(Lists.newArrayList(somePrivateAppNamespace, somePublicAppNamespace));
+
+    appNamespaceServiceWithCache.afterPropertiesSet();
+
+    assertEquals(somePrivateAppNamespace,
+        appNamespaceServiceWithCache.findByAppIdAndNamespace(someAppId, somePrivateNamespace));
+    assertEquals(somePublicAppNamespace,
+        appNamespaceServiceWithCache.findPublicNamespaceByName(somePublicNamespace));
+
+    // update isPublic of the private one and delete the public one
+    AppNamespace somePrivateAppNamespaceNew =
+        assembleAppNamespace(1, someAppId, somePrivateNamespace, true);
+    somePrivateAppNamespaceNew.setDataChangeLastModifiedTime(
+        newDateWithDelta(somePrivateAppNamespace.getDataChangeLastModifiedTime(), 1));
+    AppNamespace somePublicAppNamespaceDeleted =
+        assembleAppNamespace(2, someAppId, somePublicNamespace, true);
+    somePublicAppNamespaceDeleted.setDeleted(true);
+
+    when(appNamespaceRepository
+        .findFirst500ByDataChangeLastModifiedTimeGreaterThanEqualAndDataChangeLastModifiedTimeLessThanOrderByDataChangeLastModifiedTimeAsc(
+            any(Date.class), any(Date.class)))
+        .thenReturn(Lists.newArrayList(somePrivateAppNamespaceNew));
+    when(appNamespaceRepository.findDeletedByDataChangeLastModifiedTimeBetween(any(Date.class),
+        any(Date.class))).thenReturn(Lists.newArrayList(somePublicAppNamespaceDeleted));
+
+    await().untilAsserted(() -> {
+      assertEquals(somePrivateAppNamespaceNew,
+          appNamespaceServiceWithCache.findByAppIdAndNamespace(someAppId, somePrivateNamespace));
+      assertEquals(somePrivateAppNamespaceNew,
+          appNamespaceServiceWithCache.findPublicNamespaceByName(somePrivateNamespace));
+      assertNull(
+          appNamespaceServiceWithCache.findByAppIdAndNamespace(someAppId, somePublicNamespace));
+      assertNull(appNamespaceServiceWithCache.findPublicNamespaceByName(somePublicNamespace));
+    });
+  }
+
   private void check(List<AppNamespace> someList, List<AppNamespace> anotherList) {
     someList.sort(appNamespaceComparator);
     anotherList.sort(appNamespaceComparator);
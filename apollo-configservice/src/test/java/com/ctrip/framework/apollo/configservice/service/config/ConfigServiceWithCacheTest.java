@@ -32,6 +32,7 @@ import com.google.common.collect.Sets;
 import io.micrometer.core.instrument.MeterRegistry;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -40,7 +41,9 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.after;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -375,4 +378,81 @@ public class ConfigServiceWithCacheTest {
     verify(releaseService, times(1)).findLatestActiveRelease(someAppId, someClusterName,
         someNamespaceName);
   }
+
+  @Test
+  public void testWarmUpRecentlyReadKeyAfterReleaseMessage() throws Exception {
+    when(bizConfig.configServiceCacheWarmUpParallelism()).thenReturn(2);
+    when(bizConfig.configServiceCacheWarmUpRecentAccessInMilli())
+        .thenReturn(TimeUnit.MINUTES.toMillis(10));
+    configServiceWithCache.initialize();
+
+    ReleaseMessage anotherReleaseMessage = mock(ReleaseMessage.class);
+    when(anotherReleaseMessage.getMessage()).thenReturn(someKey);
+    when(releaseMessageService.findLatestReleaseMessageForMessages(Lists.newArrayList(someKey)))
+        .thenReturn(someReleaseMessage);
+    when(releaseService.findLatestActiveRelease(someAppId, someClusterName, someNamespaceName))
+        .thenReturn(someRelease);
+    when(someReleaseMessage.getId()).thenReturn(someNotificationId);
+
+    configServiceWithCache.findLatestActiveRelease(someAppId, someClusterName, someNamespaceName,
+        someNotificationMessages);
+
+    configServiceWithCache.handleMessage(anotherReleaseMessage, Topics.APOLLO_RELEASE_TOPIC);
+
+    verify(releaseService, timeout(1000).times(2)).findLatestActiveRelease(someAppId,
+        someClusterName, someNamespaceName);
+
+    Release release = configServiceWithCache.findLatestActiveRelease(someAppId, someClusterName,
+        someNamespaceName, someNotificationMessages);
+
+    assertEquals(someRelease, release);
+    verify(releaseService, times(2)).findLatestActiveRelease(someAppId, someClusterName,
+        someNamespaceName);
+  }
+
+  @Test
+  public void testStopWarmingUpKeyNotReadAnymore() throws Exception {
+    when(bizConfig.configServiceCacheWarmUpParallelism()).thenReturn(2);
+    when(bizConfig.configServiceCacheWarmUpRecentAccessInMilli()).thenReturn(500L);
+    configServiceWithCache.initialize();
+
+    ReleaseMessage anotherReleaseMessage = mock(ReleaseMessage.class);
+    when(anotherReleaseMessage.getMessage()).thenReturn(someKey);
+    when(releaseMessageService.findLatestReleaseMessageForMessages(Lists.newArrayList(someKey)))
+        .thenReturn(someReleaseMessage);
+    when(releaseService.findLatestActiveRelease(someAppId, someClusterName, someNamespaceName))
+        .thenReturn(someRelease);
+    when(someReleaseMessage.getId()).thenReturn(someNotificationId);
+
+    configServiceWithCache.findLatestActiveRelease(someAppId, someClusterName, someNamespaceName,
+        someNotificationMessages);
+
+    // released more often than the recent access window, but read only once
+    configServiceWithCache.handleMessage(anotherReleaseMessage, Topics.APOLLO_RELEASE_TOPIC);
+    verify(releaseService, timeout(1000).times(2)).findLatestActiveRelease(someAppId,
+        someClusterName, someNamespaceName);
+    TimeUnit.MILLISECONDS.sleep(300);
+    configServiceWithCache.handleMessage(anotherReleaseMessage, Topics.APOLLO_RELEASE_TOPIC);
+    verify(releaseService, timeout(1000).times(3)).findLatestActiveRelease(someAppId,
+        someClusterName, someNamespaceName);
+    TimeUnit.MILLISECONDS.sleep(300);
+    configServiceWithCache.handleMessage(anotherReleaseMessage, Topics.APOLLO_RELEASE_TOPIC);
+
+    verify(releaseService, after(200).times(3)).findLatestActiveRelease(someAppId,
+        someClusterName, someNamespaceName);
+  }
+
+  @Test
+  public void testSkipWarmUpOfKeyNotInCache() throws Exception {
+    when(bizConfig.configServiceCacheWarmUpParallelism()).thenReturn(2);
+    configServiceWithCache.initialize();
+
+    ReleaseMessage anotherReleaseMessage = mock(ReleaseMessage.class);
+    when(anotherReleaseMessage.getMessage()).thenReturn(someKey);
+
+    configServiceWithCache.handleMessage(anotherReleaseMessage, Topics.APOLLO_RELEASE_TOPIC);
+
+    verify(releaseService, after(100).never()).findLatestActiveRelease(someAppId,
+        someClusterName, someNamespaceName);
+  }
 }
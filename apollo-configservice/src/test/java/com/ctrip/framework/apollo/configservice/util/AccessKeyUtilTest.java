@@ -110,4 +110,21 @@ public class AccessKeyUtilTest {
     String expectedSignature = "WYjjyJFei6DYiaMlwZjew2O/Yqk=";
     assertThat(actualSignature).isEqualTo(expectedSignature);
   }
+
+  @Test
+  public void buildSignatureWithSigner() {
+    String path = "/configs/someAppId/default/application";
+    String query = "ip=10.0.0.1";
+    String timestamp = "1575018989200";
+    String secret = "someSecret";
+
+    when(accessKeyServiceWithCache.getSigner(secret)).thenReturn(new AccessKeySigner(secret));
+
+    String actualSignature = accessKeyUtil.buildSignature(path, query, timestamp, secret);
+
+    String expectedSignature = "WYjjyJFei6DYiaMlwZjew2O/Yqk=";
+    assertThat(actualSignature).isEqualTo(expectedSignature);
+    assertThat(accessKeyUtil.buildSignature(path, query, timestamp, secret))
+        .isEqualTo(expectedSignature);
+  }
 }
@@ -17,17 +17,26 @@
 package com.ctrip.framework.apollo.metaservice.controller;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.ctrip.framework.apollo.biz.config.BizConfig;
 import com.ctrip.framework.apollo.core.ServiceNameConsts;
 import com.ctrip.framework.apollo.core.dto.ServiceDTO;
 import com.ctrip.framework.apollo.metaservice.service.DiscoveryService;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ServiceControllerTest {
@@ -35,14 +44,24 @@ public class ServiceControllerTest {
   @Mock
   private DiscoveryService discoveryService;
 
+  @Mock
+  private BizConfig bizConfig;
+
   @Mock
   private List<ServiceDTO> someServices;
 
   private ServiceController serviceController;
 
+  private Consumer<String> changeListener;
+
   @Before
   public void setUp() throws Exception {
-    serviceController = new ServiceController(discoveryService);
+    serviceController = new ServiceController(discoveryService, bizConfig);
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Consumer<String>> listenerCaptor = ArgumentCaptor.forClass(Consumer.class);
+    verify(discoveryService).addChangeListener(listenerCaptor.capture());
+    changeListener = listenerCaptor.getValue();
   }
 
   @Test
@@ -69,4 +88,66 @@ public class ServiceControllerTest {
     assertEquals(someServices, serviceController.getAdminService());
 
   }
+
+  @Test
+  public void testWatchConfigServiceReturnsChangedInstances() {
+    List<ServiceDTO> services = Collections.singletonList(newService("http://1.2.3.4:8080/"));
+    when(discoveryService.getServiceInstances(ServiceNameConsts.APOLLO_CONFIGSERVICE))
+        .thenReturn(services);
+
+    DeferredResult<ResponseEntity<List<ServiceDTO>>> result =
+        serviceController.watchConfigService("someAppId", null, null);
+
+    ResponseEntity<List<ServiceDTO>> response = getResponse(result);
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(services, response.getBody());
+    assertEquals(ServiceController.version(services), response.getHeaders().getETag());
+  }
+
+  @Test
+  public void testWatchAdminServiceHeldUntilChanged() {
+    List<ServiceDTO> services = Collections.singletonList(newService("http://1.2.3.4:8090/"));
+    List<ServiceDTO> changedServices =
+        Collections.singletonList(newService("http://1.2.3.5:8090/"));
+    when(discoveryService.getServiceInstances(ServiceNameConsts.APOLLO_ADMINSERVICE))
+        .thenReturn(services, changedServices);
+
+    DeferredResult<ResponseEntity<List<ServiceDTO>>> result =
+        serviceController.watchAdminService(ServiceController.version(services));
+    assertFalse(result.hasResult());
+
+    changeListener.accept(ServiceNameConsts.APOLLO_CONFIGSERVICE);
+    assertFalse(result.hasResult());
+
+    changeListener.accept(ServiceNameConsts.APOLLO_ADMINSERVICE);
+    ResponseEntity<List<ServiceDTO>> response = getResponse(result);
+    assertEquals(changedServices, response.getBody());
+    assertEquals(ServiceController.version(changedServices), response.getHeaders().getETag());
+  }
+
+  @Test
+  public void testVersion() {
+    ServiceDTO someService = newService("http://1.2.3.4:8080/");
+    ServiceDTO anotherService = newService("http://1.2.3.5:8080/");
+
+    assertEquals(ServiceController.version(Arrays.asList(someService, anotherService)),
+        ServiceController.version(Arrays.asList(anotherService, someService)));
+    assertNotEquals(ServiceController.version(Collections.singletonList(someService)),
+        ServiceController.version(Collections.singletonList(anotherService)));
+  }
+
+  @SuppressWarnings("unchecked")
+  private ResponseEntity<List<ServiceDTO>> getResponse(
+      DeferredResult<ResponseEntity<List<ServiceDTO>>> result) {
+    assertTrue(result.hasResult());
+    return (ResponseEntity<List<ServiceDTO>>) result.getResult();
+  }
+
+  private ServiceDTO newService(String homepageUrl) {
+    ServiceDTO service = new ServiceDTO();
+    service.setAppName(ServiceNameConsts.APOLLO_CONFIGSERVICE);
+    service.setInstanceId(homepageUrl);
+    service.setHomepageUrl(homepageUrl);
+    return service;
+  }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.openapi.entity;
+
+import com.ctrip.framework.apollo.common.entity.BaseEntity;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.Where;
+
+/**
+ * The rate limit quota of one consumer token shared by all the portal instances, in windows of one
+ * second.
+ */
+@Entity
+@Table(name = "`ConsumerRateLimitQuota`")
+@SQLDelete(
+    sql = "Update `ConsumerRateLimitQuota` set IsDeleted = true, DeletedAt = ROUND(UNIX_TIMESTAMP(NOW(4))*1000) where Id = ?")
+@Where(clause = "`IsDeleted` = false")
+public class ConsumerRateLimitQuota extends BaseEntity {
+
+  @Column(name = "`Token`", nullable = false)
+  private String token;
+
+  /**
+   * the start of the current window, in seconds
+   */
+  @Column(name = "`WindowStart`", nullable = false)
+  private long windowStart;
+
+  /**
+   * the permits leased to the portal instances in the current window
+   */
+  @Column(name = "`Used`", nullable = false)
+  private int used;
+
+  public String getToken() {
+    return token;
+  }
+
+  public void setToken(String token) {
+    this.token = token;
+  }
+
+  public long getWindowStart() {
+    return windowStart;
+  }
+
+  public void setWindowStart(long windowStart) {
+    this.windowStart = windowStart;
+  }
+
+  public int getUsed() {
+    return used;
+  }
+
+  public void setUsed(int used) {
+    this.used = used;
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper().add("token", token).add("windowStart", windowStart)
+        .add("used", used).toString();
+  }
+}
@@ -19,12 +19,8 @@ package com.ctrip.framework.apollo.openapi.filter;
 import com.ctrip.framework.apollo.openapi.entity.ConsumerToken;
 import com.ctrip.framework.apollo.openapi.util.ConsumerAuditUtil;
 import com.ctrip.framework.apollo.openapi.util.ConsumerAuthUtil;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import com.google.common.util.concurrent.RateLimiter;
 import java.io.IOException;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
 import javax.servlet.FilterConfig;
@@ -49,14 +45,9 @@ public class ConsumerAuthenticationFilter implements Filter {
   private final ConsumerAuditUtil consumerAuditUtil;
 
   private static final int WARMUP_MILLIS = 1000; // ms
-  private static final int RATE_LIMITER_CACHE_MAX_SIZE = 20000;
 
   private static final int TOO_MANY_REQUESTS = 429;
 
-  private static final Cache<String, ImmutablePair<Long, RateLimiter>> LIMITER =
-      CacheBuilder.newBuilder().expireAfterAccess(1, TimeUnit.HOURS)
-          .maximumSize(RATE_LIMITER_CACHE_MAX_SIZE).build();
-
   private static final String PORTAL_USER_AUTHENTICATED = "PORTAL_USER_AUTHENTICATED";
 
   public ConsumerAuthenticationFilter(ConsumerAuthUtil consumerAuthUtil,
@@ -92,13 +83,17 @@ public class ConsumerAuthenticationFilter implements Filter {
     if (null != rateLimit && rateLimit > 0) {
       try {
         ImmutablePair<Long, RateLimiter> rateLimiterPair =
-            getOrCreateRateLimiterPair(consumerToken.getToken(), rateLimit);
+            consumerAuthUtil.getRateLimiter(consumerToken);
         long warmupToMillis = rateLimiterPair.getLeft() + WARMUP_MILLIS;
         if (System.currentTimeMillis() > warmupToMillis
             && !rateLimiterPair.getRight().tryAcquire()) {
           response.sendError(TOO_MANY_REQUESTS, "Too Many Requests, the flow is limited");
           return;
         }
+        if (consumerAuthUtil.exceedsSharedQuota(consumerToken)) {
+          response.sendError(TOO_MANY_REQUESTS, "Too Many Requests, the flow is limited");
+          return;
+        }
       } catch (Exception e) {
         logger.error("ConsumerAuthenticationFilter ratelimit error", e);
         response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Rate limiting failed");
@@ -118,14 +113,4 @@ public class ConsumerAuthenticationFilter implements Filter {
     // nothing
   }
 
-  private ImmutablePair<Long, RateLimiter> getOrCreateRateLimiterPair(String key,
-      Integer limitCount) {
-    try {
-      return LIMITER.get(key,
-          () -> ImmutablePair.of(System.currentTimeMillis(), RateLimiter.create(limitCount)));
-    } catch (ExecutionException e) {
-      throw new RuntimeException("Failed to create rate limiter", e);
-    }
-  }
-
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.openapi.repository;
+
+import com.ctrip.framework.apollo.openapi.entity.ConsumerRateLimitQuota;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.PagingAndSortingRepository;
+
+public interface ConsumerRateLimitQuotaRepository extends
+    PagingAndSortingRepository<ConsumerRateLimitQuota, Long> {
+
+  ConsumerRateLimitQuota findByToken(String token);
+
+  /**
+   * lease permits in the current window (or a later one started by another instance whose clock
+   * is ahead), as long as the quota is not exceeded
+   */
+  @Modifying
+  @Query("UPDATE ConsumerRateLimitQuota q SET q.used = q.used + ?3 WHERE q.token = ?1"
+      + " AND q.windowStart >= ?2 AND q.used + ?3 <= ?4")
+  int increaseUsed(String token, long windowStart, int permits, int limit);
+
+  /**
+   * start a new window with the permits leased
+   */
+  @Modifying
+  @Query("UPDATE ConsumerRateLimitQuota q SET q.windowStart = ?2, q.used = ?3 WHERE q.token = ?1"
+      + " AND q.windowStart < ?2")
+  int startWindow(String token, long windowStart, int permits);
+}
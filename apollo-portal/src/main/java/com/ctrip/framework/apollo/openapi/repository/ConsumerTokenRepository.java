@@ -19,6 +19,7 @@ package com.ctrip.framework.apollo.openapi.repository;
 import com.ctrip.framework.apollo.openapi.entity.ConsumerToken;
 
 import java.util.List;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
 
 import java.util.Date;
@@ -39,4 +40,11 @@ public interface ConsumerTokenRepository extends PagingAndSortingRepository<Cons
 
   List<ConsumerToken> findByConsumerIdIn(List<Long> consumerIds);
 
+  /**
+   * find the consumer tokens changed since the given time, including the deleted ones
+   */
+  @Query(value = "SELECT * FROM `ConsumerToken` WHERE `DataChange_LastTime` >= ?1",
+      nativeQuery = true)
+  List<ConsumerToken> findByDataChangeLastModifiedTimeSince(Date since);
+
 }
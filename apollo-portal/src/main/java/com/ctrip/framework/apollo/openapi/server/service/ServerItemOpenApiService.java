@@ -16,6 +16,7 @@
  */
 package com.ctrip.framework.apollo.openapi.server.service;
 
+import com.ctrip.framework.apollo.common.dto.CursorPageDTO;
 import com.ctrip.framework.apollo.common.dto.ItemDTO;
 import com.ctrip.framework.apollo.common.dto.PageDTO;
 import com.ctrip.framework.apollo.openapi.api.ItemOpenApiService;
@@ -114,4 +115,14 @@ public class ServerItemOpenApiService implements ItemOpenApiService {
     return new OpenPageDTO<>(commonOpenItemDTOPage.getPage(), commonOpenItemDTOPage.getSize(),
         commonOpenItemDTOPage.getTotal(), commonOpenItemDTOPage.getContent());
   }
+
+  /**
+   * Find the page of items after {@code continuationToken}, an empty token finds the first page.
+   * Not part of {@link ItemOpenApiService} yet, so it's only served by this implementation.
+   */
+  public CursorPageDTO<OpenItemDTO> findItemsByNamespace(String appId, String env,
+      String clusterName, String namespaceName, String continuationToken, int size) {
+    return this.itemService.findItemsByNamespace(appId, Env.valueOf(env), clusterName,
+        namespaceName, continuationToken, size);
+  }
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.openapi.service;
+
+import com.ctrip.framework.apollo.tracer.Tracer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Local token bucket of one consumer token, refilled by leasing permits from the
+ * {@link ConsumerRateLimitQuotaStore} shared by all the portal instances, so the rate limit is
+ * enforced for the whole cluster instead of per instance.
+ * <p>
+ * Acquiring a permit is a CAS on a local counter, the store is only visited when the leased permits
+ * are used up, and at most once per window after the quota of the window is used up. If the store
+ * fails, requests are let through until the next window and only limited locally.
+ */
+class ConsumerRateLimitBucket {
+
+  private static final Logger logger = LoggerFactory.getLogger(ConsumerRateLimitBucket.class);
+
+  // each lease takes about a tenth of the rate limit
+  private static final int LEASES_PER_WINDOW = 10;
+
+  private final String token;
+  private final int rateLimit;
+  private final int leaseSize;
+  private final ConsumerRateLimitQuotaStore quotaStore;
+  private final LongSupplier clock;
+
+  private final AtomicInteger permits = new AtomicInteger();
+  // the window in seconds the permits belong to
+  private volatile long window = -1;
+  // the quota of the window is used up
+  private volatile boolean exhausted;
+  // the store failed in the window
+  private volatile boolean failOpen;
+
+  ConsumerRateLimitBucket(String token, int rateLimit, ConsumerRateLimitQuotaStore quotaStore) {
+    this(token, rateLimit, quotaStore, System::currentTimeMillis);
+  }
+
+  ConsumerRateLimitBucket(String token, int rateLimit, ConsumerRateLimitQuotaStore quotaStore,
+      LongSupplier clock) {
+    this.token = token;
+    this.rateLimit = rateLimit;
+    this.leaseSize = Math.max(1, rateLimit / LEASES_PER_WINDOW);
+    this.quotaStore = quotaStore;
+    this.clock = clock;
+  }
+
+  boolean tryAcquire() {
+    long currentWindow = TimeUnit.MILLISECONDS.toSeconds(clock.getAsLong());
+    if (currentWindow == window) {
+      if (takePermit()) {
+        return true;
+      }
+      if (exhausted) {
+        return false;
+      }
+      if (failOpen) {
+        return true;
+      }
+    }
+    return leaseAndAcquire(currentWindow);
+  }
+
+  private synchronized boolean leaseAndAcquire(long currentWindow) {
+    if (currentWindow != window) {
+      permits.set(0);
+      exhausted = false;
+      failOpen = false;
+      window = currentWindow;
+    } else {
+      // leased or settled by another thread in the meantime
+      if (takePermit()) {
+        return true;
+      }
+      if (exhausted) {
+        return false;
+      }
+      if (failOpen) {
+        return true;
+      }
+    }
+
+    int leased;
+    try {
+      leased = quotaStore.lease(token, currentWindow, leaseSize, rateLimit);
+    } catch (Throwable ex) {
+      logger.warn("Lease rate limit quota failed, only limit requests locally in this window", ex);
+      Tracer.logError(ex);
+      failOpen = true;
+      return true;
+    }
+
+    if (leased <= 0) {
+      exhausted = true;
+      return false;
+    }
+
+    permits.addAndGet(leased - 1);
+    return true;
+  }
+
+  private boolean takePermit() {
+    int available;
+    do {
+      available = permits.get();
+      if (available <= 0) {
+        return false;
+      }
+    } while (!permits.compareAndSet(available, available - 1));
+    return true;
+  }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.openapi.service;
+
+/**
+ * The store of the rate limit quotas shared by all the portal instances, see
+ * {@link DatabaseConsumerRateLimitQuotaStore} for the default one. Another backend could be plugged
+ * in by declaring a primary bean of this type.
+ */
+public interface ConsumerRateLimitQuotaStore {
+
+  /**
+   * Lease permits of the token in the window, the permits leased by all the portal instances in one
+   * window never exceed the limit.
+   *
+   * @param windowStart the start of the window, in seconds
+   * @return the permits leased, which may be less than requested, 0 if the quota of the window is
+   * used up
+   */
+  int lease(String token, long windowStart, int permits, int limit);
+}
@@ -78,6 +78,7 @@ public class ConsumerService {
   private final RolePermissionService rolePermissionService;
   private final UserService userService;
   private final RoleRepository roleRepository;
+  private final ConsumerTokenServiceWithCache consumerTokenServiceWithCache;
 
   public ConsumerService(final UserInfoHolder userInfoHolder,
       final ConsumerTokenRepository consumerTokenRepository,
@@ -85,7 +86,8 @@ public class ConsumerService {
       final ConsumerAuditRepository consumerAuditRepository,
       final ConsumerRoleRepository consumerRoleRepository, final PortalConfig portalConfig,
       final RolePermissionService rolePermissionService, final UserService userService,
-      final RoleRepository roleRepository) {
+      final RoleRepository roleRepository,
+      final ConsumerTokenServiceWithCache consumerTokenServiceWithCache) {
     this.userInfoHolder = userInfoHolder;
     this.consumerTokenRepository = consumerTokenRepository;
     this.consumerRepository = consumerRepository;
@@ -95,6 +97,7 @@ public class ConsumerService {
     this.rolePermissionService = rolePermissionService;
     this.userService = userService;
     this.roleRepository = roleRepository;
+    this.consumerTokenServiceWithCache = consumerTokenServiceWithCache;
   }
 
 
@@ -127,7 +130,9 @@ public class ConsumerService {
     ConsumerToken consumerToken = generateConsumerToken(consumer, rateLimit, expires);
     consumerToken.setId(0);
 
-    return consumerTokenRepository.save(consumerToken);
+    ConsumerToken savedConsumerToken = consumerTokenRepository.save(consumerToken);
+    consumerTokenServiceWithCache.invalidate(savedConsumerToken.getToken());
+    return savedConsumerToken;
   }
 
   public ConsumerToken getConsumerTokenByAppId(String appId) {
@@ -344,7 +349,9 @@ public class ConsumerService {
   @Transactional
   public ConsumerToken createConsumerToken(ConsumerToken entity) {
     entity.setId(0); // for protection
-    return consumerTokenRepository.save(entity);
+    ConsumerToken savedConsumerToken = consumerTokenRepository.save(entity);
+    consumerTokenServiceWithCache.invalidate(savedConsumerToken.getToken());
+    return savedConsumerToken;
   }
 
   private ConsumerToken generateConsumerToken(Consumer consumer, Integer rateLimit, Date expires) {
@@ -466,6 +473,7 @@ public class ConsumerService {
 
     if (Objects.nonNull(consumerToken)) {
       consumerTokenRepository.delete(consumerToken);
+      consumerTokenServiceWithCache.invalidate(consumerToken.getToken());
     }
   }
 
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.openapi.service;
+
+import com.ctrip.framework.apollo.core.utils.ApolloThreadFactory;
+import com.ctrip.framework.apollo.openapi.entity.ConsumerToken;
+import com.ctrip.framework.apollo.openapi.repository.ConsumerTokenRepository;
+import com.ctrip.framework.apollo.portal.component.config.PortalConfig;
+import com.ctrip.framework.apollo.tracer.Tracer;
+import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.RateLimiter;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Consumer tokens cache for the OpenAPI authentication, so that authenticating a request doesn't
+ * need to query the database.
+ * <p>
+ * Invalid tokens are cached as well for a short while in a separate and smaller cache, so that
+ * requests with random tokens can't evict the valid ones. Valid tokens are cached until they expire.
+ * Tokens changed on this instance are invalidated by {@link ConsumerService}, tokens changed by
+ * other portal instances are found by scanning the recently modified tokens, see
+ * {@link PortalConfig#consumerTokenCacheScanIntervalSecond()}.
+ * <p>
+ * The rate limiters of the tokens are kept with the cached tokens, so are the buckets of the rate
+ * limit quotas shared by all the portal instances, see {@link ConsumerRateLimitBucket}.
+ */
+@Service
+public class ConsumerTokenServiceWithCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(ConsumerTokenServiceWithCache.class);
+
+  private static final int MAX_CACHED_TOKENS = 20000;
+  private static final long TOKEN_CACHE_EXPIRE_MINUTES = 60;
+  private static final int MAX_CACHED_INVALID_TOKENS = 1000;
+  private static final long INVALID_TOKEN_CACHE_SECONDS = 60;
+  // rows are stamped with the clocks of the instances which modified them, so scan a bit earlier
+  private static final long SCAN_OVERLAP_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+  private final ConsumerTokenRepository consumerTokenRepository;
+  private final PortalConfig portalConfig;
+  private final ConsumerRateLimitQuotaStore consumerRateLimitQuotaStore;
+
+  // token -> cached token, expired entries are checked when read
+  private final Cache<String, CachedConsumerToken> tokenCache = CacheBuilder.newBuilder()
+      .expireAfterAccess(TOKEN_CACHE_EXPIRE_MINUTES, TimeUnit.MINUTES)
+      .maximumSize(MAX_CACHED_TOKENS).build();
+  // tokens which don't exist or have expired
+  private final Cache<String, Boolean> invalidTokenCache = CacheBuilder.newBuilder()
+      .expireAfterWrite(INVALID_TOKEN_CACHE_SECONDS, TimeUnit.SECONDS)
+      .maximumSize(MAX_CACHED_INVALID_TOKENS).build();
+  private volatile Date lastScanTime = new Date();
+  private ScheduledExecutorService scanService;
+
+  public ConsumerTokenServiceWithCache(final ConsumerTokenRepository consumerTokenRepository,
+      final PortalConfig portalConfig,
+      final ConsumerRateLimitQuotaStore consumerRateLimitQuotaStore) {
+    this.consumerTokenRepository = consumerTokenRepository;
+    this.portalConfig = portalConfig;
+    this.consumerRateLimitQuotaStore = consumerRateLimitQuotaStore;
+  }
+
+  @PostConstruct
+  public void initialize() {
+    lastScanTime = new Date();
+    scanService = Executors.newSingleThreadScheduledExecutor(
+        ApolloThreadFactory.create("ConsumerTokenServiceWithCache", true));
+
+    int interval = portalConfig.consumerTokenCacheScanIntervalSecond();
+    scanService.scheduleWithFixedDelay(() -> {
+      try {
+        scanChangedTokens();
+      } catch (Throwable ex) {
+        logger.error("Scan changed consumer tokens failed", ex);
+        Tracer.logError(ex);
+      }
+    }, interval, interval, TimeUnit.SECONDS);
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (scanService != null) {
+      scanService.shutdown();
+    }
+  }
+
+  /**
+   * @return the valid consumer token, or null if the token doesn't exist or has expired
+   */
+  public ConsumerToken getConsumerToken(String token) {
+    CachedConsumerToken cached = getCachedConsumerToken(token);
+    return cached == null ? null : cached.consumerToken;
+  }
+
+  /**
+   * @return the time the rate limiter was created and the rate limiter of the token, the rate
+   * limiter is dropped together with the cached token, e.g. when the rate limit is changed
+   */
+  public ImmutablePair<Long, RateLimiter> getRateLimiter(ConsumerToken consumerToken) {
+    CachedConsumerToken cached = getCachedConsumerToken(consumerToken.getToken());
+    if (cached == null) {
+      // the token is invalidated in the meantime
+      return ImmutablePair.of(System.currentTimeMillis(),
+          RateLimiter.create(consumerToken.getRateLimit()));
+    }
+    return cached.getRateLimiter();
+  }
+
+  /**
+   * Acquire a permit from the rate limit quota of the token shared by all the portal instances.
+   *
+   * @return false if the quota of the current second is used up, always true if the shared rate
+   * limit is not enabled
+   */
+  public boolean tryAcquireSharedQuota(ConsumerToken consumerToken) {
+    if (!portalConfig.isOpenApiSharedRateLimitEnabled()) {
+      return true;
+    }
+    CachedConsumerToken cached = getCachedConsumerToken(consumerToken.getToken());
+    if (cached == null) {
+      // the token is invalidated in the meantime, the next request will lease again
+      return true;
+    }
+    return cached.getRateLimitBucket(consumerRateLimitQuotaStore).tryAcquire();
+  }
+
+  public void invalidate(String token) {
+    if (token != null) {
+      tokenCache.invalidate(token);
+      invalidTokenCache.invalidate(token);
+    }
+  }
+
+  private CachedConsumerToken getCachedConsumerToken(String token) {
+    if (Strings.isNullOrEmpty(token)) {
+      return null;
+    }
+
+    long now = System.currentTimeMillis();
+    CachedConsumerToken cached = tokenCache.getIfPresent(token);
+    if (cached != null && cached.validUntil > now) {
+      return cached;
+    }
+    if (invalidTokenCache.getIfPresent(token) != null) {
+      return null;
+    }
+
+    ConsumerToken consumerToken =
+        consumerTokenRepository.findTopByTokenAndExpiresAfter(token, new Date(now));
+    if (consumerToken == null) {
+      tokenCache.invalidate(token);
+      invalidTokenCache.put(token, Boolean.TRUE);
+      return null;
+    }
+    cached = new CachedConsumerToken(consumerToken, consumerToken.getExpires().getTime());
+    tokenCache.put(token, cached);
+    return cached;
+  }
+
+  private void scanChangedTokens() {
+    Date scanTime = new Date();
+    Date since = new Date(lastScanTime.getTime() - SCAN_OVERLAP_MILLIS);
+
+    List<ConsumerToken> changedTokens =
+        consumerTokenRepository.findByDataChangeLastModifiedTimeSince(since);
+    for (ConsumerToken changedToken : changedTokens) {
+      invalidate(changedToken.getToken());
+    }
+
+    lastScanTime = scanTime;
+  }
+
+  private static class CachedConsumerToken {
+
+    private final ConsumerToken consumerToken;
+    private final long validUntil;
+    private volatile ImmutablePair<Long, RateLimiter> rateLimiter;
+    private volatile ConsumerRateLimitBucket rateLimitBucket;
+
+    CachedConsumerToken(ConsumerToken consumerToken, long validUntil) {
+      this.consumerToken = consumerToken;
+      this.validUntil = validUntil;
+    }
+
+    ImmutablePair<Long, RateLimiter> getRateLimiter() {
+      if (rateLimiter == null) {
+        synchronized (this) {
+          if (rateLimiter == null) {
+            rateLimiter = ImmutablePair.of(System.currentTimeMillis(),
+                RateLimiter.create(consumerToken.getRateLimit()));
+          }
+        }
+      }
+      return rateLimiter;
+    }
+
+    ConsumerRateLimitBucket getRateLimitBucket(ConsumerRateLimitQuotaStore quotaStore) {
+      if (rateLimitBucket == null) {
+        synchronized (this) {
+          if (rateLimitBucket == null) {
+            rateLimitBucket = new ConsumerRateLimitBucket(consumerToken.getToken(),
+                consumerToken.getRateLimit(), quotaStore);
+          }
+        }
+      }
+      return rateLimitBucket;
+    }
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.openapi.service;
+
+import com.ctrip.framework.apollo.openapi.entity.ConsumerRateLimitQuota;
+import com.ctrip.framework.apollo.openapi.repository.ConsumerRateLimitQuotaRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the rate limit quotas in the ConsumerRateLimitQuota table of PortalDB, one row per token,
+ * permits are leased with conditional updates so the row is never read before updated.
+ */
+@Service
+public class DatabaseConsumerRateLimitQuotaStore implements ConsumerRateLimitQuotaStore {
+
+  private static final String OPERATOR = "apollo";
+  private static final int QUOTA_NOT_EXISTS = -1;
+
+  private final ConsumerRateLimitQuotaRepository consumerRateLimitQuotaRepository;
+  private final TransactionTemplate transactionTemplate;
+
+  public DatabaseConsumerRateLimitQuotaStore(
+      final ConsumerRateLimitQuotaRepository consumerRateLimitQuotaRepository,
+      final TransactionTemplate transactionTemplate) {
+    this.consumerRateLimitQuotaRepository = consumerRateLimitQuotaRepository;
+    this.transactionTemplate = transactionTemplate;
+  }
+
+  @Override
+  public int lease(String token, long windowStart, int permits, int limit) {
+    Integer leased = transactionTemplate.execute(
+        status -> doLease(token, windowStart, permits, limit));
+    if (leased != null && leased == QUOTA_NOT_EXISTS) {
+      createQuota(token);
+      leased = transactionTemplate.execute(status -> doLease(token, windowStart, permits, limit));
+    }
+    return leased == null ? 0 : Math.max(leased, 0);
+  }
+
+  private int doLease(String token, long windowStart, int permits, int limit) {
+    if (consumerRateLimitQuotaRepository.increaseUsed(token, windowStart, permits, limit) > 0) {
+      return permits;
+    }
+
+    int firstPermits = Math.min(permits, limit);
+    if (consumerRateLimitQuotaRepository.startWindow(token, windowStart, firstPermits) > 0) {
+      return firstPermits;
+    }
+
+    // not enough quota left for the whole lease, try to get the last permits one by one
+    if (permits > 1
+        && consumerRateLimitQuotaRepository.increaseUsed(token, windowStart, 1, limit) > 0) {
+      return 1;
+    }
+
+    return consumerRateLimitQuotaRepository.findByToken(token) == null ? QUOTA_NOT_EXISTS : 0;
+  }
+
+  private void createQuota(String token) {
+    ConsumerRateLimitQuota quota = new ConsumerRateLimitQuota();
+    quota.setToken(token);
+    quota.setDataChangeCreatedBy(OPERATOR);
+    quota.setDataChangeLastModifiedBy(OPERATOR);
+    try {
+      consumerRateLimitQuotaRepository.save(quota);
+    } catch (DataIntegrityViolationException e) {
+      // created by another instance in the meantime
+    }
+  }
+}
@@ -18,6 +18,9 @@ package com.ctrip.framework.apollo.openapi.util;
 
 import com.ctrip.framework.apollo.openapi.entity.ConsumerToken;
 import com.ctrip.framework.apollo.openapi.service.ConsumerService;
+import com.ctrip.framework.apollo.openapi.service.ConsumerTokenServiceWithCache;
+import com.google.common.util.concurrent.RateLimiter;
+import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.springframework.stereotype.Service;
 
 import javax.servlet.http.HttpServletRequest;
@@ -31,9 +34,12 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 public class ConsumerAuthUtil {
   public static final String CONSUMER_ID = "ApolloConsumerId";
   private final ConsumerService consumerService;
+  private final ConsumerTokenServiceWithCache consumerTokenServiceWithCache;
 
-  public ConsumerAuthUtil(final ConsumerService consumerService) {
+  public ConsumerAuthUtil(final ConsumerService consumerService,
+      final ConsumerTokenServiceWithCache consumerTokenServiceWithCache) {
     this.consumerService = consumerService;
+    this.consumerTokenServiceWithCache = consumerTokenServiceWithCache;
   }
 
   public Long getConsumerId(String token) {
@@ -41,7 +47,22 @@ public class ConsumerAuthUtil {
   }
 
   public ConsumerToken getConsumerToken(String token) {
-    return consumerService.getConsumerTokenByToken(token);
+    return consumerTokenServiceWithCache.getConsumerToken(token);
+  }
+
+  /**
+   * @return the time the rate limiter was created and the rate limiter of the consumer token
+   */
+  public ImmutablePair<Long, RateLimiter> getRateLimiter(ConsumerToken consumerToken) {
+    return consumerTokenServiceWithCache.getRateLimiter(consumerToken);
+  }
+
+  /**
+   * @return true if the rate limit quota of the consumer token shared by all the portal instances
+   * is used up
+   */
+  public boolean exceedsSharedQuota(ConsumerToken consumerToken) {
+    return !consumerTokenServiceWithCache.tryAcquireSharedQuota(consumerToken);
   }
 
   public void storeConsumerId(HttpServletRequest request, Long consumerId) {
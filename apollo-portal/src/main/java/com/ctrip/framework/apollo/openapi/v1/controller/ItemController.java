@@ -16,14 +16,15 @@
  */
 package com.ctrip.framework.apollo.openapi.v1.controller;
 
+import com.ctrip.framework.apollo.common.dto.CursorPageDTO;
 import com.ctrip.framework.apollo.common.dto.ItemDTO;
 import com.ctrip.framework.apollo.common.exception.BadRequestException;
 import com.ctrip.framework.apollo.common.exception.NotFoundException;
 import com.ctrip.framework.apollo.common.utils.RequestPrecondition;
 import com.ctrip.framework.apollo.core.utils.StringUtils;
-import com.ctrip.framework.apollo.openapi.api.ItemOpenApiService;
 import com.ctrip.framework.apollo.openapi.dto.OpenItemDTO;
 import com.ctrip.framework.apollo.openapi.dto.OpenPageDTO;
+import com.ctrip.framework.apollo.openapi.server.service.ServerItemOpenApiService;
 import com.ctrip.framework.apollo.portal.environment.Env;
 import com.ctrip.framework.apollo.portal.service.ItemService;
 import com.ctrip.framework.apollo.portal.spi.UserService;
@@ -53,12 +54,13 @@ public class ItemController {
 
   private final ItemService itemService;
   private final UserService userService;
-  private final ItemOpenApiService itemOpenApiService;
+  // the cursor paging is not part of ItemOpenApiService yet
+  private final ServerItemOpenApiService itemOpenApiService;
 
   private static final int ITEM_COMMENT_MAX_LENGTH = 256;
 
   public ItemController(final ItemService itemService, final UserService userService,
-      ItemOpenApiService itemOpenApiService) {
+      ServerItemOpenApiService itemOpenApiService) {
     this.itemService = itemService;
     this.userService = userService;
     this.itemOpenApiService = itemOpenApiService;
@@ -206,4 +208,19 @@ public class ItemController {
         page, size);
   }
 
+  /**
+   * Same as {@link #findItemsByNamespace}, but reads the page after {@code continuationToken}
+   * instead of skipping the previous pages, an empty token reads the first page.
+   */
+  @GetMapping(value = "/apps/{appId}/clusters/{clusterName}/namespaces/{namespaceName}/items",
+      params = "continuationToken")
+  public CursorPageDTO<OpenItemDTO> findItemsByNamespaceAndContinuationToken(
+      @PathVariable String appId, @PathVariable String env, @PathVariable String clusterName,
+      @PathVariable String namespaceName, @RequestParam String continuationToken,
+      @Valid @Positive(message = "size should be positive number")
+      @RequestParam(defaultValue = "50") int size) {
+    return this.itemOpenApiService.findItemsByNamespace(appId, env, clusterName, namespaceName,
+        continuationToken, size);
+  }
+
 }
@@ -23,6 +23,7 @@ import com.ctrip.framework.apollo.openapi.dto.OpenItemDTO;
 import com.ctrip.framework.apollo.portal.entity.po.ServerConfig;
 import com.ctrip.framework.apollo.portal.environment.Env;
 import com.google.common.base.Joiner;
+import com.google.common.base.Strings;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import org.springframework.boot.actuate.health.Health;
@@ -82,6 +83,8 @@ public class AdminServiceAPI {
 
     private ParameterizedTypeReference<PageDTO<NamespaceDTO>> namespacePageDTO =
         new ParameterizedTypeReference<PageDTO<NamespaceDTO>>() {};
+    private ParameterizedTypeReference<CursorPageDTO<NamespaceDTO>> namespaceCursorPageDTO =
+        new ParameterizedTypeReference<CursorPageDTO<NamespaceDTO>>() {};
 
     private ParameterizedTypeReference<Map<String, Boolean>> typeReference =
         new ParameterizedTypeReference<Map<String, Boolean>>() {};
@@ -93,6 +96,14 @@ public class AdminServiceAPI {
       return Arrays.asList(namespaceDTOs);
     }
 
+    public List<NamespaceViewDTO> findNamespaceViewsByCluster(String appId, Env env,
+        String clusterName, boolean includeDeletedItems) {
+      NamespaceViewDTO[] namespaceViewDTOs = restTemplate.get(env,
+          "apps/{appId}/clusters/{clusterName}/namespace-views?includeDeletedItems={includeDeletedItems}",
+          NamespaceViewDTO[].class, appId, clusterName, includeDeletedItems);
+      return Arrays.asList(namespaceViewDTOs);
+    }
+
     public PageDTO<NamespaceDTO> findByItem(Env env, String itemKey, int page, int size) {
       ResponseEntity<PageDTO<NamespaceDTO>> entity = restTemplate.get(env,
           "/namespaces/find-by-item?itemKey={itemKey}&page={page}&size={size}", namespacePageDTO,
@@ -158,6 +169,17 @@ public class AdminServiceAPI {
       return Arrays.asList(namespaceDTOs);
     }
 
+    /**
+     * @param continuationToken the token of the previous page, empty for the first page
+     */
+    public CursorPageDTO<NamespaceDTO> getPublicAppNamespaceAllNamespaces(Env env,
+        String publicNamespaceName, String continuationToken, int size) {
+      return restTemplate.get(env,
+          "/appnamespaces/{publicNamespaceName}/namespaces?continuationToken={continuationToken}&size={size}",
+          namespaceCursorPageDTO, publicNamespaceName, Strings.nullToEmpty(continuationToken),
+          size).getBody();
+    }
+
     public int countPublicAppNamespaceAssociatedNamespaces(Env env, String publicNamesapceName) {
       Integer count =
           restTemplate.get(env, "/appnamespaces/{publicNamespaceName}/associated-namespaces/count",
@@ -178,6 +200,8 @@ public class AdminServiceAPI {
 
     private final ParameterizedTypeReference<PageDTO<OpenItemDTO>> openItemPageDTO =
         new ParameterizedTypeReference<PageDTO<OpenItemDTO>>() {};
+    private final ParameterizedTypeReference<CursorPageDTO<OpenItemDTO>> openItemCursorPageDTO =
+        new ParameterizedTypeReference<CursorPageDTO<OpenItemDTO>>() {};
 
     private final ParameterizedTypeReference<PageDTO<ItemInfoDTO>> pageItemInfoDTO =
         new ParameterizedTypeReference<PageDTO<ItemInfoDTO>>() {};
@@ -266,6 +290,17 @@ public class AdminServiceAPI {
           openItemPageDTO, appId, clusterName, namespaceName, page, size);
       return entity.getBody();
     }
+
+    /**
+     * @param continuationToken the token of the previous page, empty for the first page
+     */
+    public CursorPageDTO<OpenItemDTO> findItemsByNamespace(String appId, Env env,
+        String clusterName, String namespaceName, String continuationToken, int size) {
+      return restTemplate.get(env,
+          "/apps/{appId}/clusters/{clusterName}/namespaces/{namespaceName}/items-with-page?continuationToken={continuationToken}&size={size}",
+          openItemCursorPageDTO, appId, clusterName, namespaceName,
+          Strings.nullToEmpty(continuationToken), size).getBody();
+    }
   }
 
   @Service
@@ -440,6 +475,9 @@ public class AdminServiceAPI {
   @Service
   public static class CommitAPI extends API {
 
+    private final ParameterizedTypeReference<CursorPageDTO<CommitDTO>> commitCursorPageDTO =
+        new ParameterizedTypeReference<CursorPageDTO<CommitDTO>>() {};
+
     public List<CommitDTO> find(String appId, Env env, String clusterName, String namespaceName,
         int page, int size) {
 
@@ -459,6 +497,18 @@ public class AdminServiceAPI {
 
       return Arrays.asList(commitDTOs);
     }
+
+    /**
+     * @param key only the commits of the key if not empty
+     * @param continuationToken the token of the previous page, empty for the first page
+     */
+    public CursorPageDTO<CommitDTO> find(String appId, Env env, String clusterName,
+        String namespaceName, String key, String continuationToken, int size) {
+      return restTemplate.get(env,
+          "apps/{appId}/clusters/{clusterName}/namespaces/{namespaceName}/commit?key={key}&continuationToken={continuationToken}&size={size}",
+          commitCursorPageDTO, appId, clusterName, namespaceName, Strings.nullToEmpty(key),
+          Strings.nullToEmpty(continuationToken), size).getBody();
+    }
   }
 
   @Service
@@ -488,6 +538,14 @@ public class AdminServiceAPI {
 
     }
 
+    public PageDTO<InstanceDTO> getByReleaseAfter(Env env, long releaseId, long afterInstanceId,
+        int size) {
+      ResponseEntity<PageDTO<InstanceDTO>> entity = restTemplate.get(env,
+          "/instances/by-release?releaseId={releaseId}&afterInstanceId={afterInstanceId}&size={size}",
+          pageInstanceDtoType, releaseId, afterInstanceId, size);
+      return entity.getBody();
+    }
+
     public List<InstanceDTO> getByReleasesNotIn(String appId, Env env, String clusterName,
         String namespaceName, Set<Long> releaseIds) {
 
@@ -508,6 +566,17 @@ public class AdminServiceAPI {
       return entity.getBody();
     }
 
+    public PageDTO<InstanceDTO> getByNamespaceAfter(String appId, Env env, String clusterName,
+        String namespaceName, String instanceAppId, long afterInstanceId, int size) {
+      ResponseEntity<PageDTO<InstanceDTO>> entity = restTemplate.get(env,
+          "/instances/by-namespace?appId={appId}"
+              + "&clusterName={clusterName}&namespaceName={namespaceName}&instanceAppId={instanceAppId}"
+              + "&afterInstanceId={afterInstanceId}&size={size}",
+          pageInstanceDtoType, appId, clusterName, namespaceName, instanceAppId, afterInstanceId,
+          size);
+      return entity.getBody();
+    }
+
     public int getInstanceCountByNamespace(String appId, Env env, String clusterName,
         String namespaceName) {
       Integer count = restTemplate.get(env,
@@ -569,6 +638,8 @@ public class AdminServiceAPI {
 
     private ParameterizedTypeReference<PageDTO<ReleaseHistoryDTO>> type =
         new ParameterizedTypeReference<PageDTO<ReleaseHistoryDTO>>() {};
+    private ParameterizedTypeReference<CursorPageDTO<ReleaseHistoryDTO>> cursorPageType =
+        new ParameterizedTypeReference<CursorPageDTO<ReleaseHistoryDTO>>() {};
 
 
     public PageDTO<ReleaseHistoryDTO> findReleaseHistoriesByNamespace(String appId, Env env,
@@ -592,6 +663,33 @@ public class AdminServiceAPI {
           type, previousReleaseId, operation, page, size).getBody();
     }
 
+    /**
+     * @param continuationToken the token of the previous page, empty for the first page
+     */
+    public CursorPageDTO<ReleaseHistoryDTO> findReleaseHistoriesByNamespace(String appId, Env env,
+        String clusterName, String namespaceName, String continuationToken, int size) {
+      return restTemplate.get(env,
+          "/apps/{appId}/clusters/{clusterName}/namespaces/{namespaceName}/releases/histories?continuationToken={continuationToken}&size={size}",
+          cursorPageType, appId, clusterName, namespaceName,
+          Strings.nullToEmpty(continuationToken), size).getBody();
+    }
+
+    public CursorPageDTO<ReleaseHistoryDTO> findByReleaseIdAndOperation(Env env, long releaseId,
+        int operation, String continuationToken, int size) {
+      return restTemplate.get(env,
+          "/releases/histories/by_release_id_and_operation?releaseId={releaseId}&operation={operation}&continuationToken={continuationToken}&size={size}",
+          cursorPageType, releaseId, operation, Strings.nullToEmpty(continuationToken), size)
+          .getBody();
+    }
+
+    public CursorPageDTO<ReleaseHistoryDTO> findByPreviousReleaseIdAndOperation(Env env,
+        long previousReleaseId, int operation, String continuationToken, int size) {
+      return restTemplate.get(env,
+          "/releases/histories/by_previous_release_id_and_operation?previousReleaseId={releaseId}&operation={operation}&continuationToken={continuationToken}&size={size}",
+          cursorPageType, previousReleaseId, operation, Strings.nullToEmpty(continuationToken),
+          size).getBody();
+    }
+
   }
   @Service
   public static class ServerConfigAPI extends API {
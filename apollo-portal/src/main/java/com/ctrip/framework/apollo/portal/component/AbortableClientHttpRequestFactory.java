@@ -0,0 +1,83 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.portal.component;
+
+import java.util.function.Supplier;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+/**
+ * Lets another thread abort a request in flight, which also stops a blocked socket read and closes
+ * the connection, e.g. the losing one of the hedged requests
+ */
+public class AbortableClientHttpRequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+  private static final ThreadLocal<InFlightRequest> CURRENT_REQUEST = new ThreadLocal<>();
+
+  public AbortableClientHttpRequestFactory(HttpClient httpClient) {
+    super(httpClient);
+  }
+
+  @Override
+  protected void postProcessHttpRequest(HttpUriRequest request) {
+    InFlightRequest inFlightRequest = CURRENT_REQUEST.get();
+    if (inFlightRequest != null) {
+      inFlightRequest.attach(request);
+    }
+  }
+
+  /**
+   * The request sent by {@link #call}, it can be aborted from any thread until the call returns
+   */
+  static final class InFlightRequest {
+
+    private HttpUriRequest request;
+    private boolean aborted;
+    private boolean finished;
+
+    <T> T call(Supplier<T> call) {
+      CURRENT_REQUEST.set(this);
+      try {
+        return call.get();
+      } finally {
+        CURRENT_REQUEST.remove();
+        synchronized (this) {
+          finished = true;
+          request = null;
+        }
+      }
+    }
+
+    private synchronized void attach(HttpUriRequest request) {
+      this.request = request;
+      if (aborted) {
+        request.abort();
+      }
+    }
+
+    synchronized void abort() {
+      if (finished) {
+        return;
+      }
+      aborted = true;
+      if (request != null) {
+        request.abort();
+      }
+    }
+  }
+}
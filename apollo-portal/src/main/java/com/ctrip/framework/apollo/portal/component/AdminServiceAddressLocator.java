@@ -22,7 +22,6 @@ import com.ctrip.framework.apollo.core.dto.ServiceDTO;
 import com.ctrip.framework.apollo.portal.environment.Env;
 import com.ctrip.framework.apollo.core.utils.ApolloThreadFactory;
 import com.ctrip.framework.apollo.tracer.Tracer;
-import com.google.common.collect.Lists;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
@@ -31,14 +30,18 @@ import org.springframework.util.CollectionUtils;
 import org.springframework.web.client.RestTemplate;
 
 import javax.annotation.PostConstruct;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Component
 public class AdminServiceAddressLocator {
@@ -46,11 +49,15 @@ public class AdminServiceAddressLocator {
   private static final int RETRY_TIMES = 3;
   private static final String ADMIN_SERVICE_URL_PATH = "/services/admin";
   private static final Logger logger = LoggerFactory.getLogger(AdminServiceAddressLocator.class);
+  private static final long DEFAULT_HEDGE_DELAY_MILLIS = 1000;
+  private static final long MIN_HEDGE_DELAY_MILLIS = 20;
 
   private ScheduledExecutorService refreshServiceAddressService;
   private RestTemplate restTemplate;
   private List<Env> allEnvs;
   private Map<Env, List<ServiceDTO>> cache = new ConcurrentHashMap<>();
+  // homepage url -> stats
+  private final Map<String, AdminServiceStats> serviceStats = new ConcurrentHashMap<>();
 
   private final PortalSettings portalSettings;
   private final RestTemplateFactory restTemplateFactory;
@@ -80,14 +87,87 @@ public class AdminServiceAddressLocator {
         TimeUnit.MILLISECONDS);
   }
 
+  /**
+   * @return the admin services in the order they should be tried for one request
+   */
   public List<ServiceDTO> getServiceList(Env env) {
     List<ServiceDTO> services = cache.get(env);
     if (CollectionUtils.isEmpty(services)) {
       return Collections.emptyList();
     }
-    List<ServiceDTO> randomConfigServices = Lists.newArrayList(services);
-    Collections.shuffle(randomConfigServices);
-    return randomConfigServices;
+    return orderServices(services);
+  }
+
+  /**
+   * @return the start time of the request, to be passed to
+   *         {@link #requestFinished(ServiceDTO, long, boolean)}
+   */
+  public long requestStarted(ServiceDTO service) {
+    getStats(service).requestStarted();
+    return System.nanoTime();
+  }
+
+  /**
+   * @param available false if the service could not be connected or timed out, consecutive
+   *                  failures eject the service for a while
+   */
+  public void requestFinished(ServiceDTO service, long startNanos, boolean available) {
+    long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    getStats(service).requestFinished(latencyMillis, available, System.currentTimeMillis());
+  }
+
+  /**
+   * @return how long to wait for the service before sending the same read request to another
+   *         one, based on the 95th percentile latency of the service
+   */
+  public long hedgeDelayMillis(ServiceDTO service) {
+    long percentile95 = getStats(service).latencyPercentile95();
+    if (percentile95 < 0) {
+      return DEFAULT_HEDGE_DELAY_MILLIS;
+    }
+    return Math.max(MIN_HEDGE_DELAY_MILLIS, percentile95);
+  }
+
+  /**
+   * Available services are ordered by power of two choices: pick two of them randomly and take the
+   * one with less load first. Ejected services are only tried after all the available ones.
+   */
+  private List<ServiceDTO> orderServices(List<ServiceDTO> services) {
+    long now = System.currentTimeMillis();
+    List<ServiceDTO> candidates = new ArrayList<>(services.size());
+    List<ServiceDTO> ejected = new ArrayList<>(0);
+    for (ServiceDTO service : services) {
+      if (getStats(service).isEjected(now)) {
+        ejected.add(service);
+      } else {
+        candidates.add(service);
+      }
+    }
+
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    List<ServiceDTO> ordered = new ArrayList<>(services.size());
+    while (candidates.size() > 1) {
+      int size = candidates.size();
+      int first = random.nextInt(size);
+      int second = random.nextInt(size - 1);
+      if (second >= first) {
+        second++;
+      }
+      int chosen = getStats(candidates.get(first)).load() <= getStats(candidates.get(second)).load()
+          ? first : second;
+      ordered.add(candidates.get(chosen));
+      candidates.set(chosen, candidates.get(size - 1));
+      candidates.remove(size - 1);
+    }
+    ordered.addAll(candidates);
+
+    Collections.shuffle(ejected, random);
+    ordered.addAll(ejected);
+    return ordered;
+  }
+
+  private AdminServiceStats getStats(ServiceDTO service) {
+    return serviceStats.computeIfAbsent(service.getHomepageUrl(), url -> new AdminServiceStats());
   }
 
   // maintain admin server address
@@ -102,6 +182,8 @@ public class AdminServiceAddressLocator {
         refreshSuccess = refreshSuccess && currentEnvRefreshResult;
       }
 
+      removeStaleStats();
+
       if (refreshSuccess) {
         refreshServiceAddressService.schedule(new RefreshAdminServerAddressTask(),
             portalConfig.refreshAdminServerAddressTaskNormalIntervalSecond(), TimeUnit.SECONDS);
@@ -112,6 +194,12 @@ public class AdminServiceAddressLocator {
     }
   }
 
+  private void removeStaleStats() {
+    Set<String> homepageUrls = cache.values().stream().flatMap(List::stream)
+        .map(ServiceDTO::getHomepageUrl).collect(Collectors.toSet());
+    serviceStats.keySet().retainAll(homepageUrls);
+  }
+
   private boolean refreshServerAddressCache(Env env) {
 
     for (int i = 0; i < RETRY_TIMES; i++) {
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.portal.component;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Request statistics of one admin service instance, used to route requests away from slow or
+ * failing instances.
+ */
+class AdminServiceStats {
+
+  // weight of the latest latency in the moving average
+  private static final double EWMA_ALPHA = 0.3;
+  private static final int SAMPLE_SIZE = 128;
+  private static final int MIN_SAMPLES_FOR_PERCENTILE = 20;
+  private static final int EJECTION_CONSECUTIVE_FAILURES = 3;
+  private static final long EJECTION_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+  private final AtomicInteger outstandingRequests = new AtomicInteger();
+  private volatile double ewmaLatencyMillis;
+  private volatile long ejectedUntil;
+
+  // guarded by this
+  private final long[] latencySamples = new long[SAMPLE_SIZE];
+  private int sampleCount;
+  private int nextSample;
+  private int consecutiveFailures;
+
+  void requestStarted() {
+    outstandingRequests.incrementAndGet();
+  }
+
+  /**
+   * @param available false if the instance could not be connected or timed out
+   */
+  synchronized void requestFinished(long latencyMillis, boolean available, long now) {
+    outstandingRequests.decrementAndGet();
+
+    double ewma = ewmaLatencyMillis;
+    ewmaLatencyMillis = ewma == 0 ? latencyMillis
+        : EWMA_ALPHA * latencyMillis + (1 - EWMA_ALPHA) * ewma;
+
+    if (available) {
+      consecutiveFailures = 0;
+      ejectedUntil = 0;
+      latencySamples[nextSample] = latencyMillis;
+      nextSample = (nextSample + 1) % SAMPLE_SIZE;
+      sampleCount = Math.min(sampleCount + 1, SAMPLE_SIZE);
+    } else if (++consecutiveFailures >= EJECTION_CONSECUTIVE_FAILURES) {
+      ejectedUntil = now + EJECTION_MILLIS;
+    }
+  }
+
+  boolean isEjected(long now) {
+    return ejectedUntil > now;
+  }
+
+  /**
+   * the expected cost of sending one more request to the instance, instances without any samples
+   * yet are preferred so they get some
+   */
+  double load() {
+    return ewmaLatencyMillis * (outstandingRequests.get() + 1);
+  }
+
+  /**
+   * @return the 95th percentile of the recent latencies, or -1 if there are not enough samples
+   */
+  synchronized long latencyPercentile95() {
+    if (sampleCount < MIN_SAMPLES_FOR_PERCENTILE) {
+      return -1;
+    }
+    long[] samples = Arrays.copyOf(latencySamples, sampleCount);
+    Arrays.sort(samples);
+    return samples[(int) Math.ceil(sampleCount * 0.95) - 1];
+  }
+}
@@ -18,8 +18,6 @@ package com.ctrip.framework.apollo.portal.component;
 
 import javax.annotation.PostConstruct;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -37,8 +35,6 @@ import com.ctrip.framework.apollo.portal.environment.Env;
 @Component
 public class ConfigReleaseWebhookNotifier {
 
-  private static final Logger logger = LoggerFactory.getLogger(ConfigReleaseWebhookNotifier.class);
-
   private final RestTemplateFactory restTemplateFactory;
 
   private RestTemplate restTemplate;
@@ -53,21 +49,14 @@ public class ConfigReleaseWebhookNotifier {
     restTemplate = restTemplateFactory.getObject();
   }
 
-  public void notify(String[] webHookUrls, Env env, ReleaseHistoryBO releaseHistory) {
-    if (webHookUrls == null) {
-      return;
-    }
-
-    for (String webHookUrl : webHookUrls) {
-      HttpHeaders headers = new HttpHeaders();
-      headers.setContentType(MediaType.APPLICATION_JSON_UTF8);
-      HttpEntity entity = new HttpEntity(releaseHistory, headers);
-      String url = webHookUrl + "?env={env}";
-      try {
-        restTemplate.postForObject(url, entity, String.class, env);
-      } catch (Exception e) {
-        logger.error("Notify webHook server failed, env: {}, webHook server url:{}", env, url, e);
-      }
-    }
+  /**
+   * notify one webHook server, failures are thrown to the caller
+   */
+  public void notify(String webHookUrl, Env env, ReleaseHistoryBO releaseHistory) {
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_JSON_UTF8);
+    HttpEntity entity = new HttpEntity(releaseHistory, headers);
+    String url = webHookUrl + "?env={env}";
+    restTemplate.postForObject(url, entity, String.class, env);
   }
 }
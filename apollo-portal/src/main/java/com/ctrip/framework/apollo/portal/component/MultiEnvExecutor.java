@@ -0,0 +1,154 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.portal.component;
+
+import com.ctrip.framework.apollo.core.utils.ApolloThreadFactory;
+import com.ctrip.framework.apollo.portal.component.config.PortalConfig;
+import com.ctrip.framework.apollo.portal.environment.Env;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+
+/**
+ * Calls the admin services of several envs in parallel, so an aggregated view takes as long as the
+ * slowest env instead of the sum of all the envs.
+ * <p>
+ * The tasks run without the request context of the caller, e.g. no audit log is recorded in them,
+ * so they should only read from the admin services.
+ * <p>
+ * A call blocked on I/O can't be cancelled, it only ends by the timeouts of the rest template, so
+ * the executor waits at least that long and runs tasks in the caller thread while all the pool
+ * threads are busy, instead of queueing them behind calls which may never return in time.
+ */
+@Component
+public class MultiEnvExecutor {
+
+  private static final int MIN_POOL_SIZE = 8;
+
+  private final PortalConfig portalConfig;
+  private final ExecutorService executorService;
+
+  public MultiEnvExecutor(final PortalConfig portalConfig) {
+    this.portalConfig = portalConfig;
+    int poolSize = Math.max(MIN_POOL_SIZE, Runtime.getRuntime().availableProcessors() * 2);
+    ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(poolSize, poolSize, 60,
+        TimeUnit.SECONDS, new SynchronousQueue<>(),
+        ApolloThreadFactory.create("MultiEnvExecutor", true),
+        new ThreadPoolExecutor.CallerRunsPolicy());
+    threadPoolExecutor.allowCoreThreadTimeOut(true);
+    this.executorService = threadPoolExecutor;
+  }
+
+  /**
+   * Run the task for all the envs, the first failure is rethrown and the unfinished tasks are
+   * cancelled.
+   *
+   * @return the results in the order of the envs
+   */
+  public <T> Map<Env, T> execute(Collection<Env> envs, Function<Env, T> task) {
+    return execute(envs, task, (env, ex) -> {
+      if (ex instanceof RuntimeException) {
+        throw (RuntimeException) ex;
+      }
+      if (ex instanceof Error) {
+        throw (Error) ex;
+      }
+      throw new IllegalStateException(String.format("Call env %s failed", env), ex);
+    });
+  }
+
+  /**
+   * Run the task for all the envs and wait until all of them are done or the timeout is reached,
+   * see {@link #timeoutMillis()}. Tasks still running by then are cancelled and reported with a
+   * {@link TimeoutException}.
+   *
+   * @param failureHandler called in the caller thread for each env whose task failed or timed out
+   * @return the results in the order of the envs, envs which failed are absent
+   */
+  public <T> Map<Env, T> execute(Collection<Env> envs, Function<Env, T> task,
+      BiConsumer<Env, Throwable> failureHandler) {
+    Map<Env, T> results = new LinkedHashMap<>(envs.size());
+
+    // no need to hand over to another thread
+    if (envs.size() == 1) {
+      Env env = envs.iterator().next();
+      try {
+        results.put(env, task.apply(env));
+      } catch (RuntimeException | Error e) {
+        failureHandler.accept(env, e);
+      }
+      return results;
+    }
+
+    Map<Env, Future<T>> futures = new LinkedHashMap<>(envs.size());
+    try {
+      for (Env env : envs) {
+        futures.put(env, executorService.submit(() -> task.apply(env)));
+      }
+
+      long timeoutMillis = timeoutMillis();
+      long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+      for (Map.Entry<Env, Future<T>> entry : futures.entrySet()) {
+        Env env = entry.getKey();
+        try {
+          long remaining = Math.max(0, deadline - System.nanoTime());
+          results.put(env, entry.getValue().get(remaining, TimeUnit.NANOSECONDS));
+        } catch (ExecutionException e) {
+          failureHandler.accept(env, e.getCause());
+        } catch (TimeoutException e) {
+          entry.getValue().cancel(true);
+          TimeoutException timeout = new TimeoutException(
+              String.format("Call env %s timed out after %d ms", env, timeoutMillis));
+          failureHandler.accept(env, timeout);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          failureHandler.accept(env, e);
+          // stop waiting for the rest envs
+          deadline = System.nanoTime();
+        }
+      }
+    } finally {
+      // e.g. the failure handler rethrows
+      for (Future<T> future : futures.values()) {
+        if (!future.isDone()) {
+          future.cancel(true);
+        }
+      }
+    }
+
+    return results;
+  }
+
+  /**
+   * {@link PortalConfig#multiEnvTimeout()}, but not less than the time a single admin service call
+   * may block, so calls are not given up while they still hold a pool thread
+   */
+  long timeoutMillis() {
+    return Math.max(portalConfig.multiEnvTimeout(),
+        (long) portalConfig.connectTimeout() + portalConfig.readTimeout());
+  }
+}
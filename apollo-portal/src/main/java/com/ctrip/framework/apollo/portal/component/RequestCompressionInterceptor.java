@@ -0,0 +1,114 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.portal.component;
+
+import com.ctrip.framework.apollo.portal.component.config.PortalConfig;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Gzip the large request bodies sent to the admin services.
+ * <p>
+ * A request body is only compressed if the last response from the same host listed gzip in its
+ * Accept-Encoding header, see RFC 7694, so admin services which don't decode compressed requests
+ * keep receiving plain ones.
+ */
+public class RequestCompressionInterceptor implements ClientHttpRequestInterceptor {
+
+  private static final String GZIP = "gzip";
+
+  private final PortalConfig portalConfig;
+  // host:port of the servers accepting gzip request bodies
+  private final Set<String> gzipAcceptingServers = ConcurrentHashMap.newKeySet();
+
+  public RequestCompressionInterceptor(final PortalConfig portalConfig) {
+    this.portalConfig = portalConfig;
+  }
+
+  @Override
+  public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+      ClientHttpRequestExecution execution) throws IOException {
+    String server = request.getURI().getAuthority();
+    byte[] requestBody = body;
+    if (shouldCompress(request, server, body)) {
+      requestBody = gzip(body);
+      request.getHeaders().set(HttpHeaders.CONTENT_ENCODING, GZIP);
+    }
+
+    ClientHttpResponse response = execution.execute(request, requestBody);
+
+    if (acceptsGzip(response.getHeaders().get(HttpHeaders.ACCEPT_ENCODING))) {
+      gzipAcceptingServers.add(server);
+    } else {
+      gzipAcceptingServers.remove(server);
+    }
+    return response;
+  }
+
+  private boolean shouldCompress(HttpRequest request, String server, byte[] body) {
+    return portalConfig.isApiCompressionEnabled()
+        && body.length >= portalConfig.apiRequestCompressionMinSize()
+        && !request.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)
+        && gzipAcceptingServers.contains(server);
+  }
+
+  private boolean acceptsGzip(List<String> acceptEncodings) {
+    if (acceptEncodings == null) {
+      return false;
+    }
+    for (String acceptEncoding : acceptEncodings) {
+      for (String coding : acceptEncoding.split(",")) {
+        String[] parts = coding.split(";");
+        if (GZIP.equalsIgnoreCase(parts[0].trim())) {
+          return qualityOf(parts) > 0;
+        }
+      }
+    }
+    return false;
+  }
+
+  private double qualityOf(String[] codingParts) {
+    for (int i = 1; i < codingParts.length; i++) {
+      String parameter = codingParts[i].trim();
+      if (parameter.startsWith("q=")) {
+        try {
+          return Double.parseDouble(parameter.substring(2));
+        } catch (NumberFormatException e) {
+          return 0;
+        }
+      }
+    }
+    return 1;
+  }
+
+  private byte[] gzip(byte[] body) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(body);
+    }
+    return out.toByteArray();
+  }
+}
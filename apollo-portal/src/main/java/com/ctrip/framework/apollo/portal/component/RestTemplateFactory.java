@@ -70,18 +70,25 @@ public class RestTemplateFactory implements FactoryBean<RestTemplate>, Initializ
     connectionManager.setMaxTotal(portalConfig.connectPoolMaxTotal());
     connectionManager.setDefaultMaxPerRoute(portalConfig.connectPoolMaxPerRoute());
 
-    CloseableHttpClient httpClient = HttpClientBuilder.create()
+    HttpClientBuilder httpClientBuilder = HttpClientBuilder.create()
         .setConnectionTimeToLive(portalConfig.connectionTimeToLive(), TimeUnit.MILLISECONDS)
-        .setConnectionManager(connectionManager).build();
+        .setConnectionManager(connectionManager);
+    if (!portalConfig.isApiCompressionEnabled()) {
+      // no Accept-Encoding, so the admin services don't compress the responses
+      httpClientBuilder.disableContentCompression();
+    }
+    CloseableHttpClient httpClient = httpClientBuilder.build();
 
     restTemplate = new RestTemplate(httpMessageConverters.getConverters());
     HttpComponentsClientHttpRequestFactory requestFactory =
-        new HttpComponentsClientHttpRequestFactory(httpClient);
+        new AbortableClientHttpRequestFactory(httpClient);
     requestFactory.setConnectTimeout(portalConfig.connectTimeout());
     requestFactory.setReadTimeout(portalConfig.readTimeout());
 
     restTemplate.setRequestFactory(requestFactory);
     restTemplate.getInterceptors().add(apolloAuditHttpInterceptor);
+    // the last one, so the request body is final
+    restTemplate.getInterceptors().add(new RequestCompressionInterceptor(portalConfig));
   }
 
 
@@ -16,8 +16,12 @@
  */
 package com.ctrip.framework.apollo.portal.component;
 
+import com.ctrip.framework.apollo.audit.context.ApolloAuditTraceContext;
+import com.ctrip.framework.apollo.audit.context.ApolloAuditTracer;
 import com.ctrip.framework.apollo.common.exception.ServiceException;
 import com.ctrip.framework.apollo.core.dto.ServiceDTO;
+import com.ctrip.framework.apollo.core.utils.ApolloThreadFactory;
+import com.ctrip.framework.apollo.portal.component.AbortableClientHttpRequestFactory.InFlightRequest;
 import com.ctrip.framework.apollo.portal.component.config.PortalConfig;
 import com.ctrip.framework.apollo.portal.constant.TracerEventType;
 import com.ctrip.framework.apollo.portal.environment.Env;
@@ -33,7 +37,20 @@ import java.net.SocketTimeoutException;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import org.apache.http.conn.ConnectTimeoutException;
 import org.apache.http.conn.HttpHostConnectException;
 import org.slf4j.Logger;
@@ -66,6 +83,10 @@ public class RetryableRestTemplate {
    * Admin service access tokens in "PortalDB.ServerConfig"
    */
   private static final Type ACCESS_TOKENS = new TypeToken<Map<String, String>>() {}.getType();
+  /**
+   * At most so many backup requests are in flight at a time, the other reads are not hedged
+   */
+  private static final int MAX_HEDGE_THREADS = 16;
 
   private RestTemplate restTemplate;
 
@@ -73,16 +94,27 @@ public class RetryableRestTemplate {
   private final AdminServiceAddressLocator adminServiceAddressLocator;
   private final PortalMetaDomainService portalMetaDomainService;
   private final PortalConfig portalConfig;
+  private final ApolloAuditTraceContext apolloAuditTraceContext;
   private volatile String lastAdminServiceAccessTokens;
   private volatile Map<Env, String> adminServiceAccessTokenMap;
+  private final ExecutorService hedgeExecutorService;
+  private final ScheduledThreadPoolExecutor hedgeTimer;
 
   public RetryableRestTemplate(final @Lazy RestTemplateFactory restTemplateFactory,
       final @Lazy AdminServiceAddressLocator adminServiceAddressLocator,
-      final PortalMetaDomainService portalMetaDomainService, final PortalConfig portalConfig) {
+      final PortalMetaDomainService portalMetaDomainService, final PortalConfig portalConfig,
+      final ApolloAuditTraceContext apolloAuditTraceContext) {
     this.restTemplateFactory = restTemplateFactory;
     this.adminServiceAddressLocator = adminServiceAddressLocator;
     this.portalMetaDomainService = portalMetaDomainService;
     this.portalConfig = portalConfig;
+    this.apolloAuditTraceContext = apolloAuditTraceContext;
+    this.hedgeExecutorService = new ThreadPoolExecutor(0, MAX_HEDGE_THREADS, 60L,
+        TimeUnit.SECONDS, new SynchronousQueue<>(),
+        ApolloThreadFactory.create("RetryableRestTemplate", true));
+    this.hedgeTimer = new ScheduledThreadPoolExecutor(1,
+        ApolloThreadFactory.create("RetryableRestTemplate-HedgeTimer", true));
+    this.hedgeTimer.setRemoveOnCancelPolicy(true);
   }
 
 
@@ -91,6 +123,12 @@ public class RetryableRestTemplate {
     restTemplate = restTemplateFactory.getObject();
   }
 
+  @PreDestroy
+  private void preDestroy() {
+    hedgeTimer.shutdownNow();
+    hedgeExecutorService.shutdownNow();
+  }
+
   public <T> T get(Env env, String path, Class<T> responseType, Object... urlVariables)
       throws RestClientException {
     return execute(HttpMethod.GET, env, path, null, responseType, urlVariables);
@@ -129,12 +167,19 @@ public class RetryableRestTemplate {
 
     List<ServiceDTO> services = getAdminServices(env, ct);
     HttpHeaders extraHeaders = assembleExtraHeaders(env);
+    String finalPath = path;
+
+    if (method == HttpMethod.GET && isHedgingEnabled(services)) {
+      HttpHeaders hedgedHeaders = withAuditHeaders(extraHeaders);
+      return hedgedGet(env, uri, services, ct, serviceDTO -> doExecute(method, hedgedHeaders,
+          serviceDTO, finalPath, request, responseType, uriVariables));
+    }
 
     for (ServiceDTO serviceDTO : services) {
       try {
 
-        T result =
-            doExecute(method, extraHeaders, serviceDTO, path, request, responseType, uriVariables);
+        T result = callService(serviceDTO, method, () -> doExecute(method, extraHeaders,
+            serviceDTO, finalPath, request, responseType, uriVariables));
 
         ct.setStatus(Transaction.SUCCESS);
         ct.complete();
@@ -173,12 +218,21 @@ public class RetryableRestTemplate {
 
     List<ServiceDTO> services = getAdminServices(env, ct);
     HttpEntity<Void> entity = new HttpEntity<>(assembleExtraHeaders(env));
+    String finalPath = path;
+
+    if (isHedgingEnabled(services)) {
+      HttpEntity<Void> hedgedEntity = new HttpEntity<>(withAuditHeaders(entity.getHeaders()));
+      return hedgedGet(env, uri, services, ct, serviceDTO -> restTemplate.exchange(
+          parseHost(serviceDTO) + finalPath, HttpMethod.GET, hedgedEntity, reference,
+          uriVariables));
+    }
 
     for (ServiceDTO serviceDTO : services) {
       try {
 
-        ResponseEntity<T> result = restTemplate.exchange(parseHost(serviceDTO) + path,
-            HttpMethod.GET, entity, reference, uriVariables);
+        ResponseEntity<T> result = callService(serviceDTO, HttpMethod.GET,
+            () -> restTemplate.exchange(parseHost(serviceDTO) + finalPath, HttpMethod.GET, entity,
+                reference, uriVariables));
 
         ct.setStatus(Transaction.SUCCESS);
         ct.complete();
@@ -207,6 +261,168 @@ public class RetryableRestTemplate {
 
   }
 
+  private boolean isHedgingEnabled(List<ServiceDTO> services) {
+    return services.size() > 1 && portalConfig.isAdminServiceHedgedGetEnabled();
+  }
+
+  /**
+   * The hedged requests are sent from worker threads, which can't see the current request, so the
+   * audit trace is resolved here and sent along with the other headers
+   */
+  private HttpHeaders withAuditHeaders(HttpHeaders extraHeaders) {
+    ApolloAuditTracer tracer = apolloAuditTraceContext.tracer();
+    if (tracer == null) {
+      return extraHeaders;
+    }
+    HttpHeaders headers = new HttpHeaders();
+    if (extraHeaders != null) {
+      headers.addAll(extraHeaders);
+    }
+    tracer.injectHeaders(headers);
+    return headers;
+  }
+
+  /**
+   * Send the read request to the first service on the current thread, but don't wait for it longer
+   * than its usual latency: the request is sent to the second service in the meantime and the first
+   * successful response wins, the other request is aborted. Without a free hedge thread the request
+   * is not hedged.
+   */
+  private <T> T hedgedGet(Env env, String uri, List<ServiceDTO> services, Transaction ct,
+      Function<ServiceDTO, T> call) {
+    ServiceDTO primary = services.get(0);
+    ServiceDTO backup = services.get(1);
+    InFlightRequest primaryRequest = new InFlightRequest();
+    InFlightRequest backupRequest = new InFlightRequest();
+    CompletableFuture<T> backupResult = new CompletableFuture<>();
+
+    ScheduledFuture<?> hedge = hedgeTimer.schedule(() -> {
+      try {
+        hedgeExecutorService.execute(() -> {
+          try {
+            backupResult.complete(backupRequest.call(
+                () -> callService(backup, HttpMethod.GET, () -> call.apply(backup))));
+            primaryRequest.abort();
+          } catch (Throwable t) {
+            backupResult.completeExceptionally(t);
+          }
+        });
+        Tracer.logEvent(TracerEventType.API_HEDGE, uri);
+      } catch (RejectedExecutionException ex) {
+        Tracer.logEvent(TracerEventType.API_HEDGE_REJECTED, uri);
+        backupResult.cancel(false);
+      }
+    }, adminServiceAddressLocator.hedgeDelayMillis(primary), TimeUnit.MILLISECONDS);
+
+    int next = 1;
+    try {
+      try {
+        T result = primaryRequest.call(
+            () -> callService(primary, HttpMethod.GET, () -> call.apply(primary)));
+        ct.setStatus(Transaction.SUCCESS);
+        ct.complete();
+        return result;
+      } catch (RuntimeException t) {
+        if (backupResult.isDone() && !backupResult.isCompletedExceptionally()) {
+          // aborted by the backup request which won
+          ct.setStatus(Transaction.SUCCESS);
+          ct.complete();
+          return backupResult.join();
+        }
+        logger.error("Http request failed, uri: {}, method: {}", uri, HttpMethod.GET, t);
+        Tracer.logError(t);
+        if (!canRetry(t, HttpMethod.GET)) {// biz exception rethrow
+          ct.setStatus(t);
+          ct.complete();
+          throw t;
+        }
+        Tracer.logEvent(TracerEventType.API_RETRY, uri);
+      }
+
+      // the backup request is already sent, wait for it instead of sending another one
+      if (!hedge.cancel(false)) {
+        try {
+          T result = backupResult.get();
+          ct.setStatus(Transaction.SUCCESS);
+          ct.complete();
+          return result;
+        } catch (CancellationException ex) {
+          // not hedged
+        } catch (ExecutionException ex) {
+          next++;
+          Throwable t = ex.getCause();
+          logger.error("Http request failed, uri: {}, method: {}", uri, HttpMethod.GET, t);
+          Tracer.logError(t);
+          if (!canRetry(t, HttpMethod.GET)) {// biz exception rethrow
+            ct.setStatus(t);
+            ct.complete();
+            if (t instanceof Error) {
+              throw (Error) t;
+            }
+            throw t instanceof RuntimeException ? (RuntimeException) t : new ServiceException(
+                t.getMessage(), (Exception) t);
+          }
+          Tracer.logEvent(TracerEventType.API_RETRY, uri);
+        }
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      ServiceException e = new ServiceException("Interrupted while calling admin servers", ex);
+      ct.setStatus(e);
+      ct.complete();
+      throw e;
+    } finally {
+      hedge.cancel(false);
+      backupRequest.abort();
+    }
+
+    for (ServiceDTO serviceDTO : services.subList(next, services.size())) {
+      try {
+
+        T result = callService(serviceDTO, HttpMethod.GET, () -> call.apply(serviceDTO));
+
+        ct.setStatus(Transaction.SUCCESS);
+        ct.complete();
+        return result;
+      } catch (Throwable t) {
+        logger.error("Http request failed, uri: {}, method: {}", uri, HttpMethod.GET, t);
+        Tracer.logError(t);
+        if (canRetry(t, HttpMethod.GET)) {
+          Tracer.logEvent(TracerEventType.API_RETRY, uri);
+        } else {// biz exception rethrow
+          ct.setStatus(t);
+          ct.complete();
+          throw t;
+        }
+      }
+    }
+
+    // all admin server down
+    ServiceException e = new ServiceException(
+        String.format("Admin servers are unresponsive. meta server address: %s, admin servers: %s",
+            portalMetaDomainService.getDomain(env), services));
+    ct.setStatus(e);
+    ct.complete();
+    throw e;
+  }
+
+  /**
+   * Report the latency and availability of the service to the address locator, so that slow or
+   * unavailable services are tried later
+   */
+  private <T> T callService(ServiceDTO serviceDTO, HttpMethod method, Supplier<T> call) {
+    long startNanos = adminServiceAddressLocator.requestStarted(serviceDTO);
+    boolean available = true;
+    try {
+      return call.get();
+    } catch (RuntimeException e) {
+      available = !canRetry(e, HttpMethod.GET);
+      throw e;
+    } finally {
+      adminServiceAddressLocator.requestFinished(serviceDTO, startNanos, available);
+    }
+  }
+
   private HttpHeaders assembleExtraHeaders(Env env) {
     String adminServiceAccessToken = getAdminServiceAccessToken(env);
 
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.portal.component;
+
+import com.ctrip.framework.apollo.portal.component.config.PortalConfig;
+import com.ctrip.framework.apollo.portal.entity.bo.UserInfo;
+import com.ctrip.framework.apollo.portal.spi.UserService;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+/**
+ * Cache of the user directory in front of {@link UserService}, for the lookups which only render
+ * user information, e.g. the display names of the operators in a list or the email recipients.
+ * <p>
+ * Users found are cached for {@link PortalConfig#userDirectoryCacheTtlSecond()}, user ids not found
+ * for {@link PortalConfig#userDirectoryCacheNegativeTtlSecond()}. All the missing user ids of one
+ * call are loaded with one {@link UserService#findByUserIds(List)} call, and concurrent calls
+ * missing the same user id wait for the same load instead of loading it again.
+ * <p>
+ * Lookups which check whether a user exists, e.g. before granting a role, should still call
+ * {@link UserService} directly, so newly added users are found at once.
+ */
+@Component
+public class UserDirectoryCache {
+
+  private static final int MAX_CACHED_USERS = 100000;
+
+  private final UserService userService;
+  private final PortalConfig portalConfig;
+
+  private final Cache<String, CachedUser> users =
+      CacheBuilder.newBuilder().maximumSize(MAX_CACHED_USERS).build();
+  // user id -> the load in progress
+  private final ConcurrentMap<String, CompletableFuture<CachedUser>> loadingUsers =
+      new ConcurrentHashMap<>();
+
+  public UserDirectoryCache(final UserService userService, final PortalConfig portalConfig) {
+    this.userService = userService;
+    this.portalConfig = portalConfig;
+  }
+
+  public UserInfo findByUserId(String userId) {
+    List<UserInfo> userInfos = findByUserIds(Collections.singletonList(userId));
+    return userInfos.isEmpty() ? null : userInfos.get(0);
+  }
+
+  /**
+   * @return the users found, in the order of the user ids
+   */
+  public List<UserInfo> findByUserIds(List<String> userIds) {
+    if (CollectionUtils.isEmpty(userIds)) {
+      return Collections.emptyList();
+    }
+
+    long now = System.currentTimeMillis();
+    Map<String, CachedUser> found = new LinkedHashMap<>();
+    Map<String, CompletableFuture<CachedUser>> waiting = new LinkedHashMap<>();
+    Map<String, CompletableFuture<CachedUser>> toLoad = new LinkedHashMap<>();
+    for (String userId : new LinkedHashSet<>(userIds)) {
+      CachedUser cachedUser = users.getIfPresent(userId);
+      if (cachedUser != null && cachedUser.expiresAt > now) {
+        found.put(userId, cachedUser);
+        continue;
+      }
+      CompletableFuture<CachedUser> load = new CompletableFuture<>();
+      CompletableFuture<CachedUser> existingLoad = loadingUsers.putIfAbsent(userId, load);
+      if (existingLoad == null) {
+        toLoad.put(userId, load);
+      }
+      waiting.put(userId, existingLoad == null ? load : existingLoad);
+    }
+
+    if (!toLoad.isEmpty()) {
+      load(toLoad);
+    }
+    for (Map.Entry<String, CompletableFuture<CachedUser>> entry : waiting.entrySet()) {
+      found.put(entry.getKey(), join(entry.getValue()));
+    }
+
+    List<UserInfo> result = new ArrayList<>(found.size());
+    for (String userId : new LinkedHashSet<>(userIds)) {
+      CachedUser cachedUser = found.get(userId);
+      if (cachedUser != null && cachedUser.userInfo != null) {
+        result.add(cachedUser.userInfo);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Drop the cached users, e.g. after a user is updated.
+   */
+  public void invalidate(String userId) {
+    users.invalidate(userId);
+  }
+
+  private void load(Map<String, CompletableFuture<CachedUser>> toLoad) {
+    try {
+      List<UserInfo> userInfos = userService.findByUserIds(new ArrayList<>(toLoad.keySet()));
+      Map<String, UserInfo> userInfoMap = new LinkedHashMap<>();
+      if (userInfos != null) {
+        for (UserInfo userInfo : userInfos) {
+          if (userInfo != null && userInfo.getUserId() != null) {
+            userInfoMap.put(userInfo.getUserId(), userInfo);
+          }
+        }
+      }
+
+      long now = System.currentTimeMillis();
+      long ttl = TimeUnit.SECONDS.toMillis(portalConfig.userDirectoryCacheTtlSecond());
+      long negativeTtl =
+          TimeUnit.SECONDS.toMillis(portalConfig.userDirectoryCacheNegativeTtlSecond());
+      for (Map.Entry<String, CompletableFuture<CachedUser>> entry : toLoad.entrySet()) {
+        UserInfo userInfo = userInfoMap.get(entry.getKey());
+        CachedUser cachedUser =
+            new CachedUser(userInfo, now + (userInfo == null ? negativeTtl : ttl));
+        users.put(entry.getKey(), cachedUser);
+        complete(entry.getKey(), entry.getValue(), cachedUser);
+      }
+    } catch (RuntimeException e) {
+      toLoad.forEach((userId, load) -> {
+        loadingUsers.remove(userId, load);
+        load.completeExceptionally(e);
+      });
+      throw e;
+    }
+  }
+
+  private void complete(String userId, CompletableFuture<CachedUser> load, CachedUser cachedUser) {
+    loadingUsers.remove(userId, load);
+    load.complete(cachedUser);
+  }
+
+  private CachedUser join(CompletableFuture<CachedUser> load) {
+    try {
+      return load.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private static class CachedUser {
+
+    // null if the user is not found
+    private final UserInfo userInfo;
+    private final long expiresAt;
+
+    CachedUser(UserInfo userInfo, long expiresAt) {
+      this.userInfo = userInfo;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
@@ -47,6 +47,13 @@ public class PortalConfig extends RefreshableConfig {
       5 * 60; // 5min
   private static final int DEFAULT_REFRESH_ADMIN_SERVER_ADDRESS_TASK_OFFLINE_INTERVAL_IN_SECOND =
       10; // 10s
+  private static final int DEFAULT_PERMISSION_INDEX_REFRESH_INTERVAL_IN_SECOND = 5; // 5s
+  private static final int DEFAULT_CONSUMER_TOKEN_CACHE_SCAN_INTERVAL_IN_SECOND = 5; // 5s
+  private static final int DEFAULT_USER_DIRECTORY_CACHE_TTL_IN_SECOND = 5 * 60; // 5min
+  private static final int DEFAULT_USER_DIRECTORY_CACHE_NEGATIVE_TTL_IN_SECOND = 60; // 1min
+  private static final int DEFAULT_CONFIG_PUBLISH_NOTIFY_THREADS = 4;
+  private static final int DEFAULT_CONFIG_PUBLISH_NOTIFY_QUEUE_CAPACITY = 1000;
+  private static final int DEFAULT_CONFIG_PUBLISH_NOTIFY_MAX_ATTEMPTS = 3;
 
   private static final Gson GSON = new Gson();
   private static final Type ORGANIZATION = new TypeToken<List<Organization>>() {}.getType();
@@ -189,6 +196,37 @@ public class PortalConfig extends RefreshableConfig {
     return getIntProperty("api.pool.max.per.route", 2);
   }
 
+  /**
+   * whether to compress the responses and the large request bodies between portal and admin
+   * services, request bodies are only compressed for admin services which accept them
+   */
+  public boolean isApiCompressionEnabled() {
+    return getBooleanProperty("api.compression.enabled", true);
+  }
+
+  /**
+   * the min size in bytes of the request bodies to compress
+   */
+  public int apiRequestCompressionMinSize() {
+    return getIntProperty("api.request.compression.min.size", 8192);
+  }
+
+  /**
+   * the max time in milliseconds to wait for all the envs when calling them in parallel, at least
+   * api.connectTimeout + api.readTimeout is waited
+   */
+  public int multiEnvTimeout() {
+    return getIntProperty("api.multi.env.timeout", 15000);
+  }
+
+  /**
+   * whether to send a read request to another admin service when the first one is slower than
+   * usual, see {@link com.ctrip.framework.apollo.portal.component.AdminServiceAddressLocator#hedgeDelayMillis}
+   */
+  public boolean isAdminServiceHedgedGetEnabled() {
+    return getBooleanProperty("api.hedged.get.enabled", false);
+  }
+
   public List<Organization> organizations() {
 
     String organizations = getValue("organizations");
@@ -214,6 +252,35 @@ public class PortalConfig extends RefreshableConfig {
         DEFAULT_REFRESH_ADMIN_SERVER_ADDRESS_TASK_OFFLINE_INTERVAL_IN_SECOND);
   }
 
+  /**
+   * the interval to check the user roles and permissions changed by other portal instances
+   */
+  public int permissionIndexRefreshIntervalSecond() {
+    int interval = getIntProperty("permission.index.refresh.interval.second",
+        DEFAULT_PERMISSION_INDEX_REFRESH_INTERVAL_IN_SECOND);
+    return checkInt(interval, 1, Integer.MAX_VALUE,
+        DEFAULT_PERMISSION_INDEX_REFRESH_INTERVAL_IN_SECOND);
+  }
+
+  /**
+   * the interval to check the consumer tokens changed by other portal instances
+   */
+  public int consumerTokenCacheScanIntervalSecond() {
+    int interval = getIntProperty("consumer.token.cache.scan.interval.second",
+        DEFAULT_CONSUMER_TOKEN_CACHE_SCAN_INTERVAL_IN_SECOND);
+    return checkInt(interval, 1, Integer.MAX_VALUE,
+        DEFAULT_CONSUMER_TOKEN_CACHE_SCAN_INTERVAL_IN_SECOND);
+  }
+
+  /**
+   * whether to enforce the rate limits of the consumer tokens for all the portal instances
+   * together, which needs the ConsumerRateLimitQuota table, otherwise the rate limits are per
+   * instance
+   */
+  public boolean isOpenApiSharedRateLimitEnabled() {
+    return getBooleanProperty("open.api.rate.limit.shared.enabled", false);
+  }
+
   public boolean isEmergencyPublishAllowed(Env env) {
     String targetEnv = env.getName();
 
@@ -315,6 +382,51 @@ public class PortalConfig extends RefreshableConfig {
     return getArrayProperty("config.release.webhook.service.url", null);
   }
 
+  /**
+   * how long the users looked up for rendering, e.g. the display names of operators, are cached
+   */
+  public int userDirectoryCacheTtlSecond() {
+    int ttl = getIntProperty("user.directory.cache.ttl.second",
+        DEFAULT_USER_DIRECTORY_CACHE_TTL_IN_SECOND);
+    return checkInt(ttl, 0, Integer.MAX_VALUE, DEFAULT_USER_DIRECTORY_CACHE_TTL_IN_SECOND);
+  }
+
+  /**
+   * how long the user ids not found in the user directory are cached
+   */
+  public int userDirectoryCacheNegativeTtlSecond() {
+    int ttl = getIntProperty("user.directory.cache.negative.ttl.second",
+        DEFAULT_USER_DIRECTORY_CACHE_NEGATIVE_TTL_IN_SECOND);
+    return checkInt(ttl, 0, Integer.MAX_VALUE, DEFAULT_USER_DIRECTORY_CACHE_NEGATIVE_TTL_IN_SECOND);
+  }
+
+  /**
+   * the worker threads of each config publish notification channel, i.e. webhook, email and mq
+   */
+  public int configPublishNotifyThreads() {
+    int threads = getIntProperty("config.publish.notify.threads",
+        DEFAULT_CONFIG_PUBLISH_NOTIFY_THREADS);
+    return checkInt(threads, 1, Integer.MAX_VALUE, DEFAULT_CONFIG_PUBLISH_NOTIFY_THREADS);
+  }
+
+  /**
+   * the pending config publish notifications of each channel, more are dropped
+   */
+  public int configPublishNotifyQueueCapacity() {
+    int capacity = getIntProperty("config.publish.notify.queue.capacity",
+        DEFAULT_CONFIG_PUBLISH_NOTIFY_QUEUE_CAPACITY);
+    return checkInt(capacity, 1, Integer.MAX_VALUE, DEFAULT_CONFIG_PUBLISH_NOTIFY_QUEUE_CAPACITY);
+  }
+
+  /**
+   * the max attempts to deliver one config publish notification, including the first one
+   */
+  public int configPublishNotifyMaxAttempts() {
+    int attempts = getIntProperty("config.publish.notify.max.attempts",
+        DEFAULT_CONFIG_PUBLISH_NOTIFY_MAX_ATTEMPTS);
+    return checkInt(attempts, 1, Integer.MAX_VALUE, DEFAULT_CONFIG_PUBLISH_NOTIFY_MAX_ATTEMPTS);
+  }
+
   public boolean supportSearchByItem() {
     return getBooleanProperty("searchByItem.switch", true);
   }
@@ -24,6 +24,7 @@ import com.ctrip.framework.apollo.common.dto.ReleaseDTO;
 import com.ctrip.framework.apollo.common.entity.AppNamespace;
 import com.ctrip.framework.apollo.core.enums.ConfigFileFormat;
 import com.ctrip.framework.apollo.portal.environment.Env;
+import com.ctrip.framework.apollo.portal.component.UserDirectoryCache;
 import com.ctrip.framework.apollo.portal.component.config.PortalConfig;
 import com.ctrip.framework.apollo.portal.constant.RoleType;
 import com.ctrip.framework.apollo.portal.entity.bo.Email;
@@ -34,7 +35,6 @@ import com.ctrip.framework.apollo.portal.entity.vo.ReleaseCompareResult;
 import com.ctrip.framework.apollo.portal.service.AppNamespaceService;
 import com.ctrip.framework.apollo.portal.service.ReleaseService;
 import com.ctrip.framework.apollo.portal.service.RolePermissionService;
-import com.ctrip.framework.apollo.portal.spi.UserService;
 import com.ctrip.framework.apollo.portal.util.RoleUtils;
 
 import org.apache.commons.lang3.time.FastDateFormat;
@@ -87,7 +87,7 @@ public abstract class ConfigPublishEmailBuilder {
   @Autowired
   private AppNamespaceService appNamespaceService;
   @Autowired
-  private UserService userService;
+  private UserDirectoryCache userDirectoryCache;
   @Autowired
   protected PortalConfig portalConfig;
 
@@ -276,7 +276,7 @@ public abstract class ConfigPublishEmailBuilder {
       userIds.add(userInfo.getUserId());
     }
 
-    List<UserInfo> userInfos = userService.findByUserIds(Lists.newArrayList(userIds));
+    List<UserInfo> userInfos = userDirectoryCache.findByUserIds(Lists.newArrayList(userIds));
 
     if (CollectionUtils.isEmpty(userInfos)) {
       return Collections.emptyList();
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.portal.component.txtresolver;
+
+import java.util.Arrays;
+
+/**
+ * Longest common subsequence of two line sequences, computed with the linear space variant of
+ * Myers' O(ND) difference algorithm. Lines are compared by token, equal lines must have the same
+ * token.
+ * <p>
+ * The cost is proportional to the size of the edit, so a small edit to a large text is close to
+ * linear in the size of the text.
+ */
+final class LineDiff {
+
+  private LineDiff() {
+  }
+
+  /**
+   * @return for each index of {@code target}, the matched index of {@code source}, or -1 if the
+   * line is not part of the longest common subsequence
+   */
+  static int[] match(int[] source, int[] target) {
+    int[] matches = new int[target.length];
+    Arrays.fill(matches, -1);
+    match(source, 0, source.length, target, 0, target.length, matches);
+    return matches;
+  }
+
+  private static void match(int[] a, int aFrom, int aTo, int[] b, int bFrom, int bTo,
+      int[] matches) {
+    // common prefix and suffix
+    while (aFrom < aTo && bFrom < bTo && a[aFrom] == b[bFrom]) {
+      matches[bFrom++] = aFrom++;
+    }
+    while (aFrom < aTo && bFrom < bTo && a[aTo - 1] == b[bTo - 1]) {
+      matches[--bTo] = --aTo;
+    }
+    if (aFrom == aTo || bFrom == bTo) {
+      return;
+    }
+
+    int[] split = bisect(a, aFrom, aTo, b, bFrom, bTo);
+    if (split == null) {
+      // nothing in common
+      return;
+    }
+    match(a, aFrom, aFrom + split[0], b, bFrom, bFrom + split[1], matches);
+    match(a, aFrom + split[0], aTo, b, bFrom + split[1], bTo, matches);
+  }
+
+  /**
+   * Find the middle snake of the edit path by walking forward and backward at the same time.
+   *
+   * @return the split point relative to {@code aFrom} and {@code bFrom}, or null if the two
+   * ranges have nothing in common
+   */
+  private static int[] bisect(int[] a, int aFrom, int aTo, int[] b, int bFrom, int bTo) {
+    int n = aTo - aFrom;
+    int m = bTo - bFrom;
+    int maxD = (n + m + 1) / 2;
+    int vOffset = maxD;
+    int vLength = 2 * maxD + 2;
+    int[] v1 = new int[vLength];
+    int[] v2 = new int[vLength];
+    Arrays.fill(v1, -1);
+    Arrays.fill(v2, -1);
+    v1[vOffset + 1] = 0;
+    v2[vOffset + 1] = 0;
+
+    int delta = n - m;
+    // if the total number of lines is odd, the front path will collide with the reverse path
+    boolean front = delta % 2 != 0;
+    int k1Start = 0;
+    int k1End = 0;
+    int k2Start = 0;
+    int k2End = 0;
+    for (int d = 0; d < maxD; d++) {
+      for (int k1 = -d + k1Start; k1 <= d - k1End; k1 += 2) {
+        int k1Offset = vOffset + k1;
+        int x1;
+        if (k1 == -d || (k1 != d && v1[k1Offset - 1] < v1[k1Offset + 1])) {
+          x1 = v1[k1Offset + 1];
+        } else {
+          x1 = v1[k1Offset - 1] + 1;
+        }
+        int y1 = x1 - k1;
+        while (x1 < n && y1 < m && a[aFrom + x1] == b[bFrom + y1]) {
+          x1++;
+          y1++;
+        }
+        v1[k1Offset] = x1;
+        if (x1 > n) {
+          // ran off the right of the graph
+          k1End += 2;
+        } else if (y1 > m) {
+          // ran off the bottom of the graph
+          k1Start += 2;
+        } else if (front) {
+          int k2Offset = vOffset + delta - k1;
+          if (k2Offset >= 0 && k2Offset < vLength && v2[k2Offset] != -1) {
+            int x2 = n - v2[k2Offset];
+            if (x1 >= x2) {
+              return new int[]{x1, y1};
+            }
+          }
+        }
+      }
+
+      for (int k2 = -d + k2Start; k2 <= d - k2End; k2 += 2) {
+        int k2Offset = vOffset + k2;
+        int x2;
+        if (k2 == -d || (k2 != d && v2[k2Offset - 1] < v2[k2Offset + 1])) {
+          x2 = v2[k2Offset + 1];
+        } else {
+          x2 = v2[k2Offset - 1] + 1;
+        }
+        int y2 = x2 - k2;
+        while (x2 < n && y2 < m && a[aTo - x2 - 1] == b[bTo - y2 - 1]) {
+          x2++;
+          y2++;
+        }
+        v2[k2Offset] = x2;
+        if (x2 > n) {
+          k2End += 2;
+        } else if (y2 > m) {
+          k2Start += 2;
+        } else if (!front) {
+          int k1Offset = vOffset + delta - k2;
+          if (k1Offset >= 0 && k1Offset < vLength && v1[k1Offset] != -1) {
+            int x1 = v1[k1Offset];
+            int y1 = vOffset + x1 - k1Offset;
+            if (x1 >= n - x2) {
+              return new int[]{x1, y1};
+            }
+          }
+        }
+      }
+    }
+    return null;
+  }
+}
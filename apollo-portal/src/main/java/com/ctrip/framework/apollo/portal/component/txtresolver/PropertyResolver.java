@@ -19,18 +19,18 @@ package com.ctrip.framework.apollo.portal.component.txtresolver;
 import com.ctrip.framework.apollo.common.dto.ItemChangeSets;
 import com.ctrip.framework.apollo.common.dto.ItemDTO;
 import com.ctrip.framework.apollo.common.exception.BadRequestException;
-import com.ctrip.framework.apollo.common.utils.BeanUtils;
-
 import com.ctrip.framework.apollo.core.utils.StringUtils;
 import com.google.common.base.Strings;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 
 import javax.validation.constraints.NotNull;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -38,7 +38,14 @@ import java.util.stream.Collectors;
 
 /**
  * normal property file resolver.
- * update comment and blank item implement by create new item and delete old item.
+ * <p>
+ * The lines of the base items and of the config text are diffed, see {@link LineDiff}, so only the
+ * lines really changed by the user produce item changes. Kept lines keep their line numbers, line
+ * numbers are only regenerated where there is no room left between the kept lines for the changed
+ * ones, and then spread out with gaps so the following edits usually fit in.
+ * <p>
+ * update comment and blank item implement by reusing a removed comment or blank item of the same
+ * changed region, otherwise by create new item and delete old item.
  * update normal key/value item implement by update.
  */
 @Component("propertyResolver")
@@ -46,29 +53,11 @@ public class PropertyResolver implements ConfigTextResolver {
 
   private static final String KV_SEPARATOR = "=";
   private static final String ITEM_SEPARATOR = "\n";
+  // the line number distance between lines whose line numbers are regenerated
+  static final int LINE_NUM_GAP = 16;
 
   @Override
   public ItemChangeSets resolve(long namespaceId, String configText, List<ItemDTO> baseItems) {
-
-    Map<String, ItemDTO> oldKeyMapItem = BeanUtils.mapByKey("key", baseItems);
-    // remove comment and blank item map.
-    oldKeyMapItem.remove("");
-
-    // comment items
-    List<ItemDTO> baseCommentItems = new LinkedList<>();
-    // blank items
-    List<ItemDTO> baseBlankItems = new LinkedList<>();
-    if (!CollectionUtils.isEmpty(baseItems)) {
-
-      baseCommentItems = baseItems.stream().filter(itemDTO -> isCommentItem(itemDTO))
-          .sorted(Comparator.comparing(ItemDTO::getLineNum))
-          .collect(Collectors.toCollection(LinkedList::new));
-
-      baseBlankItems = baseItems.stream().filter(itemDTO -> isBlankItem(itemDTO))
-          .sorted(Comparator.comparing(ItemDTO::getLineNum))
-          .collect(Collectors.toCollection(LinkedList::new));
-    }
-
     String[] newItems = configText.split(ITEM_SEPARATOR);
     Set<String> repeatKeys = new HashSet<>();
     if (isHasRepeatKey(newItems, repeatKeys)) {
@@ -76,43 +65,73 @@ public class PropertyResolver implements ConfigTextResolver {
           repeatKeys);
     }
 
-    ItemChangeSets changeSets = new ItemChangeSets();
-    Map<Integer, String> newLineNumMapItem = new HashMap<>();// use for delete blank and comment
-                                                             // item
+    List<ItemDTO> oldLines = new ArrayList<>();
+    if (!CollectionUtils.isEmpty(baseItems)) {
+      oldLines = baseItems.stream()
+          .filter(item -> isNormalItem(item) || isCommentItem(item) || isBlankItem(item))
+          .sorted(Comparator.comparing(ItemDTO::getLineNum))
+          .collect(Collectors.toList());
+    }
+    List<ItemDTO> newLines = new ArrayList<>(newItems.length);
     int lineCounter = 1;
     for (String newItem : newItems) {
-      newItem = newItem.trim();
-      newLineNumMapItem.put(lineCounter, newItem);
-
-      // comment item
-      if (isCommentItem(newItem)) {
-        ItemDTO oldItemDTO = null;
-        if (!CollectionUtils.isEmpty(baseCommentItems)) {
-          oldItemDTO = baseCommentItems.remove(0);
-        }
+      newLines.add(parseLine(namespaceId, newItem.trim(), lineCounter++));
+    }
 
-        handleCommentLine(namespaceId, oldItemDTO, newItem, lineCounter, changeSets);
+    Map<String, Integer> tokens = new HashMap<>();
+    int[] oldTokens = new int[oldLines.size()];
+    for (int i = 0; i < oldTokens.length; i++) {
+      oldTokens[i] = tokens.computeIfAbsent(token(oldLines.get(i)), k -> tokens.size());
+    }
+    int[] newTokens = new int[newLines.size()];
+    for (int i = 0; i < newTokens.length; i++) {
+      newTokens[i] = tokens.computeIfAbsent(token(newLines.get(i)), k -> tokens.size());
+    }
+    int[] matches = LineDiff.match(oldTokens, newTokens);
+
+    // the old item reused by each new line, null if the line is to be created
+    ItemDTO[] reused = new ItemDTO[newLines.size()];
+    // line numbers of the kept lines, 0 if the line is not kept at the same position
+    int[] anchors = new int[newLines.size()];
+    boolean[] oldReused = new boolean[oldLines.size()];
+    for (int i = 0; i < matches.length; i++) {
+      if (matches[i] >= 0) {
+        reused[i] = oldLines.get(matches[i]);
+        anchors[i] = reused[i].getLineNum();
+        oldReused[matches[i]] = true;
+      }
+    }
+    reuseMovedNormalItems(oldLines, oldReused, newLines, reused);
+    reuseChangedCommentAndBlankItems(oldLines, oldReused, newLines, matches, reused);
 
-        // blank item
-      } else if (isBlankItem(newItem)) {
+    int[] lineNums = allocateLineNums(anchors);
 
-        ItemDTO oldItemDTO = null;
-        if (!CollectionUtils.isEmpty(baseBlankItems)) {
-          oldItemDTO = baseBlankItems.remove(0);
+    ItemChangeSets changeSets = new ItemChangeSets();
+    for (int i = 0; i < newLines.size(); i++) {
+      ItemDTO newLine = newLines.get(i);
+      ItemDTO oldItem = reused[i];
+      newLine.setLineNum(lineNums[i]);
+      if (oldItem == null) {
+        changeSets.addCreateItem(newLine);
+      } else if (isNormalItem(newLine)) {
+        if (!StringUtils.equals(newLine.getValue(), oldItem.getValue())
+            || newLine.getLineNum() != oldItem.getLineNum()) {
+          changeSets.addUpdateItem(buildNormalItem(oldItem.getId(), namespaceId, newLine.getKey(),
+              newLine.getValue(), oldItem.getComment(), newLine.getLineNum()));
         }
-
-        handleBlankLine(namespaceId, oldItemDTO, lineCounter, changeSets);
-
-        // normal item
-      } else {
-        handleNormalLine(namespaceId, oldKeyMapItem, newItem, lineCounter, changeSets);
+      } else if (!StringUtils.equals(newLine.getComment(), oldItem.getComment())
+          || newLine.getLineNum() != oldItem.getLineNum()) {
+        newLine.setId(oldItem.getId());
+        changeSets.addUpdateItem(newLine);
       }
-
-      lineCounter++;
     }
 
-    deleteCommentAndBlankItem(baseCommentItems, baseBlankItems, changeSets);
-    deleteNormalKVItem(oldKeyMapItem, changeSets);
+    // surplus item is to be deleted
+    for (int i = 0; i < oldLines.size(); i++) {
+      if (!oldReused[i]) {
+        changeSets.addDeleteItem(oldLines.get(i));
+      }
+    }
 
     return changeSets;
   }
@@ -149,50 +168,176 @@ public class PropertyResolver implements ConfigTextResolver {
     return kv;
   }
 
-  private void handleCommentLine(Long namespaceId, ItemDTO oldItemByLine, String newItem,
-      int lineCounter, ItemChangeSets changeSets) {
-    if (null == oldItemByLine) {
-      changeSets.addCreateItem(buildCommentItem(0L, namespaceId, newItem, lineCounter));
-    } else if (!StringUtils.equals(oldItemByLine.getComment(), newItem)
-        || lineCounter != oldItemByLine.getLineNum()) {
-      changeSets.addUpdateItem(
-          buildCommentItem(oldItemByLine.getId(), namespaceId, newItem, lineCounter));
+  private ItemDTO parseLine(long namespaceId, String line, int lineCounter) {
+    if (isCommentItem(line)) {
+      return buildCommentItem(0L, namespaceId, line, lineCounter);
+    }
+    if (isBlankItem(line)) {
+      return buildBlankItem(0L, namespaceId, lineCounter);
     }
+
+    String[] kv = parseKeyValueFromItem(line);
+    if (kv == null) {
+      throw new BadRequestException("line:" + lineCounter + " key value must separate by '='");
+    }
+    String value = kv[1].replace("\\n", "\n"); // handle user input \n
+    return buildNormalItem(0L, namespaceId, kv[0], value, "", lineCounter);
   }
 
-  private void handleBlankLine(Long namespaceId, ItemDTO oldItem, int lineCounter,
-      ItemChangeSets changeSets) {
-    if (null == oldItem) {
-      changeSets.addCreateItem(buildBlankItem(0L, namespaceId, lineCounter));
-    } else if (lineCounter != oldItem.getLineNum()) {
-      changeSets.addUpdateItem(buildBlankItem(oldItem.getId(), namespaceId, lineCounter));
+  /**
+   * Lines are diffed by key, so a changed value is an update of the kept line. Comment and blank
+   * lines are diffed by content.
+   */
+  private String token(ItemDTO item) {
+    if (isNormalItem(item)) {
+      return "k:" + item.getKey();
     }
+    return "c:" + item.getComment();
   }
 
-  private void handleNormalLine(Long namespaceId, Map<String, ItemDTO> keyMapOldItem,
-      String newItem, int lineCounter, ItemChangeSets changeSets) {
+  /**
+   * A key which is not kept at the same position moved, the old item is updated.
+   */
+  private void reuseMovedNormalItems(List<ItemDTO> oldLines, boolean[] oldReused,
+      List<ItemDTO> newLines, ItemDTO[] reused) {
+    Map<String, Integer> removedKeys = new HashMap<>();
+    for (int i = 0; i < oldLines.size(); i++) {
+      if (!oldReused[i] && isNormalItem(oldLines.get(i))) {
+        removedKeys.put(oldLines.get(i).getKey(), i);
+      }
+    }
+    if (removedKeys.isEmpty()) {
+      return;
+    }
+    for (int i = 0; i < newLines.size(); i++) {
+      if (reused[i] != null || !isNormalItem(newLines.get(i))) {
+        continue;
+      }
+      Integer oldIndex = removedKeys.remove(newLines.get(i).getKey());
+      if (oldIndex != null) {
+        reused[i] = oldLines.get(oldIndex);
+        oldReused[oldIndex] = true;
+      }
+    }
+  }
 
-    String[] kv = parseKeyValueFromItem(newItem);
+  /**
+   * Comment and blank lines removed and added between the same kept lines are changed in place,
+   * the removed items are reused in order.
+   */
+  private void reuseChangedCommentAndBlankItems(List<ItemDTO> oldLines, boolean[] oldReused,
+      List<ItemDTO> newLines, int[] matches, ItemDTO[] reused) {
+    Deque<Integer> removedComments = new ArrayDeque<>();
+    Deque<Integer> removedBlanks = new ArrayDeque<>();
+    int oldIndex = 0;
+    int newIndex = 0;
+    while (newIndex <= newLines.size()) {
+      // the end of the changed region is the next kept line, or the end of both texts
+      int newEnd = newIndex;
+      while (newEnd < newLines.size() && matches[newEnd] < 0) {
+        newEnd++;
+      }
+      int oldEnd = newEnd < newLines.size() ? matches[newEnd] : oldLines.size();
 
-    if (kv == null) {
-      throw new BadRequestException("line:" + lineCounter + " key value must separate by '='");
+      removedComments.clear();
+      removedBlanks.clear();
+      for (int i = oldIndex; i < oldEnd; i++) {
+        if (oldReused[i]) {
+          continue;
+        }
+        if (isCommentItem(oldLines.get(i))) {
+          removedComments.add(i);
+        } else if (isBlankItem(oldLines.get(i))) {
+          removedBlanks.add(i);
+        }
+      }
+      for (int i = newIndex; i < newEnd; i++) {
+        if (reused[i] != null) {
+          continue;
+        }
+        Integer removed = null;
+        if (isCommentItem(newLines.get(i))) {
+          removed = removedComments.poll();
+        } else if (isBlankItem(newLines.get(i))) {
+          removed = removedBlanks.poll();
+        }
+        if (removed != null) {
+          reused[i] = oldLines.get(removed);
+          oldReused[removed] = true;
+        }
+      }
+
+      oldIndex = oldEnd + 1;
+      newIndex = newEnd + 1;
     }
+  }
 
-    String newKey = kv[0];
-    String newValue = kv[1].replace("\\n", "\n"); // handle user input \n
+  /**
+   * Keep the line numbers of the kept lines and fit the other lines in between. If there is not
+   * enough room between two kept lines, the region is widened over the neighbouring kept lines
+   * until it fits, and the line numbers of the whole region are regenerated with gaps.
+   *
+   * @param anchors the old line number of each kept line, 0 for the other lines
+   */
+  static int[] allocateLineNums(int[] anchors) {
+    int n = anchors.length;
+    int[] lineNums = new int[n];
+    int i = 0;
+    while (i < n) {
+      int lower = i == 0 ? 0 : lineNums[i - 1];
+      if (anchors[i] > lower) {
+        lineNums[i] = anchors[i];
+        i++;
+        continue;
+      }
 
-    ItemDTO oldItem = keyMapOldItem.get(newKey);
+      // the region [start, end) is to be numbered, bounded by lineNums[start - 1] and anchors[end]
+      int start = i;
+      int end = nextAnchor(anchors, i + 1);
+      boolean growRight = true;
+      while (!fits(lineNums, anchors, start, end)) {
+        if ((growRight || start == 0) && end < n) {
+          end = nextAnchor(anchors, end + 1);
+        } else if (start > 0) {
+          start--;
+        }
+        growRight = !growRight;
+      }
+      // do not renumber more kept lines on the left than needed
+      while (start < i && fits(lineNums, anchors, start + 1, end)) {
+        start++;
+      }
+
+      long lowerBound = start == 0 ? 0 : lineNums[start - 1];
+      int count = end - start;
+      long step = end == n ? LINE_NUM_GAP
+          : Math.max(1, Math.min(LINE_NUM_GAP, (anchors[end] - lowerBound) / (count + 1)));
+      for (int j = start; j < end; j++) {
+        lineNums[j] = (int) (lowerBound + step * (j - start + 1));
+      }
+      i = end;
+    }
+    return lineNums;
+  }
+
+  private static int nextAnchor(int[] anchors, int from) {
+    int i = from;
+    while (i < anchors.length && anchors[i] == 0) {
+      i++;
+    }
+    return i;
+  }
 
-    // new item
-    if (oldItem == null) {
-      changeSets.addCreateItem(buildNormalItem(0L, namespaceId, newKey, newValue, "", lineCounter));
-      // update item
-    } else if (!StringUtils.equals(newValue, oldItem.getValue())
-        || lineCounter != oldItem.getLineNum()) {
-      changeSets.addUpdateItem(buildNormalItem(oldItem.getId(), namespaceId, newKey, newValue,
-          oldItem.getComment(), lineCounter));
+  private static boolean fits(int[] lineNums, int[] anchors, int start, int end) {
+    if (end == anchors.length) {
+      return true;
     }
-    keyMapOldItem.remove(newKey);
+    long lowerBound = start == 0 ? 0 : lineNums[start - 1];
+    return anchors[end] - lowerBound - 1 >= end - start;
+  }
+
+  private boolean isNormalItem(ItemDTO item) {
+    return item != null && !"".equals(item.getKey());
   }
 
   private boolean isCommentItem(ItemDTO item) {
@@ -212,19 +357,6 @@ public class PropertyResolver implements ConfigTextResolver {
     return Strings.nullToEmpty(line).trim().isEmpty();
   }
 
-  private void deleteNormalKVItem(Map<String, ItemDTO> baseKeyMapItem, ItemChangeSets changeSets) {
-    // surplus item is to be deleted
-    for (Map.Entry<String, ItemDTO> entry : baseKeyMapItem.entrySet()) {
-      changeSets.addDeleteItem(entry.getValue());
-    }
-  }
-
-  private void deleteCommentAndBlankItem(List<ItemDTO> baseCommentItems,
-      List<ItemDTO> baseBlankItems, ItemChangeSets changeSets) {
-    baseCommentItems.forEach(oldItemDTO -> changeSets.addDeleteItem(oldItemDTO));
-    baseBlankItems.forEach(oldItemDTO -> changeSets.addDeleteItem(oldItemDTO));
-  }
-
   private ItemDTO buildCommentItem(Long id, Long namespaceId, String comment, int lineNum) {
     return buildNormalItem(id, namespaceId, "", "", comment, lineNum);
   }
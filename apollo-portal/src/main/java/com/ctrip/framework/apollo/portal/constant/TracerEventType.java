@@ -36,6 +36,10 @@ public interface TracerEventType {
 
   String API_RETRY = "API.Retry";
 
+  String API_HEDGE = "API.Hedge";
+
+  String API_HEDGE_REJECTED = "API.Hedge.Rejected";
+
   String USER_ACCESS = "User.Access";
 
   String CREATE_GRAY_RELEASE = "GrayRelease.Create";
@@ -26,6 +26,7 @@ import com.ctrip.framework.apollo.common.http.MultiResponseEntity;
 import com.ctrip.framework.apollo.common.http.RichResponseEntity;
 import com.ctrip.framework.apollo.common.utils.BeanUtils;
 import com.ctrip.framework.apollo.core.ConfigConsts;
+import com.ctrip.framework.apollo.portal.component.MultiEnvExecutor;
 import com.ctrip.framework.apollo.portal.component.PortalSettings;
 import com.ctrip.framework.apollo.portal.enricher.adapter.AppDtoUserInfoEnrichedAdapter;
 import com.ctrip.framework.apollo.portal.entity.bo.UserInfo;
@@ -61,7 +62,9 @@ import org.springframework.web.client.HttpClientErrorException;
 
 import javax.validation.Valid;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
@@ -77,12 +80,14 @@ public class AppController {
   private final RolePermissionService rolePermissionService;
   private final RoleInitializationService roleInitializationService;
   private final AdditionalUserInfoEnrichService additionalUserInfoEnrichService;
+  private final MultiEnvExecutor multiEnvExecutor;
 
   public AppController(final UserInfoHolder userInfoHolder, final AppService appService,
       final PortalSettings portalSettings, final ApplicationEventPublisher publisher,
       final RolePermissionService rolePermissionService,
       final RoleInitializationService roleInitializationService,
-      final AdditionalUserInfoEnrichService additionalUserInfoEnrichService) {
+      final AdditionalUserInfoEnrichService additionalUserInfoEnrichService,
+      final MultiEnvExecutor multiEnvExecutor) {
     this.userInfoHolder = userInfoHolder;
     this.appService = appService;
     this.portalSettings = portalSettings;
@@ -90,6 +95,7 @@ public class AppController {
     this.rolePermissionService = rolePermissionService;
     this.roleInitializationService = roleInitializationService;
     this.additionalUserInfoEnrichService = additionalUserInfoEnrichService;
+    this.multiEnvExecutor = multiEnvExecutor;
   }
 
   @GetMapping
@@ -149,12 +155,15 @@ public class AppController {
 
     MultiResponseEntity<EnvClusterInfo> response = MultiResponseEntity.ok();
     List<Env> envs = portalSettings.getActiveEnvs();
+    Map<Env, Throwable> errors = new HashMap<>();
+    Map<Env, EnvClusterInfo> navNodes = multiEnvExecutor.execute(envs,
+        env -> appService.createEnvNavNode(env, appId), errors::put);
     for (Env env : envs) {
-      try {
-        response.addResponseEntity(RichResponseEntity.ok(appService.createEnvNavNode(env, appId)));
-      } catch (Exception e) {
+      if (navNodes.containsKey(env)) {
+        response.addResponseEntity(RichResponseEntity.ok(navNodes.get(env)));
+      } else {
         response.addResponseEntity(RichResponseEntity.error(HttpStatus.INTERNAL_SERVER_ERROR,
-            "load env:" + env.getName() + " cluster error." + e.getMessage()));
+            "load env:" + env.getName() + " cluster error." + errors.get(env).getMessage()));
       }
     }
     return response;
@@ -194,10 +203,12 @@ public class AppController {
   public MultiResponseEntity<String> findMissEnvs(@PathVariable String appId) {
 
     MultiResponseEntity<String> response = MultiResponseEntity.ok();
-    for (Env env : portalSettings.getActiveEnvs()) {
-      try {
-        appService.load(env, appId);
-      } catch (Exception e) {
+    List<Env> envs = portalSettings.getActiveEnvs();
+    Map<Env, Throwable> errors = new HashMap<>();
+    multiEnvExecutor.execute(envs, env -> appService.load(env, appId), errors::put);
+    for (Env env : envs) {
+      Throwable e = errors.get(env);
+      if (e != null) {
         if (e instanceof HttpClientErrorException
             && ((HttpClientErrorException) e).getStatusCode() == HttpStatus.NOT_FOUND) {
           response.addResponseEntity(RichResponseEntity.ok(env.toString()));
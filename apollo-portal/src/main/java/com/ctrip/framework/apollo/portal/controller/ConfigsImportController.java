@@ -20,6 +20,7 @@ import com.ctrip.framework.apollo.common.exception.BadRequestException;
 import com.google.common.base.Splitter;
 
 import com.ctrip.framework.apollo.core.enums.ConfigFileFormat;
+import com.ctrip.framework.apollo.portal.entity.vo.ConfigsImportReport;
 import com.ctrip.framework.apollo.portal.environment.Env;
 import com.ctrip.framework.apollo.portal.service.ConfigsImportService;
 import com.ctrip.framework.apollo.portal.util.ConfigFileUtils;
@@ -76,10 +77,16 @@ public class ConfigsImportController {
         file.getInputStream());
   }
 
+  /**
+   * @param dryRun     only report the changes of the import
+   * @param checkpoint resume an interrupted import from the checkpoint it reported
+   */
   @PreAuthorize(value = "@unifiedPermissionValidator.isSuperAdmin()")
   @PostMapping(value = "/configs/import")
-  public void importConfigByZip(@RequestParam(value = "envs") String envs,
+  public ConfigsImportReport importConfigByZip(@RequestParam(value = "envs") String envs,
       @RequestParam(defaultValue = CONFLICT_ACTION_IGNORE) String conflictAction,
+      @RequestParam(defaultValue = "false") boolean dryRun,
+      @RequestParam(defaultValue = "0") int checkpoint,
       @RequestParam("file") MultipartFile file) throws IOException {
     validateConflictAction(conflictAction);
     boolean ignoreConflictNamespace = conflictAction.equals(CONFLICT_ACTION_IGNORE);
@@ -87,10 +94,10 @@ public class ConfigsImportController {
     List<Env> importEnvs = Splitter.on(ENV_SEPARATOR).splitToList(envs).stream().map(Env::valueOf)
         .collect(Collectors.toList());
 
-    byte[] bytes = file.getBytes();
-    try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(bytes))) {
-      configsImportService.importDataFromZipFile(importEnvs, zipInputStream,
-          ignoreConflictNamespace);
+    // read the uploaded zip as a stream instead of loading it into memory
+    try (ZipInputStream zipInputStream = new ZipInputStream(file.getInputStream())) {
+      return configsImportService.importDataFromZipFile(importEnvs, zipInputStream,
+          ignoreConflictNamespace, dryRun, checkpoint);
     }
   }
 
@@ -48,8 +48,13 @@ public class InstanceController {
 
   @GetMapping("/envs/{env}/instances/by-release")
   public PageDTO<InstanceDTO> getByRelease(@PathVariable String env, @RequestParam long releaseId,
+      @RequestParam(required = false) Long afterInstanceId,
       @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size) {
 
+    if (afterInstanceId != null) {
+      return instanceService.getByReleaseAfter(Env.valueOf(env), releaseId, afterInstanceId,
+          size);
+    }
     return instanceService.getByRelease(Env.valueOf(env), releaseId, page, size);
   }
 
@@ -57,8 +62,13 @@ public class InstanceController {
   public PageDTO<InstanceDTO> getByNamespace(@PathVariable String env, @RequestParam String appId,
       @RequestParam String clusterName, @RequestParam String namespaceName,
       @RequestParam(required = false) String instanceAppId,
+      @RequestParam(required = false) Long afterInstanceId,
       @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size) {
 
+    if (afterInstanceId != null) {
+      return instanceService.getByNamespaceAfter(Env.valueOf(env), appId, clusterName,
+          namespaceName, instanceAppId, afterInstanceId, size);
+    }
     return instanceService.getByNamespace(Env.valueOf(env), appId, clusterName, namespaceName,
         instanceAppId, page, size);
   }
@@ -19,6 +19,7 @@ package com.ctrip.framework.apollo.portal.controller;
 import com.ctrip.framework.apollo.common.exception.BadRequestException;
 import com.ctrip.framework.apollo.core.utils.StringUtils;
 import com.ctrip.framework.apollo.portal.component.UnifiedPermissionValidator;
+import com.ctrip.framework.apollo.portal.component.UserDirectoryCache;
 import com.ctrip.framework.apollo.portal.entity.bo.UserInfo;
 import com.ctrip.framework.apollo.portal.entity.po.UserPO;
 import com.ctrip.framework.apollo.portal.spi.LogoutHandler;
@@ -49,15 +50,18 @@ public class UserInfoController {
   private final UserService userService;
   private final AuthUserPasswordChecker passwordChecker;
   private final UnifiedPermissionValidator unifiedPermissionValidator;
+  private final UserDirectoryCache userDirectoryCache;
 
   public UserInfoController(final UserInfoHolder userInfoHolder, final LogoutHandler logoutHandler,
       final UserService userService, final AuthUserPasswordChecker passwordChecker,
-      UnifiedPermissionValidator unifiedPermissionValidator) {
+      UnifiedPermissionValidator unifiedPermissionValidator,
+      final UserDirectoryCache userDirectoryCache) {
     this.userInfoHolder = userInfoHolder;
     this.logoutHandler = logoutHandler;
     this.userService = userService;
     this.passwordChecker = passwordChecker;
     this.unifiedPermissionValidator = unifiedPermissionValidator;
+    this.userDirectoryCache = userDirectoryCache;
   }
 
   @PostMapping("/users")
@@ -85,6 +89,7 @@ public class UserInfoController {
       } else {
         ((SpringSecurityUserService) userService).update(user);
       }
+      userDirectoryCache.invalidate(user.getUsername());
     } else {
       throw new UnsupportedOperationException("Create or update user operation is unsupported");
     }
@@ -95,6 +100,7 @@ public class UserInfoController {
   public void changeUserEnabled(@RequestBody UserPO user) {
     if (userService instanceof SpringSecurityUserService) {
       ((SpringSecurityUserService) userService).changeEnabled(user);
+      userDirectoryCache.invalidate(user.getUsername());
     } else {
       throw new UnsupportedOperationException("change user enabled is unsupported");
     }
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.portal.entity.vo;
+
+import java.util.List;
+
+/**
+ * The result of importing configs from a zip, in a dry run the changes are the expected ones.
+ */
+public class ConfigsImportReport {
+
+  private boolean dryRun;
+  /**
+   * the number of leading files in the zip which are done, it stops at the first failed file, so an
+   * interrupted or partly failed import can be resumed from it
+   */
+  private int checkpoint;
+  private int createdApps;
+  private int createdAppNamespaces;
+  private int createdClusters;
+  private int createdNamespaces;
+  /**
+   * namespaces skipped because they already have items and the conflict action is ignore
+   */
+  private int skippedNamespaces;
+  private int createdItems;
+  private int updatedItems;
+  private List<String> failedFiles;
+
+  public boolean isDryRun() {
+    return dryRun;
+  }
+
+  public void setDryRun(boolean dryRun) {
+    this.dryRun = dryRun;
+  }
+
+  public int getCheckpoint() {
+    return checkpoint;
+  }
+
+  public void setCheckpoint(int checkpoint) {
+    this.checkpoint = checkpoint;
+  }
+
+  public int getCreatedApps() {
+    return createdApps;
+  }
+
+  public void setCreatedApps(int createdApps) {
+    this.createdApps = createdApps;
+  }
+
+  public int getCreatedAppNamespaces() {
+    return createdAppNamespaces;
+  }
+
+  public void setCreatedAppNamespaces(int createdAppNamespaces) {
+    this.createdAppNamespaces = createdAppNamespaces;
+  }
+
+  public int getCreatedClusters() {
+    return createdClusters;
+  }
+
+  public void setCreatedClusters(int createdClusters) {
+    this.createdClusters = createdClusters;
+  }
+
+  public int getCreatedNamespaces() {
+    return createdNamespaces;
+  }
+
+  public void setCreatedNamespaces(int createdNamespaces) {
+    this.createdNamespaces = createdNamespaces;
+  }
+
+  public int getSkippedNamespaces() {
+    return skippedNamespaces;
+  }
+
+  public void setSkippedNamespaces(int skippedNamespaces) {
+    this.skippedNamespaces = skippedNamespaces;
+  }
+
+  public int getCreatedItems() {
+    return createdItems;
+  }
+
+  public void setCreatedItems(int createdItems) {
+    this.createdItems = createdItems;
+  }
+
+  public int getUpdatedItems() {
+    return updatedItems;
+  }
+
+  public void setUpdatedItems(int updatedItems) {
+    this.updatedItems = updatedItems;
+  }
+
+  public List<String> getFailedFiles() {
+    return failedFiles;
+  }
+
+  public void setFailedFiles(List<String> failedFiles) {
+    this.failedFiles = failedFiles;
+  }
+}
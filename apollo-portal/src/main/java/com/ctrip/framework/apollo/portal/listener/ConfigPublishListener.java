@@ -17,6 +17,7 @@
 package com.ctrip.framework.apollo.portal.listener;
 
 import com.ctrip.framework.apollo.common.constants.ReleaseOperation;
+import com.ctrip.framework.apollo.core.ConfigConsts;
 import com.ctrip.framework.apollo.portal.component.ConfigReleaseWebhookNotifier;
 import com.ctrip.framework.apollo.portal.environment.Env;
 import com.ctrip.framework.apollo.core.utils.ApolloThreadFactory;
@@ -27,20 +28,35 @@ import com.ctrip.framework.apollo.portal.component.emailbuilder.NormalPublishEma
 import com.ctrip.framework.apollo.portal.component.emailbuilder.RollbackEmailBuilder;
 import com.ctrip.framework.apollo.portal.entity.bo.Email;
 import com.ctrip.framework.apollo.portal.entity.bo.ReleaseHistoryBO;
+import com.ctrip.framework.apollo.portal.listener.ConfigPublishNotificationDispatcher.Channel;
 import com.ctrip.framework.apollo.portal.service.ReleaseHistoryService;
 import com.ctrip.framework.apollo.portal.spi.EmailService;
 import com.ctrip.framework.apollo.portal.spi.MQService;
 import com.ctrip.framework.apollo.tracer.Tracer;
+import com.google.common.base.Joiner;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the release history of each publish and hands the webhook, email and mq notifications
+ * over to {@link ConfigPublishNotificationDispatcher}.
+ * <p>
+ * The publishes of one namespace are handled by the same single thread, and dispatched with the
+ * namespace as the ordering key, so their notifications are delivered in the order of publishing.
+ */
 @Component
 public class ConfigPublishListener {
 
+  private static final Joiner NAMESPACE_KEY_JOINER =
+      Joiner.on(ConfigConsts.CLUSTER_NAMESPACE_SEPARATOR);
+
   private final ReleaseHistoryService releaseHistoryService;
   private final EmailService emailService;
   private final NormalPublishEmailBuilder normalPublishEmailBuilder;
@@ -50,15 +66,18 @@ public class ConfigPublishListener {
   private final PortalConfig portalConfig;
   private final MQService mqService;
   private final ConfigReleaseWebhookNotifier configReleaseWebhookNotifier;
+  private final ConfigPublishNotificationDispatcher notificationDispatcher;
 
-  private ExecutorService executorService;
+  // partitioned by namespace, so the publishes of one namespace are handled in order
+  private ThreadPoolExecutor[] executors;
 
   public ConfigPublishListener(final ReleaseHistoryService releaseHistoryService,
       final EmailService emailService, final NormalPublishEmailBuilder normalPublishEmailBuilder,
       final GrayPublishEmailBuilder grayPublishEmailBuilder,
       final RollbackEmailBuilder rollbackEmailBuilder, final MergeEmailBuilder mergeEmailBuilder,
       final PortalConfig portalConfig, final MQService mqService,
-      final ConfigReleaseWebhookNotifier configReleaseWebhookNotifier) {
+      final ConfigReleaseWebhookNotifier configReleaseWebhookNotifier,
+      final ConfigPublishNotificationDispatcher notificationDispatcher) {
     this.releaseHistoryService = releaseHistoryService;
     this.emailService = emailService;
     this.normalPublishEmailBuilder = normalPublishEmailBuilder;
@@ -68,26 +87,56 @@ public class ConfigPublishListener {
     this.portalConfig = portalConfig;
     this.mqService = mqService;
     this.configReleaseWebhookNotifier = configReleaseWebhookNotifier;
+    this.notificationDispatcher = notificationDispatcher;
   }
 
   @PostConstruct
   public void init() {
-    executorService =
-        Executors.newSingleThreadExecutor(ApolloThreadFactory.create("ConfigPublishNotify", true));
+    int threads = portalConfig.configPublishNotifyThreads();
+    // the total capacity stays the configured one
+    int queueCapacity = Math.max(1, portalConfig.configPublishNotifyQueueCapacity() / threads);
+    executors = new ThreadPoolExecutor[threads];
+    for (int i = 0; i < threads; i++) {
+      executors[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+          new ArrayBlockingQueue<>(queueCapacity),
+          ApolloThreadFactory.create("ConfigPublishNotify-" + i, true));
+    }
+  }
+
+  @PreDestroy
+  public void stop() {
+    for (ThreadPoolExecutor executor : executors) {
+      executor.shutdownNow();
+    }
   }
 
   @EventListener
   public void onConfigPublish(ConfigPublishEvent event) {
-    executorService.submit(new ConfigPublishNotifyTask(event.getConfigPublishInfo()));
+    ConfigPublishEvent.ConfigPublishInfo publishInfo = event.getConfigPublishInfo();
+    String namespaceKey = NAMESPACE_KEY_JOINER.join(publishInfo.getEnv(), publishInfo.getAppId(),
+        publishInfo.getClusterName(), publishInfo.getNamespaceName());
+    ThreadPoolExecutor executor =
+        executors[Math.floorMod(namespaceKey.hashCode(), executors.length)];
+    try {
+      executor.execute(
+          new ConfigPublishNotifyTask(publishInfo, namespaceKey, System.currentTimeMillis()));
+    } catch (RejectedExecutionException e) {
+      Tracer.logError("Config publish notification dropped, too many pending publishes", e);
+    }
   }
 
 
   private class ConfigPublishNotifyTask implements Runnable {
 
     private final ConfigPublishEvent.ConfigPublishInfo publishInfo;
+    private final String namespaceKey;
+    private final long publishedAt;
 
-    ConfigPublishNotifyTask(ConfigPublishEvent.ConfigPublishInfo publishInfo) {
+    ConfigPublishNotifyTask(ConfigPublishEvent.ConfigPublishInfo publishInfo, String namespaceKey,
+        long publishedAt) {
       this.publishInfo = publishInfo;
+      this.namespaceKey = namespaceKey;
+      this.publishedAt = publishedAt;
     }
 
     @Override
@@ -139,7 +188,10 @@ public class ConfigPublishListener {
         return;
       }
 
-      configReleaseWebhookNotifier.notify(webHookUrls, env, releaseHistory);
+      for (String webHookUrl : webHookUrls) {
+        notificationDispatcher.dispatch(Channel.WEBHOOK, webHookUrl, namespaceKey, publishedAt,
+            () -> configReleaseWebhookNotifier.notify(webHookUrl, env, releaseHistory));
+      }
     }
 
     private void sendPublishEmail(ReleaseHistoryBO releaseHistory) {
@@ -159,12 +211,16 @@ public class ConfigPublishListener {
       }
 
       if (email != null) {
-        emailService.send(email);
+        Email toSend = email;
+        notificationDispatcher.dispatch(Channel.EMAIL, Channel.EMAIL.name(), namespaceKey,
+            publishedAt, () -> emailService.send(toSend));
       }
     }
 
     private void sendPublishMsg(ReleaseHistoryBO releaseHistory) {
-      mqService.sendPublishMsg(publishInfo.getEnv(), releaseHistory);
+      Env env = publishInfo.getEnv();
+      notificationDispatcher.dispatch(Channel.MQ, Channel.MQ.name(), namespaceKey, publishedAt,
+          () -> mqService.sendPublishMsg(env, releaseHistory));
     }
 
     private Email buildEmail(Env env, ReleaseHistoryBO releaseHistory, int operation) {
@@ -0,0 +1,289 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.portal.listener;
+
+import com.ctrip.framework.apollo.core.utils.ApolloThreadFactory;
+import com.ctrip.framework.apollo.portal.component.config.PortalConfig;
+import com.ctrip.framework.apollo.tracer.Tracer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delivers config publish notifications.
+ * <p>
+ * Each channel has its own bounded queue and worker threads, so a slow webhook doesn't delay the
+ * emails or the mq messages, and the webhook endpoints are notified concurrently. Failed deliveries
+ * are retried with exponential backoff, up to {@link PortalConfig#configPublishNotifyMaxAttempts()}
+ * attempts. Every endpoint has a circuit breaker, while it is open deliveries to the endpoint are
+ * postponed instead of tying up the workers. A postponed delivery doesn't use up an attempt, but is
+ * given up once the publish is older than {@value #MAX_POSTPONED_AGE_MILLIS} milliseconds.
+ * <p>
+ * Deliveries with the same ordering key, e.g. the publishes of one namespace, are delivered to an
+ * endpoint one at a time in the order they are dispatched, the next one waits until the previous
+ * one is delivered or given up, including its retries. So an older publish never reaches the mq
+ * or a webhook after a newer one, though a given up one may be missing.
+ * <p>
+ * The time from the publish to the delivery is recorded as {@value #LAG_METRIC}, and the outcomes
+ * of the deliveries as {@value #RESULT_METRIC}, both tagged by channel.
+ */
+@Component
+public class ConfigPublishNotificationDispatcher {
+
+  private static final Logger logger =
+      LoggerFactory.getLogger(ConfigPublishNotificationDispatcher.class);
+
+  static final String LAG_METRIC = "apollo.portal.publish.notification.lag";
+  static final String RESULT_METRIC = "apollo.portal.publish.notification";
+  private static final String QUEUE_METRIC = "apollo.portal.publish.notification.queue.size";
+
+  private static final int CIRCUIT_BREAKER_FAILURE_THRESHOLD = 5;
+  private static final long CIRCUIT_BREAKER_OPEN_MILLIS = TimeUnit.SECONDS.toMillis(30);
+  private static final long INITIAL_BACKOFF_MILLIS = TimeUnit.SECONDS.toMillis(1);
+  private static final long MAX_BACKOFF_MILLIS = TimeUnit.SECONDS.toMillis(30);
+  private static final long MAX_POSTPONED_AGE_MILLIS = 10 * 60 * 1000;
+
+  public enum Channel {
+    WEBHOOK, EMAIL, MQ
+  }
+
+  @FunctionalInterface
+  public interface Delivery {
+
+    void deliver() throws Exception;
+  }
+
+  private final PortalConfig portalConfig;
+  private final MeterRegistry meterRegistry;
+  private final Map<Channel, ThreadPoolExecutor> workers = new EnumMap<>(Channel.class);
+  private final ScheduledExecutorService retryScheduler;
+  // channel + endpoint + ordering key -> deliveries, the first one is in flight, guarded by itself
+  private final Map<String, Deque<DeliveryTask>> lanes = new HashMap<>();
+  private final int maxWaitingDeliveries;
+  private int waitingDeliveries;
+  // channel + endpoint -> circuit breaker
+  private final Map<String, EndpointCircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+  private final long initialBackoffMillis;
+
+  public ConfigPublishNotificationDispatcher(final PortalConfig portalConfig,
+      final MeterRegistry meterRegistry) {
+    this(portalConfig, meterRegistry, INITIAL_BACKOFF_MILLIS);
+  }
+
+  ConfigPublishNotificationDispatcher(PortalConfig portalConfig, MeterRegistry meterRegistry,
+      long initialBackoffMillis) {
+    this.portalConfig = portalConfig;
+    this.meterRegistry = meterRegistry;
+    this.initialBackoffMillis = initialBackoffMillis;
+
+    int threads = portalConfig.configPublishNotifyThreads();
+    int queueCapacity = portalConfig.configPublishNotifyQueueCapacity();
+    maxWaitingDeliveries = queueCapacity;
+    for (Channel channel : Channel.values()) {
+      ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L,
+          TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+          ApolloThreadFactory.create("ConfigPublishNotify-" + channel.name(), true));
+      workers.put(channel, executor);
+      meterRegistry.gauge(QUEUE_METRIC, Tags.of("channel", channel.name()), executor,
+          e -> e.getQueue().size());
+    }
+    retryScheduler = Executors.newSingleThreadScheduledExecutor(
+        ApolloThreadFactory.create("ConfigPublishNotifyRetry", true));
+  }
+
+  /**
+   * Deliver the notification of a publish asynchronously.
+   *
+   * @param endpoint the endpoint of the channel, e.g. the webhook url, deliveries to the same
+   * endpoint share one circuit breaker
+   * @param orderingKey deliveries to the same endpoint with the same ordering key are delivered in
+   * the order they are dispatched
+   * @param publishedAt the time in milliseconds of the publish
+   */
+  public void dispatch(Channel channel, String endpoint, String orderingKey, long publishedAt,
+      Delivery delivery) {
+    DeliveryTask task = new DeliveryTask(channel, endpoint, orderingKey, publishedAt, delivery);
+    synchronized (lanes) {
+      Deque<DeliveryTask> lane = lanes.computeIfAbsent(task.lane, key -> new ArrayDeque<>());
+      if (!lane.isEmpty()) {
+        if (waitingDeliveries >= maxWaitingDeliveries) {
+          countResult(channel, "dropped");
+          Tracer.logError(String.format(
+              "Config publish notification dropped, too many waiting, %s endpoint: %s", channel,
+              endpoint), null);
+          return;
+        }
+        // the previous delivery submits it once done
+        lane.addLast(task);
+        waitingDeliveries++;
+        return;
+      }
+      lane.addLast(task);
+    }
+    submit(task);
+  }
+
+  @PreDestroy
+  public void stop() {
+    retryScheduler.shutdownNow();
+    workers.values().forEach(ThreadPoolExecutor::shutdownNow);
+  }
+
+  private void submit(DeliveryTask task) {
+    try {
+      workers.get(task.channel).execute(task);
+    } catch (RejectedExecutionException e) {
+      countResult(task.channel, "dropped");
+      Tracer.logError(String.format("Config publish notification dropped, %s endpoint: %s",
+          task.channel, task.endpoint), e);
+      complete(task);
+    }
+  }
+
+  /**
+   * Called once the delivery is delivered or given up, submits the next one of its lane.
+   */
+  private void complete(DeliveryTask task) {
+    DeliveryTask next;
+    synchronized (lanes) {
+      Deque<DeliveryTask> lane = lanes.get(task.lane);
+      lane.pollFirst();
+      next = lane.peekFirst();
+      if (next == null) {
+        lanes.remove(task.lane);
+      } else {
+        waitingDeliveries--;
+      }
+    }
+    if (next != null) {
+      submit(next);
+    }
+  }
+
+  private void scheduleRetry(DeliveryTask task) {
+    long backoff = Math.min(MAX_BACKOFF_MILLIS,
+        initialBackoffMillis << Math.min(task.attempts - 1, 16));
+    // jitter, so retries of many notifications to the same endpoint are spread out
+    long delay = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+    countResult(task.channel, "retried");
+    schedule(task, delay);
+  }
+
+  private void postpone(DeliveryTask task, long openMillis) {
+    if (System.currentTimeMillis() - task.publishedAt > MAX_POSTPONED_AGE_MILLIS) {
+      countResult(task.channel, "failed");
+      logger.error("Config publish notification given up, circuit of {} endpoint {} is open",
+          task.channel, task.endpoint);
+      complete(task);
+      return;
+    }
+    countResult(task.channel, "postponed");
+    // the trial delivery may be in flight, then the circuit has no open time left
+    schedule(task, Math.max(openMillis, initialBackoffMillis));
+  }
+
+  private void schedule(DeliveryTask task, long delayMillis) {
+    try {
+      retryScheduler.schedule(() -> submit(task), delayMillis, TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      // shutting down
+      countResult(task.channel, "dropped");
+      complete(task);
+    }
+  }
+
+  private EndpointCircuitBreaker circuitBreaker(Channel channel, String endpoint) {
+    return circuitBreakers.computeIfAbsent(channel.name() + "+" + endpoint,
+        key -> new EndpointCircuitBreaker(CIRCUIT_BREAKER_FAILURE_THRESHOLD,
+            CIRCUIT_BREAKER_OPEN_MILLIS));
+  }
+
+  private void countResult(Channel channel, String result) {
+    meterRegistry.counter(RESULT_METRIC, "channel", channel.name(), "result", result).increment();
+  }
+
+  private class DeliveryTask implements Runnable {
+
+    private final Channel channel;
+    private final String endpoint;
+    private final String lane;
+    private final long publishedAt;
+    private final Delivery delivery;
+    private int attempts;
+
+    DeliveryTask(Channel channel, String endpoint, String orderingKey, long publishedAt,
+        Delivery delivery) {
+      this.channel = channel;
+      this.endpoint = endpoint;
+      this.lane = channel.name() + "+" + endpoint + "+" + orderingKey;
+      this.publishedAt = publishedAt;
+      this.delivery = delivery;
+    }
+
+    @Override
+    public void run() {
+      EndpointCircuitBreaker circuitBreaker = circuitBreaker(channel, endpoint);
+      if (!circuitBreaker.tryAcquire()) {
+        // skipped, not an attempt
+        postpone(this, circuitBreaker.remainingOpenMillis());
+        return;
+      }
+
+      attempts++;
+      try {
+        delivery.deliver();
+      } catch (Throwable ex) {
+        circuitBreaker.onFailure();
+        onFailure(ex);
+        return;
+      }
+      circuitBreaker.onSuccess();
+      Timer.builder(LAG_METRIC).tag("channel", channel.name()).register(meterRegistry)
+          .record(System.currentTimeMillis() - publishedAt, TimeUnit.MILLISECONDS);
+      countResult(channel, "delivered");
+      complete(this);
+    }
+
+    private void onFailure(Throwable ex) {
+      if (attempts < portalConfig.configPublishNotifyMaxAttempts()) {
+        scheduleRetry(this);
+        return;
+      }
+      countResult(channel, "failed");
+      logger.error("Config publish notification failed after {} attempts, {} endpoint: {}",
+          attempts, channel, endpoint, ex);
+      complete(this);
+    }
+  }
+}
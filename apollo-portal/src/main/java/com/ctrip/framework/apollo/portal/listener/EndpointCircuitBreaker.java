@@ -0,0 +1,85 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.portal.listener;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker of one notification endpoint.
+ * <p>
+ * After {@code failureThreshold} consecutive failures the circuit is open and deliveries to the
+ * endpoint are skipped for {@code openMillis}, then one trial delivery is let through, the circuit
+ * is closed again if it succeeds and stays open for another {@code openMillis} if it fails.
+ */
+class EndpointCircuitBreaker {
+
+  private final int failureThreshold;
+  private final long openMillis;
+  private final LongSupplier clock;
+
+  private int consecutiveFailures;
+  private long openUntil;
+  private boolean trialInFlight;
+
+  EndpointCircuitBreaker(int failureThreshold, long openMillis) {
+    this(failureThreshold, openMillis, System::currentTimeMillis);
+  }
+
+  EndpointCircuitBreaker(int failureThreshold, long openMillis, LongSupplier clock) {
+    this.failureThreshold = failureThreshold;
+    this.openMillis = openMillis;
+    this.clock = clock;
+  }
+
+  /**
+   * @return whether a delivery to the endpoint is allowed now
+   */
+  synchronized boolean tryAcquire() {
+    if (consecutiveFailures < failureThreshold) {
+      return true;
+    }
+    if (trialInFlight || clock.getAsLong() < openUntil) {
+      return false;
+    }
+    // half open
+    trialInFlight = true;
+    return true;
+  }
+
+  synchronized void onSuccess() {
+    consecutiveFailures = 0;
+    trialInFlight = false;
+  }
+
+  synchronized void onFailure() {
+    consecutiveFailures++;
+    trialInFlight = false;
+    if (consecutiveFailures >= failureThreshold) {
+      openUntil = clock.getAsLong() + openMillis;
+    }
+  }
+
+  /**
+   * @return the time in milliseconds until a trial delivery is allowed, 0 if the circuit is closed
+   */
+  synchronized long remainingOpenMillis() {
+    if (consecutiveFailures < failureThreshold) {
+      return 0;
+    }
+    return Math.max(0, openUntil - clock.getAsLong());
+  }
+}
@@ -23,6 +23,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
 
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 /**
@@ -35,6 +36,13 @@ public interface RolePermissionRepository extends PagingAndSortingRepository<Rol
    */
   List<RolePermission> findByRoleIdIn(Collection<Long> roleId);
 
+  /**
+   * count the role permissions changed since the given time, including the deleted ones
+   */
+  @Query(value = "SELECT COUNT(1) FROM `RolePermission` WHERE `DataChange_LastTime` >= ?1",
+      nativeQuery = true)
+  long countByDataChangeLastModifiedTimeSince(Date since);
+
   @Modifying
   @Query("UPDATE RolePermission SET IsDeleted = true, DeletedAt = ROUND(UNIX_TIMESTAMP(NOW(4))*1000), DataChange_LastModifiedBy = ?2 WHERE PermissionId in ?1 and IsDeleted = false")
   Integer batchDeleteByPermissionIds(List<Long> permissionIds, String operator);
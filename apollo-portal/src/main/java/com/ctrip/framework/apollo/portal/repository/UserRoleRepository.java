@@ -23,6 +23,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
 
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 /**
@@ -44,6 +45,13 @@ public interface UserRoleRepository extends PagingAndSortingRepository<UserRole,
    */
   List<UserRole> findByUserIdInAndRoleId(Collection<String> userId, long roleId);
 
+  /**
+   * find the users whose roles are changed since the given time, including the removed ones
+   */
+  @Query(value = "SELECT DISTINCT `UserId` FROM `UserRole` WHERE `DataChange_LastTime` >= ?1",
+      nativeQuery = true)
+  List<String> findUserIdsByDataChangeLastModifiedTimeSince(Date since);
+
   @Modifying
   @Query("UPDATE UserRole SET IsDeleted = true, DeletedAt = ROUND(UNIX_TIMESTAMP(NOW(4))*1000), DataChange_LastModifiedBy = ?2 WHERE RoleId in ?1 and IsDeleted = false")
   Integer batchDeleteByRoleIds(List<Long> roleIds, String operator);
@@ -16,10 +16,10 @@
  */
 package com.ctrip.framework.apollo.portal.service;
 
+import com.ctrip.framework.apollo.portal.component.UserDirectoryCache;
 import com.ctrip.framework.apollo.portal.enricher.AdditionalUserInfoEnricher;
 import com.ctrip.framework.apollo.portal.enricher.adapter.UserInfoEnrichedAdapter;
 import com.ctrip.framework.apollo.portal.entity.bo.UserInfo;
-import com.ctrip.framework.apollo.portal.spi.UserService;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -37,13 +37,13 @@ import org.springframework.util.StringUtils;
 @Service
 public class AdditionalUserInfoEnrichServiceImpl implements AdditionalUserInfoEnrichService {
 
-  private final UserService userService;
+  private final UserDirectoryCache userDirectoryCache;
 
   private final List<AdditionalUserInfoEnricher> enricherList;
 
-  public AdditionalUserInfoEnrichServiceImpl(UserService userService,
+  public AdditionalUserInfoEnrichServiceImpl(UserDirectoryCache userDirectoryCache,
       List<AdditionalUserInfoEnricher> enricherList) {
-    this.userService = userService;
+    this.userDirectoryCache = userDirectoryCache;
     this.enricherList = enricherList;
   }
 
@@ -64,7 +64,7 @@ public class AdditionalUserInfoEnrichServiceImpl implements AdditionalUserInfoEn
     if (CollectionUtils.isEmpty(userIdSet)) {
       return;
     }
-    List<UserInfo> userInfoList = this.userService.findByUserIds(new ArrayList<>(userIdSet));
+    List<UserInfo> userInfoList = this.userDirectoryCache.findByUserIds(new ArrayList<>(userIdSet));
     if (CollectionUtils.isEmpty(userInfoList)) {
       return;
     }
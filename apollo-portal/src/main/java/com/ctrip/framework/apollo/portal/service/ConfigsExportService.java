@@ -25,6 +25,7 @@ import com.ctrip.framework.apollo.common.entity.AppNamespace;
 import com.ctrip.framework.apollo.common.exception.BadRequestException;
 import com.ctrip.framework.apollo.common.exception.ServiceException;
 import com.ctrip.framework.apollo.core.enums.ConfigFileFormat;
+import com.ctrip.framework.apollo.core.utils.ApolloThreadFactory;
 import com.ctrip.framework.apollo.portal.component.PortalSettings;
 import com.ctrip.framework.apollo.portal.entity.bo.ConfigBO;
 import com.ctrip.framework.apollo.portal.entity.bo.NamespaceBO;
@@ -39,13 +40,20 @@ import org.springframework.util.CollectionUtils;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.function.Consumer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -54,6 +62,10 @@ public class ConfigsExportService {
 
   private static final Logger logger = LoggerFactory.getLogger(ConfigsExportService.class);
 
+  private static final int EXPORT_PARALLELISM = 8;
+  private static final int EXPORT_QUEUE_CAPACITY = 64;
+  private static final int PROGRESS_LOG_INTERVAL = 1000;
+
   private final Gson gson = new Gson();
 
   private final AppService appService;
@@ -82,6 +94,12 @@ public class ConfigsExportService {
   /**
    * Export all application which current user own them.
    * <p>
+   * The export runs as a pipeline: clusters and namespaces are fetched from the admin services by a
+   * bounded pool, each file is rendered into bytes by the fetching thread and handed over through
+   * a bounded queue to the calling thread, which is the only one writing the zip. Fetching is
+   * blocked while the queue is full, so at most {@link #EXPORT_QUEUE_CAPACITY} rendered files wait
+   * in memory for a slow download.
+   * <p>
    * File Struts:
    * <p>
    *
@@ -123,14 +141,18 @@ public class ConfigsExportService {
     }
 
     try (final ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
+      List<ExportEntry> entries = Collections.emptyList();
       try {
-        this.exportNamespaces(env, app, cluster, zipOutputStream, true);
+        entries = this.renderNamespaces(env, app, cluster, true);
       } catch (BadRequestException badRequestException) {
         // ignore
       } catch (Exception e) {
         logger.error("export namespace error. appId = {}, env = {}, cluster = {}", app.getAppId(),
             env.getName(), cluster.getName(), e);
       }
+      for (ExportEntry entry : entries) {
+        writeToZip(entry, zipOutputStream);
+      }
     } catch (IOException e) {
       logger.error("export app config error", e);
       throw new ServiceException("export app config error", e);
@@ -152,13 +174,17 @@ public class ConfigsExportService {
       exportAppNamespaces(zipOutputStream);
 
       // export app's clusters
-      exportEnvs.parallelStream().forEach(env -> {
-        try {
-          this.exportClusters(env, hasPermissionApps, zipOutputStream);
-        } catch (Exception e) {
-          logger.error("export cluster error. env = {}", env, e);
+      ExportPipeline pipeline = new ExportPipeline(zipOutputStream);
+      try {
+        for (Env env : exportEnvs) {
+          for (App exportApp : hasPermissionApps) {
+            pipeline.submit(() -> this.exportCluster(env, exportApp, pipeline));
+          }
         }
-      });
+        pipeline.drain();
+      } finally {
+        pipeline.close();
+      }
     } catch (IOException e) {
       logger.error("export config error", e);
       throw new ServiceException("export config error", e);
@@ -187,160 +213,234 @@ public class ConfigsExportService {
     return apps.stream().filter(isAppAdmin).collect(Collectors.toList());
   }
 
-  private void writeAppInfoToZip(List<App> apps, ZipOutputStream zipOutputStream) {
+  private void writeAppInfoToZip(List<App> apps, ZipOutputStream zipOutputStream)
+      throws IOException {
     logger.info("to import app size = {}", apps.size());
 
-    final Consumer<App> appConsumer = app -> {
-      try {
-        synchronized (zipOutputStream) {
-          String fileName = ConfigFileUtils.genAppInfoPath(app);
-          String content = gson.toJson(app);
-
-          writeToZip(fileName, content, zipOutputStream);
-        }
-      } catch (IOException e) {
-        logger.error("Write error. {}", app);
-        throw new ServiceException("Write app error. {}", e);
-      }
-    };
-
-    apps.forEach(appConsumer);
+    for (App app : apps) {
+      String fileName = ConfigFileUtils.genAppInfoPath(app);
+      writeToZip(new ExportEntry(fileName, gson.toJson(app)), zipOutputStream);
+    }
   }
 
-  private void exportAppNamespaces(ZipOutputStream zipOutputStream) {
+  private void exportAppNamespaces(ZipOutputStream zipOutputStream) throws IOException {
     List<AppNamespace> appNamespaces = appNamespaceService.findAll();
 
     logger.info("to import appnamespace size = " + appNamespaces.size());
 
-    Consumer<AppNamespace> appNamespaceConsumer = appNamespace -> {
-      try {
-        synchronized (zipOutputStream) {
-          String fileName = ConfigFileUtils.genAppNamespaceInfoPath(appNamespace);
-          String content = gson.toJson(appNamespace);
-
-          writeToZip(fileName, content, zipOutputStream);
-        }
-      } catch (Exception e) {
-        logger.error("Write appnamespace error. {}", appNamespace);
-        throw new IllegalStateException(e);
-      }
-    };
-
-    appNamespaces.forEach(appNamespaceConsumer);
-
-  }
-
-  private void exportClusters(final Env env, final List<App> exportApps,
-      ZipOutputStream zipOutputStream) {
-    exportApps.parallelStream().forEach(exportApp -> {
-      try {
-        this.exportCluster(env, exportApp, zipOutputStream);
-      } catch (Exception e) {
-        logger.error("export cluster error. appId = {}", exportApp.getAppId(), e);
-      }
-    });
+    for (AppNamespace appNamespace : appNamespaces) {
+      String fileName = ConfigFileUtils.genAppNamespaceInfoPath(appNamespace);
+      writeToZip(new ExportEntry(fileName, gson.toJson(appNamespace)), zipOutputStream);
+    }
   }
 
-  private void exportCluster(final Env env, final App exportApp, ZipOutputStream zipOutputStream) {
-    final List<ClusterDTO> exportClusters = clusterService.findClusters(env, exportApp.getAppId());
+  private void exportCluster(final Env env, final App exportApp, ExportPipeline pipeline) {
+    final List<ClusterDTO> exportClusters;
+    try {
+      exportClusters = clusterService.findClusters(env, exportApp.getAppId());
+    } catch (Exception e) {
+      logger.error("export cluster error. appId = {}", exportApp.getAppId(), e);
+      return;
+    }
 
     if (CollectionUtils.isEmpty(exportClusters)) {
       return;
     }
 
     // write cluster info to zip
-    writeClusterInfoToZip(env, exportApp, exportClusters, zipOutputStream);
+    for (ClusterDTO cluster : exportClusters) {
+      String fileName = ConfigFileUtils.genClusterInfoPath(exportApp, env, cluster);
+      pipeline.put(new ExportEntry(fileName, gson.toJson(cluster)));
+    }
 
     // export namespaces
-    exportClusters.parallelStream().forEach(cluster -> {
-      try {
-        this.exportNamespaces(env, exportApp, cluster, zipOutputStream, false);
-      } catch (BadRequestException badRequestException) {
-        // ignore
-      } catch (Exception e) {
-        logger.error("export namespace error. appId = {}, cluster = {}", exportApp.getAppId(),
-            cluster, e);
-      }
-    });
+    for (ClusterDTO cluster : exportClusters) {
+      pipeline.submit(() -> {
+        try {
+          for (ExportEntry entry : this.renderNamespaces(env, exportApp, cluster, false)) {
+            pipeline.put(entry);
+          }
+        } catch (BadRequestException badRequestException) {
+          // ignore
+        } catch (ExportAbortedException e) {
+          throw e;
+        } catch (Exception e) {
+          logger.error("export namespace error. appId = {}, cluster = {}", exportApp.getAppId(),
+              cluster, e);
+        }
+      });
+    }
   }
 
-  private void exportNamespaces(final Env env, final App exportApp, final ClusterDTO exportCluster,
-      ZipOutputStream zipOutputStream, boolean ignoreUserDir) {
+  /**
+   * load all the namespaces of the cluster with one admin service call, and render them to files
+   */
+  private List<ExportEntry> renderNamespaces(final Env env, final App exportApp,
+      final ClusterDTO exportCluster, boolean ignoreUserDir) {
     String clusterName = exportCluster.getName();
 
     List<NamespaceBO> namespaceBOS =
         namespaceService.findNamespaceBOs(exportApp.getAppId(), env, clusterName, true, false);
 
     if (CollectionUtils.isEmpty(namespaceBOS)) {
-      return;
+      return Collections.emptyList();
     }
 
-    Stream<ConfigBO> configBOStream = namespaceBOS.stream().map(namespaceBO -> new ConfigBO(env,
-        exportApp.getOwnerName(), exportApp.getAppId(), clusterName, namespaceBO));
-
-    writeNamespacesToZip(configBOStream, zipOutputStream, ignoreUserDir);
-  }
-
-  private void writeNamespacesToZip(Stream<ConfigBO> configBOStream,
-      ZipOutputStream zipOutputStream, boolean ignoreUserDir) {
-    final Consumer<ConfigBO> configBOConsumer = configBO -> {
-      try {
-        synchronized (zipOutputStream) {
-          String appId = configBO.getAppId();
-          String clusterName = configBO.getClusterName();
-          String namespace = configBO.getNamespace();
-          String configFileContent = configBO.getConfigFileContent();
-          ConfigFileFormat configFileFormat = configBO.getFormat();
-
-          String configFileName =
-              ConfigFileUtils.toFilename(appId, clusterName, namespace, configFileFormat);
-          String filePath = ignoreUserDir
-              ? ConfigFileUtils.genNamespacePathIgnoreUser(appId, configBO.getEnv(), configFileName)
-              : ConfigFileUtils.genNamespacePath(configBO.getOwnerName(), appId, configBO.getEnv(),
-                  configFileName);
-
-          writeToZip(filePath, configFileContent, zipOutputStream);
-        }
-      } catch (IOException e) {
-        logger.error("Write error. {}", configBO);
-        throw new ServiceException("Write namespace error. {}", e);
-      }
-    };
-
-    configBOStream.forEach(configBOConsumer);
+    List<ExportEntry> entries = new ArrayList<>(namespaceBOS.size());
+    for (NamespaceBO namespaceBO : namespaceBOS) {
+      ConfigBO configBO = new ConfigBO(env, exportApp.getOwnerName(), exportApp.getAppId(),
+          clusterName, namespaceBO);
+      entries.add(renderNamespace(configBO, ignoreUserDir));
+    }
+    return entries;
   }
 
-  private void writeClusterInfoToZip(Env env, App app, List<ClusterDTO> exportClusters,
-      ZipOutputStream zipOutputStream) {
-    final Consumer<ClusterDTO> clusterConsumer = cluster -> {
-      try {
-        synchronized (zipOutputStream) {
-          String fileName = ConfigFileUtils.genClusterInfoPath(app, env, cluster);
-          String content = gson.toJson(cluster);
-
-          writeToZip(fileName, content, zipOutputStream);
-        }
-      } catch (IOException e) {
-        logger.error("Write error. {}", cluster);
-        throw new ServiceException("Write error. {}", e);
-      }
-    };
-
-    exportClusters.forEach(clusterConsumer);
+  private ExportEntry renderNamespace(ConfigBO configBO, boolean ignoreUserDir) {
+    String appId = configBO.getAppId();
+    String clusterName = configBO.getClusterName();
+    String namespace = configBO.getNamespace();
+    String configFileContent = configBO.getConfigFileContent();
+    ConfigFileFormat configFileFormat = configBO.getFormat();
+
+    String configFileName =
+        ConfigFileUtils.toFilename(appId, clusterName, namespace, configFileFormat);
+    String filePath = ignoreUserDir
+        ? ConfigFileUtils.genNamespacePathIgnoreUser(appId, configBO.getEnv(), configFileName)
+        : ConfigFileUtils.genNamespacePath(configBO.getOwnerName(), appId, configBO.getEnv(),
+            configFileName);
+
+    return new ExportEntry(filePath, configFileContent);
   }
 
-  private void writeToZip(String filePath, String content, ZipOutputStream zipOutputStream)
+  private void writeToZip(ExportEntry entry, ZipOutputStream zipOutputStream)
       throws IOException {
-    final ZipEntry zipEntry = new ZipEntry(filePath);
+    final ZipEntry zipEntry = new ZipEntry(entry.path);
     try {
       zipOutputStream.putNextEntry(zipEntry);
-      zipOutputStream.write(content.getBytes());
+      zipOutputStream.write(entry.content);
       zipOutputStream.closeEntry();
     } catch (IOException e) {
-      String errorMsg = "write content to zip error. file = " + filePath + ", content = " + content;
+      String errorMsg = "write content to zip error. file = " + entry.path;
       logger.error(errorMsg);
       throw new IOException(errorMsg, e);
     }
   }
 
+  /**
+   * A file rendered to bytes, ready to be written to the zip.
+   */
+  private static class ExportEntry {
+
+    private final String path;
+    private final byte[] content;
+
+    ExportEntry(String path, String content) {
+      this.path = path;
+      this.content = content == null ? new byte[0] : content.getBytes(StandardCharsets.UTF_8);
+    }
+  }
+
+  /**
+   * Fetch tasks run on a pool of {@link #EXPORT_PARALLELISM} threads and put the rendered files to
+   * a bounded queue, the thread calling {@link #drain()} writes them to the zip until all the
+   * tasks, including the ones submitted by other tasks, are done.
+   */
+  private class ExportPipeline {
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final ZipOutputStream zipOutputStream;
+    private final ExecutorService fetchExecutor = Executors.newFixedThreadPool(EXPORT_PARALLELISM,
+        ApolloThreadFactory.create("ConfigsExport", true));
+    private final BlockingQueue<ExportEntry> queue =
+        new ArrayBlockingQueue<>(EXPORT_QUEUE_CAPACITY);
+    // one count is held by the submitting thread until drain() is called
+    private final AtomicInteger pendingTasks = new AtomicInteger(1);
+    private volatile boolean aborted;
+
+    ExportPipeline(ZipOutputStream zipOutputStream) {
+      this.zipOutputStream = zipOutputStream;
+    }
+
+    /**
+     * submit a fetch task, tasks submitting other tasks must do so before they return
+     */
+    void submit(Runnable task) {
+      pendingTasks.incrementAndGet();
+      try {
+        fetchExecutor.execute(() -> {
+          try {
+            if (!aborted) {
+              task.run();
+            }
+          } catch (ExportAbortedException e) {
+            // the export is aborted by the writer
+          } catch (Throwable ex) {
+            logger.error("export task error", ex);
+          } finally {
+            pendingTasks.decrementAndGet();
+          }
+        });
+      } catch (RejectedExecutionException e) {
+        // the export is aborted by the writer
+        pendingTasks.decrementAndGet();
+      }
+    }
+
+    /**
+     * put a rendered file to the queue, blocks while the writer is behind
+     */
+    void put(ExportEntry entry) {
+      try {
+        queue.put(entry);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new ExportAbortedException();
+      }
+    }
+
+    /**
+     * write the rendered files to the zip until all the tasks are done
+     */
+    void drain() throws IOException {
+      pendingTasks.decrementAndGet();
+
+      long startTime = System.currentTimeMillis();
+      int written = 0;
+      try {
+        while (true) {
+          // files are put before the tasks putting them are done
+          boolean allTasksDone = pendingTasks.get() == 0;
+          ExportEntry entry = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+          if (entry == null) {
+            if (allTasksDone) {
+              break;
+            }
+            continue;
+          }
+          writeToZip(entry, zipOutputStream);
+          if (++written % PROGRESS_LOG_INTERVAL == 0) {
+            logger.info("export progress: {} files written, {} tasks pending, {} ms elapsed",
+                written, pendingTasks.get(), System.currentTimeMillis() - startTime);
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new ServiceException("export config interrupted", e);
+      }
+      logger.info("export done: {} files written in {} ms", written,
+          System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * stop the fetch tasks, including the ones waiting for the queue if the writer failed
+     */
+    void close() {
+      aborted = true;
+      fetchExecutor.shutdownNow();
+    }
+  }
+
+  private static class ExportAbortedException extends RuntimeException {
+  }
 }
@@ -18,16 +18,21 @@ package com.ctrip.framework.apollo.portal.service;
 
 import com.ctrip.framework.apollo.common.exception.BadRequestException;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.google.gson.Gson;
 
 import com.ctrip.framework.apollo.common.constants.GsonType;
 import com.ctrip.framework.apollo.common.dto.ClusterDTO;
+import com.ctrip.framework.apollo.common.dto.ItemChangeSets;
 import com.ctrip.framework.apollo.common.dto.ItemDTO;
 import com.ctrip.framework.apollo.common.dto.NamespaceDTO;
 import com.ctrip.framework.apollo.common.entity.App;
 import com.ctrip.framework.apollo.common.entity.AppNamespace;
 import com.ctrip.framework.apollo.common.exception.ServiceException;
 import com.ctrip.framework.apollo.core.ConfigConsts;
+import com.ctrip.framework.apollo.core.utils.ApolloThreadFactory;
+import com.ctrip.framework.apollo.portal.entity.vo.ConfigsImportReport;
 import com.ctrip.framework.apollo.portal.environment.Env;
 import com.ctrip.framework.apollo.portal.listener.AppNamespaceCreationEvent;
 import com.ctrip.framework.apollo.portal.spi.UserInfoHolder;
@@ -38,19 +43,26 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
-import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
-import org.springframework.web.client.HttpStatusCodeException;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.CountDownLatch;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
@@ -62,6 +74,10 @@ public class ConfigsImportService {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ConfigsImportService.class);
 
+  private static final int IMPORT_PARALLELISM = 8;
+  private static final int IMPORT_QUEUE_CAPACITY = 64;
+  private static final int CHECKPOINT_LOG_INTERVAL = 1000;
+
   private Gson gson = new Gson();
 
   private final ItemService itemService;
@@ -100,9 +116,12 @@ public class ConfigsImportService {
       throw new ServiceException("Read config file errors:{}", e);
     }
 
-    String operator = userInfoHolder.getUser().getUserId();
-
-    this.importNamespaceFromText(env, standardFilename, configText, false, operator);
+    ImportJob job = new ImportJob(userInfoHolder.getUser().getUserId(), false);
+    try {
+      this.importNamespaceFromText(env, standardFilename, configText, false, job);
+    } finally {
+      job.close();
+    }
   }
 
   /**
@@ -110,65 +129,115 @@ public class ConfigsImportService {
    */
   public void importDataFromZipFile(List<Env> importEnvs, ZipInputStream dataZip,
       boolean ignoreConflictNamespace) throws IOException {
-    List<String> toImportApps = Lists.newArrayList();
-    List<String> toImportAppNSs = Lists.newArrayList();
-    List<ImportClusterData> toImportClusters = Lists.newArrayList();
-    List<ImportNamespaceData> toImportNSs = Lists.newArrayList();
+    importDataFromZipFile(importEnvs, dataZip, ignoreConflictNamespace, false, 0);
+  }
 
-    ZipEntry entry;
-    while ((entry = dataZip.getNextEntry()) != null) {
-      if (entry.isDirectory()) {
-        continue;
-      }
+  /**
+   * import all data include app、appnamespace、cluster、namespace、item
+   * <p>
+   * The zip is read as a stream in the order of an export, the app and app namespace metadata
+   * first, then the metadata of each cluster before its namespaces. Namespaces are imported on a
+   * bounded pool while the zip is read, the items of a namespace are imported with one change set.
+   * <p>
+   * The files are counted in the order of the zip, the report tells how many leading files are
+   * imported successfully, and the progress is logged as well. The checkpoint stops at the first
+   * failed file, so an interrupted or partly failed import can be resumed from there,
+   * the clusters and namespaces of the files before the checkpoint are skipped, while the app and
+   * app namespace metadata is always imported again as it is skipped if existed.
+   *
+   * @param dryRun     only find out the changes, nothing is imported
+   * @param checkpoint the checkpoint of an interrupted import to resume from, 0 to import all
+   */
+  public ConfigsImportReport importDataFromZipFile(List<Env> importEnvs, ZipInputStream dataZip,
+      boolean ignoreConflictNamespace, boolean dryRun, int checkpoint) throws IOException {
+    List<ImportFile> toImportApps = Lists.newArrayList();
+    List<ImportFile> toImportAppNSs = Lists.newArrayList();
+    boolean metadataImported = false;
 
-      String filePath = entry.getName();
-      String content = readContent(dataZip);
+    ImportJob job = new ImportJob(userInfoHolder.getUser().getUserId(), dryRun);
+    try {
+      ZipEntry entry;
+      int fileIndex = 0;
+      while ((entry = dataZip.getNextEntry()) != null) {
+        if (entry.isDirectory()) {
+          continue;
+        }
 
-      String[] info = filePath.replace('\\', '/').split("/");
+        int index = fileIndex++;
+        String filePath = entry.getName();
+        String[] info = filePath.replace('\\', '/').split("/");
 
-      String fileName;
-      if (info.length == 1) {
-        // app namespace metadata file. path format : ${namespaceName}.appnamespace.metadata
-        fileName = info[0];
-        if (fileName.endsWith(ConfigFileUtils.APP_NAMESPACE_METADATA_FILE_SUFFIX)) {
-          toImportAppNSs.add(content);
+        String fileName;
+        if (info.length == 1) {
+          // app namespace metadata file. path format : ${namespaceName}.appnamespace.metadata
+          fileName = info[0];
+          if (fileName.endsWith(ConfigFileUtils.APP_NAMESPACE_METADATA_FILE_SUFFIX)) {
+            toImportAppNSs.add(new ImportFile(index, filePath, readContent(dataZip)));
+          } else {
+            job.fileDone(index);
+          }
+          continue;
         }
-      } else if (info.length == 3) {
-        fileName = info[2];
-        if (fileName.equals(ConfigFileUtils.APP_METADATA_FILENAME)) {
-          // app metadata file. path format : apollo/${appId}/app.metadata
-          toImportApps.add(content);
+        if (info.length == 3) {
+          fileName = info[2];
+          if (fileName.equals(ConfigFileUtils.APP_METADATA_FILENAME)) {
+            // app metadata file. path format : apollo/${appId}/app.metadata
+            toImportApps.add(new ImportFile(index, filePath, readContent(dataZip)));
+          } else {
+            job.fileDone(index);
+          }
+          continue;
         }
-      } else {
+
         String env = info[2];
         fileName = info[3];
-        for (Env importEnv : importEnvs) {
-          if (Objects.equals(importEnv.getName(), env)) {
-            if (fileName.endsWith(ConfigFileUtils.CLUSTER_METADATA_FILE_SUFFIX)) {
-              // cluster metadata file. path format :
-              // apollo/${appId}/${env}/${clusterName}.cluster.metadata
-              toImportClusters.add(new ImportClusterData(Env.transformEnv(env), content));
-            } else {
-              // namespace file.path format :
-              // apollo/${appId}/${env}/${appId}+${cluster}+${namespaceName}
-              toImportNSs.add(new ImportNamespaceData(Env.valueOf(env), fileName, content,
-                  ignoreConflictNamespace));
-            }
-          }
+        Env importEnv = importEnvs.stream()
+            .filter(candidate -> Objects.equals(candidate.getName(), env)).findFirst()
+            .orElse(null);
+        if (importEnv == null || index < checkpoint) {
+          job.fileDone(index);
+          continue;
         }
-      }
-    }
 
-    try {
-      LOGGER.info("Import data. app = {}, appns = {}, cluster = {}, namespace = {}",
-          toImportApps.size(), toImportAppNSs.size(), toImportClusters.size(), toImportNSs.size());
+        if (!metadataImported) {
+          importMetadata(importEnvs, toImportApps, toImportAppNSs, job);
+          metadataImported = true;
+        }
 
-      doImport(importEnvs, toImportApps, toImportAppNSs, toImportClusters, toImportNSs);
+        String content = readContent(dataZip);
+        if (fileName.endsWith(ConfigFileUtils.CLUSTER_METADATA_FILE_SUFFIX)) {
+          // cluster metadata file. path format :
+          // apollo/${appId}/${env}/${clusterName}.cluster.metadata
+          // imported right away, so the cluster exists before its namespaces are imported
+          job.run(new ImportFile(index, filePath, content),
+              file -> importCluster(importEnv, file.content, job));
+        } else {
+          // namespace file.path format :
+          // apollo/${appId}/${env}/${appId}+${cluster}+${namespaceName}
+          job.submit(new ImportFile(index, filePath, content),
+              file -> importNamespaceFromText(importEnv, fileName, file.content,
+                  ignoreConflictNamespace, job));
+        }
+      }
 
-    } catch (Exception e) {
+      if (!metadataImported) {
+        importMetadata(importEnvs, toImportApps, toImportAppNSs, job);
+      }
+
+      job.awaitCompletion();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
       LOGGER.error("import config error.", e);
       throw new ServiceException("import config error.", e);
+    } finally {
+      job.close();
     }
+
+    ConfigsImportReport report = job.toReport();
+    LOGGER.info("Finish to import data. dryRun = {}, checkpoint = {}, namespace = {}, failed = {}",
+        dryRun, report.getCheckpoint(), report.getCreatedNamespaces(),
+        report.getFailedFiles().size());
+    return report;
   }
 
   /**
@@ -182,7 +251,7 @@ public class ConfigsImportService {
           "The app does not exist in the specified environment and cluster.");
     }
 
-    List<ImportNamespaceData> toImportNSs = Lists.newArrayList();
+    List<ImportFile> toImportNSs = Lists.newArrayList();
     ZipEntry entry;
     while ((entry = dataZip.getNextEntry()) != null) {
       if (entry.isDirectory()) {
@@ -208,7 +277,7 @@ public class ConfigsImportService {
         throw new BadRequestException("The content of the file to be imported is incorrect.");
       }
       if (!fileName.endsWith(ConfigFileUtils.CLUSTER_METADATA_FILE_SUFFIX)) {
-        toImportNSs.add(new ImportNamespaceData(env, fileName, content, ignoreConflictNamespace));
+        toImportNSs.add(new ImportFile(toImportNSs.size(), fileName, content));
       }
     }
 
@@ -216,115 +285,72 @@ public class ConfigsImportService {
       throw new BadRequestException("The configuration to be imported is empty.");
     }
 
+    LOGGER.info("Import namespace. namespace = {}", toImportNSs.size());
+    ImportJob job = new ImportJob(userInfoHolder.getUser().getUserId(), false);
     try {
-      LOGGER.info("Import namespace. namespace = {}", toImportNSs.size());
-      doImport(Lists.newArrayList(), Lists.newArrayList(), Lists.newArrayList(),
-          Lists.newArrayList(), toImportNSs);
-    } catch (Exception e) {
+      for (ImportFile namespaceFile : toImportNSs) {
+        job.submit(namespaceFile, file -> importNamespaceFromText(env, file.path, file.content,
+            ignoreConflictNamespace, job));
+      }
+      job.awaitCompletion();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
       LOGGER.error("import app config error.", e);
       throw new ServiceException("import app config error.", e);
+    } finally {
+      job.close();
     }
   }
 
-  private void doImport(List<Env> importEnvs, List<String> toImportApps,
-      List<String> toImportAppNSs, List<ImportClusterData> toImportClusters,
-      List<ImportNamespaceData> toImportNSs) throws InterruptedException {
+  private void importMetadata(List<Env> importEnvs, List<ImportFile> toImportApps,
+      List<ImportFile> toImportAppNSs, ImportJob job) throws InterruptedException {
     LOGGER.info("Start to import app. size = {}", toImportApps.size());
 
-    String operator = userInfoHolder.getUser().getUserId();
-
     long startTime = System.currentTimeMillis();
-    CountDownLatch appLatch = new CountDownLatch(toImportApps.size());
-    toImportApps.parallelStream().forEach(app -> {
-      try {
-        importApp(app, importEnvs, operator);
-      } catch (Exception e) {
-        LOGGER.error("import app error. app = {}", app, e);
-      } finally {
-        appLatch.countDown();
-      }
-    });
-    appLatch.await();
+    job.runAll(toImportApps, file -> importApp(file.content, importEnvs, job));
 
     LOGGER.info("Finish to import app. duration = {}", System.currentTimeMillis() - startTime);
     LOGGER.info("Start to import appnamespace. size = {}", toImportAppNSs.size());
 
     startTime = System.currentTimeMillis();
-    CountDownLatch appNSLatch = new CountDownLatch(toImportAppNSs.size());
-    toImportAppNSs.parallelStream().forEach(appNS -> {
-      try {
-        importAppNamespace(appNS, operator);
-      } catch (Exception e) {
-        LOGGER.error("import appnamespace error. appnamespace = {}", appNS, e);
-      } finally {
-        appNSLatch.countDown();
-      }
-    });
-    appNSLatch.await();
+    job.runAll(toImportAppNSs, file -> importAppNamespace(file.content, job));
 
     LOGGER.info("Finish to import appnamespace. duration = {}",
         System.currentTimeMillis() - startTime);
-    LOGGER.info("Start to import cluster. size = {}", toImportClusters.size());
-
-    startTime = System.currentTimeMillis();
-    CountDownLatch clusterLatch = new CountDownLatch(toImportClusters.size());
-    toImportClusters.parallelStream().forEach(cluster -> {
-      try {
-        importCluster(cluster, operator);
-      } catch (Exception e) {
-        LOGGER.error("import cluster error. cluster = {}", cluster, e);
-      } finally {
-        clusterLatch.countDown();
-      }
-    });
-    clusterLatch.await();
-
-    LOGGER.info("Finish to import cluster. duration = {}", System.currentTimeMillis() - startTime);
-    LOGGER.info("Start to import namespace. size = {}", toImportNSs.size());
-
-    startTime = System.currentTimeMillis();
-    CountDownLatch nsLatch = new CountDownLatch(toImportNSs.size());
-    toImportNSs.parallelStream().forEach(namespace -> {
-      try {
-        importNamespaceFromText(namespace.getEnv(), namespace.getFileName(), namespace.getContent(),
-            namespace.isIgnoreConflictNamespace(), operator);
-      } catch (Exception e) {
-        LOGGER.error("import namespace error. namespace = {}", namespace, e);
-      } finally {
-        nsLatch.countDown();
-      }
-    });
-    nsLatch.await();
-
-    LOGGER.info("Finish to import namespace. duration = {}",
-        System.currentTimeMillis() - startTime);
   }
 
-  private void importApp(String appInfo, List<Env> importEnvs, String operator) {
+  private void importApp(String appInfo, List<Env> importEnvs, ImportJob job) {
     App toImportApp = gson.fromJson(appInfo, App.class);
     String appId = toImportApp.getAppId();
 
-    toImportApp.setDataChangeCreatedBy(operator);
-    toImportApp.setDataChangeLastModifiedBy(operator);
+    toImportApp.setDataChangeCreatedBy(job.operator);
+    toImportApp.setDataChangeLastModifiedBy(job.operator);
     toImportApp.setDataChangeCreatedTime(new Date());
     toImportApp.setDataChangeLastModifiedTime(new Date());
 
     App managedApp = appService.load(appId);
     if (managedApp == null) {
-      appService.importAppInLocal(toImportApp);
+      if (!job.dryRun) {
+        appService.importAppInLocal(toImportApp);
+      }
+      job.createdApps.incrementAndGet();
     }
 
-    importEnvs.parallelStream().forEach(env -> {
+    if (job.dryRun) {
+      return;
+    }
+
+    for (Env env : importEnvs) {
       try {
         appService.load(env, appId);
       } catch (Exception e) {
         // not existed
         appService.createAppInRemote(env, toImportApp);
       }
-    });
+    }
   }
 
-  private void importAppNamespace(String appNamespace, String operator) {
+  private void importAppNamespace(String appNamespace, ImportJob job) {
     AppNamespace toImportPubAppNS = gson.fromJson(appNamespace, AppNamespace.class);
 
     String appId = toImportPubAppNS.getAppId();
@@ -336,13 +362,18 @@ public class ConfigsImportService {
             : appNamespaceService.findByAppIdAndName(appId, namespaceName);
 
     if (managedAppNamespace == null) {
+      job.createdAppNamespaces.incrementAndGet();
+      if (job.dryRun) {
+        return;
+      }
+
       managedAppNamespace = new AppNamespace();
       managedAppNamespace.setAppId(toImportPubAppNS.getAppId());
       managedAppNamespace.setPublic(isPublic);
       managedAppNamespace.setFormat(toImportPubAppNS.getFormat());
       managedAppNamespace.setComment(toImportPubAppNS.getComment());
-      managedAppNamespace.setDataChangeCreatedBy(operator);
-      managedAppNamespace.setDataChangeLastModifiedBy(operator);
+      managedAppNamespace.setDataChangeCreatedBy(job.operator);
+      managedAppNamespace.setDataChangeLastModifiedBy(job.operator);
       managedAppNamespace.setName(namespaceName);
 
       AppNamespace createdAppNamespace =
@@ -355,12 +386,11 @@ public class ConfigsImportService {
     }
   }
 
-  private void importCluster(ImportClusterData importClusterData, String operator) {
-    Env env = importClusterData.getEnv();
-    ClusterDTO toImportCluster = gson.fromJson(importClusterData.clusterInfo, ClusterDTO.class);
+  private void importCluster(Env env, String clusterInfo, ImportJob job) {
+    ClusterDTO toImportCluster = gson.fromJson(clusterInfo, ClusterDTO.class);
 
-    toImportCluster.setDataChangeCreatedBy(operator);
-    toImportCluster.setDataChangeLastModifiedBy(operator);
+    toImportCluster.setDataChangeCreatedBy(job.operator);
+    toImportCluster.setDataChangeLastModifiedBy(job.operator);
     toImportCluster.setDataChangeCreatedTime(new Date());
     toImportCluster.setDataChangeLastModifiedTime(new Date());
 
@@ -371,7 +401,10 @@ public class ConfigsImportService {
       clusterService.loadCluster(appId, env, clusterName);
     } catch (Exception e) {
       // not existed
-      clusterService.createCluster(env, toImportCluster);
+      if (!job.dryRun) {
+        clusterService.createCluster(env, toImportCluster);
+      }
+      job.createdClusters.incrementAndGet();
     }
   }
 
@@ -388,19 +421,19 @@ public class ConfigsImportService {
    * @param configText       config content
    */
   private void importNamespaceFromText(final Env env, final String standardFilename,
-      final String configText, boolean ignoreConflictNamespace, String operator) {
+      final String configText, boolean ignoreConflictNamespace, ImportJob job) {
     final String appId = ConfigFileUtils.getAppId(standardFilename);
     final String clusterName = ConfigFileUtils.getClusterName(standardFilename);
     final String namespace = ConfigFileUtils.getNamespace(standardFilename);
     final String format = ConfigFileUtils.getFormat(standardFilename);
 
     this.importNamespace(appId, env, clusterName, namespace, configText, format,
-        ignoreConflictNamespace, operator);
+        ignoreConflictNamespace, job);
   }
 
   private void importNamespace(final String appId, final Env env, final String clusterName,
       final String namespaceName, final String configText, final String format,
-      boolean ignoreConflictNamespace, String operator) {
+      boolean ignoreConflictNamespace, ImportJob job) {
     NamespaceDTO namespaceDTO;
     try {
       namespaceDTO = namespaceService.loadNamespaceBaseInfo(appId, env, clusterName, namespaceName);
@@ -409,66 +442,101 @@ public class ConfigsImportService {
       namespaceDTO = null;
     }
 
+    List<ItemDTO> itemDTOS = Collections.emptyList();
     if (namespaceDTO == null) {
+      job.createdNamespaces.incrementAndGet();
+      if (job.dryRun) {
+        // all the items are new
+        importItems(appId, env, clusterName, namespaceName, configText, new NamespaceDTO(),
+            itemDTOS, job);
+        return;
+      }
+
       namespaceDTO = new NamespaceDTO();
       namespaceDTO.setAppId(appId);
       namespaceDTO.setClusterName(clusterName);
       namespaceDTO.setNamespaceName(namespaceName);
-      namespaceDTO.setDataChangeCreatedBy(operator);
-      namespaceDTO.setDataChangeLastModifiedBy(operator);
+      namespaceDTO.setDataChangeCreatedBy(job.operator);
+      namespaceDTO.setDataChangeLastModifiedBy(job.operator);
       namespaceDTO = namespaceService.createNamespace(env, namespaceDTO);
 
-      roleInitializationService.initNamespaceRoles(appId, namespaceName, operator);
-      roleInitializationService.initNamespaceEnvRoles(appId, namespaceName, operator);
+      roleInitializationService.initNamespaceRoles(appId, namespaceName, job.operator);
+      roleInitializationService.initNamespaceEnvRoles(appId, namespaceName, job.operator);
     }
 
-    List<ItemDTO> itemDTOS = itemService.findItems(appId, env, clusterName, namespaceName);
+    itemDTOS = itemService.findItems(appId, env, clusterName, namespaceName);
     // skip import if target namespace has existed items
     if (!CollectionUtils.isEmpty(itemDTOS) && ignoreConflictNamespace) {
+      job.skippedNamespaces.incrementAndGet();
       return;
     }
 
-    importItems(appId, env, clusterName, namespaceName, configText, namespaceDTO, operator);
+    importItems(appId, env, clusterName, namespaceName, configText, namespaceDTO, itemDTOS, job);
   }
 
+  /**
+   * import the items of a namespace with one change set, the items with existed keys are updated,
+   * the others are created, and comment items are only created if the comment doesn't exist
+   */
   private void importItems(String appId, Env env, String clusterName, String namespaceName,
-      String configText, NamespaceDTO namespaceDTO, String operator) {
+      String configText, NamespaceDTO namespaceDTO, List<ItemDTO> existedItems, ImportJob job) {
     List<ItemDTO> toImportItems = gson.fromJson(configText, GsonType.ITEM_DTOS);
 
-    toImportItems.parallelStream().forEach(newItem -> {
-      String key = newItem.getKey();
+    Map<String, ItemDTO> existedItemsByKey = Maps.newHashMap();
+    Set<String> existedComments = Sets.newHashSet();
+    for (ItemDTO existedItem : existedItems) {
+      if (StringUtils.hasText(existedItem.getKey())) {
+        existedItemsByKey.put(existedItem.getKey(), existedItem);
+      } else if (StringUtils.hasText(existedItem.getComment())) {
+        existedComments.add(existedItem.getComment());
+      }
+    }
+
+    // the last one wins if a key is duplicated
+    Map<String, ItemDTO> toImportItemsByKey = Maps.newLinkedHashMap();
+    List<ItemDTO> toImportComments = Lists.newArrayList();
+    for (ItemDTO newItem : toImportItems) {
       newItem.setNamespaceId(namespaceDTO.getId());
-      newItem.setDataChangeCreatedBy(operator);
-      newItem.setDataChangeLastModifiedBy(operator);
+      newItem.setDataChangeCreatedBy(job.operator);
+      newItem.setDataChangeLastModifiedBy(job.operator);
       newItem.setDataChangeCreatedTime(new Date());
       newItem.setDataChangeLastModifiedTime(new Date());
 
-      if (StringUtils.hasText(key)) {
-        // create or update normal item
-        try {
-          ItemDTO oldItem = itemService.loadItem(env, appId, clusterName, namespaceName, key);
-          newItem.setId(oldItem.getId());
-          // existed
-          itemService.updateItem(appId, env, clusterName, namespaceName, newItem);
-        } catch (Exception e) {
-          if (e instanceof HttpStatusCodeException
-              && ((HttpStatusCodeException) e).getStatusCode().equals(HttpStatus.NOT_FOUND)) {
-            // not existed
-            itemService.createItem(appId, env, clusterName, namespaceName, newItem);
-          } else {
-            LOGGER.error(
-                "Load or update item error. appId = {}, env = {}, cluster = {}, namespace = {}",
-                appId, env, clusterName, namespaceDTO, e);
-          }
-        }
-      } else if (StringUtils.hasText(newItem.getComment())) {
-        // create comment item
-        itemService.createCommentItem(appId, env, clusterName, namespaceName, newItem);
+      if (StringUtils.hasText(newItem.getKey())) {
+        toImportItemsByKey.put(newItem.getKey(), newItem);
+      } else if (StringUtils.hasText(newItem.getComment())
+          && existedComments.add(newItem.getComment())) {
+        toImportComments.add(newItem);
       }
+    }
 
-    });
-  }
+    ItemChangeSets changeSets = new ItemChangeSets();
+    for (ItemDTO newItem : toImportItemsByKey.values()) {
+      ItemDTO oldItem = existedItemsByKey.get(newItem.getKey());
+      if (oldItem == null) {
+        changeSets.addCreateItem(newItem);
+      } else {
+        newItem.setId(oldItem.getId());
+        changeSets.addUpdateItem(newItem);
+      }
+    }
+    for (ItemDTO comment : toImportComments) {
+      comment.setKey("");
+      comment.setValue("");
+      changeSets.addCreateItem(comment);
+    }
 
+    if (changeSets.isEmpty()) {
+      return;
+    }
+
+    if (!job.dryRun) {
+      changeSets.setDataChangeLastModifiedBy(job.operator);
+      itemService.updateItems(appId, env, clusterName, namespaceName, changeSets);
+    }
+    job.createdItems.addAndGet(changeSets.getCreateItems().size());
+    job.updatedItems.addAndGet(changeSets.getUpdateItems().size());
+  }
 
   private String readContent(ZipInputStream zipInputStream) {
     try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
@@ -484,90 +552,143 @@ public class ConfigsImportService {
     }
   }
 
-  static class ImportNamespaceData {
-
-    private Env env;
-    private String fileName;
-    private String content;
-    private boolean ignoreConflictNamespace;
-
-    public ImportNamespaceData(Env env, String fileName, String content,
-        boolean ignoreConflictNamespace) {
-      this.env = env;
-      this.fileName = fileName;
-      this.content = content;
-      this.ignoreConflictNamespace = ignoreConflictNamespace;
-    }
-
-    public Env getEnv() {
-      return env;
-    }
-
-    public void setEnv(Env env) {
-      this.env = env;
-    }
-
-    public String getFileName() {
-      return fileName;
-    }
-
-    public void setFileName(String fileName) {
-      this.fileName = fileName;
-    }
+  /**
+   * A file read from the zip, the index is its position among the files of the zip.
+   */
+  private static class ImportFile {
 
-    public String getContent() {
-      return content;
-    }
+    private final int index;
+    private final String path;
+    private final String content;
 
-    public void setContent(String content) {
+    ImportFile(int index, String path, String content) {
+      this.index = index;
+      this.path = path;
       this.content = content;
     }
+  }
 
-    public boolean isIgnoreConflictNamespace() {
-      return ignoreConflictNamespace;
+  /**
+   * The state of one import: the pool importing the files with bounded concurrency, the counters
+   * of the report, and the checkpoint, i.e. the number of leading files which are imported
+   * successfully or skipped.
+   * <p>
+   * The pool only queues {@link #IMPORT_QUEUE_CAPACITY} files, when it is full the reading thread
+   * imports the file itself, so the zip is not read faster than it is imported.
+   */
+  private static class ImportJob {
+
+    private final String operator;
+    private final boolean dryRun;
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(IMPORT_PARALLELISM,
+        IMPORT_PARALLELISM, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(IMPORT_QUEUE_CAPACITY),
+        ApolloThreadFactory.create("ConfigsImport", true),
+        new ThreadPoolExecutor.CallerRunsPolicy());
+
+    private final AtomicInteger createdApps = new AtomicInteger();
+    private final AtomicInteger createdAppNamespaces = new AtomicInteger();
+    private final AtomicInteger createdClusters = new AtomicInteger();
+    private final AtomicInteger createdNamespaces = new AtomicInteger();
+    private final AtomicInteger skippedNamespaces = new AtomicInteger();
+    private final AtomicInteger createdItems = new AtomicInteger();
+    private final AtomicInteger updatedItems = new AtomicInteger();
+    private final List<String> failedFiles = Collections.synchronizedList(Lists.newArrayList());
+
+    // guarded by this
+    private int checkpoint;
+    private final Set<Integer> doneFilesAfterCheckpoint = Sets.newHashSet();
+
+    ImportJob(String operator, boolean dryRun) {
+      this.operator = operator;
+      this.dryRun = dryRun;
     }
 
-    public void setIgnoreConflictNamespace(boolean ignoreConflictNamespace) {
-      this.ignoreConflictNamespace = ignoreConflictNamespace;
+    /**
+     * import the file in the current thread, a failed file is never done so the checkpoint doesn't
+     * pass it
+     */
+    void run(ImportFile file, Consumer<ImportFile> importer) {
+      try {
+        importer.accept(file);
+      } catch (Exception e) {
+        LOGGER.error("import file error. file = {}", file.path, e);
+        failedFiles.add(file.path);
+        return;
+      }
+      fileDone(file.index);
     }
 
-    @Override
-    public String toString() {
-      return "NamespaceImportData{" + "env=" + env + ", fileName='" + fileName + '\''
-          + ", content='" + content + '\'' + ", ignoreConflictNamespace=" + ignoreConflictNamespace
-          + '}';
+    /**
+     * import the file on the pool
+     */
+    void submit(ImportFile file, Consumer<ImportFile> importer) {
+      executor.execute(() -> run(file, importer));
     }
-  }
 
-  static class ImportClusterData {
-
-    private Env env;
-    private String clusterInfo;
-
-    public ImportClusterData(Env env, String clusterInfo) {
-      this.env = env;
-      this.clusterInfo = clusterInfo;
+    /**
+     * import the files on the pool and wait until all of them are done
+     */
+    void runAll(List<ImportFile> files, Consumer<ImportFile> importer)
+        throws InterruptedException {
+      List<Future<?>> futures = Lists.newArrayListWithCapacity(files.size());
+      for (ImportFile file : files) {
+        futures.add(executor.submit(() -> run(file, importer)));
+      }
+      for (Future<?> future : futures) {
+        try {
+          future.get();
+        } catch (ExecutionException e) {
+          // failures are recorded by run
+        }
+      }
     }
 
-    public Env getEnv() {
-      return env;
+    void awaitCompletion() throws InterruptedException {
+      executor.shutdown();
+      while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+        LOGGER.info("Importing. checkpoint = {}, namespace = {}", currentCheckpoint(),
+            createdNamespaces.get());
+      }
     }
 
-    public void setEnv(Env env) {
-      this.env = env;
+    void close() {
+      executor.shutdownNow();
     }
 
-    public String getClusterInfo() {
-      return clusterInfo;
+    synchronized void fileDone(int index) {
+      if (index != checkpoint) {
+        doneFilesAfterCheckpoint.add(index);
+        return;
+      }
+      checkpoint++;
+      while (doneFilesAfterCheckpoint.remove(checkpoint)) {
+        checkpoint++;
+      }
+      if (checkpoint % CHECKPOINT_LOG_INTERVAL == 0) {
+        LOGGER.info("Import checkpoint = {}, failed = {}", checkpoint, failedFiles.size());
+      }
     }
 
-    public void setClusterInfo(String clusterInfo) {
-      this.clusterInfo = clusterInfo;
+    synchronized int currentCheckpoint() {
+      return checkpoint;
     }
 
-    @Override
-    public String toString() {
-      return "ImportClusterData{" + "env=" + env + ", clusterName='" + clusterInfo + '\'' + '}';
+    ConfigsImportReport toReport() {
+      ConfigsImportReport report = new ConfigsImportReport();
+      report.setDryRun(dryRun);
+      report.setCheckpoint(currentCheckpoint());
+      report.setCreatedApps(createdApps.get());
+      report.setCreatedAppNamespaces(createdAppNamespaces.get());
+      report.setCreatedClusters(createdClusters.get());
+      report.setCreatedNamespaces(createdNamespaces.get());
+      report.setSkippedNamespaces(skippedNamespaces.get());
+      report.setCreatedItems(createdItems.get());
+      report.setUpdatedItems(updatedItems.get());
+      synchronized (failedFiles) {
+        report.setFailedFiles(Lists.newArrayList(failedFiles));
+      }
+      return report;
     }
   }
 }
@@ -20,6 +20,7 @@ import com.ctrip.framework.apollo.common.dto.ItemInfoDTO;
 import com.ctrip.framework.apollo.common.dto.PageDTO;
 import com.ctrip.framework.apollo.common.http.SearchResponseEntity;
 import com.ctrip.framework.apollo.portal.api.AdminServiceAPI;
+import com.ctrip.framework.apollo.portal.component.MultiEnvExecutor;
 import com.ctrip.framework.apollo.portal.component.PortalSettings;
 import com.ctrip.framework.apollo.portal.entity.vo.ItemInfo;
 import com.ctrip.framework.apollo.portal.environment.Env;
@@ -29,7 +30,7 @@ import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Map;
 
 @Service
 public class GlobalSearchService {
@@ -37,22 +38,31 @@ public class GlobalSearchService {
   private static final Logger LOGGER = LoggerFactory.getLogger(GlobalSearchService.class);
   private final AdminServiceAPI.ItemAPI itemAPI;
   private final PortalSettings portalSettings;
+  private final MultiEnvExecutor multiEnvExecutor;
 
-  public GlobalSearchService(AdminServiceAPI.ItemAPI itemAPI, PortalSettings portalSettings) {
+  public GlobalSearchService(AdminServiceAPI.ItemAPI itemAPI, PortalSettings portalSettings,
+      MultiEnvExecutor multiEnvExecutor) {
     this.itemAPI = itemAPI;
     this.portalSettings = portalSettings;
+    this.multiEnvExecutor = multiEnvExecutor;
   }
 
   public SearchResponseEntity<List<ItemInfo>> getAllEnvItemInfoBySearch(String key, String value,
       int page, int size) {
     List<Env> activeEnvs = portalSettings.getActiveEnvs();
     List<String> envBeyondLimit = new ArrayList<>();
-    AtomicBoolean hasMoreData = new AtomicBoolean(false);
+    List<String> failedEnvs = new ArrayList<>();
     List<ItemInfo> allEnvItemInfos = new ArrayList<>();
-    activeEnvs.forEach(env -> {
-      PageDTO<ItemInfoDTO> perEnvItemInfoDTOs =
-          itemAPI.getPerEnvItemInfoBySearch(env, key, value, page, size);
-      if (!perEnvItemInfoDTOs.hasContent()) {
+
+    // search all the envs in parallel, the envs which failed are skipped
+    Map<Env, PageDTO<ItemInfoDTO>> perEnvItemInfos = multiEnvExecutor.execute(activeEnvs,
+        env -> itemAPI.getPerEnvItemInfoBySearch(env, key, value, page, size), (env, ex) -> {
+          LOGGER.error("Search items failed. env = {}, key = {}, value = {}", env, key, value, ex);
+          failedEnvs.add(env.getName());
+        });
+
+    perEnvItemInfos.forEach((env, perEnvItemInfoDTOs) -> {
+      if (perEnvItemInfoDTOs == null || !perEnvItemInfoDTOs.hasContent()) {
         return;
       }
       perEnvItemInfoDTOs.getContent().forEach(itemInfoDTO -> {
@@ -67,14 +77,22 @@ public class GlobalSearchService {
       });
       if (perEnvItemInfoDTOs.getTotal() > size) {
         envBeyondLimit.add(env.getName());
-        hasMoreData.set(true);
       }
     });
-    if (hasMoreData.get()) {
-      return SearchResponseEntity.okWithMessage(allEnvItemInfos, String.format(
+
+    List<String> messages = new ArrayList<>();
+    if (!envBeyondLimit.isEmpty()) {
+      messages.add(String.format(
           "In %s , more than %d items found (Exceeded the maximum search quantity for a single environment). Please enter more precise criteria to narrow down the search scope.",
           String.join(" , ", envBeyondLimit), size));
     }
+    if (!failedEnvs.isEmpty()) {
+      messages.add(String.format("Search in %s failed, the results are incomplete.",
+          String.join(" , ", failedEnvs)));
+    }
+    if (!messages.isEmpty()) {
+      return SearchResponseEntity.okWithMessage(allEnvItemInfos, String.join(" ", messages));
+    }
     return SearchResponseEntity.ok(allEnvItemInfos);
   }
 
@@ -39,12 +39,31 @@ public class InstanceService {
     return instanceAPI.getByRelease(env, releaseId, page, size);
   }
 
+  /**
+   * List the instances by id after {@code afterInstanceId}, which unlike paging by number doesn't
+   * get slower on later pages
+   */
+  public PageDTO<InstanceDTO> getByReleaseAfter(Env env, long releaseId, long afterInstanceId,
+      int size) {
+    return instanceAPI.getByReleaseAfter(env, releaseId, afterInstanceId, size);
+  }
+
   public PageDTO<InstanceDTO> getByNamespace(Env env, String appId, String clusterName,
       String namespaceName, String instanceAppId, int page, int size) {
     return instanceAPI.getByNamespace(appId, env, clusterName, namespaceName, instanceAppId, page,
         size);
   }
 
+  /**
+   * List the instances by id after {@code afterInstanceId}, which unlike paging by number doesn't
+   * get slower on later pages
+   */
+  public PageDTO<InstanceDTO> getByNamespaceAfter(Env env, String appId, String clusterName,
+      String namespaceName, String instanceAppId, long afterInstanceId, int size) {
+    return instanceAPI.getByNamespaceAfter(appId, env, clusterName, namespaceName, instanceAppId,
+        afterInstanceId, size);
+  }
+
   public int getInstanceCountByNamespace(String appId, Env env, String clusterName,
       String namespaceName) {
     return instanceAPI.getInstanceCountByNamespace(appId, env, clusterName, namespaceName);
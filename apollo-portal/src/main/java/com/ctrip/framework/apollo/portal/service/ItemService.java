@@ -284,6 +284,12 @@ public class ItemService {
     return itemAPI.findItemsByNamespace(appId, env, clusterName, namespaceName, page, size);
   }
 
+  public CursorPageDTO<OpenItemDTO> findItemsByNamespace(String appId, Env env,
+      String clusterName, String namespaceName, String continuationToken, int size) {
+    return itemAPI.findItemsByNamespace(appId, env, clusterName, namespaceName, continuationToken,
+        size);
+  }
+
   private long getNamespaceId(NamespaceIdentifier namespaceIdentifier) {
     String appId = namespaceIdentifier.getAppId();
     String clusterName = namespaceIdentifier.getClusterName();
@@ -317,7 +323,8 @@ public class ItemService {
       Map<String, ItemDTO> targetItemMap = BeanUtils.mapByKey("key", targetItems);
       String key, sourceValue, sourceComment;
       ItemDTO targetItem = null;
-      int maxLineNum = targetItems.size();// append to last
+      // append to last, line numbers may have gaps
+      int maxLineNum = targetItems.stream().mapToInt(ItemDTO::getLineNum).max().orElse(0);
       for (ItemDTO sourceItem : sourceItems) {
         key = sourceItem.getKey();
         sourceValue = sourceItem.getValue();
@@ -20,6 +20,7 @@ import com.ctrip.framework.apollo.common.constants.GsonType;
 import com.ctrip.framework.apollo.common.dto.ClusterDTO;
 import com.ctrip.framework.apollo.common.dto.ItemDTO;
 import com.ctrip.framework.apollo.common.dto.NamespaceDTO;
+import com.ctrip.framework.apollo.common.dto.NamespaceViewDTO;
 import com.ctrip.framework.apollo.common.dto.PageDTO;
 import com.ctrip.framework.apollo.common.dto.ReleaseDTO;
 import com.ctrip.framework.apollo.common.entity.AppNamespace;
@@ -30,6 +31,7 @@ import com.ctrip.framework.apollo.core.utils.ApolloThreadFactory;
 import com.ctrip.framework.apollo.core.utils.StringUtils;
 import com.ctrip.framework.apollo.portal.api.AdminServiceAPI;
 import com.ctrip.framework.apollo.portal.api.AdminServiceAPI.NamespaceAPI;
+import com.ctrip.framework.apollo.portal.component.MultiEnvExecutor;
 import com.ctrip.framework.apollo.portal.component.PortalSettings;
 import com.ctrip.framework.apollo.portal.component.config.PortalConfig;
 import com.ctrip.framework.apollo.portal.constant.RoleType;
@@ -52,7 +54,6 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -61,8 +62,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.HttpClientErrorException;
 
 @Service
 public class NamespaceService {
@@ -85,6 +88,7 @@ public class NamespaceService {
   private final RolePermissionService rolePermissionService;
   private final AdditionalUserInfoEnrichService additionalUserInfoEnrichService;
   private final ClusterService clusterService;
+  private final MultiEnvExecutor multiEnvExecutor;
 
   public NamespaceService(final PortalConfig portalConfig, final PortalSettings portalSettings,
       final UserInfoHolder userInfoHolder, final NamespaceAPI namespaceAPI,
@@ -93,7 +97,7 @@ public class NamespaceService {
       final @Lazy NamespaceBranchService branchService,
       final RolePermissionService rolePermissionService,
       final AdditionalUserInfoEnrichService additionalUserInfoEnrichService,
-      ClusterService clusterService) {
+      ClusterService clusterService, final MultiEnvExecutor multiEnvExecutor) {
     this.portalConfig = portalConfig;
     this.portalSettings = portalSettings;
     this.userInfoHolder = userInfoHolder;
@@ -106,6 +110,7 @@ public class NamespaceService {
     this.rolePermissionService = rolePermissionService;
     this.additionalUserInfoEnrichService = additionalUserInfoEnrichService;
     this.clusterService = clusterService;
+    this.multiEnvExecutor = multiEnvExecutor;
   }
 
 
@@ -128,22 +133,33 @@ public class NamespaceService {
   public List<NamespaceUsage> getNamespaceUsageByAppId(String appId, String namespaceName) {
     List<Env> envs = portalSettings.getActiveEnvs();
     AppNamespace appNamespace = appNamespaceService.findByAppIdAndName(appId, namespaceName);
+    boolean isPublic = appNamespace != null && appNamespace.isPublic();
+
+    // the usages decide whether the namespace could be deleted, so any failed env fails the call
+    Map<Env, List<NamespaceUsage>> envUsages = multiEnvExecutor.execute(envs,
+        env -> getNamespaceUsageByEnv(appId, namespaceName, env, isPublic));
+
     List<NamespaceUsage> usages = new ArrayList<>();
-    for (Env env : envs) {
-      List<ClusterDTO> clusters = clusterService.findClusters(env, appId);
-      for (ClusterDTO cluster : clusters) {
-        String clusterName = cluster.getName();
-        NamespaceUsage usage = this.getNamespaceUsageByEnv(appId, namespaceName, env, clusterName);
-        if (appNamespace != null && appNamespace.isPublic()) {
-          int associatedNamespace =
-              this.getPublicAppNamespaceHasAssociatedNamespace(namespaceName, env);
-          usage.setLinkedNamespaceCount(associatedNamespace);
-        }
+    envUsages.values().forEach(usages::addAll);
+    return usages;
+  }
 
-        if (usage.getLinkedNamespaceCount() > 0 || usage.getBranchInstanceCount() > 0
-            || usage.getInstanceCount() > 0) {
-          usages.add(usage);
-        }
+  private List<NamespaceUsage> getNamespaceUsageByEnv(String appId, String namespaceName, Env env,
+      boolean isPublic) {
+    List<NamespaceUsage> usages = new ArrayList<>();
+    List<ClusterDTO> clusters = clusterService.findClusters(env, appId);
+    for (ClusterDTO cluster : clusters) {
+      String clusterName = cluster.getName();
+      NamespaceUsage usage = this.getNamespaceUsageByEnv(appId, namespaceName, env, clusterName);
+      if (isPublic) {
+        int associatedNamespace =
+            this.getPublicAppNamespaceHasAssociatedNamespace(namespaceName, env);
+        usage.setLinkedNamespaceCount(associatedNamespace);
+      }
+
+      if (usage.getLinkedNamespaceCount() > 0 || usage.getBranchInstanceCount() > 0
+          || usage.getInstanceCount() > 0) {
+        usages.add(usage);
       }
     }
     return usages;
@@ -190,6 +206,17 @@ public class NamespaceService {
   public List<NamespaceBO> findNamespaceBOs(String appId, Env env, String clusterName,
       boolean fillItemDetail, boolean includeDeletedItems) {
 
+    if (fillItemDetail) {
+      List<NamespaceViewDTO> namespaceViews =
+          findNamespaceViews(appId, env, clusterName, includeDeletedItems);
+      if (namespaceViews != null) {
+        if (namespaceViews.isEmpty()) {
+          throw BadRequestException.namespaceNotExists();
+        }
+        return transformNamespaceViews2BO(namespaceViews);
+      }
+    }
+
     List<NamespaceDTO> namespaces = namespaceAPI.findNamespaceByCluster(appId, env, clusterName);
     if (namespaces == null || namespaces.size() == 0) {
       throw BadRequestException.namespaceNotExists();
@@ -234,6 +261,24 @@ public class NamespaceService {
     return findNamespaceBOs(appId, env, clusterName, true, true);
   }
 
+  /**
+   * @return the namespaces of the cluster with items and latest releases, or null if the admin
+   *         service doesn't support loading them in one call yet
+   */
+  private List<NamespaceViewDTO> findNamespaceViews(String appId, Env env, String clusterName,
+      boolean includeDeletedItems) {
+    try {
+      return namespaceAPI.findNamespaceViewsByCluster(appId, env, clusterName,
+          includeDeletedItems);
+    } catch (HttpClientErrorException e) {
+      if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
+        // older admin service, fall back to load the namespaces one by one
+        return null;
+      }
+      throw e;
+    }
+  }
+
   public List<NamespaceDTO> findNamespaces(String appId, Env env, String clusterName) {
     return namespaceAPI.findNamespaceByCluster(appId, env, clusterName);
   }
@@ -283,12 +328,10 @@ public class NamespaceService {
   public Map<String, Map<String, Boolean>> getNamespacesPublishInfo(String appId) {
     Map<String, Map<String, Boolean>> result = Maps.newHashMap();
 
-    Set<Env> envs = portalConfig.publishTipsSupportedEnvs();
-    for (Env env : envs) {
-      if (portalSettings.isEnvActive(env)) {
-        result.put(env.toString(), namespaceAPI.getNamespacePublishInfo(env, appId));
-      }
-    }
+    List<Env> envs = portalConfig.publishTipsSupportedEnvs().stream()
+        .filter(portalSettings::isEnvActive).collect(Collectors.toList());
+    multiEnvExecutor.execute(envs, env -> namespaceAPI.getNamespacePublishInfo(env, appId))
+        .forEach((env, publishInfo) -> result.put(env.toString(), publishInfo));
 
     return result;
   }
@@ -323,6 +366,50 @@ public class NamespaceService {
     List<ItemDTO> items = itemService.findItems(appId, env, clusterName, namespaceName);
     additionalUserInfoEnrichService.enrichAdditionalUserInfo(items,
         BaseDtoUserInfoEnrichedAdapter::new);
+
+    List<ItemDTO> deletedItems = null;
+    if (includeDeletedItems) {
+      deletedItems = itemService.findDeletedItems(appId, env, clusterName, namespaceName);
+    }
+
+    fillItems(namespaceBO, items, releaseItems, deletedItems);
+
+    return namespaceBO;
+  }
+
+  private List<NamespaceBO> transformNamespaceViews2BO(List<NamespaceViewDTO> namespaceViews) {
+    // enrich the items of all the namespaces at once
+    List<ItemDTO> allItems = namespaceViews.stream()
+        .flatMap(namespaceView -> namespaceView.getItems().stream()).collect(Collectors.toList());
+    additionalUserInfoEnrichService.enrichAdditionalUserInfo(allItems,
+        BaseDtoUserInfoEnrichedAdapter::new);
+
+    List<NamespaceBO> namespaceBOs = new ArrayList<>(namespaceViews.size());
+    for (NamespaceViewDTO namespaceView : namespaceViews) {
+      NamespaceBO namespaceBO = new NamespaceBO();
+      namespaceBO.setBaseInfo(namespaceView.getBaseInfo());
+      namespaceBO.setItems(new LinkedList<>());
+
+      fillAppNamespaceProperties(namespaceBO);
+
+      Map<String, String> releaseItems = namespaceView.getReleaseConfigurations();
+      fillItems(namespaceBO, namespaceView.getItems(),
+          releaseItems == null ? Collections.emptyMap() : releaseItems,
+          namespaceView.getDeletedItems());
+
+      namespaceBOs.add(namespaceBO);
+    }
+
+    namespaceBOs.sort(Comparator.comparing(o -> o.getBaseInfo().getId()));
+    return namespaceBOs;
+  }
+
+  /**
+   * @param deletedItemDTOs the deleted items, null if deleted items are not included
+   */
+  private void fillItems(NamespaceBO namespaceBO, List<ItemDTO> items,
+      Map<String, String> releaseItems, List<ItemDTO> deletedItemDTOs) {
+    List<ItemBO> itemBOs = namespaceBO.getItems();
     int modifiedItemCnt = 0;
     for (ItemDTO itemDTO : items) {
 
@@ -335,21 +422,18 @@ public class NamespaceService {
       itemBOs.add(itemBO);
     }
 
-    if (includeDeletedItems) {
+    if (deletedItemDTOs != null) {
       // deleted items
-      Map<String, ItemDTO> deletedItemDTOs =
-          itemService.findDeletedItems(appId, env, clusterName, namespaceName).stream()
-              .filter(itemDTO -> !StringUtils.isEmpty(itemDTO.getKey()))
-              .collect(Collectors.toMap(itemDTO -> itemDTO.getKey(), v -> v, (v1, v2) -> v2));
+      Map<String, ItemDTO> deletedItemDTOMap = deletedItemDTOs.stream()
+          .filter(itemDTO -> !StringUtils.isEmpty(itemDTO.getKey()))
+          .collect(Collectors.toMap(itemDTO -> itemDTO.getKey(), v -> v, (v1, v2) -> v2));
 
-      List<ItemBO> deletedItems = parseDeletedItems(items, releaseItems, deletedItemDTOs);
+      List<ItemBO> deletedItems = parseDeletedItems(items, releaseItems, deletedItemDTOMap);
       itemBOs.addAll(deletedItems);
       modifiedItemCnt += deletedItems.size();
     }
 
     namespaceBO.setItemModifiedCnt(modifiedItemCnt);
-
-    return namespaceBO;
   }
 
   private NamespaceBO transformNamespace2BO(Env env, NamespaceDTO namespace) {
@@ -21,6 +21,7 @@ import com.ctrip.framework.apollo.audit.annotation.ApolloAuditLogDataInfluence;
 import com.ctrip.framework.apollo.audit.annotation.ApolloAuditLogDataInfluenceTable;
 import com.ctrip.framework.apollo.audit.annotation.ApolloAuditLogDataInfluenceTableField;
 import com.ctrip.framework.apollo.audit.annotation.OpType;
+import com.ctrip.framework.apollo.core.utils.ApolloThreadFactory;
 import com.ctrip.framework.apollo.openapi.repository.ConsumerRoleRepository;
 import com.ctrip.framework.apollo.portal.component.config.PortalConfig;
 import com.ctrip.framework.apollo.portal.entity.bo.UserInfo;
@@ -34,15 +35,27 @@ import com.ctrip.framework.apollo.portal.repository.RoleRepository;
 import com.ctrip.framework.apollo.portal.repository.UserRoleRepository;
 import com.ctrip.framework.apollo.portal.service.RolePermissionService;
 import com.ctrip.framework.apollo.portal.spi.UserService;
+import com.ctrip.framework.apollo.tracer.Tracer;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
 import java.util.Comparator;
 import java.util.LinkedHashSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.data.jpa.repository.query.EscapeCharacter;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.CollectionUtils;
 
 import java.util.Collection;
@@ -55,9 +68,20 @@ import java.util.stream.StreamSupport;
 
 /**
  * Created by timothy on 2017/4/26.
+ * <p>
+ * Permission checks are served from an in-memory index: the permission ids granted to each user
+ * and the id of each permission. The index is invalidated when roles are assigned or removed on
+ * this instance, changes made by other portal instances are picked up by scanning the recently
+ * modified user roles and role permissions, see
+ * {@link PortalConfig#permissionIndexRefreshIntervalSecond()}.
  */
 public class DefaultRolePermissionService implements RolePermissionService {
 
+  private static final Logger logger = LoggerFactory.getLogger(DefaultRolePermissionService.class);
+  private static final long PERMISSION_INDEX_EXPIRE_MINUTES = 10;
+  // rows are stamped with the clocks of the instances which modified them, so scan a bit earlier
+  private static final long PERMISSION_INDEX_SCAN_OVERLAP_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
   private final RoleRepository roleRepository;
   private final RolePermissionRepository rolePermissionRepository;
   private final UserRoleRepository userRoleRepository;
@@ -66,6 +90,15 @@ public class DefaultRolePermissionService implements RolePermissionService {
   private final ConsumerRoleRepository consumerRoleRepository;
   private final UserService userService;
 
+  // userId -> ids of the permissions granted to the user
+  private final Cache<String, Set<Long>> userPermissionIndex = CacheBuilder.newBuilder()
+      .expireAfterWrite(PERMISSION_INDEX_EXPIRE_MINUTES, TimeUnit.MINUTES).build();
+  // permissionType+targetId -> permission id, only existing permissions are cached
+  private final Cache<String, Long> permissionIdIndex = CacheBuilder.newBuilder()
+      .expireAfterWrite(PERMISSION_INDEX_EXPIRE_MINUTES, TimeUnit.MINUTES).build();
+  private volatile Date lastPermissionIndexScanTime = new Date();
+  private ScheduledExecutorService permissionIndexRefreshService;
+
   public DefaultRolePermissionService(final RoleRepository roleRepository,
       final RolePermissionRepository rolePermissionRepository,
       final UserRoleRepository userRoleRepository, final PermissionRepository permissionRepository,
@@ -80,6 +113,30 @@ public class DefaultRolePermissionService implements RolePermissionService {
     this.userService = userService;
   }
 
+  @PostConstruct
+  public void initPermissionIndexRefresh() {
+    lastPermissionIndexScanTime = new Date();
+    permissionIndexRefreshService = Executors.newSingleThreadScheduledExecutor(
+        ApolloThreadFactory.create("PermissionIndexRefresher", true));
+
+    int interval = portalConfig.permissionIndexRefreshIntervalSecond();
+    permissionIndexRefreshService.scheduleWithFixedDelay(() -> {
+      try {
+        refreshPermissionIndex();
+      } catch (Throwable ex) {
+        logger.error("Refresh permission index failed", ex);
+        Tracer.logError(ex);
+      }
+    }, interval, interval, TimeUnit.SECONDS);
+  }
+
+  @PreDestroy
+  public void stopPermissionIndexRefresh() {
+    if (permissionIndexRefreshService != null) {
+      permissionIndexRefreshService.shutdown();
+    }
+  }
+
   /**
    * Create role with permissions, note that role name should be unique
    */
@@ -136,6 +193,9 @@ public class DefaultRolePermissionService implements RolePermissionService {
     }).collect(Collectors.toList());
 
     userRoleRepository.saveAll(toCreate);
+    // toAssignUserIds is a view of userIds
+    Set<String> assignedUserIds = Sets.newHashSet(toAssignUserIds);
+    invalidatePermissionIndex(() -> userPermissionIndex.invalidateAll(assignedUserIds));
     return toAssignUserIds;
   }
 
@@ -164,6 +224,10 @@ public class DefaultRolePermissionService implements RolePermissionService {
     }
 
     userRoleRepository.saveAll(existedUserRoles);
+
+    Set<String> removedUserIds =
+        existedUserRoles.stream().map(UserRole::getUserId).collect(Collectors.toSet());
+    invalidatePermissionIndex(() -> userPermissionIndex.invalidateAll(removedUserIds));
   }
 
   /**
@@ -202,9 +266,8 @@ public class DefaultRolePermissionService implements RolePermissionService {
    */
   @Override
   public boolean userHasPermission(String userId, String permissionType, String targetId) {
-    Permission permission =
-        permissionRepository.findTopByPermissionTypeAndTargetId(permissionType, targetId);
-    if (permission == null) {
+    Long permissionId = findPermissionId(permissionType, targetId);
+    if (permissionId == null) {
       return false;
     }
 
@@ -212,24 +275,98 @@ public class DefaultRolePermissionService implements RolePermissionService {
       return true;
     }
 
+    return findUserPermissionIds(userId).contains(permissionId);
+  }
+
+  private Long findPermissionId(String permissionType, String targetId) {
+    String key = permissionKey(permissionType, targetId);
+    Long permissionId = permissionIdIndex.getIfPresent(key);
+    if (permissionId != null) {
+      return permissionId;
+    }
+
+    Permission permission =
+        permissionRepository.findTopByPermissionTypeAndTargetId(permissionType, targetId);
+    if (permission == null) {
+      return null;
+    }
+
+    permissionIdIndex.put(key, permission.getId());
+    return permission.getId();
+  }
+
+  private Set<Long> findUserPermissionIds(String userId) {
+    Set<Long> permissionIds = userPermissionIndex.getIfPresent(userId);
+    if (permissionIds != null) {
+      return permissionIds;
+    }
+
+    permissionIds = loadUserPermissionIds(userId);
+    userPermissionIndex.put(userId, permissionIds);
+    return permissionIds;
+  }
+
+  private Set<Long> loadUserPermissionIds(String userId) {
     List<UserRole> userRoles = userRoleRepository.findByUserId(userId);
     if (CollectionUtils.isEmpty(userRoles)) {
-      return false;
+      return Collections.emptySet();
     }
 
     Set<Long> roleIds = userRoles.stream().map(UserRole::getRoleId).collect(Collectors.toSet());
     List<RolePermission> rolePermissions = rolePermissionRepository.findByRoleIdIn(roleIds);
     if (CollectionUtils.isEmpty(rolePermissions)) {
-      return false;
+      return Collections.emptySet();
     }
 
-    for (RolePermission rolePermission : rolePermissions) {
-      if (rolePermission.getPermissionId() == permission.getId()) {
-        return true;
+    return Collections.unmodifiableSet(rolePermissions.stream()
+        .map(RolePermission::getPermissionId).collect(Collectors.toSet()));
+  }
+
+  /**
+   * Drop the index entries changed by other portal instances since the last scan
+   */
+  private void refreshPermissionIndex() {
+    Date scanTime = new Date();
+    Date since =
+        new Date(lastPermissionIndexScanTime.getTime() - PERMISSION_INDEX_SCAN_OVERLAP_MILLIS);
+
+    // role permissions are only changed when roles are created or permissions are deleted
+    if (rolePermissionRepository.countByDataChangeLastModifiedTimeSince(since) > 0) {
+      invalidateAllPermissionIndex();
+    } else {
+      List<String> changedUserIds =
+          userRoleRepository.findUserIdsByDataChangeLastModifiedTimeSince(since);
+      if (!changedUserIds.isEmpty()) {
+        userPermissionIndex.invalidateAll(changedUserIds);
       }
     }
 
-    return false;
+    lastPermissionIndexScanTime = scanTime;
+  }
+
+  private void invalidateAllPermissionIndex() {
+    userPermissionIndex.invalidateAll();
+    permissionIdIndex.invalidateAll();
+  }
+
+  /**
+   * Invalidate now and once more when the transaction completes, so that the entries loaded from
+   * the uncommitted state by concurrent checks are dropped as well
+   */
+  private void invalidatePermissionIndex(Runnable invalidation) {
+    invalidation.run();
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          invalidation.run();
+        }
+      });
+    }
+  }
+
+  private String permissionKey(String permissionType, String targetId) {
+    return String.join("+", permissionType, targetId);
   }
 
   @Override
@@ -262,7 +399,10 @@ public class DefaultRolePermissionService implements RolePermissionService {
     Preconditions.checkState(current == null,
         "Permission with permissionType %s targetId %s already exists!", permissionType, targetId);
 
-    return permissionRepository.save(permission);
+    Permission created = permissionRepository.save(permission);
+    invalidatePermissionIndex(
+        () -> permissionIdIndex.invalidate(permissionKey(permissionType, targetId)));
+    return created;
   }
 
   /**
@@ -286,6 +426,10 @@ public class DefaultRolePermissionService implements RolePermissionService {
     }
 
     Iterable<Permission> results = permissionRepository.saveAll(permissions);
+    Set<String> permissionKeys = permissions.stream()
+        .map(permission -> permissionKey(permission.getPermissionType(), permission.getTargetId()))
+        .collect(Collectors.toSet());
+    invalidatePermissionIndex(() -> permissionIdIndex.invalidateAll(permissionKeys));
     return StreamSupport.stream(results.spliterator(), false).collect(Collectors.toSet());
   }
 
@@ -315,6 +459,8 @@ public class DefaultRolePermissionService implements RolePermissionService {
       // 5. delete Consumer Role
       consumerRoleRepository.batchDeleteByRoleIds(roleIds, operator);
     }
+
+    invalidatePermissionIndex(this::invalidateAllPermissionIndex);
   }
 
   @Transactional
@@ -345,6 +491,8 @@ public class DefaultRolePermissionService implements RolePermissionService {
       // 5. delete Consumer Role
       consumerRoleRepository.batchDeleteByRoleIds(roleIds, operator);
     }
+
+    invalidatePermissionIndex(this::invalidateAllPermissionIndex);
   }
 
   @Transactional
@@ -373,6 +521,8 @@ public class DefaultRolePermissionService implements RolePermissionService {
       // 5. delete Consumer Role
       consumerRoleRepository.batchDeleteByRoleIds(roleIds, operator);
     }
+
+    invalidatePermissionIndex(this::invalidateAllPermissionIndex);
   }
 
   public boolean hasAnyPermission(String userId, List<Permission> permissions) {
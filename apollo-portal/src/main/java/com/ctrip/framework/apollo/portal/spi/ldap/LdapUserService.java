@@ -20,19 +20,31 @@ import static java.util.stream.Collectors.collectingAndThen;
 import static java.util.stream.Collectors.toCollection;
 import static org.springframework.ldap.query.LdapQueryBuilder.query;
 
+import com.ctrip.framework.apollo.core.utils.ApolloThreadFactory;
 import com.ctrip.framework.apollo.portal.entity.bo.UserInfo;
 import com.ctrip.framework.apollo.portal.spi.UserService;
 import com.google.common.base.Strings;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import javax.naming.Name;
 import javax.naming.directory.Attribute;
 import javax.naming.ldap.LdapName;
 import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.ldap.core.AttributesMapper;
@@ -118,9 +130,21 @@ public class LdapUserService implements UserService {
   @Value("${ldap.group.groupMembership:}")
   private String groupMembershipAttrName;
 
+  /**
+   * group membership refresh interval
+   */
+  @Value("${ldap.group.membershipRefreshIntervalSecond:60}")
+  private int groupMembershipRefreshIntervalSecond;
+
+  private static final Logger logger = LoggerFactory.getLogger(LdapUserService.class);
+
   private static final String MEMBER_OF_ATTR_NAME = "memberOf";
+  private static final int USER_ID_BATCH_SIZE = 100;
   private static final String MEMBER_UID_ATTR_NAME = "memberUid";
 
+  private volatile String[] groupMembers;
+  private ScheduledExecutorService groupMembershipRefresher;
+
   public LdapUserService(final LdapTemplate ldapTemplate) {
     this.ldapTemplate = ldapTemplate;
   }
@@ -185,77 +209,135 @@ public class LdapUserService implements UserService {
     });
   }
 
-  private UserInfo searchUserById(String userId) {
-    try {
-      return ldapTemplate.searchForObject(query().where(loginIdAttrName).is(userId), ctx -> {
-        UserInfo userInfo = new UserInfo();
+  /**
+   * Search the users by login id, with one OR filter for every {@value #USER_ID_BATCH_SIZE} ids.
+   *
+   * @param memberRdns if not null, only the users whose rdn is in it are returned
+   */
+  private List<UserInfo> searchUsersByIds(Collection<String> userIds, Set<Name> memberRdns) {
+    List<UserInfo> userInfos = new ArrayList<>();
+    for (List<String> batch : Iterables.partition(userIds, USER_ID_BATCH_SIZE)) {
+      ContainerCriteria criteria = query().where(loginIdAttrName).is(batch.get(0));
+      batch.stream().skip(1).forEach(userId -> criteria.or(loginIdAttrName).is(userId));
+      List<UserInfo> found = ldapTemplate.search(criteria, (ContextMapper<UserInfo>) ctx -> {
         DirContextAdapter contextAdapter = (DirContextAdapter) ctx;
+        if (memberRdns != null && !memberRdns.contains(contextAdapter.getDn())) {
+          return null;
+        }
+        UserInfo userInfo = new UserInfo();
         userInfo.setEmail(contextAdapter.getStringAttribute(emailAttrName));
         userInfo.setName(contextAdapter.getStringAttribute(userDisplayNameAttrName));
         userInfo.setUserId(contextAdapter.getStringAttribute(loginIdAttrName));
         return userInfo;
       });
-    } catch (EmptyResultDataAccessException ex) {
-      // EmptyResultDataAccessException means no record found
-      return null;
+      found.stream().filter(Objects::nonNull).forEach(userInfos::add);
     }
+    return userInfos;
   }
 
   /**
    * 按照group搜索用户
    *
-   * @param groupBase group search base
-   * @param groupSearch group filter
    * @param keyword user search keywords
    * @param userIds user id list
    */
-  private List<UserInfo> searchUserInfoByGroup(String groupBase, String groupSearch, String keyword,
-      List<String> userIds) {
+  private List<UserInfo> searchUserInfoByGroup(String keyword, List<String> userIds) {
+    String[] members = groupMembers();
+    List<UserInfo> userInfos = new ArrayList<>();
 
-    return ldapTemplate.searchForObject(groupBase, groupSearch, ctx -> {
-      List<UserInfo> userInfos = new ArrayList<>();
-
-      if (!MEMBER_UID_ATTR_NAME.equals(groupMembershipAttrName)) {
-        String[] members = ((DirContextAdapter) ctx).getStringAttributes(groupMembershipAttrName);
+    if (!MEMBER_UID_ATTR_NAME.equals(groupMembershipAttrName)) {
+      if (keyword == null && userIds != null) {
+        Set<Name> memberRdns = new HashSet<>();
         for (String item : members) {
-          LdapName ldapName = LdapUtils.newLdapName(item);
-          LdapName memberRdn = LdapUtils.removeFirst(ldapName, LdapUtils.newLdapName(base));
-          if (keyword != null) {
-            String rdnValue = LdapUtils.getValue(memberRdn, rdnKey).toString();
-            if (rdnValue.toLowerCase().contains(keyword.toLowerCase())) {
-              UserInfo userInfo = lookupUser(memberRdn.toString(), userIds);
-              userInfos.add(userInfo);
-            }
-          } else {
-            UserInfo userInfo = lookupUser(memberRdn.toString(), userIds);
-            if (userInfo != null) {
-              userInfos.add(userInfo);
-            }
-          }
-
+          memberRdns.add(memberRdn(item));
         }
-        return userInfos;
+        return searchUsersByIds(userIds, memberRdns);
       }
 
-      Set<String> memberUids =
-          Sets.newHashSet(((DirContextAdapter) ctx).getStringAttributes(groupMembershipAttrName));
-      if (!CollectionUtils.isEmpty(userIds)) {
-        memberUids = Sets.intersection(memberUids, Sets.newHashSet(userIds));
-      }
-      for (String memberUid : memberUids) {
-        UserInfo userInfo = searchUserById(memberUid);
-        if (userInfo != null) {
-          if (keyword != null) {
-            if (userInfo.getUserId().toLowerCase().contains(keyword.toLowerCase())) {
-              userInfos.add(userInfo);
-            }
-          } else {
+      for (String item : members) {
+        LdapName memberRdn = memberRdn(item);
+        if (keyword != null) {
+          String rdnValue = LdapUtils.getValue(memberRdn, rdnKey).toString();
+          if (rdnValue.toLowerCase().contains(keyword.toLowerCase())) {
+            UserInfo userInfo = lookupUser(memberRdn.toString(), userIds);
+            userInfos.add(userInfo);
+          }
+        } else {
+          UserInfo userInfo = lookupUser(memberRdn.toString(), userIds);
+          if (userInfo != null) {
             userInfos.add(userInfo);
           }
         }
       }
       return userInfos;
-    });
+    }
+
+    Set<String> memberUids = Sets.newHashSet(members);
+    if (!CollectionUtils.isEmpty(userIds)) {
+      memberUids = Sets.intersection(memberUids, Sets.newHashSet(userIds));
+    }
+    for (UserInfo userInfo : searchUsersByIds(memberUids, null)) {
+      if (keyword != null) {
+        if (userInfo.getUserId().toLowerCase().contains(keyword.toLowerCase())) {
+          userInfos.add(userInfo);
+        }
+      } else {
+        userInfos.add(userInfo);
+      }
+    }
+    return userInfos;
+  }
+
+  private LdapName memberRdn(String member) {
+    return LdapUtils.removeFirst(LdapUtils.newLdapName(member), LdapUtils.newLdapName(base));
+  }
+
+  /**
+   * The members of the group are loaded once and then refreshed in the background every
+   * {@code ldap.group.membershipRefreshIntervalSecond}, instead of searching the group for every
+   * lookup. A non-positive interval searches the group every time.
+   */
+  private String[] groupMembers() {
+    if (groupMembershipRefreshIntervalSecond <= 0) {
+      return loadGroupMembers();
+    }
+    String[] members = groupMembers;
+    if (members == null) {
+      synchronized (this) {
+        if (groupMembers == null) {
+          groupMembers = loadGroupMembers();
+          scheduleGroupMembershipRefresh();
+        }
+        members = groupMembers;
+      }
+    }
+    return members;
+  }
+
+  private String[] loadGroupMembers() {
+    String[] members = ldapTemplate.searchForObject(groupBase, groupSearch,
+        ctx -> ((DirContextAdapter) ctx).getStringAttributes(groupMembershipAttrName));
+    return members == null ? new String[0] : members;
+  }
+
+  private void scheduleGroupMembershipRefresh() {
+    groupMembershipRefresher = Executors.newSingleThreadScheduledExecutor(
+        ApolloThreadFactory.create("LdapGroupMembershipRefresher", true));
+    groupMembershipRefresher.scheduleWithFixedDelay(() -> {
+      try {
+        groupMembers = loadGroupMembers();
+      } catch (Throwable ex) {
+        logger.warn("Refresh ldap group membership failed, keep the last loaded members", ex);
+      }
+    }, groupMembershipRefreshIntervalSecond, groupMembershipRefreshIntervalSecond,
+        TimeUnit.SECONDS);
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (groupMembershipRefresher != null) {
+      groupMembershipRefresher.shutdownNow();
+    }
   }
 
   @Override
@@ -263,7 +345,7 @@ public class LdapUserService implements UserService {
       boolean includeInactiveUsers) {
     List<UserInfo> users = new ArrayList<>();
     if (StringUtils.isNotBlank(groupSearch)) {
-      List<UserInfo> userListByGroup = searchUserInfoByGroup(groupBase, groupSearch, keyword, null);
+      List<UserInfo> userListByGroup = searchUserInfoByGroup(keyword, null);
       users.addAll(userListByGroup);
       return users.stream().collect(collectingAndThen(toCollection(() -> new TreeSet<>((o1, o2) -> {
         if (o1.getUserId().equals(o2.getUserId())) {
@@ -285,7 +367,7 @@ public class LdapUserService implements UserService {
   public UserInfo findByUserId(String userId) {
     if (StringUtils.isNotBlank(groupSearch)) {
       List<UserInfo> lists =
-          searchUserInfoByGroup(groupBase, groupSearch, null, Collections.singletonList(userId));
+          searchUserInfoByGroup(null, Collections.singletonList(userId));
       if (lists != null && !lists.isEmpty() && lists.get(0) != null) {
         return lists.get(0);
       }
@@ -307,11 +389,15 @@ public class LdapUserService implements UserService {
       return Collections.emptyList();
     }
     if (StringUtils.isNotBlank(groupSearch)) {
-      return searchUserInfoByGroup(groupBase, groupSearch, null, userIds);
+      return searchUserInfoByGroup(null, userIds);
     }
-    ContainerCriteria criteria = query().where(loginIdAttrName).is(userIds.get(0));
-    userIds.stream().skip(1).forEach(userId -> criteria.or(loginIdAttrName).is(userId));
-    return ldapTemplate.search(ldapQueryCriteria().and(criteria), ldapUserInfoMapper);
+    List<UserInfo> users = new ArrayList<>();
+    for (List<String> batch : Iterables.partition(userIds, USER_ID_BATCH_SIZE)) {
+      ContainerCriteria criteria = query().where(loginIdAttrName).is(batch.get(0));
+      batch.stream().skip(1).forEach(userId -> criteria.or(loginIdAttrName).is(userId));
+      users.addAll(ldapTemplate.search(ldapQueryCriteria().and(criteria), ldapUserInfoMapper));
+    }
+    return users;
   }
 
 }
@@ -102,8 +102,16 @@ config_export_module.controller('ConfigExportController',
                                                    data: form,
                                                    headers: {'Content-Type': undefined},
                                                    transformRequest: angular.identity
-                                               }).success(function (data) {
-                                             toastr.success(data, $translate.instant('ConfigExport.ImportSuccess'))
+                                               }).success(function (report) {
+                                             if (report && report.failedFiles && report.failedFiles.length > 0) {
+                                                 toastr.warning(report.failedFiles.join(', '),
+                                                                $translate.instant('ConfigExport.ImportPartlyFailed', {
+                                                                    count: report.failedFiles.length,
+                                                                    checkpoint: report.checkpoint
+                                                                }));
+                                                 return;
+                                             }
+                                             toastr.success($translate.instant('ConfigExport.ImportSuccess'))
                                          }).error(function (data) {
                                              toastr.error(data, $translate.instant('ConfigExport.ImportFailed'))
                                          })
@@ -20,6 +20,8 @@ import com.ctrip.framework.apollo.openapi.auth.ConsumerPermissionValidator;
 import com.ctrip.framework.apollo.openapi.entity.ConsumerToken;
 import com.ctrip.framework.apollo.openapi.util.ConsumerAuthUtil;
 import com.ctrip.framework.apollo.portal.component.UserPermissionValidator;
+import com.google.common.util.concurrent.RateLimiter;
+import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -57,6 +59,8 @@ public class SkipAuthorizationConfiguration {
     someConsumerToken.setToken("some-token");
     someConsumerToken.setRateLimit(20);
     when(mock.getConsumerToken(any())).thenReturn(someConsumerToken);
+    when(mock.getRateLimiter(someConsumerToken))
+        .thenReturn(ImmutablePair.of(System.currentTimeMillis(), RateLimiter.create(20)));
     return mock;
   }
 
@@ -19,12 +19,14 @@ package com.ctrip.framework.apollo.openapi.filter;
 import com.ctrip.framework.apollo.openapi.entity.ConsumerToken;
 import com.ctrip.framework.apollo.openapi.util.ConsumerAuditUtil;
 import com.ctrip.framework.apollo.openapi.util.ConsumerAuthUtil;
+import com.google.common.util.concurrent.RateLimiter;
 
 import java.io.IOException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import javax.servlet.ServletException;
+import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -175,6 +177,30 @@ public class ConsumerAuthenticationFilterTest {
   }
 
 
+  @Test
+  public void testSharedRateLimitExceeded() throws Exception {
+    String someToken = "some-shared-ratelimit-token";
+    Long someConsumerId = 1L;
+    int qps = 100;
+
+    ConsumerToken someConsumerToken = new ConsumerToken();
+    someConsumerToken.setConsumerId(someConsumerId);
+    someConsumerToken.setRateLimit(qps);
+    someConsumerToken.setToken(someToken);
+
+    when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn(someToken);
+    when(consumerAuthUtil.getConsumerToken(someToken)).thenReturn(someConsumerToken);
+    when(consumerAuthUtil.getRateLimiter(someConsumerToken))
+        .thenReturn(ImmutablePair.of(System.currentTimeMillis() - 60_000, RateLimiter.create(qps)));
+    when(consumerAuthUtil.exceedsSharedQuota(someConsumerToken)).thenReturn(true);
+
+    authenticationFilter.doFilter(request, response, filterChain);
+
+    verify(response, times(1)).sendError(eq(TOO_MANY_REQUESTS), anyString());
+    verify(consumerAuthUtil, never()).storeConsumerId(eq(request), anyLong());
+    verify(filterChain, never()).doFilter(request, response);
+  }
+
   private void setupRateLimitMocks(String someToken, Long someConsumerId, int qps) {
     ConsumerToken someConsumerToken = new ConsumerToken();
     someConsumerToken.setConsumerId(someConsumerId);
@@ -183,6 +209,8 @@ public class ConsumerAuthenticationFilterTest {
 
     when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn(someToken);
     when(consumerAuthUtil.getConsumerToken(someToken)).thenReturn(someConsumerToken);
+    when(consumerAuthUtil.getRateLimiter(someConsumerToken))
+        .thenReturn(ImmutablePair.of(System.currentTimeMillis(), RateLimiter.create(qps)));
   }
 
 
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.openapi.service;
+
+import com.google.common.util.concurrent.RateLimiter;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the per-instance Guava limiter, the {@link ConsumerRateLimitBucket} leasing from the
+ * shared quota, and visiting the shared quota store on every request.
+ * <p>
+ * The store is in memory, a round trip to the database is simulated by burning {@code storeCost}
+ * CPU tokens per lease. Not run by the build, start it with {@code main} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class ConsumerRateLimitBucketBenchmark {
+
+  private static final String TOKEN = "someToken";
+
+  @Param({"100", "100000"})
+  private int rateLimit;
+
+  @Param({"0", "1000"})
+  private long storeCost;
+
+  private RateLimiter rateLimiter;
+  private ConsumerRateLimitBucket bucket;
+  private InMemoryQuotaStore quotaStore;
+
+  @Setup
+  public void setUp() {
+    rateLimiter = RateLimiter.create(rateLimit);
+    quotaStore = new InMemoryQuotaStore(storeCost);
+    bucket = new ConsumerRateLimitBucket(TOKEN, rateLimit, quotaStore);
+  }
+
+  @Benchmark
+  public boolean localRateLimiter() {
+    return rateLimiter.tryAcquire();
+  }
+
+  @Benchmark
+  public boolean sharedBucket() {
+    return bucket.tryAcquire();
+  }
+
+  @Benchmark
+  public boolean storePerRequest() {
+    long window = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+    return quotaStore.lease(TOKEN, window, 1, rateLimit) > 0;
+  }
+
+  private static class InMemoryQuotaStore implements ConsumerRateLimitQuotaStore {
+
+    private final long cost;
+    // window -> permits leased in the window
+    private final ConcurrentMap<Long, AtomicInteger> leased = new ConcurrentHashMap<>();
+
+    InMemoryQuotaStore(long cost) {
+      this.cost = cost;
+    }
+
+    @Override
+    public int lease(String token, long windowStart, int permits, int limit) {
+      Blackhole.consumeCPU(cost);
+      AtomicInteger counter = leased.computeIfAbsent(windowStart, window -> new AtomicInteger());
+      while (true) {
+        int used = counter.get();
+        int granted = Math.min(permits, limit - used);
+        if (granted <= 0) {
+          return 0;
+        }
+        if (counter.compareAndSet(used, used + granted)) {
+          return granted;
+        }
+      }
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(ConsumerRateLimitBucketBenchmark.class.getSimpleName()).build()).run();
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.openapi.service;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConsumerRateLimitBucketTest {
+
+  private static final String SOME_TOKEN = "someToken";
+  private static final long SOME_WINDOW = 1000;
+
+  @Mock
+  private ConsumerRateLimitQuotaStore quotaStore;
+
+  private AtomicLong now;
+  private ConsumerRateLimitBucket bucket;
+
+  @Before
+  public void setUp() throws Exception {
+    now = new AtomicLong(SOME_WINDOW * 1000);
+    bucket = new ConsumerRateLimitBucket(SOME_TOKEN, 100, quotaStore, now::get);
+  }
+
+  @Test
+  public void testAcquireLeasedPermitsLocally() throws Exception {
+    when(quotaStore.lease(SOME_TOKEN, SOME_WINDOW, 10, 100)).thenReturn(10);
+
+    for (int i = 0; i < 20; i++) {
+      assertTrue(bucket.tryAcquire());
+    }
+
+    verify(quotaStore, times(2)).lease(SOME_TOKEN, SOME_WINDOW, 10, 100);
+  }
+
+  @Test
+  public void testQuotaUsedUp() throws Exception {
+    when(quotaStore.lease(SOME_TOKEN, SOME_WINDOW, 10, 100)).thenReturn(3, 0);
+
+    for (int i = 0; i < 3; i++) {
+      assertTrue(bucket.tryAcquire());
+    }
+    assertFalse(bucket.tryAcquire());
+    assertFalse(bucket.tryAcquire());
+
+    verify(quotaStore, times(2)).lease(SOME_TOKEN, SOME_WINDOW, 10, 100);
+  }
+
+  @Test
+  public void testLeaseAgainInNextWindow() throws Exception {
+    when(quotaStore.lease(SOME_TOKEN, SOME_WINDOW, 10, 100)).thenReturn(0);
+    when(quotaStore.lease(SOME_TOKEN, SOME_WINDOW + 1, 10, 100)).thenReturn(10);
+
+    assertFalse(bucket.tryAcquire());
+
+    now.addAndGet(1000);
+
+    assertTrue(bucket.tryAcquire());
+  }
+
+  @Test
+  public void testLimitLocallyIfStoreFailed() throws Exception {
+    when(quotaStore.lease(anyString(), anyLong(), anyInt(), anyInt()))
+        .thenThrow(new RuntimeException("some exception"));
+
+    assertTrue(bucket.tryAcquire());
+    assertTrue(bucket.tryAcquire());
+    verify(quotaStore, times(1)).lease(anyString(), anyLong(), anyInt(), anyInt());
+
+    now.addAndGet(1000);
+
+    assertTrue(bucket.tryAcquire());
+    verify(quotaStore, times(2)).lease(anyString(), anyLong(), anyInt(), anyInt());
+  }
+}
@@ -71,6 +71,8 @@ public class ConsumerServiceTest {
   UserService userService;
   @MockBean
   RoleRepository roleRepository;
+  @MockBean
+  ConsumerTokenServiceWithCache consumerTokenServiceWithCache;
 
   private final String someTokenSalt = "someTokenSalt";
   private final String testAppId = "testAppId";
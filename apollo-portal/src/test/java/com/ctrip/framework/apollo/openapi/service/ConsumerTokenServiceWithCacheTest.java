@@ -0,0 +1,185 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.openapi.service;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ctrip.framework.apollo.openapi.entity.ConsumerToken;
+import com.ctrip.framework.apollo.openapi.repository.ConsumerTokenRepository;
+import com.ctrip.framework.apollo.portal.component.config.PortalConfig;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.RateLimiter;
+import java.util.Date;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConsumerTokenServiceWithCacheTest {
+
+  @Mock
+  private ConsumerTokenRepository consumerTokenRepository;
+  @Mock
+  private PortalConfig portalConfig;
+  @Mock
+  private ConsumerRateLimitQuotaStore consumerRateLimitQuotaStore;
+
+  private ConsumerTokenServiceWithCache consumerTokenServiceWithCache;
+
+  private String someToken = "someToken";
+
+  @Before
+  public void setUp() throws Exception {
+    consumerTokenServiceWithCache =
+        new ConsumerTokenServiceWithCache(consumerTokenRepository, portalConfig,
+            consumerRateLimitQuotaStore);
+  }
+
+  @Test
+  public void testGetConsumerTokenCached() throws Exception {
+    ConsumerToken someConsumerToken = assembleConsumerToken(someToken, 60_000);
+    when(consumerTokenRepository.findTopByTokenAndExpiresAfter(eq(someToken), any(Date.class)))
+        .thenReturn(someConsumerToken);
+
+    assertSame(someConsumerToken, consumerTokenServiceWithCache.getConsumerToken(someToken));
+    assertSame(someConsumerToken, consumerTokenServiceWithCache.getConsumerToken(someToken));
+
+    verify(consumerTokenRepository, times(1))
+        .findTopByTokenAndExpiresAfter(eq(someToken), any(Date.class));
+  }
+
+  @Test
+  public void testGetInvalidConsumerTokenCached() throws Exception {
+    String someInvalidToken = "someInvalidToken";
+
+    assertNull(consumerTokenServiceWithCache.getConsumerToken(someInvalidToken));
+    assertNull(consumerTokenServiceWithCache.getConsumerToken(someInvalidToken));
+    assertNull(consumerTokenServiceWithCache.getConsumerToken(null));
+
+    verify(consumerTokenRepository, times(1))
+        .findTopByTokenAndExpiresAfter(eq(someInvalidToken), any(Date.class));
+  }
+
+  @Test
+  public void testGetExpiredConsumerToken() throws Exception {
+    ConsumerToken someConsumerToken = assembleConsumerToken(someToken, -1);
+    when(consumerTokenRepository.findTopByTokenAndExpiresAfter(eq(someToken), any(Date.class)))
+        .thenReturn(someConsumerToken, (ConsumerToken) null);
+
+    consumerTokenServiceWithCache.getConsumerToken(someToken);
+
+    assertNull(consumerTokenServiceWithCache.getConsumerToken(someToken));
+    verify(consumerTokenRepository, times(2))
+        .findTopByTokenAndExpiresAfter(eq(someToken), any(Date.class));
+  }
+
+  @Test
+  public void testInvalidate() throws Exception {
+    ConsumerToken someConsumerToken = assembleConsumerToken(someToken, 60_000);
+    when(consumerTokenRepository.findTopByTokenAndExpiresAfter(eq(someToken), any(Date.class)))
+        .thenReturn(null, someConsumerToken);
+
+    assertNull(consumerTokenServiceWithCache.getConsumerToken(someToken));
+
+    consumerTokenServiceWithCache.invalidate(someToken);
+
+    assertSame(someConsumerToken, consumerTokenServiceWithCache.getConsumerToken(someToken));
+  }
+
+  @Test
+  public void testScanChangedTokens() throws Exception {
+    ConsumerToken someConsumerToken = assembleConsumerToken(someToken, 60_000);
+    ConsumerToken changedConsumerToken = assembleConsumerToken(someToken, 60_000);
+    when(consumerTokenRepository.findTopByTokenAndExpiresAfter(eq(someToken), any(Date.class)))
+        .thenReturn(someConsumerToken, changedConsumerToken);
+    when(consumerTokenRepository.findByDataChangeLastModifiedTimeSince(any(Date.class)))
+        .thenReturn(Lists.newArrayList(changedConsumerToken));
+
+    assertSame(someConsumerToken, consumerTokenServiceWithCache.getConsumerToken(someToken));
+
+    ReflectionTestUtils.invokeMethod(consumerTokenServiceWithCache, "scanChangedTokens");
+
+    assertSame(changedConsumerToken, consumerTokenServiceWithCache.getConsumerToken(someToken));
+  }
+
+  @Test
+  public void testGetRateLimiter() throws Exception {
+    ConsumerToken someConsumerToken = assembleConsumerToken(someToken, 60_000);
+    someConsumerToken.setRateLimit(10);
+    when(consumerTokenRepository.findTopByTokenAndExpiresAfter(eq(someToken), any(Date.class)))
+        .thenReturn(someConsumerToken);
+
+    ImmutablePair<Long, RateLimiter> rateLimiter =
+        consumerTokenServiceWithCache.getRateLimiter(someConsumerToken);
+
+    assertSame(rateLimiter, consumerTokenServiceWithCache.getRateLimiter(someConsumerToken));
+
+    consumerTokenServiceWithCache.invalidate(someToken);
+
+    assertNotSame(rateLimiter, consumerTokenServiceWithCache.getRateLimiter(someConsumerToken));
+  }
+
+  @Test
+  public void testTryAcquireSharedQuotaDisabled() throws Exception {
+    ConsumerToken someConsumerToken = assembleConsumerToken(someToken, 60_000);
+    someConsumerToken.setRateLimit(10);
+
+    assertTrue(consumerTokenServiceWithCache.tryAcquireSharedQuota(someConsumerToken));
+
+    verify(consumerRateLimitQuotaStore, never())
+        .lease(anyString(), anyLong(), anyInt(), anyInt());
+  }
+
+  @Test
+  public void testTryAcquireSharedQuota() throws Exception {
+    ConsumerToken someConsumerToken = assembleConsumerToken(someToken, 60_000);
+    someConsumerToken.setRateLimit(10);
+    when(portalConfig.isOpenApiSharedRateLimitEnabled()).thenReturn(true);
+    when(consumerTokenRepository.findTopByTokenAndExpiresAfter(eq(someToken), any(Date.class)))
+        .thenReturn(someConsumerToken);
+    when(consumerRateLimitQuotaStore.lease(eq(someToken), anyLong(), eq(1), eq(10)))
+        .thenReturn(1, 0);
+
+    assertTrue(consumerTokenServiceWithCache.tryAcquireSharedQuota(someConsumerToken));
+    assertFalse(consumerTokenServiceWithCache.tryAcquireSharedQuota(someConsumerToken));
+  }
+
+  private ConsumerToken assembleConsumerToken(String token, long expiresInMillis) {
+    ConsumerToken consumerToken = new ConsumerToken();
+    consumerToken.setConsumerId(1L);
+    consumerToken.setToken(token);
+    consumerToken.setExpires(new Date(System.currentTimeMillis() + expiresInMillis));
+    return consumerToken;
+  }
+}
@@ -16,7 +16,9 @@
  */
 package com.ctrip.framework.apollo.openapi.util;
 
+import com.ctrip.framework.apollo.openapi.entity.ConsumerToken;
 import com.ctrip.framework.apollo.openapi.service.ConsumerService;
+import com.ctrip.framework.apollo.openapi.service.ConsumerTokenServiceWithCache;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -37,11 +39,13 @@ public class ConsumerAuthUtilTest {
   @Mock
   private ConsumerService consumerService;
   @Mock
+  private ConsumerTokenServiceWithCache consumerTokenServiceWithCache;
+  @Mock
   private HttpServletRequest request;
 
   @Before
   public void setUp() throws Exception {
-    consumerAuthUtil = new ConsumerAuthUtil(consumerService);
+    consumerAuthUtil = new ConsumerAuthUtil(consumerService, consumerTokenServiceWithCache);
   }
 
   @Test
@@ -55,6 +59,17 @@ public class ConsumerAuthUtilTest {
     verify(consumerService, times(1)).getConsumerIdByToken(someToken);
   }
 
+  @Test
+  public void testGetConsumerToken() throws Exception {
+    String someToken = "someToken";
+    ConsumerToken someConsumerToken = new ConsumerToken();
+
+    when(consumerTokenServiceWithCache.getConsumerToken(someToken)).thenReturn(someConsumerToken);
+
+    assertEquals(someConsumerToken, consumerAuthUtil.getConsumerToken(someToken));
+    verify(consumerService, never()).getConsumerTokenByToken(someToken);
+  }
+
   @Test
   public void testStoreConsumerId() throws Exception {
     long someConsumerId = 1L;
@@ -29,6 +29,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.ctrip.framework.apollo.audit.context.ApolloAuditTraceContext;
 import com.ctrip.framework.apollo.common.exception.ServiceException;
 import com.ctrip.framework.apollo.core.dto.ServiceDTO;
 import com.ctrip.framework.apollo.portal.component.AdminServiceAddressLocator;
@@ -39,10 +40,12 @@ import com.ctrip.framework.apollo.portal.environment.PortalMetaDomainService;
 import com.google.common.collect.Maps;
 import com.google.gson.Gson;
 import java.net.SocketTimeoutException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import org.apache.http.HttpHost;
 import org.apache.http.conn.ConnectTimeoutException;
 import org.apache.http.conn.HttpHostConnectException;
@@ -55,7 +58,9 @@ import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
@@ -69,6 +74,8 @@ public class RetryableRestTemplateTest extends AbstractUnitTest {
   private PortalMetaDomainService portalMetaDomainService;
   @Mock
   private PortalConfig portalConfig;
+  @Mock
+  private ApolloAuditTraceContext apolloAuditTraceContext;
   @InjectMocks
   private RetryableRestTemplate retryableRestTemplate;
 
@@ -156,6 +163,58 @@ public class RetryableRestTemplateTest extends AbstractUnitTest {
     assertEquals(result, actualResult);
   }
 
+  @Test
+  public void testHedgedGetSlowServer() {
+    ResponseEntity someEntity = mock(ResponseEntity.class);
+    when(someEntity.getBody()).thenReturn(result);
+
+    when(portalConfig.isAdminServiceHedgedGetEnabled()).thenReturn(true);
+    when(serviceAddressLocator.hedgeDelayMillis(any())).thenReturn(10L);
+    when(serviceAddressLocator.getServiceList(any())).thenReturn(
+        Arrays.asList(mockService(serviceOne), mockService(serviceTwo), mockService(serviceThree)));
+    List<Thread> primaryThreads = Collections.synchronizedList(new ArrayList<>());
+    when(restTemplate.exchange(eq(serviceOne + "/" + path), eq(HttpMethod.GET),
+        any(HttpEntity.class), eq(Object.class))).thenAnswer(invocation -> {
+          primaryThreads.add(Thread.currentThread());
+          TimeUnit.MILLISECONDS.sleep(500);
+          throw socketTimeoutException;
+        });
+    when(restTemplate.exchange(eq(serviceTwo + "/" + path), eq(HttpMethod.GET),
+        any(HttpEntity.class), eq(Object.class))).thenReturn(someEntity);
+
+    Object actualResult = retryableRestTemplate.get(Env.DEV, path, Object.class);
+
+    assertEquals(result, actualResult);
+    assertEquals(Collections.singletonList(Thread.currentThread()), primaryThreads);
+    verify(restTemplate, times(1)).exchange(eq(serviceTwo + "/" + path), eq(HttpMethod.GET),
+        any(HttpEntity.class), eq(Object.class));
+    verify(restTemplate, never()).exchange(eq(serviceThree + "/" + path), eq(HttpMethod.GET),
+        any(HttpEntity.class), eq(Object.class));
+  }
+
+  @Test
+  public void testHedgedGetBizExceptionNotRetry() {
+    HttpClientErrorException notFoundException = new HttpClientErrorException(HttpStatus.NOT_FOUND);
+
+    when(portalConfig.isAdminServiceHedgedGetEnabled()).thenReturn(true);
+    when(serviceAddressLocator.hedgeDelayMillis(any())).thenReturn(TimeUnit.SECONDS.toMillis(5));
+    when(serviceAddressLocator.getServiceList(any())).thenReturn(
+        Arrays.asList(mockService(serviceOne), mockService(serviceTwo)));
+    when(restTemplate.exchange(eq(serviceOne + "/" + path), eq(HttpMethod.GET),
+        any(HttpEntity.class), eq(Object.class))).thenThrow(notFoundException);
+
+    Throwable exception = null;
+    try {
+      retryableRestTemplate.get(Env.DEV, path, Object.class);
+    } catch (Throwable ex) {
+      exception = ex;
+    }
+
+    assertSame(notFoundException, exception);
+    verify(restTemplate, never()).exchange(eq(serviceTwo + "/" + path), eq(HttpMethod.GET),
+        any(HttpEntity.class), eq(Object.class));
+  }
+
   @Test
   public void testPostSocketTimeoutNotRetry() {
     ResponseEntity someEntity = mock(ResponseEntity.class);
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.portal.component;
+
+import static org.junit.Assert.assertTrue;
+
+import com.ctrip.framework.apollo.portal.component.AbortableClientHttpRequestFactory.InFlightRequest;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+public class AbortableClientHttpRequestFactoryTest {
+
+  private ServerSocket silentServer;
+  private ExecutorService executorService;
+  private CloseableHttpClient httpClient;
+  private RestTemplate restTemplate;
+  private String url;
+
+  @Before
+  public void setUp() throws Exception {
+    // accepts the connections but never responds
+    silentServer = new ServerSocket(0);
+    executorService = Executors.newCachedThreadPool();
+    executorService.submit(() -> {
+      while (!silentServer.isClosed()) {
+        Socket ignored = silentServer.accept();
+      }
+      return null;
+    });
+    httpClient = HttpClients.createDefault();
+    restTemplate = new RestTemplate(new AbortableClientHttpRequestFactory(httpClient));
+    url = "http://localhost:" + silentServer.getLocalPort() + "/apps";
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    silentServer.close();
+    httpClient.close();
+    executorService.shutdownNow();
+  }
+
+  @Test
+  public void testAbortBlockedRead() throws Exception {
+    InFlightRequest request = new InFlightRequest();
+    Future<String> result = executorService.submit(
+        () -> request.call(() -> restTemplate.getForObject(url, String.class)));
+
+    TimeUnit.MILLISECONDS.sleep(200);
+    request.abort();
+
+    assertAborted(result);
+  }
+
+  @Test
+  public void testAbortBeforeSent() throws Exception {
+    InFlightRequest request = new InFlightRequest();
+    request.abort();
+
+    Future<String> result = executorService.submit(
+        () -> request.call(() -> restTemplate.getForObject(url, String.class)));
+
+    assertAborted(result);
+  }
+
+  private void assertAborted(Future<String> result) throws Exception {
+    try {
+      result.get(5, TimeUnit.SECONDS);
+    } catch (ExecutionException ex) {
+      assertTrue(ex.getCause() instanceof ResourceAccessException);
+      return;
+    }
+    throw new AssertionError("request is not aborted");
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.portal.component;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.ctrip.framework.apollo.core.dto.ServiceDTO;
+import com.ctrip.framework.apollo.portal.AbstractUnitTest;
+import com.ctrip.framework.apollo.portal.component.config.PortalConfig;
+import com.ctrip.framework.apollo.portal.environment.Env;
+import com.ctrip.framework.apollo.portal.environment.PortalMetaDomainService;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class AdminServiceAddressLocatorTest extends AbstractUnitTest {
+
+  @Mock
+  private PortalSettings portalSettings;
+  @Mock
+  private RestTemplateFactory restTemplateFactory;
+  @Mock
+  private PortalMetaDomainService portalMetaDomainService;
+  @Mock
+  private PortalConfig portalConfig;
+
+  private AdminServiceAddressLocator adminServiceAddressLocator;
+  private ServiceDTO serviceOne;
+  private ServiceDTO serviceTwo;
+
+  @Before
+  public void setUp() {
+    adminServiceAddressLocator = new AdminServiceAddressLocator(null, portalSettings,
+        restTemplateFactory, portalMetaDomainService, portalConfig);
+
+    serviceOne = mockService("http://10.0.0.1");
+    serviceTwo = mockService("http://10.0.0.2");
+    Map<Env, List<ServiceDTO>> cache = Maps.newConcurrentMap();
+    cache.put(Env.DEV, Lists.newArrayList(serviceOne, serviceTwo));
+    ReflectionTestUtils.setField(adminServiceAddressLocator, "cache", cache);
+  }
+
+  @Test
+  public void testPreferLessLoadedService() {
+    mockRequest(serviceOne, 100, true);
+    mockRequest(serviceTwo, 1, true);
+
+    for (int i = 0; i < 10; i++) {
+      assertEquals(Lists.newArrayList(serviceTwo, serviceOne),
+          adminServiceAddressLocator.getServiceList(Env.DEV));
+    }
+  }
+
+  @Test
+  public void testEjectUnavailableService() {
+    for (int i = 0; i < 3; i++) {
+      mockRequest(serviceTwo, 0, false);
+    }
+    mockRequest(serviceOne, 100, true);
+
+    for (int i = 0; i < 10; i++) {
+      assertEquals(Lists.newArrayList(serviceOne, serviceTwo),
+          adminServiceAddressLocator.getServiceList(Env.DEV));
+    }
+
+    mockRequest(serviceTwo, 0, true);
+
+    assertEquals(Lists.newArrayList(serviceTwo, serviceOne),
+        adminServiceAddressLocator.getServiceList(Env.DEV));
+  }
+
+  @Test
+  public void testHedgeDelay() {
+    // not enough samples yet
+    assertEquals(1000, adminServiceAddressLocator.hedgeDelayMillis(serviceOne));
+
+    for (int i = 1; i <= 100; i++) {
+      mockRequest(serviceOne, i * 10, true);
+    }
+
+    long delay = adminServiceAddressLocator.hedgeDelayMillis(serviceOne);
+    assertTrue(delay >= 900 && delay <= 1000);
+  }
+
+  private void mockRequest(ServiceDTO service, long latencyMillis, boolean available) {
+    long startNanos = adminServiceAddressLocator.requestStarted(service);
+    adminServiceAddressLocator.requestFinished(service,
+        startNanos - latencyMillis * 1000000, available);
+  }
+
+  private ServiceDTO mockService(String homepageUrl) {
+    ServiceDTO serviceDTO = new ServiceDTO();
+    serviceDTO.setHomepageUrl(homepageUrl);
+    return serviceDTO;
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.portal.component;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.ctrip.framework.apollo.portal.AbstractUnitTest;
+import com.ctrip.framework.apollo.portal.component.config.PortalConfig;
+import com.ctrip.framework.apollo.portal.environment.Env;
+import com.google.common.collect.Lists;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+public class MultiEnvExecutorTest extends AbstractUnitTest {
+
+  @Mock
+  private PortalConfig portalConfig;
+
+  private MultiEnvExecutor multiEnvExecutor;
+
+  @Before
+  public void setUp() {
+    when(portalConfig.multiEnvTimeout()).thenReturn(1000);
+    multiEnvExecutor = new MultiEnvExecutor(portalConfig);
+  }
+
+  @Test
+  public void testExecuteInParallel() {
+    List<Env> envs = Lists.newArrayList(Env.DEV, Env.FAT, Env.UAT, Env.PRO);
+    CountDownLatch latch = new CountDownLatch(envs.size());
+
+    Map<Env, String> results = multiEnvExecutor.execute(envs, env -> {
+      latch.countDown();
+      try {
+        // only returns if all the envs are called at the same time
+        latch.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return env.getName();
+    });
+
+    assertEquals(envs, Lists.newArrayList(results.keySet()));
+    assertEquals("PRO", results.get(Env.PRO));
+  }
+
+  @Test
+  public void testExecuteWithFailureAndTimeout() {
+    List<Env> envs = Lists.newArrayList(Env.DEV, Env.FAT, Env.PRO);
+    Map<Env, Throwable> failures = new HashMap<>();
+
+    Map<Env, String> results = multiEnvExecutor.execute(envs, env -> {
+      if (env == Env.FAT) {
+        throw new IllegalStateException("FAT is down");
+      }
+      if (env == Env.PRO) {
+        try {
+          TimeUnit.SECONDS.sleep(10);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      return env.getName();
+    }, failures::put);
+
+    assertEquals(1, results.size());
+    assertEquals("DEV", results.get(Env.DEV));
+    assertTrue(failures.get(Env.FAT) instanceof IllegalStateException);
+    assertTrue(failures.get(Env.PRO) instanceof TimeoutException);
+  }
+
+  @Test
+  public void testWaitAtLeastTheReadTimeout() {
+    when(portalConfig.readTimeout()).thenReturn(3000);
+    Map<Env, Throwable> failures = new HashMap<>();
+
+    // slower than the multi env timeout, but within the read timeout of a single call
+    Map<Env, String> results = multiEnvExecutor.execute(Lists.newArrayList(Env.DEV, Env.PRO),
+        env -> {
+          try {
+            TimeUnit.MILLISECONDS.sleep(1500);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return env.getName();
+        }, failures::put);
+
+    assertEquals(2, results.size());
+    assertTrue(failures.isEmpty());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testExecuteFailFast() {
+    multiEnvExecutor.execute(Lists.newArrayList(Env.DEV, Env.PRO), env -> {
+      if (env == Env.PRO) {
+        throw new IllegalStateException("PRO is down");
+      }
+      return env.getName();
+    });
+  }
+}
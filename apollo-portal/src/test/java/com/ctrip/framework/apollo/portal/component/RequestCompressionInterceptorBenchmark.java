@@ -0,0 +1,146 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.portal.component;
+
+import com.ctrip.framework.apollo.common.dto.ItemChangeSets;
+import com.ctrip.framework.apollo.common.dto.ItemDTO;
+import com.ctrip.framework.apollo.portal.component.config.PortalConfig;
+import com.google.common.io.ByteStreams;
+import com.google.gson.Gson;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+/**
+ * Measures the CPU cost of {@link RequestCompressionInterceptor} on item change set bodies: sending
+ * them plain, gzipping them in the portal, and gunzipping them as the admin service does.
+ * <p>
+ * Not run by the build, start it with {@code main} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestCompressionInterceptorBenchmark {
+
+  private static final URI ADMIN_SERVICE = URI.create("http://localhost:8090/items-change-sets");
+  private static final Gson GSON = new Gson();
+
+  @Param({"10", "1000"})
+  private int items;
+
+  private RequestCompressionInterceptor plainInterceptor;
+  private RequestCompressionInterceptor gzipInterceptor;
+  private ClientHttpRequestExecution execution;
+  private byte[] body;
+  private byte[] compressedBody;
+
+  @Setup
+  public void setUp() throws IOException {
+    ItemChangeSets changeSets = new ItemChangeSets();
+    for (int i = 0; i < items; i++) {
+      ItemDTO item = new ItemDTO("some.config.key" + i, "some config value " + i,
+          "some comment of the config key " + i, i + 1);
+      item.setId(i + 1);
+      item.setNamespaceId(1);
+      changeSets.addUpdateItem(item);
+    }
+    changeSets.setDataChangeLastModifiedBy("apollo");
+    body = GSON.toJson(changeSets).getBytes(StandardCharsets.UTF_8);
+
+    MockClientHttpResponse response = new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+    response.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+    byte[][] executedBody = new byte[1][];
+    execution = (request, requestBody) -> {
+      executedBody[0] = requestBody;
+      return response;
+    };
+
+    plainInterceptor = new RequestCompressionInterceptor(portalConfig(false));
+    gzipInterceptor = new RequestCompressionInterceptor(portalConfig(true));
+    // learn that the admin service accepts gzip
+    gzipInterceptor.intercept(request(), body, execution);
+    gzipInterceptor.intercept(request(), body, execution);
+    compressedBody = executedBody[0];
+  }
+
+  @Benchmark
+  public ClientHttpResponse plain() throws IOException {
+    return plainInterceptor.intercept(request(), body, execution);
+  }
+
+  @Benchmark
+  public ClientHttpResponse gzip() throws IOException {
+    return gzipInterceptor.intercept(request(), body, execution);
+  }
+
+  @Benchmark
+  public byte[] gunzip() throws IOException {
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressedBody))) {
+      return ByteStreams.toByteArray(in);
+    }
+  }
+
+  private MockClientHttpRequest request() {
+    return new MockClientHttpRequest(HttpMethod.POST, ADMIN_SERVICE);
+  }
+
+  private PortalConfig portalConfig(boolean compressionEnabled) {
+    return new PortalConfig(null) {
+      @Override
+      public boolean isApiCompressionEnabled() {
+        return compressionEnabled;
+      }
+
+      @Override
+      public int apiRequestCompressionMinSize() {
+        return 0;
+      }
+    };
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(RequestCompressionInterceptorBenchmark.class.getSimpleName()).build()).run();
+  }
+}
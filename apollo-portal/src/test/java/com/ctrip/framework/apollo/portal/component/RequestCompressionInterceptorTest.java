@@ -0,0 +1,132 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.portal.component;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.when;
+
+import com.ctrip.framework.apollo.portal.AbstractUnitTest;
+import com.ctrip.framework.apollo.portal.component.config.PortalConfig;
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+public class RequestCompressionInterceptorTest extends AbstractUnitTest {
+
+  private static final URI ADMIN_SERVICE = URI.create("http://localhost:8090/items-change-sets");
+  private static final URI ANOTHER_ADMIN_SERVICE =
+      URI.create("http://localhost:8091/items-change-sets");
+
+  @Mock
+  private PortalConfig portalConfig;
+
+  private RequestCompressionInterceptor interceptor;
+  private byte[] largeBody;
+  private String responseAcceptEncoding;
+  private MockClientHttpRequest executedRequest;
+  private byte[] executedBody;
+
+  @Before
+  public void setUp() {
+    when(portalConfig.isApiCompressionEnabled()).thenReturn(true);
+    when(portalConfig.apiRequestCompressionMinSize()).thenReturn(1024);
+    interceptor = new RequestCompressionInterceptor(portalConfig);
+    largeBody = new byte[4096];
+    Arrays.fill(largeBody, (byte) 'a');
+    responseAcceptEncoding = "gzip";
+  }
+
+  @Test
+  public void testCompressAfterServerAcceptsGzip() throws Exception {
+    execute(ADMIN_SERVICE, largeBody);
+    assertArrayEquals(largeBody, executedBody);
+    assertNull(executedRequest.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+
+    execute(ADMIN_SERVICE, largeBody);
+    assertEquals("gzip", executedRequest.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    assertArrayEquals(largeBody, gunzip(executedBody));
+
+    // only negotiated with the first admin service
+    execute(ANOTHER_ADMIN_SERVICE, largeBody);
+    assertArrayEquals(largeBody, executedBody);
+  }
+
+  @Test
+  public void testNotCompressSmallBody() throws Exception {
+    execute(ADMIN_SERVICE, largeBody);
+
+    byte[] smallBody = new byte[100];
+    execute(ADMIN_SERVICE, smallBody);
+
+    assertArrayEquals(smallBody, executedBody);
+  }
+
+  @Test
+  public void testNotCompressIfServerStopsAcceptingGzip() throws Exception {
+    execute(ADMIN_SERVICE, largeBody);
+    responseAcceptEncoding = "gzip;q=0";
+    execute(ADMIN_SERVICE, largeBody);
+    responseAcceptEncoding = null;
+
+    execute(ADMIN_SERVICE, largeBody);
+
+    assertArrayEquals(largeBody, executedBody);
+  }
+
+  @Test
+  public void testNotCompressIfDisabled() throws Exception {
+    when(portalConfig.isApiCompressionEnabled()).thenReturn(false);
+    execute(ADMIN_SERVICE, largeBody);
+
+    execute(ADMIN_SERVICE, largeBody);
+
+    assertArrayEquals(largeBody, executedBody);
+  }
+
+  private void execute(URI uri, byte[] body) throws IOException {
+    ClientHttpRequestExecution execution = (request, requestBody) -> {
+      executedRequest = (MockClientHttpRequest) request;
+      executedBody = requestBody;
+      MockClientHttpResponse response = new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+      if (responseAcceptEncoding != null) {
+        response.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, responseAcceptEncoding);
+      }
+      return response;
+    };
+    interceptor.intercept(new MockClientHttpRequest(HttpMethod.POST, uri), body, execution);
+  }
+
+  private byte[] gunzip(byte[] body) throws IOException {
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+      return ByteStreams.toByteArray(in);
+    }
+  }
+}
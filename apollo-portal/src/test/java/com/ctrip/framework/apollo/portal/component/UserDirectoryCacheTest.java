@@ -0,0 +1,135 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.portal.component;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ctrip.framework.apollo.portal.AbstractUnitTest;
+import com.ctrip.framework.apollo.portal.component.config.PortalConfig;
+import com.ctrip.framework.apollo.portal.entity.bo.UserInfo;
+import com.ctrip.framework.apollo.portal.spi.UserService;
+import com.google.common.collect.Lists;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+public class UserDirectoryCacheTest extends AbstractUnitTest {
+
+  @Mock
+  private UserService userService;
+  @Mock
+  private PortalConfig portalConfig;
+
+  private UserDirectoryCache userDirectoryCache;
+
+  @Before
+  public void setUp() {
+    when(portalConfig.userDirectoryCacheTtlSecond()).thenReturn(60);
+    when(portalConfig.userDirectoryCacheNegativeTtlSecond()).thenReturn(60);
+    userDirectoryCache = new UserDirectoryCache(userService, portalConfig);
+  }
+
+  @Test
+  public void testLoadMissingUsersInOneBatch() {
+    when(userService.findByUserIds(Lists.newArrayList("a", "b", "c")))
+        .thenReturn(Arrays.asList(user("a"), user("c")));
+    when(userService.findByUserIds(Lists.newArrayList("d"))).thenReturn(Arrays.asList(user("d")));
+
+    List<UserInfo> users = userDirectoryCache.findByUserIds(Lists.newArrayList("a", "b", "c"));
+    assertEquals(2, users.size());
+
+    users = userDirectoryCache.findByUserIds(Lists.newArrayList("c", "b", "d", "a"));
+    assertEquals(3, users.size());
+    assertEquals("c", users.get(0).getUserId());
+    assertEquals("d", users.get(1).getUserId());
+    assertEquals("a", users.get(2).getUserId());
+    // b is cached as not found
+    verify(userService, times(1)).findByUserIds(Lists.newArrayList("a", "b", "c"));
+    verify(userService, times(1)).findByUserIds(Lists.newArrayList("d"));
+  }
+
+  @Test
+  public void testReloadAfterExpired() {
+    when(portalConfig.userDirectoryCacheTtlSecond()).thenReturn(0);
+    when(userService.findByUserIds(Lists.newArrayList("a"))).thenReturn(Arrays.asList(user("a")));
+
+    userDirectoryCache.findByUserId("a");
+    userDirectoryCache.findByUserId("a");
+
+    verify(userService, times(2)).findByUserIds(anyList());
+  }
+
+  @Test
+  public void testInvalidate() {
+    when(userService.findByUserIds(Lists.newArrayList("a"))).thenReturn(Arrays.asList(user("a")));
+
+    userDirectoryCache.findByUserId("a");
+    userDirectoryCache.invalidate("a");
+    userDirectoryCache.findByUserId("a");
+
+    verify(userService, times(2)).findByUserIds(anyList());
+  }
+
+  @Test
+  public void testCoalesceConcurrentMisses() throws Exception {
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(userService.findByUserIds(Lists.newArrayList("a"))).thenAnswer(invocation -> {
+      loading.countDown();
+      release.await(5, TimeUnit.SECONDS);
+      return Arrays.asList(user("a"));
+    });
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<UserInfo> first = executor.submit(() -> userDirectoryCache.findByUserId("a"));
+      loading.await(5, TimeUnit.SECONDS);
+      Future<UserInfo> second = executor.submit(() -> userDirectoryCache.findByUserId("a"));
+      TimeUnit.MILLISECONDS.sleep(100);
+      release.countDown();
+
+      assertEquals("a", first.get(5, TimeUnit.SECONDS).getUserId());
+      assertEquals("a", second.get(5, TimeUnit.SECONDS).getUserId());
+    } finally {
+      executor.shutdownNow();
+    }
+    verify(userService, times(1)).findByUserIds(anyList());
+  }
+
+  @Test
+  public void testUserNotFound() {
+    assertNull(userDirectoryCache.findByUserId("a"));
+  }
+
+  private UserInfo user(String userId) {
+    UserInfo userInfo = new UserInfo();
+    userInfo.setUserId(userId);
+    return userInfo;
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.portal.component.txtresolver;
+
+import com.ctrip.framework.apollo.common.dto.ItemChangeSets;
+import com.ctrip.framework.apollo.common.dto.ItemDTO;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Resolves the config text of a namespace with {@link PropertyResolver}, and diffs its lines with
+ * {@link LineDiff} alone, for an unchanged text, a one line edit and edits scattered over the
+ * text.
+ * <p>
+ * Not run by the build, start it with {@code main} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PropertyResolverBenchmark {
+
+  // every this many lines is changed by the scattered edits
+  private static final int SCATTERED_EDIT_DISTANCE = 100;
+
+  @Param({"1000", "10000"})
+  private int size;
+
+  private final PropertyResolver resolver = new PropertyResolver();
+
+  private List<ItemDTO> baseItems;
+  private String unchangedText;
+  private String oneLineEditText;
+  private String scatteredEditsText;
+
+  private int[] baseLines;
+  private int[] oneLineEditLines;
+  private int[] scatteredEditsLines;
+
+  @Setup
+  public void setUp() {
+    baseItems = new ArrayList<>(size);
+    StringBuilder unchanged = new StringBuilder();
+    StringBuilder oneLineEdit = new StringBuilder();
+    StringBuilder scatteredEdits = new StringBuilder();
+    baseLines = new int[size];
+    oneLineEditLines = new int[size];
+    scatteredEditsLines = new int[size];
+
+    for (int i = 1; i <= size; i++) {
+      ItemDTO item = new ItemDTO("key" + i, "value" + i, "", i);
+      item.setId(i);
+      baseItems.add(item);
+
+      String line = "key" + i + "=value" + i + "\n";
+      String changedLine = "key" + i + "=changed\n";
+      unchanged.append(line);
+      oneLineEdit.append(i == size / 2 ? changedLine : line);
+      scatteredEdits.append(i % SCATTERED_EDIT_DISTANCE == 0 ? changedLine : line);
+
+      baseLines[i - 1] = i;
+      oneLineEditLines[i - 1] = i == size / 2 ? -i : i;
+      scatteredEditsLines[i - 1] = i % SCATTERED_EDIT_DISTANCE == 0 ? -i : i;
+    }
+
+    unchangedText = unchanged.toString();
+    oneLineEditText = oneLineEdit.toString();
+    scatteredEditsText = scatteredEdits.toString();
+  }
+
+  @Benchmark
+  public ItemChangeSets resolveUnchanged() {
+    return resolver.resolve(1, unchangedText, baseItems);
+  }
+
+  @Benchmark
+  public ItemChangeSets resolveOneLineEdit() {
+    return resolver.resolve(1, oneLineEditText, baseItems);
+  }
+
+  @Benchmark
+  public ItemChangeSets resolveScatteredEdits() {
+    return resolver.resolve(1, scatteredEditsText, baseItems);
+  }
+
+  @Benchmark
+  public int[] diffOneLineEdit() {
+    return LineDiff.match(baseLines, oneLineEditLines);
+  }
+
+  @Benchmark
+  public int[] diffScatteredEdits() {
+    return LineDiff.match(baseLines, scatteredEditsLines);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(PropertyResolverBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}
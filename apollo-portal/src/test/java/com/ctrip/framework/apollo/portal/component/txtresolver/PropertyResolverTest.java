@@ -26,9 +26,14 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.InjectMocks;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 public class PropertyResolverTest extends AbstractUnitTest {
 
@@ -78,7 +83,10 @@ public class PropertyResolverTest extends AbstractUnitTest {
   @Test
   public void testChangeItemNumLine() {
     ItemChangeSets changeSets = resolver.resolve(1, "b=c\nc=d\na=b", mockBaseItemHas3Key());
-    Assert.assertEquals(3, changeSets.getUpdateItems().size());
+    // only the moved item is updated
+    Assert.assertEquals(1, changeSets.getUpdateItems().size());
+    Assert.assertEquals("a", changeSets.getUpdateItems().get(0).getKey());
+    Assert.assertTrue(changeSets.getUpdateItems().get(0).getLineNum() > 3);
   }
 
   @Test
@@ -93,7 +101,8 @@ public class PropertyResolverTest extends AbstractUnitTest {
     ItemChangeSets changeSets =
         resolver.resolve(1, "a=b\n\nb=c", mockBaseItemWith2Key1Comment1Blank());
     Assert.assertEquals(1, changeSets.getDeleteItems().size());
-    Assert.assertEquals(3, changeSets.getUpdateItems().size());
+    Assert.assertEquals("#qqqq", changeSets.getDeleteItems().get(0).getComment());
+    Assert.assertEquals(0, changeSets.getUpdateItems().size());
     Assert.assertEquals(0, changeSets.getCreateItems().size());
   }
 
@@ -102,7 +111,7 @@ public class PropertyResolverTest extends AbstractUnitTest {
     ItemChangeSets changeSets =
         resolver.resolve(1, "#qqqq\na=b\nb=c", mockBaseItemWith2Key1Comment1Blank());
     Assert.assertEquals(1, changeSets.getDeleteItems().size());
-    Assert.assertEquals(1, changeSets.getUpdateItems().size());
+    Assert.assertEquals(0, changeSets.getUpdateItems().size());
     Assert.assertEquals(0, changeSets.getCreateItems().size());
   }
 
@@ -134,14 +143,105 @@ public class PropertyResolverTest extends AbstractUnitTest {
     Assert.assertEquals(3, changeSets.getCreateItems().size());
   }
 
+  @Test
+  public void testAddItemBeforeHasItemTwice() {
+    ItemChangeSets changeSets = resolver.resolve(1, "x=y\na=b\nb=c\nc=d", mockBaseItemHas3Key());
+    List<ItemDTO> items = applyChangeSets(mockBaseItemHas3Key(), changeSets);
+
+    // line numbers were regenerated with gaps, so the second insertion fits in
+    changeSets = resolver.resolve(1, "z=y\nx=y\na=b\nb=c\nc=d", items);
+    Assert.assertEquals(1, changeSets.getCreateItems().size());
+    Assert.assertEquals(0, changeSets.getUpdateItems().size());
+    Assert.assertEquals(0, changeSets.getDeleteItems().size());
+    Assert.assertTrue(changeSets.getCreateItems().get(0).getLineNum() < items.get(0).getLineNum());
+  }
+
+  @Test
+  public void testEditOneLineOfLargeNamespace() {
+    int size = 10000;
+    List<ItemDTO> baseItems = new ArrayList<>(size);
+    StringBuilder configText = new StringBuilder();
+    for (int i = 1; i <= size; i++) {
+      baseItems.add(item(i, "key" + i, "value" + i, i));
+      if (i == size / 2) {
+        configText.append("key").append(i).append("=changed\n");
+        configText.append("inserted=value\n");
+      } else if (i != size / 4) {
+        configText.append("key").append(i).append("=value").append(i).append("\n");
+      }
+    }
+
+    ItemChangeSets changeSets = resolver.resolve(1, configText.toString(), baseItems);
+
+    Assert.assertEquals(1, changeSets.getCreateItems().size());
+    Assert.assertEquals(1, changeSets.getDeleteItems().size());
+    Assert.assertEquals("key" + size / 4, changeSets.getDeleteItems().get(0).getKey());
+    // the updated value and the line numbers regenerated to make room for the inserted line
+    Assert.assertTrue(changeSets.getUpdateItems().size() < size / 2);
+    List<ItemDTO> items = applyChangeSets(baseItems, changeSets);
+    Assert.assertEquals(configText.toString().trim(), toText(items));
+  }
+
+  @Test
+  public void testResultKeepsOrder() {
+    List<ItemDTO> baseItems = mockBaseItemWith2Key1Comment1Blank();
+    String[] texts = {"#ww\nd=e\nb=c\na=b\n\nq=w\n#eee", "a=b\n#ww\n\nb=c", "b=c\n\n\na=x",
+        "#qqqq\n#ww\nb=c\na=b\n\nq=w"};
+    for (String text : texts) {
+      ItemChangeSets changeSets = resolver.resolve(1, text, baseItems);
+      baseItems = applyChangeSets(baseItems, changeSets);
+      Assert.assertEquals(text, toText(baseItems));
+    }
+  }
+
+  @Test
+  public void testAllocateLineNums() {
+    Assert.assertArrayEquals(new int[]{1, 2, 3},
+        PropertyResolver.allocateLineNums(new int[]{1, 2, 3}));
+    Assert.assertArrayEquals(new int[]{1, 3, 5},
+        PropertyResolver.allocateLineNums(new int[]{1, 0, 5}));
+    // no room before the first kept line, all lines are regenerated with gaps
+    int gap = PropertyResolver.LINE_NUM_GAP;
+    Assert.assertArrayEquals(new int[]{gap, 2 * gap, 3 * gap},
+        PropertyResolver.allocateLineNums(new int[]{0, 1, 2}));
+    // the room before the first kept line is borrowed
+    Assert.assertArrayEquals(new int[]{1, 2, 3, 4, 5, 6, 7},
+        PropertyResolver.allocateLineNums(new int[]{3, 0, 0, 4, 5, 6, 7}));
+  }
+
+  private List<ItemDTO> applyChangeSets(List<ItemDTO> baseItems, ItemChangeSets changeSets) {
+    Map<Long, ItemDTO> items = new HashMap<>();
+    baseItems.forEach(item -> items.put(item.getId(), item));
+    changeSets.getDeleteItems().forEach(item -> items.remove(item.getId()));
+    changeSets.getUpdateItems().forEach(item -> items.put(item.getId(), item));
+    long id = items.keySet().stream().mapToLong(Long::longValue).max().orElse(0);
+    for (ItemDTO item : changeSets.getCreateItems()) {
+      item.setId(++id);
+      items.put(item.getId(), item);
+    }
+    List<ItemDTO> result = new ArrayList<>(items.values());
+    result.sort(Comparator.comparing(ItemDTO::getLineNum));
+    return result;
+  }
+
+  private String toText(List<ItemDTO> items) {
+    return items.stream()
+        .map(item -> "".equals(item.getKey()) ? item.getComment()
+            : item.getKey() + "=" + item.getValue())
+        .collect(Collectors.joining("\n"));
+  }
+
+  private ItemDTO item(long id, String key, String value, int lineNum) {
+    ItemDTO item = new ItemDTO(key, value, "", lineNum);
+    item.setId(id);
+    return item;
+  }
+
   /**
    * a=b b=c c=d
    */
   private List<ItemDTO> mockBaseItemHas3Key() {
-    ItemDTO item1 = new ItemDTO("a", "b", "", 1);
-    ItemDTO item2 = new ItemDTO("b", "c", "", 2);
-    ItemDTO item3 = new ItemDTO("c", "d", "", 3);
-    return Arrays.asList(item1, item2, item3);
+    return Arrays.asList(item(1, "a", "b", 1), item(2, "b", "c", 2), item(3, "c", "d", 3));
   }
 
   /**
@@ -152,11 +252,8 @@ public class PropertyResolverTest extends AbstractUnitTest {
    */
   private List<ItemDTO> mockBaseItemWith2Key1Comment1Blank() {
     ItemDTO i1 = new ItemDTO("", "", "#qqqq", 1);
-    ItemDTO i2 = new ItemDTO("a", "b", "", 2);
-    ItemDTO i3 = new ItemDTO("", "", "", 3);
-    ItemDTO i4 = new ItemDTO("b", "c", "", 4);
-    i4.setLineNum(4);
-    return Arrays.asList(i1, i2, i3, i4);
+    i1.setId(1);
+    return Arrays.asList(i1, item(2, "a", "b", 2), item(3, "", "", 3), item(4, "b", "c", 4));
   }
 
 }
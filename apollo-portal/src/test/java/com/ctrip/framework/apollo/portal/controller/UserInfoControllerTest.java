@@ -18,6 +18,7 @@ package com.ctrip.framework.apollo.portal.controller;
 
 import com.ctrip.framework.apollo.common.exception.BadRequestException;
 import com.ctrip.framework.apollo.portal.component.UnifiedPermissionValidator;
+import com.ctrip.framework.apollo.portal.component.UserDirectoryCache;
 import com.ctrip.framework.apollo.portal.entity.bo.UserInfo;
 import com.ctrip.framework.apollo.portal.entity.po.UserPO;
 import com.ctrip.framework.apollo.portal.spi.UserInfoHolder;
@@ -45,6 +46,8 @@ public class UserInfoControllerTest {
   private UnifiedPermissionValidator unifiedPermissionValidator;
   @Mock
   private UserInfoHolder userInfoHolder;
+  @Mock
+  private UserDirectoryCache userDirectoryCache;
 
   @Test
   public void testCreateOrUpdateUserForAdmin() {
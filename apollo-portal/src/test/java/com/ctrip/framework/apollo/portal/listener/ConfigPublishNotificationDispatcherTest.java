@@ -0,0 +1,178 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.portal.listener;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.ctrip.framework.apollo.portal.AbstractUnitTest;
+import com.ctrip.framework.apollo.portal.component.config.PortalConfig;
+import com.ctrip.framework.apollo.portal.listener.ConfigPublishNotificationDispatcher.Channel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+public class ConfigPublishNotificationDispatcherTest extends AbstractUnitTest {
+
+  @Mock
+  private PortalConfig portalConfig;
+
+  private SimpleMeterRegistry meterRegistry;
+  private ConfigPublishNotificationDispatcher dispatcher;
+
+  @Before
+  public void setUp() {
+    when(portalConfig.configPublishNotifyThreads()).thenReturn(2);
+    when(portalConfig.configPublishNotifyQueueCapacity()).thenReturn(10);
+    when(portalConfig.configPublishNotifyMaxAttempts()).thenReturn(3);
+    meterRegistry = new SimpleMeterRegistry();
+    dispatcher = new ConfigPublishNotificationDispatcher(portalConfig, meterRegistry, 1);
+  }
+
+  @After
+  public void tearDown() {
+    dispatcher.stop();
+  }
+
+  @Test
+  public void testSlowEndpointDoesNotBlockOthers() throws Exception {
+    CountDownLatch slowEndpointReleased = new CountDownLatch(1);
+    CountDownLatch delivered = new CountDownLatch(2);
+
+    dispatcher.dispatch(Channel.WEBHOOK, "http://slow", "someNamespace",
+        System.currentTimeMillis(), () -> slowEndpointReleased.await(5, TimeUnit.SECONDS));
+    dispatcher.dispatch(Channel.WEBHOOK, "http://fast", "someNamespace",
+        System.currentTimeMillis(), delivered::countDown);
+    dispatcher.dispatch(Channel.EMAIL, "EMAIL", "someNamespace", System.currentTimeMillis(),
+        delivered::countDown);
+
+    assertTrue(delivered.await(1, TimeUnit.SECONDS));
+    slowEndpointReleased.countDown();
+  }
+
+  @Test
+  public void testRetryUntilDelivered() throws Exception {
+    AtomicInteger attempts = new AtomicInteger();
+    CountDownLatch delivered = new CountDownLatch(1);
+
+    dispatcher.dispatch(Channel.WEBHOOK, "http://flaky", "someNamespace",
+        System.currentTimeMillis(), () -> {
+      if (attempts.incrementAndGet() < 3) {
+        throw new IllegalStateException("unavailable");
+      }
+      delivered.countDown();
+    });
+
+    assertTrue(delivered.await(5, TimeUnit.SECONDS));
+    assertEquals(3, attempts.get());
+    awaitCount("delivered", 1);
+    assertEquals(2, count("retried"), 0);
+    assertEquals(1, meterRegistry.get(ConfigPublishNotificationDispatcher.LAG_METRIC)
+        .tag("channel", Channel.WEBHOOK.name()).timer().count());
+  }
+
+  @Test
+  public void testGiveUpAfterMaxAttempts() throws Exception {
+    AtomicInteger attempts = new AtomicInteger();
+
+    dispatcher.dispatch(Channel.MQ, "MQ", "someNamespace", System.currentTimeMillis(), () -> {
+      attempts.incrementAndGet();
+      throw new IllegalStateException("unavailable");
+    });
+
+    awaitCount("failed", 1);
+    assertEquals(3, attempts.get());
+    assertEquals(0, count("delivered"), 0);
+  }
+
+  @Test
+  public void testOpenCircuitDoesNotUseUpAttempts() throws Exception {
+    when(portalConfig.configPublishNotifyMaxAttempts()).thenReturn(10);
+    AtomicInteger attempts = new AtomicInteger();
+
+    dispatcher.dispatch(Channel.WEBHOOK, "http://down", "someNamespace",
+        System.currentTimeMillis(), () -> {
+      attempts.incrementAndGet();
+      throw new IllegalStateException("unavailable");
+    });
+
+    // the circuit opens after 5 failures, then the delivery waits for it instead of retrying
+    awaitCount("postponed", 1);
+    assertEquals(5, attempts.get());
+    assertEquals(5, count("retried"), 0);
+    assertEquals(0, count("failed"), 0);
+  }
+
+  @Test
+  public void testDeliverInDispatchOrderPerOrderingKey() throws Exception {
+    List<String> delivered = new CopyOnWriteArrayList<>();
+    AtomicInteger attempts = new AtomicInteger();
+
+    // the first publish needs a retry, the second one must still be delivered after it
+    dispatcher.dispatch(Channel.MQ, "MQ", "someNamespace", System.currentTimeMillis(), () -> {
+      if (attempts.incrementAndGet() < 2) {
+        throw new IllegalStateException("unavailable");
+      }
+      delivered.add("first");
+    });
+    dispatcher.dispatch(Channel.MQ, "MQ", "someNamespace", System.currentTimeMillis(),
+        () -> delivered.add("second"));
+    dispatcher.dispatch(Channel.MQ, "MQ", "anotherNamespace", System.currentTimeMillis(),
+        () -> delivered.add("another"));
+
+    awaitCount("delivered", 3);
+    assertEquals(Arrays.asList("first", "second"),
+        delivered.stream().filter(d -> !d.equals("another")).collect(Collectors.toList()));
+  }
+
+  @Test
+  public void testDeliverNextAfterGivenUp() throws Exception {
+    CountDownLatch delivered = new CountDownLatch(1);
+
+    dispatcher.dispatch(Channel.MQ, "MQ", "someNamespace", System.currentTimeMillis(), () -> {
+      throw new IllegalStateException("unavailable");
+    });
+    dispatcher.dispatch(Channel.MQ, "MQ", "someNamespace", System.currentTimeMillis(),
+        delivered::countDown);
+
+    assertTrue(delivered.await(5, TimeUnit.SECONDS));
+    assertEquals(1, count("failed"), 0);
+  }
+
+  private void awaitCount(String result, double expected) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (count(result) < expected && System.currentTimeMillis() < deadline) {
+      TimeUnit.MILLISECONDS.sleep(10);
+    }
+    assertEquals(expected, count(result), 0);
+  }
+
+  private double count(String result) {
+    return meterRegistry.find(ConfigPublishNotificationDispatcher.RESULT_METRIC)
+        .tag("result", result).counters().stream().mapToDouble(c -> c.count()).sum();
+  }
+}
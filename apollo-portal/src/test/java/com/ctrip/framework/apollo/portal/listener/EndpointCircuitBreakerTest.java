@@ -0,0 +1,70 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.portal.listener;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+
+public class EndpointCircuitBreakerTest {
+
+  private final AtomicLong now = new AtomicLong(1000);
+  private final EndpointCircuitBreaker circuitBreaker =
+      new EndpointCircuitBreaker(2, 100, now::get);
+
+  @Test
+  public void testOpenAfterConsecutiveFailures() {
+    assertTrue(circuitBreaker.tryAcquire());
+    circuitBreaker.onFailure();
+    assertTrue(circuitBreaker.tryAcquire());
+    circuitBreaker.onFailure();
+
+    assertFalse(circuitBreaker.tryAcquire());
+    assertEquals(100, circuitBreaker.remainingOpenMillis());
+  }
+
+  @Test
+  public void testSuccessResetsFailures() {
+    circuitBreaker.onFailure();
+    circuitBreaker.onSuccess();
+    circuitBreaker.onFailure();
+
+    assertTrue(circuitBreaker.tryAcquire());
+    assertEquals(0, circuitBreaker.remainingOpenMillis());
+  }
+
+  @Test
+  public void testHalfOpenAllowsOneTrial() {
+    circuitBreaker.onFailure();
+    circuitBreaker.onFailure();
+    now.addAndGet(100);
+
+    assertTrue(circuitBreaker.tryAcquire());
+    assertFalse(circuitBreaker.tryAcquire());
+
+    circuitBreaker.onFailure();
+    assertFalse(circuitBreaker.tryAcquire());
+
+    now.addAndGet(100);
+    assertTrue(circuitBreaker.tryAcquire());
+    circuitBreaker.onSuccess();
+    assertTrue(circuitBreaker.tryAcquire());
+  }
+}
@@ -39,19 +39,22 @@ import org.junit.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.http.HttpStatus;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.HttpStatusCodeException;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -104,6 +107,43 @@ public class ConfigsExportServiceTest extends AbstractUnitTest {
     testAppConfigExportImportScenario();
   }
 
+  @Test
+  public void testExportManyApps() throws Exception {
+    Env env = Env.DEV;
+    String clusterName = "default";
+    int appCount = 100;
+
+    List<App> exportApps = Lists.newArrayList();
+    for (int i = 0; i < appCount; i++) {
+      String appId = "app" + i;
+      App app = genApp(appId, appId, "org1", "org2");
+      ClusterDTO cluster = genCluster(clusterName, appId);
+      exportApps.add(app);
+      when(clusterService.findClusters(env, appId)).thenReturn(Lists.newArrayList(cluster));
+      when(namespaceService.findNamespaceBOs(appId, env, clusterName, true, false)).thenReturn(
+          Lists.newArrayList(genNamespace(app, cluster, Lists.newArrayList(genItem("k", "v")),
+              "application")));
+    }
+    when(appService.findAll()).thenReturn(exportApps);
+    when(appNamespaceService.findAll()).thenReturn(Lists.newArrayList());
+    when(unifiedPermissionValidator.isAppAdmin(any())).thenReturn(true);
+
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    configsExportService.exportData(outputStream, Lists.newArrayList(env));
+
+    Set<String> entryNames = new HashSet<>();
+    try (ZipInputStream zipInputStream =
+        new ZipInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+      ZipEntry entry;
+      while ((entry = zipInputStream.getNextEntry()) != null) {
+        entryNames.add(entry.getName());
+      }
+    }
+
+    // app info, cluster info and namespace of each app
+    Assert.assertEquals(appCount * 3, entryNames.size());
+  }
+
   private void testExportImportScenario(boolean fillItemDetail) throws FileNotFoundException {
 
     File temporaryFolder = Files.newTemporaryFolder();
@@ -197,10 +237,6 @@ public class ConfigsExportServiceTest extends AbstractUnitTest {
     when(namespaceService.createNamespace(any(), any())).thenReturn(genNamespaceDTO(1));
 
     when(itemService.findItems(any(), any(), any(), any())).thenReturn(Lists.newArrayList());
-    HttpStatusCodeException itemNotFoundException =
-        new HttpClientErrorException(HttpStatus.NOT_FOUND);
-    when(itemService.loadItem(any(), any(), any(), any(), anyString()))
-        .thenThrow(itemNotFoundException);
 
 
     FileInputStream fileInputStream = new FileInputStream(filePath);
@@ -224,7 +260,8 @@ public class ConfigsExportServiceTest extends AbstractUnitTest {
       verify(namespaceService, times(6)).createNamespace(any(), any());
       verify(roleInitializationService, times(6)).initNamespaceRoles(any(), any(), anyString());
       verify(roleInitializationService, times(6)).initNamespaceEnvRoles(any(), any(), anyString());
-      verify(itemService, times(12)).createItem(any(), any(), any(), any(), any());
+      verify(itemService, times(6)).updateItems(any(), any(), any(), any(),
+          argThat(changeSets -> changeSets.getCreateItems().size() == 2));
     }
   }
 
@@ -293,10 +330,6 @@ public class ConfigsExportServiceTest extends AbstractUnitTest {
     when(namespaceService.createNamespace(any(), any())).thenReturn(genNamespaceDTO(1));
 
     when(itemService.findItems(any(), any(), any(), any())).thenReturn(Lists.newArrayList());
-    HttpStatusCodeException itemNotFoundException =
-        new HttpClientErrorException(HttpStatus.NOT_FOUND);
-    when(itemService.loadItem(any(), any(), any(), any(), anyString()))
-        .thenThrow(itemNotFoundException);
 
 
     FileInputStream fileInputStream = new FileInputStream(filePath);
@@ -329,7 +362,8 @@ public class ConfigsExportServiceTest extends AbstractUnitTest {
     verify(namespaceService, times(2)).createNamespace(any(), any());
     verify(roleInitializationService, times(2)).initNamespaceRoles(any(), any(), anyString());
     verify(roleInitializationService, times(2)).initNamespaceEnvRoles(any(), any(), anyString());
-    verify(itemService, times(4)).createItem(any(), any(), any(), any(), any());
+    verify(itemService, times(2)).updateItems(any(), any(), any(), any(),
+        argThat(changeSets -> changeSets.getCreateItems().size() == 2));
   }
 
   private App genApp(String name, String appId, String orgId, String orgName) {
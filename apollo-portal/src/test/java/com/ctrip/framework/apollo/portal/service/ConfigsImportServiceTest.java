@@ -0,0 +1,206 @@
+/*
+ * Copyright 2025 Apollo Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.ctrip.framework.apollo.portal.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ctrip.framework.apollo.common.dto.ItemChangeSets;
+import com.ctrip.framework.apollo.common.dto.ItemDTO;
+import com.ctrip.framework.apollo.common.dto.NamespaceDTO;
+import com.ctrip.framework.apollo.portal.AbstractUnitTest;
+import com.ctrip.framework.apollo.portal.entity.bo.UserInfo;
+import com.ctrip.framework.apollo.portal.entity.vo.ConfigsImportReport;
+import com.ctrip.framework.apollo.portal.environment.Env;
+import com.ctrip.framework.apollo.portal.spi.UserInfoHolder;
+import com.google.common.collect.Lists;
+import com.google.gson.Gson;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
+
+public class ConfigsImportServiceTest extends AbstractUnitTest {
+
+  private static final String SOME_APP_ID = "someAppId";
+  private static final String SOME_CLUSTER = "default";
+  private static final String SOME_OPERATOR = "someOperator";
+
+  @Mock
+  private ItemService itemService;
+  @Mock
+  private AppService appService;
+  @Mock
+  private ClusterService clusterService;
+  @Mock
+  private NamespaceService namespaceService;
+  @Mock
+  private AppNamespaceService appNamespaceService;
+  @Mock
+  private ApplicationEventPublisher publisher;
+  @Mock
+  private UserInfoHolder userInfoHolder;
+  @Mock
+  private RoleInitializationService roleInitializationService;
+  @InjectMocks
+  private ConfigsImportService configsImportService;
+
+  private final Gson gson = new Gson();
+
+  @Before
+  public void setUp() throws Exception {
+    UserInfo userInfo = new UserInfo();
+    userInfo.setUserId(SOME_OPERATOR);
+    when(userInfoHolder.getUser()).thenReturn(userInfo);
+  }
+
+  @Test
+  public void testImportItemsWithOneChangeSet() throws Exception {
+    String namespaceName = "application";
+    when(namespaceService.loadNamespaceBaseInfo(SOME_APP_ID, Env.DEV, SOME_CLUSTER,
+        namespaceName)).thenReturn(genNamespaceDTO(1));
+    when(itemService.findItems(SOME_APP_ID, Env.DEV, SOME_CLUSTER, namespaceName))
+        .thenReturn(Lists.newArrayList(genItem(10, "k1", "v0", null)));
+
+    ConfigsImportReport report = configsImportService.importDataFromZipFile(
+        Lists.newArrayList(Env.DEV), zip(namespaceFile(namespaceName,
+            genItem(0, "k1", "v1", null), genItem(0, "k2", "v2", null),
+            genItem(0, "", "", "#some comment"))), false, false, 0);
+
+    ArgumentCaptor<ItemChangeSets> changeSetsCaptor =
+        ArgumentCaptor.forClass(ItemChangeSets.class);
+    verify(itemService, times(1)).updateItems(eq(SOME_APP_ID), eq(Env.DEV), eq(SOME_CLUSTER),
+        eq(namespaceName), changeSetsCaptor.capture());
+    verify(itemService, never()).createItem(any(), any(), any(), any(), any());
+
+    ItemChangeSets changeSets = changeSetsCaptor.getValue();
+    assertEquals(SOME_OPERATOR, changeSets.getDataChangeLastModifiedBy());
+    assertEquals(1, changeSets.getUpdateItems().size());
+    assertEquals(10, changeSets.getUpdateItems().get(0).getId());
+    assertEquals("v1", changeSets.getUpdateItems().get(0).getValue());
+    assertEquals(2, changeSets.getCreateItems().size());
+    assertTrue(changeSets.getCreateItems().stream().allMatch(item -> item.getNamespaceId() == 1));
+
+    assertEquals(2, report.getCreatedItems());
+    assertEquals(1, report.getUpdatedItems());
+    assertEquals(1, report.getCheckpoint());
+    assertTrue(report.getFailedFiles().isEmpty());
+  }
+
+  @Test
+  public void testDryRun() throws Exception {
+    String namespaceName = "application";
+    when(namespaceService.loadNamespaceBaseInfo(SOME_APP_ID, Env.DEV, SOME_CLUSTER,
+        namespaceName)).thenThrow(new RuntimeException("not existed"));
+
+    ConfigsImportReport report = configsImportService.importDataFromZipFile(
+        Lists.newArrayList(Env.DEV), zip(namespaceFile(namespaceName,
+            genItem(0, "k1", "v1", null), genItem(0, "k2", "v2", null))), false, true, 0);
+
+    verify(namespaceService, never()).createNamespace(any(), any());
+    verify(itemService, never()).updateItems(any(), any(), any(), any(), any());
+
+    assertTrue(report.isDryRun());
+    assertEquals(1, report.getCreatedNamespaces());
+    assertEquals(2, report.getCreatedItems());
+  }
+
+  @Test
+  public void testResumeFromCheckpoint() throws Exception {
+    when(namespaceService.loadNamespaceBaseInfo(any(), any(), any(), any()))
+        .thenReturn(genNamespaceDTO(1));
+
+    ConfigsImportReport report = configsImportService.importDataFromZipFile(
+        Lists.newArrayList(Env.DEV),
+        zip(namespaceFile("ns1", genItem(0, "k1", "v1", null)),
+            namespaceFile("ns2", genItem(0, "k1", "v1", null)),
+            namespaceFile("ns3", genItem(0, "k1", "v1", null))), false, false, 2);
+
+    verify(itemService, never()).findItems(SOME_APP_ID, Env.DEV, SOME_CLUSTER, "ns1");
+    verify(itemService, never()).findItems(SOME_APP_ID, Env.DEV, SOME_CLUSTER, "ns2");
+    verify(itemService, times(1)).updateItems(eq(SOME_APP_ID), eq(Env.DEV), eq(SOME_CLUSTER),
+        eq("ns3"), any());
+    assertEquals(3, report.getCheckpoint());
+  }
+
+  @Test
+  public void testImportNamespaceFailed() throws Exception {
+    when(namespaceService.loadNamespaceBaseInfo(any(), any(), any(), any()))
+        .thenReturn(genNamespaceDTO(1));
+    when(itemService.findItems(SOME_APP_ID, Env.DEV, SOME_CLUSTER, "ns1"))
+        .thenThrow(new RuntimeException("some exception"));
+
+    ConfigsImportReport report = configsImportService.importDataFromZipFile(
+        Lists.newArrayList(Env.DEV),
+        zip(namespaceFile("ns1", genItem(0, "k1", "v1", null)),
+            namespaceFile("ns2", genItem(0, "k1", "v1", null))), false, false, 0);
+
+    verify(itemService, times(1)).updateItems(eq(SOME_APP_ID), eq(Env.DEV), eq(SOME_CLUSTER),
+        eq("ns2"), any());
+    assertEquals(Lists.newArrayList(namespacePath("ns1")), report.getFailedFiles());
+    // resuming imports the failed file again
+    assertEquals(0, report.getCheckpoint());
+  }
+
+  private String[] namespaceFile(String namespaceName, ItemDTO... items) {
+    return new String[]{namespacePath(namespaceName), gson.toJson(Lists.newArrayList(items))};
+  }
+
+  private String namespacePath(String namespaceName) {
+    return String.join("/", "someOwner", SOME_APP_ID, Env.DEV.getName(),
+        SOME_APP_ID + "+" + SOME_CLUSTER + "+" + namespaceName + ".properties");
+  }
+
+  private ZipInputStream zip(String[]... files) throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    try (ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
+      for (String[] file : files) {
+        zipOutputStream.putNextEntry(new ZipEntry(file[0]));
+        zipOutputStream.write(file[1].getBytes(StandardCharsets.UTF_8));
+        zipOutputStream.closeEntry();
+      }
+    }
+    return new ZipInputStream(new ByteArrayInputStream(outputStream.toByteArray()));
+  }
+
+  private ItemDTO genItem(long id, String key, String value, String comment) {
+    ItemDTO item = new ItemDTO(key, value, comment, 0);
+    item.setId(id);
+    return item;
+  }
+
+  private NamespaceDTO genNamespaceDTO(long id) {
+    NamespaceDTO namespace = new NamespaceDTO();
+    namespace.setId(id);
+    return namespace;
+  }
+}
@@ -24,13 +24,14 @@ import com.ctrip.framework.apollo.common.dto.ItemInfoDTO;
 import com.ctrip.framework.apollo.common.dto.PageDTO;
 import com.ctrip.framework.apollo.common.http.SearchResponseEntity;
 import com.ctrip.framework.apollo.portal.api.AdminServiceAPI;
+import com.ctrip.framework.apollo.portal.component.MultiEnvExecutor;
 import com.ctrip.framework.apollo.portal.component.PortalSettings;
+import com.ctrip.framework.apollo.portal.component.config.PortalConfig;
 import com.ctrip.framework.apollo.portal.entity.vo.ItemInfo;
 import com.ctrip.framework.apollo.portal.environment.Env;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
@@ -56,7 +57,9 @@ public class GlobalSearchServiceTest {
   @Mock
   private PortalSettings portalSettings;
 
-  @InjectMocks
+  @Mock
+  private PortalConfig portalConfig;
+
   private GlobalSearchService globalSearchService;
 
   private final List<Env> activeEnvs = new ArrayList<>();
@@ -64,6 +67,9 @@ public class GlobalSearchServiceTest {
   @Before
     public void setUp() {
         when(portalSettings.getActiveEnvs()).thenReturn(activeEnvs);
+        when(portalConfig.multiEnvTimeout()).thenReturn(10000);
+        globalSearchService = new GlobalSearchService(itemAPI, portalSettings,
+            new MultiEnvExecutor(portalConfig));
     }
 
   @Test
@@ -142,4 +148,26 @@ public class GlobalSearchServiceTest {
     assertEquals(message, mockItemInfos.getMessage());
   }
 
+  @Test
+  public void testGet_PerEnv_ItemInfo_BySearch_withOneEnvFailed_ReturnPartialItemInfos() {
+    activeEnvs.add(Env.DEV);
+    activeEnvs.add(Env.PRO);
+
+    ItemInfoDTO itemInfoDTO =
+        new ItemInfoDTO("TestApp", "TestCluster", "TestNamespace", "TestKey", "TestValue");
+    List<ItemInfoDTO> mockItemInfoDTOs = new ArrayList<>();
+    mockItemInfoDTOs.add(itemInfoDTO);
+    Mockito.when(itemAPI.getPerEnvItemInfoBySearch(eq(Env.DEV), eq("TestKey"), eq("TestValue"),
+        eq(0), eq(1))).thenReturn(new PageDTO<>(mockItemInfoDTOs, PageRequest.of(0, 1), 1L));
+    Mockito.when(itemAPI.getPerEnvItemInfoBySearch(eq(Env.PRO), eq("TestKey"), eq("TestValue"),
+        eq(0), eq(1))).thenThrow(new RuntimeException("No available admin server"));
+
+    SearchResponseEntity<List<ItemInfo>> result =
+        globalSearchService.getAllEnvItemInfoBySearch("TestKey", "TestValue", 0, 1);
+
+    assertEquals(1, result.getBody().size());
+    assertEquals(Env.DEV.getName(), result.getBody().get(0).getEnvName());
+    assertEquals("Search in PRO failed, the results are incomplete.", result.getMessage());
+  }
+
 }
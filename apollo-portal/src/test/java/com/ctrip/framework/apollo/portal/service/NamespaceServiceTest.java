@@ -19,10 +19,13 @@ package com.ctrip.framework.apollo.portal.service;
 import com.ctrip.framework.apollo.common.dto.ClusterDTO;
 import com.ctrip.framework.apollo.common.dto.ItemDTO;
 import com.ctrip.framework.apollo.common.dto.NamespaceDTO;
+import com.ctrip.framework.apollo.common.dto.NamespaceViewDTO;
 import com.ctrip.framework.apollo.common.dto.ReleaseDTO;
 import com.ctrip.framework.apollo.common.entity.AppNamespace;
 import com.ctrip.framework.apollo.core.enums.ConfigFileFormat;
+import com.ctrip.framework.apollo.portal.component.MultiEnvExecutor;
 import com.ctrip.framework.apollo.portal.component.PortalSettings;
+import com.ctrip.framework.apollo.portal.component.config.PortalConfig;
 import com.ctrip.framework.apollo.portal.entity.vo.NamespaceUsage;
 import com.ctrip.framework.apollo.portal.environment.Env;
 import com.ctrip.framework.apollo.portal.AbstractUnitTest;
@@ -37,17 +40,24 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatExceptionOfType;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -76,6 +86,8 @@ public class NamespaceServiceTest extends AbstractUnitTest {
   private PortalSettings portalSettings;
   @Mock
   private ClusterService clusterService;
+  @Spy
+  private MultiEnvExecutor multiEnvExecutor = new MultiEnvExecutor(mock(PortalConfig.class));
 
   @InjectMocks
   private NamespaceService namespaceService;
@@ -88,8 +100,46 @@ public class NamespaceServiceTest extends AbstractUnitTest {
   @Before
   public void setup() {}
 
+  @Test
+  public void testFindNamespaceViews() {
+    AppNamespace applicationAppNamespace = mock(AppNamespace.class);
+    when(applicationAppNamespace.getFormat()).thenReturn(ConfigFileFormat.Properties.getValue());
+    when(appNamespaceService.findByAppIdAndName(testAppId, testNamespaceName))
+        .thenReturn(applicationAppNamespace);
+
+    NamespaceViewDTO application = new NamespaceViewDTO();
+    application.setBaseInfo(createNamespace(testAppId, testClusterName, testNamespaceName));
+    application.setItems(createItems());
+    application.setDeletedItems(createDeletedItems());
+    Map<String, String> releaseConfigurations = new HashMap<>();
+    releaseConfigurations.put("k1", "k1");
+    releaseConfigurations.put("k2", "k2");
+    releaseConfigurations.put("k3", "");
+    application.setReleaseConfigurations(releaseConfigurations);
+
+    when(namespaceAPI.findNamespaceViewsByCluster(testAppId, testEnv, testClusterName, true))
+        .thenReturn(Collections.singletonList(application));
+
+    List<NamespaceBO> namespaceBOs =
+        namespaceService.findNamespaceBOs(testAppId, testEnv, testClusterName);
+
+    assertEquals(1, namespaceBOs.size());
+    NamespaceBO namespaceBO = namespaceBOs.get(0);
+    List<String> keys =
+        namespaceBO.getItems().stream().map(s -> s.getItem().getKey()).collect(Collectors.toList());
+    assertThat(keys).isEqualTo(Arrays.asList("k1", "k2", "k3"));
+    assertThat(namespaceBO.getItemModifiedCnt()).isEqualTo(3);
+    assertThat(namespaceBO.getFormat()).isEqualTo(ConfigFileFormat.Properties.getValue());
+    verify(namespaceAPI, never()).findNamespaceByCluster(any(), any(), any());
+    verify(releaseService, never()).loadLatestRelease(any(), any(), any(), any());
+    verify(itemService, never()).findItems(any(), any(), any(), any());
+  }
+
   @Test
   public void testFindNamespace() {
+    // the admin service doesn't support namespace views
+    when(namespaceAPI.findNamespaceViewsByCluster(any(), any(), any(), anyBoolean()))
+        .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
 
     AppNamespace applicationAppNamespace = mock(AppNamespace.class);
     AppNamespace hermesAppNamespace = mock(AppNamespace.class);
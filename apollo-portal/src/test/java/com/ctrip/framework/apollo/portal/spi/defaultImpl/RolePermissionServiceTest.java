@@ -43,6 +43,8 @@ import org.junit.Before;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
 
 /**
  * @author Jason Song(song_s@ctrip.com)
@@ -341,6 +343,66 @@ public class RolePermissionServiceTest extends AbstractIntegrationTest {
 
   }
 
+  @Test
+  @Sql(scripts = "/sql/permission/insert-test-roles.sql",
+      executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(scripts = "/sql/permission/insert-test-permissions.sql",
+      executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(scripts = "/sql/permission/insert-test-rolepermissions.sql",
+      executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(scripts = "/sql/cleanup.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  public void testUserHasPermissionAfterRoleChanged() throws Exception {
+    String someRoleName = "someRoleName";
+    String someTargetId = "someTargetId";
+    String somePermissionType = "somePermissionType";
+    String someUser = "someUserWithRoleChanged";
+    String operator = "operator";
+
+    assertFalse(
+        rolePermissionService.userHasPermission(someUser, somePermissionType, someTargetId));
+
+    rolePermissionService.assignRoleToUsers(someRoleName, Sets.newHashSet(someUser), operator);
+
+    assertTrue(
+        rolePermissionService.userHasPermission(someUser, somePermissionType, someTargetId));
+
+    rolePermissionService.removeRoleFromUsers(someRoleName, Sets.newHashSet(someUser), operator);
+
+    assertFalse(
+        rolePermissionService.userHasPermission(someUser, somePermissionType, someTargetId));
+  }
+
+  @Test
+  @Sql(scripts = "/sql/permission/insert-test-roles.sql",
+      executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(scripts = "/sql/permission/insert-test-permissions.sql",
+      executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(scripts = "/sql/permission/insert-test-rolepermissions.sql",
+      executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+  @Sql(scripts = "/sql/cleanup.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+  public void testUserHasPermissionAfterRoleAssignedByAnotherInstance() throws Exception {
+    String someTargetId = "someTargetId";
+    String somePermissionType = "somePermissionType";
+    String someUser = "someUserAssignedByAnotherInstance";
+
+    assertFalse(
+        rolePermissionService.userHasPermission(someUser, somePermissionType, someTargetId));
+
+    // assigned by another portal instance
+    UserRole userRole = new UserRole();
+    userRole.setUserId(someUser);
+    userRole.setRoleId(990);
+    userRole.setDataChangeCreatedBy("someOperator");
+    userRole.setDataChangeLastModifiedBy("someOperator");
+    userRoleRepository.save(userRole);
+
+    ReflectionTestUtils.invokeMethod(AopTestUtils.getTargetObject(rolePermissionService),
+        "refreshPermissionIndex");
+
+    assertTrue(
+        rolePermissionService.userHasPermission(someUser, somePermissionType, someTargetId));
+  }
+
   @Test
   @Sql(
       scripts = "/sql/permission/RolePermissionServiceTest.deleteRolePermissionsByAppIdWithClusterRoles.sql",
@@ -221,11 +221,33 @@ CREATE TABLE `InstanceConfig` (
   UNIQUE KEY `InstanceConfig_IX_UNIQUE_KEY` (`InstanceId`,`ConfigAppId`,`ConfigNamespaceName`),
   KEY `InstanceConfig_IX_ReleaseKey` (`ReleaseKey`),
   KEY `InstanceConfig_IX_DataChange_LastTime` (`DataChange_LastTime`),
-  KEY `InstanceConfig_IX_Valid_Namespace` (`ConfigAppId`,`ConfigClusterName`,`ConfigNamespaceName`,`DataChange_LastTime`)
+  KEY `InstanceConfig_IX_Valid_Namespace` (`ConfigAppId`,`ConfigClusterName`,`ConfigNamespaceName`,`DataChange_LastTime`),
+  KEY `InstanceConfig_IX_ReleaseKey_InstanceId` (`ReleaseKey`,`InstanceId`),
+  KEY `InstanceConfig_IX_Namespace_InstanceId` (`ConfigAppId`,`ConfigClusterName`,`ConfigNamespaceName`,`InstanceId`)
 )   COMMENT='应用实例的配置信息';
 
 
 
+-- Dump of table instanceconfigrollup
+-- ------------------------------------------------------------
+
+
+CREATE TABLE `InstanceConfigRollup` (
+  `Id` int(11) unsigned NOT NULL AUTO_INCREMENT COMMENT '自增Id',
+  `ConfigAppId` varchar(64) NOT NULL DEFAULT 'default' COMMENT 'Config App Id',
+  `ConfigClusterName` varchar(32) NOT NULL DEFAULT 'default' COMMENT 'Config Cluster Name',
+  `ConfigNamespaceName` varchar(32) NOT NULL DEFAULT 'default' COMMENT 'Config Namespace Name',
+  `ReleaseKey` varchar(64) NOT NULL DEFAULT '' COMMENT '发布的Key',
+  `InstanceCount` int(11) unsigned NOT NULL DEFAULT '0' COMMENT '有效的实例数',
+  `DataChange_CreatedTime` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `DataChange_LastTime` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '最后修改时间',
+  PRIMARY KEY (`Id`),
+  UNIQUE KEY `InstanceConfigRollup_IX_UNIQUE_KEY` (`ConfigAppId`,`ConfigClusterName`,`ConfigNamespaceName`,`ReleaseKey`),
+  KEY `InstanceConfigRollup_IX_ReleaseKey` (`ReleaseKey`)
+)   COMMENT='应用实例的配置信息汇总';
+
+
+
 -- Dump of table item
 -- ------------------------------------------------------------
 
@@ -251,6 +273,24 @@ CREATE TABLE `Item` (
 
 
 
+-- Dump of table joblease
+-- ------------------------------------------------------------
+
+
+CREATE TABLE `JobLease` (
+  `Id` int(11) unsigned NOT NULL AUTO_INCREMENT COMMENT '自增Id',
+  `JobName` varchar(64) NOT NULL DEFAULT '' COMMENT '任务名',
+  `Owner` varchar(128) NOT NULL DEFAULT '' COMMENT '持有租约的节点',
+  `LeaseExpireTime` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '租约到期时间',
+  `LastCompletedTime` timestamp NULL DEFAULT NULL COMMENT '最后完成的一次任务的开始时间',
+  `DataChange_CreatedTime` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `DataChange_LastTime` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '最后修改时间',
+  PRIMARY KEY (`Id`),
+  UNIQUE KEY `JobLease_UK_JobName` (`JobName`)
+)   COMMENT='后台任务租约';
+
+
+
 -- Dump of table namespace
 -- ------------------------------------------------------------
 
@@ -307,6 +347,7 @@ CREATE TABLE `Release` (
   `ClusterName` varchar(32) NOT NULL DEFAULT 'default' COMMENT 'ClusterName',
   `NamespaceName` varchar(32) NOT NULL DEFAULT 'default' COMMENT 'namespaceName',
   `Configurations` longtext NOT NULL COMMENT '发布配置',
+  `ContentHash` varchar(64) DEFAULT NULL COMMENT '发布配置的SHA-256摘要',
   `IsAbandoned` boolean NOT NULL DEFAULT FALSE COMMENT '是否废弃',
   `IsDeleted` boolean NOT NULL DEFAULT FALSE COMMENT '1: deleted, 0: normal',
   `DeletedAt` BIGINT(20) NOT NULL DEFAULT '0' COMMENT 'Delete timestamp based on milliseconds',
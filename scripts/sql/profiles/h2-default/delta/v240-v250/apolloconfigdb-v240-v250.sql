@@ -0,0 +1,72 @@
+--
+-- Copyright 2024 Apollo Authors
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+-- delta schema to upgrade apollo config db from v2.4.0 to v2.5.0
+
+-- 
+-- ===============================================================================
+-- ==                                                                           ==
+-- ==                     Generated from 'scripts/sql/src/'                     ==
+-- == by running 'mvn compile -pl apollo-build-sql-converter -Psql-converter'.  ==
+-- ==                              DO NOT EDIT !!!                              ==
+-- ==                                                                           ==
+-- ===============================================================================
+-- 
+
+-- H2 Function
+-- ------------------------------------------------------------
+CREATE ALIAS IF NOT EXISTS UNIX_TIMESTAMP FOR "com.ctrip.framework.apollo.common.jpa.H2Function.unixTimestamp";
+
+-- 
+
+ALTER TABLE `InstanceConfig` ADD INDEX `InstanceConfig_IX_ReleaseKey_InstanceId`  (`ReleaseKey`,`InstanceId`);
+ALTER TABLE `InstanceConfig` ADD INDEX `InstanceConfig_IX_Namespace_InstanceId`  (`ConfigAppId`,`ConfigClusterName`,`ConfigNamespaceName`,`InstanceId`);
+
+CREATE TABLE `InstanceConfigRollup` (
+  `Id` int(11) unsigned NOT NULL AUTO_INCREMENT COMMENT '自增Id',
+  `ConfigAppId` varchar(64) NOT NULL DEFAULT 'default' COMMENT 'Config App Id',
+  `ConfigClusterName` varchar(32) NOT NULL DEFAULT 'default' COMMENT 'Config Cluster Name',
+  `ConfigNamespaceName` varchar(32) NOT NULL DEFAULT 'default' COMMENT 'Config Namespace Name',
+  `ReleaseKey` varchar(64) NOT NULL DEFAULT '' COMMENT '发布的Key',
+  `InstanceCount` int(11) unsigned NOT NULL DEFAULT '0' COMMENT '有效的实例数',
+  `DataChange_CreatedTime` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `DataChange_LastTime` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '最后修改时间',
+  PRIMARY KEY (`Id`),
+  UNIQUE KEY `InstanceConfigRollup_IX_UNIQUE_KEY` (`ConfigAppId`,`ConfigClusterName`,`ConfigNamespaceName`,`ReleaseKey`),
+  KEY `InstanceConfigRollup_IX_ReleaseKey` (`ReleaseKey`)
+)   COMMENT='应用实例的配置信息汇总';
+
+CREATE TABLE `JobLease` (
+  `Id` int(11) unsigned NOT NULL AUTO_INCREMENT COMMENT '自增Id',
+  `JobName` varchar(64) NOT NULL DEFAULT '' COMMENT '任务名',
+  `Owner` varchar(128) NOT NULL DEFAULT '' COMMENT '持有租约的节点',
+  `LeaseExpireTime` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '租约到期时间',
+  `LastCompletedTime` timestamp NULL DEFAULT NULL COMMENT '最后完成的一次任务的开始时间',
+  `DataChange_CreatedTime` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `DataChange_LastTime` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '最后修改时间',
+  PRIMARY KEY (`Id`),
+  UNIQUE KEY `JobLease_UK_JobName` (`JobName`)
+)   COMMENT='后台任务租约';
+
+ALTER TABLE `Release` ADD COLUMN `ContentHash` varchar(64) DEFAULT NULL COMMENT '发布配置的SHA-256摘要' AFTER `Configurations`;
+
+-- 
+-- ===============================================================================
+-- ==                                                                           ==
+-- ==                     Generated from 'scripts/sql/src/'                     ==
+-- == by running 'mvn compile -pl apollo-build-sql-converter -Psql-converter'.  ==
+-- ==                              DO NOT EDIT !!!                              ==
+-- ==                                                                           ==
+-- ===============================================================================
@@ -130,6 +130,27 @@ CREATE TABLE `ConsumerAudit` (
 
 
 
+-- Dump of table consumerratelimitquota
+-- ------------------------------------------------------------
+
+DROP TABLE IF EXISTS `ConsumerRateLimitQuota`;
+
+CREATE TABLE `ConsumerRateLimitQuota` (
+  `Id` int(11) unsigned NOT NULL AUTO_INCREMENT COMMENT '自增Id',
+  `Token` varchar(128) NOT NULL DEFAULT '' COMMENT 'token',
+  `WindowStart` bigint(20) NOT NULL DEFAULT '0' COMMENT '当前限流窗口的起始时间, 单位秒',
+  `Used` int NOT NULL DEFAULT '0' COMMENT '当前限流窗口已分配的请求数',
+  `IsDeleted` bit(1) NOT NULL DEFAULT b'0' COMMENT '1: deleted, 0: normal',
+  `DeletedAt` BIGINT(20) NOT NULL DEFAULT '0' COMMENT 'Delete timestamp based on milliseconds',
+  `DataChange_CreatedBy` varchar(64) NOT NULL DEFAULT 'default' COMMENT '创建人邮箱前缀',
+  `DataChange_CreatedTime` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `DataChange_LastModifiedBy` varchar(64) DEFAULT '' COMMENT '最后修改人邮箱前缀',
+  `DataChange_LastTime` timestamp NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '最后修改时间',
+  PRIMARY KEY (`Id`),
+  UNIQUE KEY `UK_Token_DeletedAt` (`Token`,`DeletedAt`),
+  KEY `DataChange_LastTime` (`DataChange_LastTime`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='consumer限流配额表';
+
 -- Dump of table consumerrole
 -- ------------------------------------------------------------
 